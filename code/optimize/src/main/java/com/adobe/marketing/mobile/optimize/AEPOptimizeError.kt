@@ -118,6 +118,17 @@ data class AEPOptimizeError(
             )
         }
 
+        fun getCancelledError(): AEPOptimizeError {
+            return AEPOptimizeError(
+                null,
+                null,
+                OptimizeConstants.ErrorData.Cancelled.TITLE,
+                OptimizeConstants.ErrorData.Cancelled.DETAIL,
+                null,
+                AdobeError.UNEXPECTED_ERROR
+            )
+        }
+
         private fun getAdobeErrorFromStatus(status: Int?): AdobeError = when {
             status == OptimizeConstants.HTTPResponseCodes.clientTimeout -> AdobeError.CALLBACK_TIMEOUT
             serverErrors.contains(status) -> AdobeError.SERVER_ERROR
@@ -0,0 +1,190 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * {@code CircuitBreaker} stops sending Edge personalization requests after repeated failures.
+ *
+ * <p>The breaker opens once the failure threshold is reached within {@link
+ * OptimizeConstants.CircuitBreaker#FAILURE_WINDOW}. While it is open, requests are rejected so
+ * they can be answered from the propositions cache. After {@link
+ * OptimizeConstants.CircuitBreaker#OPEN_DURATION}, the breaker is half-open and lets a single
+ * probe request through: it closes if the probe succeeds, or opens again if the probe fails. Only
+ * the outcome of the probe request, identified by its Edge request event ID, moves the breaker out
+ * of the half-open state; the outcomes of the requests sent before the breaker opened are ignored.
+ * A probe which never reports its outcome is abandoned after the open duration, so another probe
+ * can be sent.
+ *
+ * <p>The breaker is consulted when an Edge request is about to be sent, so the update propositions
+ * requests coalesced into, or attached to, an Edge request are all gated by it once.
+ *
+ * <p>This class is thread-safe.
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED("closed"),
+        OPEN("open"),
+        HALF_OPEN("halfopen");
+
+        private final String name;
+
+        State(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final long failureWindowMillis;
+    private final long openDurationMillis;
+    private final Deque<Long> failureTimes = new ArrayDeque<>();
+    private State state = State.CLOSED;
+    private int failureThreshold;
+    private long openedAt;
+    private long probeStartedAt;
+    private String probeEdgeRequestEventId;
+
+    CircuitBreaker() {
+        this(
+                OptimizeConstants.CircuitBreaker.FAILURE_WINDOW,
+                OptimizeConstants.CircuitBreaker.OPEN_DURATION);
+    }
+
+    CircuitBreaker(final long failureWindowMillis, final long openDurationMillis) {
+        this.failureWindowMillis = failureWindowMillis;
+        this.openDurationMillis = openDurationMillis;
+    }
+
+    /**
+     * Sets the number of failures within the failure window which opens the breaker.
+     *
+     * <p>A threshold of 0 disables the breaker, closing it if it is open.
+     *
+     * @param failureThreshold {@code int} containing the failure threshold.
+     */
+    synchronized void setFailureThreshold(final int failureThreshold) {
+        this.failureThreshold = Math.max(failureThreshold, 0);
+        if (this.failureThreshold == 0) {
+            close();
+        }
+    }
+
+    /**
+     * Returns whether the given Edge request can be sent to the Edge network at the given time.
+     *
+     * <p>If the breaker is open and the open duration has elapsed, it becomes half-open and the
+     * Edge request is allowed as the single probe.
+     *
+     * @param edgeRequestEventId {@link String} containing the Edge request event ID.
+     * @param now {@code long} containing the current time in milliseconds.
+     * @return {@code boolean} indicating whether the Edge request can be sent.
+     */
+    synchronized boolean allowRequest(final String edgeRequestEventId, final long now) {
+        switch (state) {
+            case OPEN:
+                if (now - openedAt < openDurationMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                startProbe(edgeRequestEventId, now);
+                return true;
+            case HALF_OPEN:
+                if (probeEdgeRequestEventId != null
+                        && now - probeStartedAt < openDurationMillis) {
+                    return false;
+                }
+                startProbe(edgeRequestEventId, now);
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Records a successful Edge request, closing the breaker if it is half-open and the Edge
+     * request is the probe.
+     *
+     * @param edgeRequestEventId {@link String} containing the Edge request event ID.
+     * @see #recordFailure(String, long)
+     */
+    synchronized void recordSuccess(final String edgeRequestEventId) {
+        if (state == State.HALF_OPEN && edgeRequestEventId.equals(probeEdgeRequestEventId)) {
+            close();
+        }
+    }
+
+    /**
+     * Records a failed or timed out Edge request at the given time, opening the breaker if the
+     * failure threshold is reached within the failure window, or if the failed Edge request is the
+     * half-open probe.
+     *
+     * <p>An Edge request is recorded once, whatever the number of update propositions requests it
+     * carries, including when all of them are cancelled.
+     *
+     * @param edgeRequestEventId {@link String} containing the Edge request event ID.
+     * @param now {@code long} containing the current time in milliseconds.
+     */
+    synchronized void recordFailure(final String edgeRequestEventId, final long now) {
+        if (failureThreshold == 0 || state == State.OPEN) {
+            return;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (edgeRequestEventId.equals(probeEdgeRequestEventId)) {
+                open(now);
+            }
+            return;
+        }
+
+        failureTimes.addLast(now);
+        while (!failureTimes.isEmpty() && now - failureTimes.peekFirst() >= failureWindowMillis) {
+            failureTimes.removeFirst();
+        }
+        if (failureTimes.size() >= failureThreshold) {
+            open(now);
+        }
+    }
+
+    /**
+     * Returns the current state of the breaker.
+     *
+     * @return {@link State} of the breaker.
+     */
+    synchronized State getState() {
+        return state;
+    }
+
+    private void open(final long now) {
+        state = State.OPEN;
+        openedAt = now;
+        probeEdgeRequestEventId = null;
+        failureTimes.clear();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probeEdgeRequestEventId = null;
+        failureTimes.clear();
+    }
+
+    private void startProbe(final String edgeRequestEventId, final long now) {
+        probeEdgeRequestEventId = edgeRequestEventId;
+        probeStartedAt = now;
+    }
+}
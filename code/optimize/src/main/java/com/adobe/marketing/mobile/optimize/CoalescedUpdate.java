@@ -0,0 +1,169 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.adobe.marketing.mobile.Event;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@code CoalescedUpdate} collects the update propositions requests received within the
+ * coalescing window, which are sent to the Experience Edge network in a single personalization
+ * query request.
+ *
+ * <p>Only requests with the same XDM, free-form data and timeout are coalesced. The personalization
+ * query contains the union of the decision scopes of all the coalesced requests, and each request
+ * is responded with the propositions for its own decision scopes.
+ *
+ * <p>This class is not thread-safe, access must be synchronized by the caller.
+ */
+class CoalescedUpdate {
+
+    private final Map<String, Object> configData;
+    private final Object xdm;
+    private final Object data;
+    private final Object timeout;
+    private final Event firstEvent;
+    private final List<Request> requests = new ArrayList<>();
+    private final Set<DecisionScope> scopes = new LinkedHashSet<>();
+    private String edgeRequestEventId;
+
+    /**
+     * Constructor creates a {@code CoalescedUpdate} with the given first update propositions
+     * request.
+     *
+     * @param event {@link Event} containing the first update propositions request.
+     * @param validScopes {@code List<DecisionScope>} containing the valid requested scopes.
+     * @param configData {@code Map<String, Object>} containing the configuration data used for the
+     *     personalization query request.
+     */
+    CoalescedUpdate(
+            final Event event,
+            final List<DecisionScope> validScopes,
+            final Map<String, Object> configData) {
+        final Map<String, Object> eventData = event.getEventData();
+        this.configData = configData;
+        this.xdm = eventData.get(OptimizeConstants.EventDataKeys.XDM);
+        this.data = eventData.get(OptimizeConstants.EventDataKeys.DATA);
+        this.timeout = eventData.get(OptimizeConstants.EventDataKeys.TIMEOUT);
+        this.firstEvent = event;
+        add(event, validScopes);
+    }
+
+    /**
+     * Checks if the given update propositions request {@code event} can be coalesced with the
+     * requests in this {@code CoalescedUpdate}.
+     *
+     * @param event {@link Event} containing an update propositions request.
+     * @return {@code boolean} indicating whether the request has the same XDM, data and timeout.
+     */
+    boolean isCompatible(final Event event) {
+        final Map<String, Object> eventData = event.getEventData();
+        return Objects.equals(xdm, eventData.get(OptimizeConstants.EventDataKeys.XDM))
+                && Objects.equals(data, eventData.get(OptimizeConstants.EventDataKeys.DATA))
+                && Objects.equals(timeout, eventData.get(OptimizeConstants.EventDataKeys.TIMEOUT));
+    }
+
+    /**
+     * Adds the given update propositions request {@code event} to this {@code CoalescedUpdate}.
+     *
+     * @param event {@link Event} containing an update propositions request.
+     * @param validScopes {@code List<DecisionScope>} containing the valid requested scopes.
+     */
+    void add(final Event event, final List<DecisionScope> validScopes) {
+        requests.add(new Request(event, validScopes));
+        scopes.addAll(validScopes);
+    }
+
+    /**
+     * Removes the update propositions request with the given {@code requestEventId} from this
+     * {@code CoalescedUpdate}, and drops the decision scopes requested only by it.
+     *
+     * @param requestEventId {@link String} containing the request event unique identifier.
+     * @return the removed {@link Request}, or null if no such request is in this update.
+     */
+    Request remove(final String requestEventId) {
+        final Iterator<Request> iterator = requests.iterator();
+        while (iterator.hasNext()) {
+            final Request request = iterator.next();
+            if (request.event.getUniqueIdentifier().equals(requestEventId)) {
+                iterator.remove();
+                scopes.clear();
+                for (final Request remainingRequest : requests) {
+                    scopes.addAll(remainingRequest.scopes);
+                }
+                return request;
+            }
+        }
+        return null;
+    }
+
+    boolean isEmpty() {
+        return requests.isEmpty();
+    }
+
+    /**
+     * Returns the event of the first update propositions request remaining in this update, which
+     * carries the XDM, data and timeout of the personalization query request.
+     *
+     * <p>If a request is removed, the next remaining request's event is returned. The event of the
+     * first request ever added is returned only once all the requests are removed.
+     *
+     * @return {@link Event} containing the first update propositions request.
+     */
+    Event getFirstEvent() {
+        return requests.isEmpty() ? firstEvent : requests.get(0).event;
+    }
+
+    List<Request> getRequests() {
+        return Collections.unmodifiableList(requests);
+    }
+
+    List<DecisionScope> getScopes() {
+        return new ArrayList<>(scopes);
+    }
+
+    Map<String, Object> getConfigData() {
+        return configData;
+    }
+
+    /**
+     * Returns the unique identifier of the Edge personalization query request event, or null if
+     * the request is not yet sent.
+     *
+     * @return {@link String} containing the Edge request event identifier or null.
+     */
+    String getEdgeRequestEventId() {
+        return edgeRequestEventId;
+    }
+
+    void setEdgeRequestEventId(final String edgeRequestEventId) {
+        this.edgeRequestEventId = edgeRequestEventId;
+    }
+
+    /** An update propositions request event along with its valid requested scopes. */
+    static final class Request {
+        final Event event;
+        final List<DecisionScope> scopes;
+
+        Request(final Event event, final List<DecisionScope> scopes) {
+            this.event = event;
+            this.scopes = scopes;
+        }
+    }
+}
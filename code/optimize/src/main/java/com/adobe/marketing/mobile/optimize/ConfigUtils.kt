@@ -32,4 +32,207 @@ internal object ConfigUtils {
             defaultTimeout
         }
     }
+
+    /**
+     * Retrieves the timeout, in milliseconds, of the Edge personalization request, adapted to the
+     * Edge round trip latencies recorded in the given [latencyHistogram].
+     *
+     * The adaptive timeout applies only if `optimize.adaptiveTimeoutFactor` is configured, the
+     * request does not provide its own timeout, and enough round trips are recorded. It is the p99
+     * latency multiplied by the configured factor, clamped to the adaptive timeout bounds.
+     *
+     * @return the adaptive timeout, or the timeout retrieved by [retrieveOptimizeRequestTimeout].
+     */
+    @JvmStatic
+    fun retrieveOptimizeRequestTimeout(
+        event: Event,
+        configData: Map<String, Any?>,
+        latencyHistogram: LatencyHistogram
+    ): Long {
+        val timeout = retrieveOptimizeRequestTimeout(event, configData)
+        val eventTimeout =
+            DataReader.optLong(event.eventData, OptimizeConstants.EventDataKeys.TIMEOUT, Long.MAX_VALUE)
+        val factor = retrieveAdaptiveTimeoutFactor(configData)
+        if (eventTimeout != Long.MAX_VALUE || factor <= 0 ||
+            latencyHistogram.count < OptimizeConstants.AdaptiveTimeout.MIN_SAMPLES
+        ) {
+            return timeout
+        }
+
+        val latencyMillis = latencyHistogram.getPercentile(OptimizeConstants.AdaptiveTimeout.PERCENTILE)
+        return (latencyMillis * factor).toLong().coerceIn(
+            OptimizeConstants.AdaptiveTimeout.MIN_TIMEOUT,
+            OptimizeConstants.AdaptiveTimeout.MAX_TIMEOUT
+        )
+    }
+
+    /**
+     * Retrieves the factor applied to the p99 Edge round trip latency to compute the adaptive
+     * request timeout, from the Configuration shared state.
+     *
+     * @return the configured factor, or 0 if the adaptive timeout is disabled.
+     */
+    @JvmStatic
+    fun retrieveAdaptiveTimeoutFactor(configData: Map<String, Any?>?): Double {
+        val factor =
+            DataReader.optDouble(configData, OptimizeConstants.EventDataKeys.CONFIGS_ADAPTIVE_TIMEOUT_FACTOR, 0.0)
+        return if (factor > 0) factor else 0.0
+    }
+
+    /**
+     * Retrieves the time-to-live, in milliseconds, of the cached propositions from the
+     * Configuration shared state.
+     *
+     * @return the configured time-to-live, or 0 if propositions never expire.
+     */
+    @JvmStatic
+    fun retrievePropositionsCacheTtl(configData: Map<String, Any?>?): Long {
+        val ttlSeconds =
+            DataReader.optLong(configData, OptimizeConstants.EventDataKeys.CONFIGS_CACHE_TTL, 0L)
+        return if (ttlSeconds > 0)
+            ttlSeconds.times(OptimizeConstants.TIMEOUT_CONVERSION_FACTOR)
+        else 0L
+    }
+
+    /**
+     * Retrieves the maximum size, in bytes, of the propositions cache from the Configuration
+     * shared state.
+     *
+     * @return the configured maximum size, or 0 if the cache is unbounded.
+     */
+    @JvmStatic
+    fun retrievePropositionsCacheMaxSize(configData: Map<String, Any?>?): Long {
+        val maxSize =
+            DataReader.optLong(configData, OptimizeConstants.EventDataKeys.CONFIGS_CACHE_MAX_SIZE, 0L)
+        return if (maxSize > 0) maxSize else 0L
+    }
+
+    /**
+     * Retrieves the window, in milliseconds, within which compatible update propositions requests
+     * are coalesced into a single Edge request, from the Configuration shared state.
+     *
+     * The window is configured in seconds, and may be a fraction of a second.
+     *
+     * @return the configured coalescing window, or 0 if requests are not coalesced.
+     */
+    @JvmStatic
+    fun retrieveUpdateCoalescingWindow(configData: Map<String, Any?>?): Long {
+        val windowSeconds =
+            DataReader.optDouble(configData, OptimizeConstants.EventDataKeys.CONFIGS_UPDATE_COALESCING_WINDOW, 0.0)
+        return if (windowSeconds > 0)
+            windowSeconds.times(OptimizeConstants.TIMEOUT_CONVERSION_FACTOR).toLong()
+        else 0L
+    }
+
+    /**
+     * Retrieves the number of failed or timed out Edge personalization requests, within the
+     * circuit breaker failure window, which opens the circuit breaker, from the Configuration
+     * shared state.
+     *
+     * @return the configured failure threshold, or 0 if the circuit breaker is disabled.
+     */
+    @JvmStatic
+    fun retrieveCircuitBreakerThreshold(configData: Map<String, Any?>?): Int {
+        val threshold =
+            DataReader.optInt(configData, OptimizeConstants.EventDataKeys.CONFIGS_CIRCUIT_BREAKER_THRESHOLD, 0)
+        return if (threshold > 0) threshold else 0
+    }
+
+    /**
+     * Retrieves the maximum number of update propositions requests per minute, from the
+     * Configuration shared state.
+     *
+     * @return the configured rate limit, or 0 if update requests are not rate limited.
+     */
+    @JvmStatic
+    fun retrieveUpdateRateLimit(configData: Map<String, Any?>?): Int {
+        val rateLimit =
+            DataReader.optInt(configData, OptimizeConstants.EventDataKeys.CONFIGS_UPDATE_RATE_LIMIT, 0)
+        return if (rateLimit > 0) rateLimit else 0
+    }
+
+    /**
+     * Retrieves the minimum interval, in milliseconds, between two refreshes of the propositions
+     * of a decision scope, from the Configuration shared state.
+     *
+     * @return the configured minimum refresh interval, or 0 if scopes can always be refreshed.
+     */
+    @JvmStatic
+    fun retrieveMinRefreshInterval(configData: Map<String, Any?>?): Long {
+        val intervalSeconds =
+            DataReader.optLong(configData, OptimizeConstants.EventDataKeys.CONFIGS_MIN_REFRESH_INTERVAL, 0L)
+        return if (intervalSeconds > 0)
+            intervalSeconds.times(OptimizeConstants.TIMEOUT_CONVERSION_FACTOR)
+        else 0L
+    }
+
+    /**
+     * Retrieves the window, in milliseconds, within which the proposition interactions tracked
+     * for the offers are batched into a single Experience Event per event type, from the
+     * Configuration shared state.
+     *
+     * The window is configured in seconds, and may be a fraction of a second.
+     *
+     * @return the configured batch window, or 0 if interactions are not batched.
+     */
+    @JvmStatic
+    fun retrieveInteractionBatchWindow(configData: Map<String, Any?>?): Long {
+        val windowSeconds =
+            DataReader.optDouble(configData, OptimizeConstants.EventDataKeys.CONFIGS_INTERACTION_BATCH_WINDOW, 0.0)
+        return if (windowSeconds > 0)
+            windowSeconds.times(OptimizeConstants.TIMEOUT_CONVERSION_FACTOR).toLong()
+        else 0L
+    }
+
+    /**
+     * Retrieves the maximum number of proposition interactions in a batch, from the Configuration
+     * shared state.
+     *
+     * @return the configured batch size, or 0 if the batches are only limited by their window.
+     */
+    @JvmStatic
+    fun retrieveInteractionBatchSize(configData: Map<String, Any?>?): Int {
+        val batchSize =
+            DataReader.optInt(configData, OptimizeConstants.EventDataKeys.CONFIGS_INTERACTION_BATCH_SIZE, 0)
+        return if (batchSize > 0) batchSize else 0
+    }
+
+    /**
+     * Retrieves the window, in milliseconds, within which the repeated display interactions of
+     * the same offer are suppressed, from the Configuration shared state.
+     *
+     * @return the configured deduplication window, or 0 if display interactions are not
+     * deduplicated.
+     */
+    @JvmStatic
+    fun retrieveImpressionDeduplicationWindow(configData: Map<String, Any?>?): Long {
+        val windowSeconds =
+            DataReader.optLong(configData, OptimizeConstants.EventDataKeys.CONFIGS_IMPRESSION_DEDUPLICATION_WINDOW, 0L)
+        return if (windowSeconds > 0)
+            windowSeconds.times(OptimizeConstants.TIMEOUT_CONVERSION_FACTOR)
+        else 0L
+    }
+
+    /**
+     * Retrieves the maximum number of proposition interactions held in the on-disk journal until
+     * they are dispatched to the Edge network extension, from the Configuration shared state.
+     *
+     * @return the configured journal size, or 0 if interactions are not journaled.
+     */
+    @JvmStatic
+    fun retrieveInteractionJournalMaxSize(configData: Map<String, Any?>?): Int {
+        val maxSize =
+            DataReader.optInt(configData, OptimizeConstants.EventDataKeys.CONFIGS_INTERACTION_JOURNAL_MAX_SIZE, 0)
+        return if (maxSize > 0) maxSize else 0
+    }
+
+    /**
+     * Retrieves whether the proposition interactions are sent with the proposition and offer
+     * references only, without the proposition scope details, from the Configuration shared state.
+     *
+     * @return the configured compact interaction tracking setting, or false if not configured.
+     */
+    @JvmStatic
+    fun retrieveCompactInteractionTracking(configData: Map<String, Any?>?): Boolean =
+        DataReader.optBoolean(configData, OptimizeConstants.EventDataKeys.CONFIGS_COMPACT_INTERACTION_TRACKING, false)
 }
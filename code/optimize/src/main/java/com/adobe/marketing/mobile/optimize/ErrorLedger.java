@@ -0,0 +1,163 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code ErrorLedger} keeps the errors of the Edge personalization requests.
+ *
+ * <p>The errors returned by the Edge network for a request in progress are held until the request
+ * completes or times out, when they are taken to be reported to the update propositions requests.
+ * At most {@link OptimizeConstants.ErrorLedger#MAX_PENDING_ERRORS} requests are held, the oldest
+ * being dropped first.
+ *
+ * <p>The errors reported to completed requests are also recorded per decision scope for
+ * diagnostics. At most {@link OptimizeConstants.ErrorLedger#MAX_ERRORS_PER_SCOPE} errors are kept
+ * for each of the {@link OptimizeConstants.ErrorLedger#MAX_SCOPES} decision scopes with the most
+ * recent errors, and errors older than {@link OptimizeConstants.ErrorLedger#RETENTION} expire.
+ *
+ * <p>This class is thread-safe.
+ */
+class ErrorLedger {
+
+    private final Map<String, AEPOptimizeError> pendingErrors =
+            new LinkedHashMap<String, AEPOptimizeError>() {
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<String, AEPOptimizeError> eldest) {
+                    return size() > OptimizeConstants.ErrorLedger.MAX_PENDING_ERRORS;
+                }
+            };
+
+    private final Map<DecisionScope, Deque<RecentError>> recentErrors =
+            new LinkedHashMap<DecisionScope, Deque<RecentError>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<DecisionScope, Deque<RecentError>> eldest) {
+                    return size() > OptimizeConstants.ErrorLedger.MAX_SCOPES;
+                }
+            };
+
+    /**
+     * Holds the given {@code error} returned for the Edge request with the given {@code
+     * requestEventId}, until the request completes.
+     *
+     * @param requestEventId {@link String} containing the Edge request event unique identifier.
+     * @param error {@link AEPOptimizeError} returned for the request.
+     */
+    synchronized void put(final String requestEventId, final AEPOptimizeError error) {
+        pendingErrors.put(requestEventId, error);
+    }
+
+    /**
+     * Takes the error held for the Edge request with the given {@code requestEventId}, once the
+     * request completes or times out.
+     *
+     * @param requestEventId {@link String} containing the Edge request event unique identifier.
+     * @return {@link AEPOptimizeError} held for the request, or null if no error is returned.
+     */
+    synchronized AEPOptimizeError take(final String requestEventId) {
+        return pendingErrors.remove(requestEventId);
+    }
+
+    /**
+     * Records the given {@code error}, reported to a completed request, for each of the given
+     * {@code scopes}.
+     *
+     * @param scopes {@code Collection<DecisionScope>} containing the requested scopes.
+     * @param error {@link AEPOptimizeError} reported to the request.
+     * @param now {@code long} containing the current time in milliseconds.
+     */
+    synchronized void record(
+            final Collection<DecisionScope> scopes, final AEPOptimizeError error, final long now) {
+        for (final DecisionScope scope : scopes) {
+            Deque<RecentError> scopeErrors = recentErrors.get(scope);
+            if (scopeErrors == null) {
+                scopeErrors = new ArrayDeque<>();
+                recentErrors.put(scope, scopeErrors);
+            }
+            if (scopeErrors.size() == OptimizeConstants.ErrorLedger.MAX_ERRORS_PER_SCOPE) {
+                scopeErrors.removeFirst();
+            }
+            scopeErrors.addLast(new RecentError(error, now));
+        }
+    }
+
+    /**
+     * Returns the unexpired errors recorded for the given {@code scopes}, oldest first.
+     *
+     * @param scopes {@code Collection<DecisionScope>} containing the scopes, or null or empty for
+     *     all the scopes with recent errors.
+     * @param now {@code long} containing the current time in milliseconds.
+     * @return {@code Map<DecisionScope, List<AEPOptimizeError>>} containing the recent errors of
+     *     each scope which has any.
+     */
+    synchronized Map<DecisionScope, List<AEPOptimizeError>> getRecentErrors(
+            final Collection<DecisionScope> scopes, final long now) {
+        removeExpiredErrors(now);
+
+        final Map<DecisionScope, List<AEPOptimizeError>> errors = new LinkedHashMap<>();
+        for (final Map.Entry<DecisionScope, Deque<RecentError>> entry : recentErrors.entrySet()) {
+            if (!OptimizeUtils.isNullOrEmpty(scopes) && !scopes.contains(entry.getKey())) {
+                continue;
+            }
+            final List<AEPOptimizeError> scopeErrors = new ArrayList<>();
+            for (final RecentError recentError : entry.getValue()) {
+                scopeErrors.add(recentError.error);
+            }
+            errors.put(entry.getKey(), scopeErrors);
+        }
+        return errors;
+    }
+
+    /**
+     * Returns the number of Edge requests whose errors are held until they complete.
+     *
+     * @return {@code int} containing the number of requests.
+     */
+    synchronized int getPendingCount() {
+        return pendingErrors.size();
+    }
+
+    private void removeExpiredErrors(final long now) {
+        final Iterator<Deque<RecentError>> iterator = recentErrors.values().iterator();
+        while (iterator.hasNext()) {
+            final Deque<RecentError> scopeErrors = iterator.next();
+            while (!scopeErrors.isEmpty()
+                    && now - scopeErrors.peekFirst().time
+                            >= OptimizeConstants.ErrorLedger.RETENTION) {
+                scopeErrors.removeFirst();
+            }
+            if (scopeErrors.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class RecentError {
+        final AEPOptimizeError error;
+        final long time;
+
+        RecentError(final AEPOptimizeError error, final long time) {
+            this.error = error;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import com.adobe.marketing.mobile.util.DataReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code ImpressionFilter} suppresses the repeated display interactions of the same offer within a
+ * time window.
+ *
+ * <p>The displayed (proposition ID, offer ID) pairs are kept in two generations of Bloom filters,
+ * sized for {@link OptimizeConstants.ImpressionFilter#EXPECTED_IMPRESSIONS} impressions with a
+ * {@link OptimizeConstants.ImpressionFilter#FALSE_POSITIVE_RATE} false positive rate, so the
+ * memory used stays the same however long the session is. The current generation becomes the
+ * previous one once the window elapses, and the previous one is dropped, so the displays of an
+ * offer are suppressed for at least the window, and at most twice the window, after its first
+ * reported display.
+ *
+ * <p>To keep the false positive rate, a full generation is rotated before the window elapses. The
+ * displays of an offer are then suppressed for less than the window, only until two more
+ * generations of distinct offers are displayed. These early rotations are counted, see {@link
+ * #getEarlyRotationsCount()}.
+ *
+ * <p>This class is thread-safe.
+ */
+class ImpressionFilter {
+
+    private final int bitsCount;
+    private final int hashesCount;
+    private final int expectedImpressions;
+
+    private long[] currentBits;
+    private long[] previousBits;
+    private int currentImpressionsCount;
+    private long currentGenerationStartTime;
+    private long suppressedCount;
+    private long earlyRotationsCount;
+
+    ImpressionFilter() {
+        this(
+                OptimizeConstants.ImpressionFilter.EXPECTED_IMPRESSIONS,
+                OptimizeConstants.ImpressionFilter.FALSE_POSITIVE_RATE);
+    }
+
+    ImpressionFilter(final int expectedImpressions, final double falsePositiveRate) {
+        this.expectedImpressions = expectedImpressions;
+        final double ln2 = Math.log(2);
+        bitsCount =
+                (int)
+                        Math.ceil(
+                                -expectedImpressions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        hashesCount = Math.max(1, (int) Math.round((double) bitsCount / expectedImpressions * ln2));
+        currentBits = new long[(bitsCount + 63) / 64];
+        previousBits = new long[currentBits.length];
+    }
+
+    /**
+     * Removes the offers of the given proposition interactions {@code xdm} already displayed
+     * within the given {@code windowMillis}, and records the others as displayed.
+     *
+     * <p>Only the display interaction XDM generated by the SDK is filtered, any other XDM is
+     * returned as is. See {@link InteractionBatcher#isBatchable(Map)}.
+     *
+     * @param xdm {@code Map<String, Object>} containing the proposition interactions XDM.
+     * @param windowMillis {@code long} containing the deduplication window in milliseconds.
+     * @param now {@code long} containing the current time in milliseconds.
+     * @return {@code Map<String, Object>} containing the XDM for the offers not yet displayed, or
+     *     null if all the offers are already displayed.
+     */
+    synchronized Map<String, Object> filter(
+            @NonNull final Map<String, Object> xdm, final long windowMillis, final long now) {
+        if (!OptimizeConstants.JsonValues.EE_EVENT_TYPE_PROPOSITION_DISPLAY.equals(
+                        xdm.get(OptimizeConstants.JsonKeys.EXPERIENCE_EVENT_TYPE))
+                || !InteractionBatcher.isBatchable(xdm)) {
+            return xdm;
+        }
+
+        if (now - currentGenerationStartTime >= 2 * windowMillis) {
+            clearGenerations(now);
+        } else if (now - currentGenerationStartTime >= windowMillis) {
+            rotateGenerations(now);
+        }
+
+        final Map<String, Object> experience =
+                DataReader.optTypedMap(
+                        Object.class, xdm, OptimizeConstants.JsonKeys.EXPERIENCE, null);
+        final Map<String, Object> decisioning =
+                DataReader.optTypedMap(
+                        Object.class,
+                        experience,
+                        OptimizeConstants.JsonKeys.EXPERIENCE_DECISIONING,
+                        null);
+        final List<Map<String, Object>> propositions =
+                DataReader.optTypedListOfMap(
+                        Object.class,
+                        decisioning,
+                        OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS,
+                        null);
+
+        boolean filtered = false;
+        final List<Map<String, Object>> filteredPropositions = new ArrayList<>();
+        for (final Map<String, Object> proposition : propositions) {
+            final String propositionId =
+                    DataReader.optString(
+                            proposition,
+                            OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ID,
+                            null);
+            final List<Map<String, Object>> items =
+                    DataReader.optTypedListOfMap(
+                            Object.class,
+                            proposition,
+                            OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ITEMS,
+                            null);
+            if (OptimizeUtils.isNullOrEmpty(items)) {
+                filteredPropositions.add(proposition);
+                continue;
+            }
+
+            final List<Map<String, Object>> filteredItems = new ArrayList<>();
+            for (final Map<String, Object> item : items) {
+                final String itemId =
+                        DataReader.optString(
+                                item,
+                                OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ITEMS_ID,
+                                null);
+                if (add(propositionId + '\u0000' + itemId, now)) {
+                    filteredItems.add(item);
+                } else {
+                    suppressedCount++;
+                }
+            }
+
+            if (filteredItems.size() == items.size()) {
+                filteredPropositions.add(proposition);
+                continue;
+            }
+            filtered = true;
+            if (!filteredItems.isEmpty()) {
+                final Map<String, Object> filteredProposition = new HashMap<>(proposition);
+                filteredProposition.put(
+                        OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ITEMS, filteredItems);
+                filteredPropositions.add(filteredProposition);
+            }
+        }
+
+        if (!filtered) {
+            return xdm;
+        }
+        if (filteredPropositions.isEmpty()) {
+            return null;
+        }
+
+        final Map<String, Object> filteredDecisioning = new HashMap<>(decisioning);
+        filteredDecisioning.put(
+                OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS, filteredPropositions);
+        final Map<String, Object> filteredExperience = new HashMap<>(experience);
+        filteredExperience.put(
+                OptimizeConstants.JsonKeys.EXPERIENCE_DECISIONING, filteredDecisioning);
+        final Map<String, Object> filteredXdm = new HashMap<>(xdm);
+        filteredXdm.put(OptimizeConstants.JsonKeys.EXPERIENCE, filteredExperience);
+        return filteredXdm;
+    }
+
+    /** Forgets all the displayed offers, e.g. upon identities reset or session start. */
+    synchronized void clear() {
+        clearGenerations(currentGenerationStartTime);
+    }
+
+    /**
+     * Returns the number of display interactions suppressed since the filter was created.
+     *
+     * @return {@code long} containing the number of suppressed offer displays.
+     */
+    synchronized long getSuppressedCount() {
+        return suppressedCount;
+    }
+
+    /**
+     * Returns the number of generations rotated because they were full, before the window elapsed.
+     *
+     * <p>A non-zero count means some repeated displays may have been reported within the window.
+     *
+     * @return {@code long} containing the number of early rotations.
+     */
+    synchronized long getEarlyRotationsCount() {
+        return earlyRotationsCount;
+    }
+
+    private boolean add(final String key, final long now) {
+        if (currentImpressionsCount >= expectedImpressions) {
+            earlyRotationsCount++;
+            rotateGenerations(now);
+        }
+
+        final long hash = hash(key);
+        final int hash1 = (int) hash;
+        final int hash2 = (int) (hash >>> 32);
+
+        final int[] bits = new int[hashesCount];
+        boolean inCurrent = true;
+        boolean inPrevious = true;
+        for (int i = 0; i < hashesCount; i++) {
+            bits[i] = ((hash1 + i * hash2) & Integer.MAX_VALUE) % bitsCount;
+            inCurrent &= isSet(currentBits, bits[i]);
+            inPrevious &= isSet(previousBits, bits[i]);
+        }
+        if (inCurrent || inPrevious) {
+            return false;
+        }
+
+        for (final int bit : bits) {
+            currentBits[bit >>> 6] |= 1L << bit;
+        }
+        currentImpressionsCount++;
+        return true;
+    }
+
+    private static boolean isSet(final long[] bitArray, final int bit) {
+        return (bitArray[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private void rotateGenerations(final long now) {
+        final long[] bits = previousBits;
+        previousBits = currentBits;
+        currentBits = bits;
+        Arrays.fill(currentBits, 0L);
+        currentImpressionsCount = 0;
+        currentGenerationStartTime = now;
+    }
+
+    private void clearGenerations(final long now) {
+        Arrays.fill(currentBits, 0L);
+        Arrays.fill(previousBits, 0L);
+        currentImpressionsCount = 0;
+        currentGenerationStartTime = now;
+    }
+
+    // 64-bit FNV-1a hash of the key, followed by the MurmurHash3 finalizer to spread the bits.
+    private static long hash(final String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code InProgressScopes} is an index of the decision scopes being updated, keeping for each scope
+ * the number of update propositions requests in progress for it.
+ *
+ * <p>The index is updated when the update propositions requests start and complete, so checking
+ * whether a scope is in progress is a single hash lookup.
+ *
+ * <p>This class is not thread-safe, access must be synchronized by the caller.
+ */
+class InProgressScopes {
+
+    private final Map<DecisionScope, Integer> counts = new HashMap<>();
+    private final Set<DecisionScope> scopes = Collections.unmodifiableSet(counts.keySet());
+
+    /**
+     * Adds a reference to each of the given {@code scopes}, for an update propositions request
+     * which started.
+     *
+     * @param scopes {@code Collection<DecisionScope>} containing the requested scopes.
+     */
+    void add(final Collection<DecisionScope> scopes) {
+        for (final DecisionScope scope : scopes) {
+            final Integer count = counts.get(scope);
+            counts.put(scope, count == null ? 1 : count + 1);
+        }
+    }
+
+    /**
+     * Removes a reference from each of the given {@code scopes}, for an update propositions request
+     * which completed. A scope is no longer in progress once it has no references left.
+     *
+     * @param scopes {@code Collection<DecisionScope>} containing the requested scopes.
+     */
+    void remove(final Collection<DecisionScope> scopes) {
+        for (final DecisionScope scope : scopes) {
+            final Integer count = counts.get(scope);
+            if (count == null) {
+                continue;
+            }
+
+            if (count > 1) {
+                counts.put(scope, count - 1);
+            } else {
+                counts.remove(scope);
+            }
+        }
+    }
+
+    boolean contains(final DecisionScope scope) {
+        return counts.containsKey(scope);
+    }
+
+    /**
+     * Returns a read-only view of the scopes in progress, which reflects the later changes to this
+     * index.
+     *
+     * @return {@code Set<DecisionScope>} containing the scopes in progress.
+     */
+    Set<DecisionScope> asSet() {
+        return scopes;
+    }
+}
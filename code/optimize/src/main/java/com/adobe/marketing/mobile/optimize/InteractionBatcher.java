@@ -0,0 +1,322 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.util.DataReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code InteractionBatcher} buffers the proposition interactions tracked for the offers, to send
+ * them in a single Experience Event per event type.
+ *
+ * <p>A batch is opened by the first interaction of a given Experience Event type, and flushed once
+ * its window elapses or once it holds the maximum number of interactions. The propositions of the
+ * batched interactions are merged by proposition ID, and their identical items are merged, so
+ * repeated interactions with the same offer within a batch are reported once.
+ *
+ * <p>Only the interaction XDM generated by the SDK, containing the {@code eventType} and the
+ * {@code _experience.decisioning.propositions} only, is batched. See {@link #isBatchable(Map)}.
+ *
+ * <p>This class is thread-safe.
+ */
+class InteractionBatcher {
+
+    /** Handler sending the interaction XDM of the flushed batches. */
+    interface FlushHandler {
+        /**
+         * Sends the given proposition interactions XDM.
+         *
+         * @param xdm {@code Map<String, Object>} containing the proposition interactions XDM.
+         * @param datasetId {@link String} containing the override dataset identifier, or null.
+         * @param journalEntryIds {@code List<String>} containing the journal entry identifiers of
+         *     the batched interactions.
+         */
+        void flush(
+                @NonNull Map<String, Object> xdm,
+                @Nullable String datasetId,
+                @NonNull List<String> journalEntryIds);
+    }
+
+    private final ScheduledExecutorService executor;
+    private final FlushHandler flushHandler;
+
+    // Open batches, keyed by Experience Event type and override dataset identifier.
+    // This is guarded by this.
+    private final Map<String, Batch> batches = new LinkedHashMap<>();
+
+    // Number of interactions added to a batch.
+    // This is guarded by this.
+    private long batchedCount;
+
+    InteractionBatcher(
+            @NonNull final ScheduledExecutorService executor,
+            @NonNull final FlushHandler flushHandler) {
+        this.executor = executor;
+        this.flushHandler = flushHandler;
+    }
+
+    /**
+     * Checks whether the given proposition interactions {@code xdm} can be batched.
+     *
+     * <p>The XDM can be batched if it is a display or interact Experience Event containing no data
+     * other than its {@code eventType} and {@code _experience.decisioning.propositions}.
+     *
+     * @param xdm {@code Map<String, Object>} containing the proposition interactions XDM.
+     * @return {@code boolean} indicating whether the XDM can be batched.
+     */
+    static boolean isBatchable(final Map<String, Object> xdm) {
+        if (xdm == null || xdm.size() != 2) {
+            return false;
+        }
+
+        final String eventType =
+                DataReader.optString(
+                        xdm, OptimizeConstants.JsonKeys.EXPERIENCE_EVENT_TYPE, null);
+        if (!OptimizeConstants.JsonValues.EE_EVENT_TYPE_PROPOSITION_DISPLAY.equals(eventType)
+                && !OptimizeConstants.JsonValues.EE_EVENT_TYPE_PROPOSITION_INTERACT.equals(
+                        eventType)) {
+            return false;
+        }
+
+        final Map<String, Object> experience =
+                DataReader.optTypedMap(
+                        Object.class, xdm, OptimizeConstants.JsonKeys.EXPERIENCE, null);
+        if (experience == null || experience.size() != 1) {
+            return false;
+        }
+        final Map<String, Object> decisioning =
+                DataReader.optTypedMap(
+                        Object.class,
+                        experience,
+                        OptimizeConstants.JsonKeys.EXPERIENCE_DECISIONING,
+                        null);
+        if (decisioning == null || decisioning.size() != 1) {
+            return false;
+        }
+        final List<Map<String, Object>> propositions =
+                DataReader.optTypedListOfMap(
+                        Object.class,
+                        decisioning,
+                        OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS,
+                        null);
+        if (OptimizeUtils.isNullOrEmpty(propositions)) {
+            return false;
+        }
+        for (final Map<String, Object> proposition : propositions) {
+            if (OptimizeUtils.isNullOrEmpty(
+                    DataReader.optString(
+                            proposition,
+                            OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ID,
+                            null))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the given batchable proposition interactions {@code xdm} to the open batch for its
+     * event type and {@code datasetId}, opening a batch if needed.
+     *
+     * <p>A new batch is flushed once the given {@code windowMillis} elapses. The batch is flushed
+     * right away if it holds the given {@code maxSize} interactions.
+     *
+     * @param xdm {@code Map<String, Object>} containing the proposition interactions XDM.
+     * @param datasetId {@link String} containing the override dataset identifier, or null.
+     * @param journalEntryId {@link String} containing the journal entry identifier of the
+     *     interaction, or null if it is not journaled.
+     * @param windowMillis {@code long} containing the batch window in milliseconds.
+     * @param maxSize {@code int} containing the maximum number of interactions in a batch, or 0
+     *     if not limited.
+     * @see #isBatchable(Map)
+     */
+    void add(
+            @NonNull final Map<String, Object> xdm,
+            @Nullable final String datasetId,
+            @Nullable final String journalEntryId,
+            final long windowMillis,
+            final int maxSize) {
+        final String eventType =
+                DataReader.optString(
+                        xdm, OptimizeConstants.JsonKeys.EXPERIENCE_EVENT_TYPE, null);
+        final String key = eventType + "|" + datasetId;
+
+        Batch openedBatch = null;
+        Batch fullBatch = null;
+        synchronized (this) {
+            Batch batch = batches.get(key);
+            if (batch == null) {
+                batch = new Batch(eventType, datasetId);
+                batches.put(key, batch);
+                openedBatch = batch;
+            }
+            batch.add(xdm, journalEntryId);
+            batchedCount++;
+
+            if (maxSize > 0 && batch.interactionsCount >= maxSize) {
+                batches.remove(key);
+                fullBatch = batch;
+                openedBatch = null;
+            }
+        }
+
+        if (fullBatch != null) {
+            flushHandler.flush(
+                    fullBatch.toXdm(), fullBatch.datasetId, fullBatch.journalEntryIds);
+        } else if (openedBatch != null) {
+            final Batch scheduledBatch = openedBatch;
+            executor.schedule(() -> flush(scheduledBatch), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Flushes all the open batches, e.g. when the application goes to the background. */
+    void flushAll() {
+        final List<Batch> flushedBatches;
+        synchronized (this) {
+            flushedBatches = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+
+        for (final Batch batch : flushedBatches) {
+            flushHandler.flush(batch.toXdm(), batch.datasetId, batch.journalEntryIds);
+        }
+    }
+
+    /**
+     * Returns the number of interactions added to a batch, instead of being sent individually.
+     *
+     * @return {@code long} containing the number of batched interactions.
+     */
+    synchronized long getBatchedCount() {
+        return batchedCount;
+    }
+
+    /**
+     * Returns the number of interactions in the open batches.
+     *
+     * @return {@code int} containing the number of buffered interactions.
+     */
+    synchronized int getBufferedCount() {
+        int bufferedCount = 0;
+        for (final Batch batch : batches.values()) {
+            bufferedCount += batch.interactionsCount;
+        }
+        return bufferedCount;
+    }
+
+    private void flush(final Batch batch) {
+        synchronized (this) {
+            final String key = batch.eventType + "|" + batch.datasetId;
+            if (batches.get(key) != batch) {
+                // Already flushed.
+                return;
+            }
+            batches.remove(key);
+        }
+
+        flushHandler.flush(batch.toXdm(), batch.datasetId, batch.journalEntryIds);
+    }
+
+    private static final class Batch {
+        final String eventType;
+        final String datasetId;
+
+        // Propositions keyed by proposition ID, each with the distinct items of its interactions.
+        final Map<String, Map<String, Object>> propositions = new LinkedHashMap<>();
+        final Map<String, Set<Map<String, Object>>> propositionItems = new HashMap<>();
+        final List<String> journalEntryIds = new ArrayList<>();
+        int interactionsCount;
+
+        Batch(final String eventType, final String datasetId) {
+            this.eventType = eventType;
+            this.datasetId = datasetId;
+        }
+
+        void add(final Map<String, Object> xdm, final String journalEntryId) {
+            final Map<String, Object> experience =
+                    DataReader.optTypedMap(
+                            Object.class, xdm, OptimizeConstants.JsonKeys.EXPERIENCE, null);
+            final Map<String, Object> decisioning =
+                    DataReader.optTypedMap(
+                            Object.class,
+                            experience,
+                            OptimizeConstants.JsonKeys.EXPERIENCE_DECISIONING,
+                            null);
+            final List<Map<String, Object>> xdmPropositions =
+                    DataReader.optTypedListOfMap(
+                            Object.class,
+                            decisioning,
+                            OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS,
+                            null);
+
+            for (final Map<String, Object> proposition : xdmPropositions) {
+                final String propositionId =
+                        DataReader.optString(
+                                proposition,
+                                OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ID,
+                                null);
+                if (!propositions.containsKey(propositionId)) {
+                    final Map<String, Object> batchedProposition = new HashMap<>(proposition);
+                    batchedProposition.remove(
+                            OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ITEMS);
+                    propositions.put(propositionId, batchedProposition);
+                    propositionItems.put(propositionId, new LinkedHashSet<>());
+                }
+
+                final List<Map<String, Object>> xdmItems =
+                        DataReader.optTypedListOfMap(
+                                Object.class,
+                                proposition,
+                                OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ITEMS,
+                                null);
+                if (xdmItems != null) {
+                    propositionItems.get(propositionId).addAll(xdmItems);
+                }
+            }
+            if (journalEntryId != null) {
+                journalEntryIds.add(journalEntryId);
+            }
+            interactionsCount++;
+        }
+
+        Map<String, Object> toXdm() {
+            final List<Map<String, Object>> xdmPropositions = new ArrayList<>();
+            for (final Map.Entry<String, Map<String, Object>> entry : propositions.entrySet()) {
+                final Map<String, Object> proposition = new HashMap<>(entry.getValue());
+                proposition.put(
+                        OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ITEMS,
+                        new ArrayList<>(propositionItems.get(entry.getKey())));
+                xdmPropositions.add(proposition);
+            }
+
+            final Map<String, Object> decisioning = new HashMap<>();
+            decisioning.put(OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS, xdmPropositions);
+            final Map<String, Object> experience = new HashMap<>();
+            experience.put(OptimizeConstants.JsonKeys.EXPERIENCE_DECISIONING, decisioning);
+
+            final Map<String, Object> xdm = new HashMap<>();
+            xdm.put(OptimizeConstants.JsonKeys.EXPERIENCE, experience);
+            xdm.put(OptimizeConstants.JsonKeys.EXPERIENCE_EVENT_TYPE, eventType);
+            return xdm;
+        }
+    }
+}
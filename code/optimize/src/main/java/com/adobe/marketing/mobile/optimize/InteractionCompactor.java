@@ -0,0 +1,174 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.util.DataReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONObject;
+
+/**
+ * {@code InteractionCompactor} reduces the proposition interactions XDM to the references of the
+ * interacted propositions and offers.
+ *
+ * <p>The compact XDM keeps the proposition {@code id} and {@code scope} and the offer {@code id}s
+ * only, and drops the proposition {@code scopeDetails}, e.g. the activity, experience, strategies
+ * and characteristics, which make up most of each interaction payload.
+ *
+ * <p>The saved bytes are estimated from a sample of the compacted interactions, so the removed
+ * scope details are serialized only for the first and then one in {@value
+ * OptimizeConstants.InteractionCompactor#SAVED_BYTES_SAMPLING_INTERVAL} compacted interactions.
+ *
+ * <p>This class is thread-safe.
+ */
+class InteractionCompactor {
+
+    private static final String SELF_TAG = "InteractionCompactor";
+    private static final int SCOPE_DETAILS_KEY_SIZE =
+            ("\"" + OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_SCOPEDETAILS + "\":,")
+                    .length();
+    private static final int SAVED_BYTES_SAMPLING_INTERVAL =
+            OptimizeConstants.InteractionCompactor.SAVED_BYTES_SAMPLING_INTERVAL;
+
+    private long compactedCount;
+    private long removedScopeDetailsCount;
+    private long sampledScopeDetailsCount;
+    private long sampledBytes;
+
+    /**
+     * Removes the scope details of the propositions in the given proposition interactions {@code
+     * xdm}.
+     *
+     * <p>Only the interaction XDM generated by the SDK is compacted, any other XDM is returned as
+     * is. See {@link InteractionBatcher#isBatchable(Map)}.
+     *
+     * @param xdm {@code Map<String, Object>} containing the proposition interactions XDM.
+     * @return {@code Map<String, Object>} containing the compact XDM.
+     */
+    Map<String, Object> compact(@NonNull final Map<String, Object> xdm) {
+        if (!InteractionBatcher.isBatchable(xdm)) {
+            return xdm;
+        }
+
+        final Map<String, Object> experience =
+                DataReader.optTypedMap(
+                        Object.class, xdm, OptimizeConstants.JsonKeys.EXPERIENCE, null);
+        final Map<String, Object> decisioning =
+                DataReader.optTypedMap(
+                        Object.class,
+                        experience,
+                        OptimizeConstants.JsonKeys.EXPERIENCE_DECISIONING,
+                        null);
+        final List<Map<String, Object>> propositions =
+                DataReader.optTypedListOfMap(
+                        Object.class,
+                        decisioning,
+                        OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS,
+                        null);
+
+        final List<Map<String, Object>> removedScopeDetails = new ArrayList<>();
+        final List<Map<String, Object>> compactPropositions = new ArrayList<>();
+        for (final Map<String, Object> proposition : propositions) {
+            if (!proposition.containsKey(
+                    OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_SCOPEDETAILS)) {
+                compactPropositions.add(proposition);
+                continue;
+            }
+
+            removedScopeDetails.add(
+                    DataReader.optTypedMap(
+                            Object.class,
+                            proposition,
+                            OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_SCOPEDETAILS,
+                            null));
+
+            final Map<String, Object> compactProposition = new HashMap<>(proposition);
+            compactProposition.remove(
+                    OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_SCOPEDETAILS);
+            compactPropositions.add(compactProposition);
+        }
+
+        if (removedScopeDetails.isEmpty()) {
+            return xdm;
+        }
+
+        final Map<String, Object> compactDecisioning = new HashMap<>(decisioning);
+        compactDecisioning.put(
+                OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS, compactPropositions);
+        final Map<String, Object> compactExperience = new HashMap<>(experience);
+        compactExperience.put(
+                OptimizeConstants.JsonKeys.EXPERIENCE_DECISIONING, compactDecisioning);
+        final Map<String, Object> compactXdm = new HashMap<>(xdm);
+        compactXdm.put(OptimizeConstants.JsonKeys.EXPERIENCE, compactExperience);
+
+        final boolean sampled;
+        synchronized (this) {
+            sampled = compactedCount % SAVED_BYTES_SAMPLING_INTERVAL == 0;
+            compactedCount++;
+            removedScopeDetailsCount += removedScopeDetails.size();
+        }
+
+        if (sampled) {
+            long removedBytes = 0;
+            for (final Map<String, Object> scopeDetails : removedScopeDetails) {
+                removedBytes += SCOPE_DETAILS_KEY_SIZE + serializedSize(scopeDetails);
+            }
+            synchronized (this) {
+                sampledScopeDetailsCount += removedScopeDetails.size();
+                sampledBytes += removedBytes;
+            }
+        }
+        Log.trace(
+                OptimizeConstants.LOG_TAG,
+                SELF_TAG,
+                "Compacted the proposition interactions XDM, scope details of (%d) propositions"
+                        + " removed.",
+                removedScopeDetails.size());
+        return compactXdm;
+    }
+
+    /**
+     * Returns the number of proposition interactions XDM compacted since the compactor was
+     * created.
+     *
+     * @return {@code long} containing the number of compacted interactions.
+     */
+    synchronized long getCompactedCount() {
+        return compactedCount;
+    }
+
+    /**
+     * Returns the approximate number of bytes removed from the compacted interactions payloads,
+     * extrapolated from the sampled interactions.
+     *
+     * @return {@code long} containing the number of saved bytes.
+     */
+    synchronized long getSavedBytes() {
+        if (sampledScopeDetailsCount == 0) {
+            return 0;
+        }
+        return Math.round(
+                (double) sampledBytes * removedScopeDetailsCount / sampledScopeDetailsCount);
+    }
+
+    private static long serializedSize(final Map<String, Object> scopeDetails) {
+        if (scopeDetails == null) {
+            return "null".length();
+        }
+        return new JSONObject(scopeDetails).toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,416 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.services.ServiceProvider;
+import com.adobe.marketing.mobile.util.DataReader;
+import com.adobe.marketing.mobile.util.JSONUtils;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONObject;
+
+/**
+ * {@code InteractionJournal} persists the proposition interactions on disk until they are
+ * dispatched to the Edge network extension, so the interactions not yet dispatched when the
+ * application process dies are replayed on the next application launch.
+ *
+ * <p>The journal is an append-only file with one JSON record per line: an entry record for each
+ * interaction, and an acknowledgement record once the interaction is dispatched. A record torn by
+ * a crash is ignored. Once {@link OptimizeConstants.InteractionJournal#COMPACTION_THRESHOLD}
+ * interactions are acknowledged, the journal is compacted: the pending entries are written to a
+ * temporary file which is then renamed over the journal.
+ *
+ * <p>This class is thread-safe.
+ */
+class InteractionJournal {
+
+    private static final String SELF_TAG = "InteractionJournal";
+
+    private final File journalFile;
+    private final File tempFile;
+
+    // Entry records of the pending interactions, keyed by entry identifier, oldest first.
+    // This is guarded by this.
+    private final Map<String, String> pendingEntries = new LinkedHashMap<>();
+
+    // Number of acknowledgement records written since the journal was last compacted.
+    // This is guarded by this.
+    private int acknowledgedCount;
+
+    // Whether the journal written by the previous application launch is loaded, the journal is
+    // not compacted until then.
+    // This is guarded by this.
+    private boolean loaded;
+
+    private FileOutputStream outputStream;
+
+    /**
+     * Constructor creates an {@code InteractionJournal} backed by files in the given {@code
+     * directory}.
+     *
+     * @param directory {@link File} directory in which the journal is stored.
+     */
+    InteractionJournal(final File directory) {
+        this.journalFile = new File(directory, OptimizeConstants.InteractionJournal.FILE_NAME);
+        this.tempFile =
+                new File(
+                        directory,
+                        OptimizeConstants.InteractionJournal.FILE_NAME
+                                + OptimizeConstants.PropositionsCache.TEMP_FILE_SUFFIX);
+    }
+
+    /**
+     * Creates an {@code InteractionJournal} in the application cache directory.
+     *
+     * <p>This method returns null if the application cache directory is not available.
+     *
+     * @return {@code InteractionJournal} instance or null.
+     */
+    static InteractionJournal create() {
+        try {
+            final File cacheDir =
+                    ServiceProvider.getInstance().getDeviceInfoService().getApplicationCacheDir();
+            if (cacheDir == null) {
+                Log.debug(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "create - Interactions will not be journaled, application cache directory"
+                                + " is not available.");
+                return null;
+            }
+
+            final File directory =
+                    new File(cacheDir, OptimizeConstants.PropositionsCache.DIRECTORY);
+            if (!directory.exists() && !directory.mkdirs()) {
+                Log.debug(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "create - Interactions will not be journaled, failed to create directory"
+                                + " (%s).",
+                        directory.getPath());
+                return null;
+            }
+            return new InteractionJournal(directory);
+        } catch (final Exception e) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "create - Interactions will not be journaled due to an exception (%s).",
+                    e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Loads the journal, returning the interactions which were not acknowledged by the previous
+     * application launch, to be replayed.
+     *
+     * <p>The journal is compacted once loaded, and it is deleted if it cannot be read.
+     *
+     * @return {@code List<Entry>} containing the pending interactions of the previous launch,
+     *     oldest first.
+     */
+    synchronized List<Entry> load() {
+        final List<Entry> replayedEntries = new ArrayList<>();
+        loaded = true;
+
+        // a leftover temporary file belongs to an interrupted compaction, the journal is still
+        // intact.
+        deleteFile(tempFile);
+        if (!journalFile.exists()) {
+            return replayedEntries;
+        }
+
+        final Map<String, String> journalEntries = new LinkedHashMap<>();
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                readRecord(line, journalEntries);
+            }
+        } catch (final Exception e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "load - Discarding journaled interactions, failed to read the journal due to"
+                            + " an exception (%s).",
+                    e.getLocalizedMessage());
+            closeOutputStream();
+            deleteFile(journalFile);
+            pendingEntries.clear();
+            return replayedEntries;
+        }
+
+        final Iterator<Map.Entry<String, String>> iterator = journalEntries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, String> journalEntry = iterator.next();
+            if (pendingEntries.containsKey(journalEntry.getKey())) {
+                // journaled by this application launch.
+                continue;
+            }
+            final Entry entry = Entry.fromRecord(journalEntry.getValue());
+            if (entry != null) {
+                replayedEntries.add(entry);
+            } else {
+                iterator.remove();
+            }
+        }
+        pendingEntries.clear();
+        pendingEntries.putAll(journalEntries);
+
+        compact();
+        return replayedEntries;
+    }
+
+    /**
+     * Appends an entry for the given proposition interactions {@code xdm} to the journal.
+     *
+     * <p>If the journal already holds {@code maxPendingEntries} pending interactions, the oldest
+     * is dropped.
+     *
+     * @param entryId {@link String} containing the unique identifier of the entry.
+     * @param xdm {@code Map<String, Object>} containing the proposition interactions XDM.
+     * @param datasetId {@link String} containing the override dataset identifier, or null.
+     * @param maxPendingEntries {@code int} containing the maximum number of pending interactions.
+     */
+    synchronized void append(
+            @NonNull final String entryId,
+            @NonNull final Map<String, Object> xdm,
+            @Nullable final String datasetId,
+            final int maxPendingEntries) {
+        while (maxPendingEntries > 0 && pendingEntries.size() >= maxPendingEntries) {
+            final String droppedEntryId = pendingEntries.keySet().iterator().next();
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "append - Dropping the oldest journaled interaction (%s), the journal holds"
+                            + " (%d) pending interactions.",
+                    droppedEntryId,
+                    pendingEntries.size());
+            acknowledge(droppedEntryId);
+        }
+
+        final Map<String, Object> recordData = new HashMap<>();
+        recordData.put(OptimizeConstants.InteractionJournal.ID, entryId);
+        recordData.put(OptimizeConstants.InteractionJournal.XDM, xdm);
+        if (datasetId != null) {
+            recordData.put(OptimizeConstants.InteractionJournal.DATASET_ID, datasetId);
+        }
+        final String record = new JSONObject(recordData).toString();
+        if (writeRecord(record)) {
+            pendingEntries.put(entryId, record);
+        }
+    }
+
+    /**
+     * Acknowledges the entries with the given {@code entryIds}, once their interactions are
+     * dispatched.
+     *
+     * @param entryIds {@code Collection<String>} containing the entry identifiers.
+     */
+    synchronized void acknowledge(@NonNull final Collection<String> entryIds) {
+        for (final String entryId : entryIds) {
+            acknowledge(entryId);
+        }
+
+        if (loaded
+                && acknowledgedCount >= OptimizeConstants.InteractionJournal.COMPACTION_THRESHOLD) {
+            compact();
+        }
+    }
+
+    /** Drops all the journaled interactions and deletes the journal, e.g. upon identities reset. */
+    synchronized void clear() {
+        // nothing is left to load from the previous application launch.
+        loaded = true;
+        closeOutputStream();
+        pendingEntries.clear();
+        acknowledgedCount = 0;
+        deleteFile(journalFile);
+        deleteFile(tempFile);
+    }
+
+    /**
+     * Returns the number of journaled interactions not yet acknowledged.
+     *
+     * @return {@code int} containing the number of pending interactions.
+     */
+    synchronized int getPendingCount() {
+        return pendingEntries.size();
+    }
+
+    /** Journaled interaction, with its XDM and override dataset identifier. */
+    static final class Entry {
+        final String id;
+        final Map<String, Object> xdm;
+        final String datasetId;
+
+        Entry(final String id, final Map<String, Object> xdm, final String datasetId) {
+            this.id = id;
+            this.xdm = xdm;
+            this.datasetId = datasetId;
+        }
+
+        static Entry fromRecord(final String record) {
+            try {
+                final Map<String, Object> recordData = JSONUtils.toMap(new JSONObject(record));
+                final String id =
+                        DataReader.getString(recordData, OptimizeConstants.InteractionJournal.ID);
+                final Map<String, Object> xdm =
+                        DataReader.getTypedMap(
+                                Object.class,
+                                recordData,
+                                OptimizeConstants.InteractionJournal.XDM);
+                if (OptimizeUtils.isNullOrEmpty(id) || OptimizeUtils.isNullOrEmpty(xdm)) {
+                    return null;
+                }
+                return new Entry(
+                        id,
+                        xdm,
+                        DataReader.optString(
+                                recordData, OptimizeConstants.InteractionJournal.DATASET_ID, null));
+            } catch (final Exception e) {
+                return null;
+            }
+        }
+    }
+
+    private void acknowledge(final String entryId) {
+        if (pendingEntries.remove(entryId) == null) {
+            return;
+        }
+
+        final Map<String, Object> recordData = new HashMap<>();
+        recordData.put(OptimizeConstants.InteractionJournal.ACK, entryId);
+        if (writeRecord(new JSONObject(recordData).toString())) {
+            acknowledgedCount++;
+        }
+    }
+
+    private void compact() {
+        closeOutputStream();
+        acknowledgedCount = 0;
+        if (pendingEntries.isEmpty()) {
+            deleteFile(journalFile);
+            return;
+        }
+
+        try {
+            try (FileOutputStream tempOutputStream = new FileOutputStream(tempFile)) {
+                for (final String record : pendingEntries.values()) {
+                    tempOutputStream.write(toLine(record));
+                }
+                tempOutputStream.flush();
+                tempOutputStream.getFD().sync();
+            }
+
+            if (!tempFile.renameTo(journalFile)) {
+                Log.debug(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "compact - Failed to replace the interactions journal.");
+                deleteFile(tempFile);
+            }
+        } catch (final Exception e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "compact - Failed to compact the interactions journal due to an exception"
+                            + " (%s).",
+                    e.getLocalizedMessage());
+            deleteFile(tempFile);
+        }
+    }
+
+    private boolean writeRecord(final String record) {
+        try {
+            if (outputStream == null) {
+                outputStream = new FileOutputStream(journalFile, true);
+            }
+            outputStream.write(toLine(record));
+            return true;
+        } catch (final IOException e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "writeRecord - Failed to write to the interactions journal due to an"
+                            + " exception (%s).",
+                    e.getLocalizedMessage());
+            closeOutputStream();
+            return false;
+        }
+    }
+
+    private void closeOutputStream() {
+        if (outputStream == null) {
+            return;
+        }
+        try {
+            outputStream.close();
+        } catch (final IOException e) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "closeOutputStream - Failed to close the interactions journal (%s).",
+                    e.getLocalizedMessage());
+        }
+        outputStream = null;
+    }
+
+    private static void readRecord(final String line, final Map<String, String> entries) {
+        try {
+            final JSONObject record = new JSONObject(line);
+            if (record.has(OptimizeConstants.InteractionJournal.ACK)) {
+                entries.remove(record.getString(OptimizeConstants.InteractionJournal.ACK));
+            } else {
+                entries.put(record.getString(OptimizeConstants.InteractionJournal.ID), line);
+            }
+        } catch (final Exception e) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "readRecord - Ignoring an unreadable journal record (%s).",
+                    e.getLocalizedMessage());
+        }
+    }
+
+    private static byte[] toLine(final String record) {
+        return (record + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void deleteFile(final File file) {
+        if (file.exists() && !file.delete()) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "deleteFile - Failed to delete file (%s).",
+                    file.getPath());
+        }
+    }
+}
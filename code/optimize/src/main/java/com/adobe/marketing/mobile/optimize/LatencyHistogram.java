@@ -0,0 +1,125 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code LatencyHistogram} keeps the latencies, in milliseconds, of the most recent Edge
+ * personalization round trips, from the request dispatch to its content complete response.
+ *
+ * <p>Percentiles are computed from the samples in the rolling window, and the samples are also
+ * counted in fixed latency buckets, bounded by {@link
+ * OptimizeConstants.LatencyHistogram#BUCKET_BOUNDS}, for reporting.
+ *
+ * <p>This class is thread-safe.
+ */
+class LatencyHistogram {
+
+    private final long[] samples;
+    private final int[] bucketCounts =
+            new int[OptimizeConstants.LatencyHistogram.BUCKET_BOUNDS.length + 1];
+    private int nextIndex;
+    private int count;
+
+    LatencyHistogram() {
+        this(OptimizeConstants.LatencyHistogram.ROLLING_WINDOW);
+    }
+
+    LatencyHistogram(final int rollingWindow) {
+        this.samples = new long[rollingWindow];
+    }
+
+    /**
+     * Records the given round trip latency, evicting the oldest sample once the rolling window is
+     * full.
+     *
+     * @param latencyMillis {@code long} containing the round trip latency in milliseconds.
+     */
+    synchronized void record(final long latencyMillis) {
+        final long latency = Math.max(latencyMillis, 0L);
+        if (count == samples.length) {
+            bucketCounts[bucketIndex(samples[nextIndex])]--;
+        } else {
+            count++;
+        }
+        samples[nextIndex] = latency;
+        bucketCounts[bucketIndex(latency)]++;
+        nextIndex = (nextIndex + 1) % samples.length;
+    }
+
+    /**
+     * Returns the number of samples in the rolling window.
+     *
+     * @return {@code int} containing the samples count.
+     */
+    synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the given {@code percentile} of the latencies in the rolling window, using the
+     * nearest-rank method.
+     *
+     * @param percentile {@code double} between 0 and 1.
+     * @return {@code long} containing the latency in milliseconds, or -1 if no sample is recorded.
+     */
+    synchronized long getPercentile(final double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+
+        final long[] sortedSamples = Arrays.copyOf(samples, count);
+        Arrays.sort(sortedSamples);
+        final int rank = (int) Math.ceil(percentile * count);
+        return sortedSamples[Math.min(Math.max(rank, 1), count) - 1];
+    }
+
+    /**
+     * Returns the samples count, the p50, p90 and p99 latencies and the bucket counts, keyed by
+     * the bucket upper bound in milliseconds.
+     *
+     * @return {@code Map<String, Object>} containing the histogram data.
+     */
+    synchronized Map<String, Object> toEventData() {
+        final Map<String, Integer> buckets = new LinkedHashMap<>();
+        final long[] bounds = OptimizeConstants.LatencyHistogram.BUCKET_BOUNDS;
+        for (int i = 0; i < bounds.length; i++) {
+            buckets.put(String.valueOf(bounds[i]), bucketCounts[i]);
+        }
+        buckets.put(
+                OptimizeConstants.LatencyHistogram.OVERFLOW_BUCKET, bucketCounts[bounds.length]);
+
+        final Map<String, Object> data = new HashMap<>();
+        data.put(OptimizeConstants.LatencyHistogram.COUNT, count);
+        if (count > 0) {
+            data.put(OptimizeConstants.LatencyHistogram.P50, getPercentile(0.5));
+            data.put(OptimizeConstants.LatencyHistogram.P90, getPercentile(0.9));
+            data.put(OptimizeConstants.LatencyHistogram.P99, getPercentile(0.99));
+        }
+        data.put(OptimizeConstants.LatencyHistogram.BUCKETS, buckets);
+        return data;
+    }
+
+    private static int bucketIndex(final long latencyMillis) {
+        final long[] bounds = OptimizeConstants.LatencyHistogram.BUCKET_BOUNDS;
+        for (int i = 0; i < bounds.length; i++) {
+            if (latencyMillis <= bounds[i]) {
+                return i;
+            }
+        }
+        return bounds.length;
+    }
+}
@@ -39,6 +39,10 @@ public class Offer {
 
     SoftReference<OptimizeProposition> propositionReference;
 
+    // Unmodifiable _experience interaction XDM, built on first interaction if this offer belongs
+    // to an unmodifiable proposition.
+    private volatile Map<String, Object> interactionExperience;
+
     /**
      * Private constructor.
      *
@@ -301,6 +305,10 @@ public class Offer {
      * <p>The returned XDM data does contain the {@code eventType} for the Experience Event with
      * value {@code decisioning.propositionDisplay}.
      *
+     * <p>Additional XDM can be added to the returned map. For offers of the propositions returned
+     * by the {@link Optimize} APIs, its nested {@code _experience} data is shared by the
+     * interactions with this offer, and is unmodifiable.
+     *
      * <p>Note: The Edge sendEvent API can be used to dispatch this data in an Experience Event
      * along with any additional XDM, free-form data, and override dataset identifier.
      *
@@ -308,18 +316,7 @@ public class Offer {
      * @see XDMUtils#generateInteractionXdm(String, List)
      */
     public Map<String, Object> generateDisplayInteractionXdm() {
-        if (propositionReference == null || propositionReference.get() == null) {
-            return null;
-        }
-        OptimizeProposition proposition =
-                new OptimizeProposition(
-                        propositionReference.get().getId(),
-                        Collections.singletonList(this),
-                        propositionReference.get().getScope(),
-                        propositionReference.get().getScopeDetails());
-        return XDMUtils.generateInteractionXdm(
-                OptimizeConstants.JsonValues.EE_EVENT_TYPE_PROPOSITION_DISPLAY,
-                Collections.singletonList(proposition));
+        return getInteractionXdm(OptimizeConstants.JsonValues.EE_EVENT_TYPE_PROPOSITION_DISPLAY);
     }
 
     /**
@@ -329,6 +326,10 @@ public class Offer {
      * <p>The returned XDM data contains the {@code eventType} for the Experience Event with value
      * {@code decisioning.propositionInteract}.
      *
+     * <p>Additional XDM can be added to the returned map. For offers of the propositions returned
+     * by the {@link Optimize} APIs, its nested {@code _experience} data is shared by the
+     * interactions with this offer, and is unmodifiable.
+     *
      * <p>Note: The Edge sendEvent API can be used to dispatch this data in an Experience Event
      * along with any additional XDM, free-form data, and override dataset identifier.
      *
@@ -336,18 +337,79 @@ public class Offer {
      * @see XDMUtils#generateInteractionXdm(String, List)
      */
     public Map<String, Object> generateTapInteractionXdm() {
-        if (propositionReference == null || propositionReference.get() == null) {
+        return getInteractionXdm(OptimizeConstants.JsonValues.EE_EVENT_TYPE_PROPOSITION_INTERACT);
+    }
+
+    /**
+     * Returns the interaction XDM for the given {@code experienceEventType}.
+     *
+     * <p>If this {@code Offer} belongs to an unmodifiable proposition, such as the propositions
+     * returned by the {@link Optimize} APIs, the {@code _experience} XDM is built on the first
+     * interaction and shared by the subsequent ones, as the proposition scope and scope details
+     * cannot change. Otherwise, a fully modifiable XDM is built on every call.
+     *
+     * @param experienceEventType {@link String} containing the event type for the Experience
+     *     Event.
+     * @return {@code Map<String, Object>} containing the XDM data for the proposition interaction,
+     *     or null if the proposition reference is released.
+     */
+    private Map<String, Object> getInteractionXdm(final String experienceEventType) {
+        final OptimizeProposition proposition =
+                propositionReference != null ? propositionReference.get() : null;
+        if (proposition == null) {
             return null;
         }
-        OptimizeProposition proposition =
-                new OptimizeProposition(
-                        propositionReference.get().getId(),
-                        Collections.singletonList(this),
-                        propositionReference.get().getScope(),
-                        propositionReference.get().getScopeDetails());
-        return XDMUtils.generateInteractionXdm(
-                OptimizeConstants.JsonValues.EE_EVENT_TYPE_PROPOSITION_INTERACT,
-                Collections.singletonList(proposition));
+        if (!proposition.isImmutable()) {
+            return XDMUtils.generateInteractionXdm(
+                    experienceEventType,
+                    Collections.singletonList(
+                            new OptimizeProposition(
+                                    proposition.getId(),
+                                    Collections.singletonList(this),
+                                    proposition.getScope(),
+                                    proposition.getScopeDetails())));
+        }
+
+        Map<String, Object> experience = interactionExperience;
+        if (experience == null) {
+            experience = buildInteractionExperience(proposition);
+            interactionExperience = experience;
+        }
+        final Map<String, Object> xdm = new HashMap<>();
+        xdm.put(OptimizeConstants.JsonKeys.EXPERIENCE, experience);
+        xdm.put(OptimizeConstants.JsonKeys.EXPERIENCE_EVENT_TYPE, experienceEventType);
+        return xdm;
+    }
+
+    /**
+     * Builds the unmodifiable {@code _experience} interaction XDM for this {@code Offer} of the
+     * given unmodifiable {@code proposition}, shared by its display and tap interactions.
+     *
+     * @param proposition unmodifiable {@link OptimizeProposition} containing this offer.
+     * @return {@code Map<String, Object>} containing the {@code _experience} XDM data.
+     */
+    private Map<String, Object> buildInteractionExperience(final OptimizeProposition proposition) {
+        final Map<String, Object> xdmProposition = new HashMap<>();
+        xdmProposition.put(
+                OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ID, proposition.getId());
+        xdmProposition.put(
+                OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_SCOPE, proposition.getScope());
+        xdmProposition.put(
+                OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_SCOPEDETAILS,
+                proposition.getScopeDetails());
+        xdmProposition.put(
+                OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ITEMS,
+                Collections.singletonList(
+                        Collections.singletonMap(
+                                OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS_ITEMS_ID,
+                                id)));
+
+        final Map<String, Object> decisioning =
+                Collections.singletonMap(
+                        OptimizeConstants.JsonKeys.DECISIONING_PROPOSITIONS,
+                        Collections.singletonList(Collections.unmodifiableMap(xdmProposition)));
+        return Collections.singletonMap(
+                OptimizeConstants.JsonKeys.EXPERIENCE_DECISIONING, decisioning);
     }
 
     /**
@@ -502,6 +564,25 @@ public class Offer {
         return offerMap;
     }
 
+    /**
+     * Creates an unmodifiable copy of this {@code Offer}, with unmodifiable copies of its metadata,
+     * language and characteristics.
+     *
+     * <p>The copy is not attached to a proposition.
+     *
+     * @return {@link Offer} unmodifiable copy.
+     */
+    Offer toImmutable() {
+        return new Builder(id, type, content)
+                .setEtag(etag)
+                .setScore(score)
+                .setSchema(schema)
+                .setMeta(OptimizeUtils.toImmutable(meta))
+                .setLanguage(OptimizeUtils.toImmutable(language))
+                .setCharacteristics(OptimizeUtils.toImmutable(characteristics))
+                .build();
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -82,16 +82,18 @@ public class Optimize {
      * @param data {@code Map<String, Object>} containing additional free-form data to be sent in
      *     the personalization query request.
      * @param callback {@code AdobeCallback<Map<DecisionScope, OptimizeProposition>>} which will be
-     *     invoked when decision propositions are received from the Edge network.
+     *     invoked when decision propositions are received from the Edge network. If it is an {@link
+     *     AdobeCallbackWithPartialPropositions}, the propositions of each Edge response chunk are
+     *     also streamed to it as soon as they are received, before the final call with all the
+     *     propositions. If it is an {@link AdobeCallbackWithCircuitBreaker}, it is invoked with the
+     *     cached propositions instead when the circuit breaker is open.
      */
     public static void updatePropositions(
             @NonNull final List<DecisionScope> decisionScopes,
             @Nullable final Map<String, Object> xdm,
             @Nullable final Map<String, Object> data,
             @Nullable final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
-        final double defaultTimeoutSeconds =
-                (double) Long.MAX_VALUE / OptimizeConstants.TIMEOUT_CONVERSION_FACTOR;
-        updatePropositionsInternal(decisionScopes, xdm, data, defaultTimeoutSeconds, callback);
+        updatePropositionsCancellable(decisionScopes, xdm, data, callback);
     }
 
     /**
@@ -111,7 +113,11 @@ public class Optimize {
      * @param timeoutSeconds {@code Double} containing additional configurable timeout(seconds) to
      *     be sent in the personalization query request.
      * @param callback {@code AdobeCallback<Map<DecisionScope, OptimizeProposition>>} which will be
-     *     invoked when decision propositions are received from the Edge network.
+     *     invoked when decision propositions are received from the Edge network. If it is an {@link
+     *     AdobeCallbackWithPartialPropositions}, the propositions of each Edge response chunk are
+     *     also streamed to it as soon as they are received, before the final call with all the
+     *     propositions. If it is an {@link AdobeCallbackWithCircuitBreaker}, it is invoked with the
+     *     cached propositions instead when the circuit breaker is open.
      */
     public static void updatePropositions(
             @NonNull final List<DecisionScope> decisionScopes,
@@ -122,7 +128,79 @@ public class Optimize {
         updatePropositionsInternal(decisionScopes, xdm, data, timeoutSeconds, callback);
     }
 
-    private static void updatePropositionsInternal(
+    /**
+     * This API dispatches an Event for the Edge network extension to fetch decision propositions,
+     * for the provided decision scopes list, from the decisioning services enabled in the
+     * Experience Edge network.
+     *
+     * <p>The returned decision propositions are cached in-memory in the Optimize SDK extension and
+     * can be retrieved using {@link #getPropositions(List, AdobeCallback)} API.
+     *
+     * <p>Unlike {@link #updatePropositions(List, Map, Map, AdobeCallback)}, this API returns a
+     * handle which can be used to cancel the request while it is in progress.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing scopes for which offers need to
+     *     be updated.
+     * @param xdm {@code Map<String, Object>} containing additional XDM-formatted data to be sent in
+     *     the personalization query request.
+     * @param data {@code Map<String, Object>} containing additional free-form data to be sent in
+     *     the personalization query request.
+     * @param callback {@code AdobeCallback<Map<DecisionScope, OptimizeProposition>>} which will be
+     *     invoked when decision propositions are received from the Edge network. If it is an {@link
+     *     AdobeCallbackWithPartialPropositions}, the propositions of each Edge response chunk are
+     *     also streamed to it as soon as they are received, before the final call with all the
+     *     propositions. If it is an {@link AdobeCallbackWithCircuitBreaker}, it is invoked with the
+     *     cached propositions instead when the circuit breaker is open.
+     * @return {@link UpdatePropositionsHandle} which can be used to cancel the request.
+     */
+    public static UpdatePropositionsHandle updatePropositionsCancellable(
+            @NonNull final List<DecisionScope> decisionScopes,
+            @Nullable final Map<String, Object> xdm,
+            @Nullable final Map<String, Object> data,
+            @Nullable final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
+        final double defaultTimeoutSeconds =
+                (double) Long.MAX_VALUE / OptimizeConstants.TIMEOUT_CONVERSION_FACTOR;
+        return updatePropositionsInternal(
+                decisionScopes, xdm, data, defaultTimeoutSeconds, callback);
+    }
+
+    /**
+     * This API dispatches an Event for the Edge network extension to fetch decision propositions,
+     * for the provided decision scopes list, from the decisioning services enabled in the
+     * Experience Edge network.
+     *
+     * <p>The returned decision propositions are cached in-memory in the Optimize SDK extension and
+     * can be retrieved using {@link #getPropositions(List, double, AdobeCallback)} API.
+     *
+     * <p>Unlike {@link #updatePropositions(List, Map, Map, double, AdobeCallback)}, this API
+     * returns a handle which can be used to cancel the request while it is in progress.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing scopes for which offers need to
+     *     be updated.
+     * @param xdm {@code Map<String, Object>} containing additional XDM-formatted data to be sent in
+     *     the personalization query request.
+     * @param data {@code Map<String, Object>} containing additional free-form data to be sent in
+     *     the personalization query request.
+     * @param timeoutSeconds {@code Double} containing additional configurable timeout(seconds) to
+     *     be sent in the personalization query request.
+     * @param callback {@code AdobeCallback<Map<DecisionScope, OptimizeProposition>>} which will be
+     *     invoked when decision propositions are received from the Edge network. If it is an {@link
+     *     AdobeCallbackWithPartialPropositions}, the propositions of each Edge response chunk are
+     *     also streamed to it as soon as they are received, before the final call with all the
+     *     propositions. If it is an {@link AdobeCallbackWithCircuitBreaker}, it is invoked with the
+     *     cached propositions instead when the circuit breaker is open.
+     * @return {@link UpdatePropositionsHandle} which can be used to cancel the request.
+     */
+    public static UpdatePropositionsHandle updatePropositionsCancellable(
+            @NonNull final List<DecisionScope> decisionScopes,
+            @Nullable final Map<String, Object> xdm,
+            @Nullable final Map<String, Object> data,
+            final double timeoutSeconds,
+            @Nullable final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
+        return updatePropositionsInternal(decisionScopes, xdm, data, timeoutSeconds, callback);
+    }
+
+    private static UpdatePropositionsHandle updatePropositionsInternal(
             @NonNull final List<DecisionScope> decisionScopes,
             @Nullable final Map<String, Object> xdm,
             @Nullable final Map<String, Object> data,
@@ -139,7 +217,7 @@ public class Optimize {
             AEPOptimizeError aepOptimizeError = AEPOptimizeError.Companion.getInvalidRequestError();
             failWithOptimizeError(callback, aepOptimizeError);
 
-            return;
+            return new UpdatePropositionsHandle(null);
         }
 
         final List<DecisionScope> validScopes = new ArrayList<>();
@@ -158,7 +236,7 @@ public class Optimize {
                             + " scope.");
             AEPOptimizeError aepOptimizeError = AEPOptimizeError.Companion.getInvalidRequestError();
             failWithOptimizeError(callback, aepOptimizeError);
-            return;
+            return new UpdatePropositionsHandle(null);
         }
 
         final List<Map<String, Object>> flattenedDecisionScopes = new ArrayList<>();
@@ -183,6 +261,11 @@ public class Optimize {
         long timeoutMillis = (long) (timeoutSeconds * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR);
 
         eventData.put(OptimizeConstants.EventDataKeys.TIMEOUT, timeoutMillis);
+        eventData.put(OptimizeConstants.EventDataKeys.PROPOSITIONS_HANDOFF, true);
+        final boolean streamPropositions = callback instanceof AdobeCallbackWithPartialPropositions;
+        if (streamPropositions) {
+            eventData.put(OptimizeConstants.EventDataKeys.STREAM_PROPOSITIONS, true);
+        }
 
         final Event event =
                 new Event.Builder(
@@ -192,12 +275,26 @@ public class Optimize {
                         .setEventData(eventData)
                         .build();
 
+        if (streamPropositions) {
+            PropositionsStream.open(
+                    event.getUniqueIdentifier(),
+                    (AdobeCallbackWithPartialPropositions<Map<DecisionScope, OptimizeProposition>>)
+                            callback);
+        }
+
+        final UpdatePropositionsHandle handle =
+                new UpdatePropositionsHandle(event.getUniqueIdentifier());
         MobileCore.dispatchEventWithResponseCallback(
                 event,
                 timeoutMillis,
                 new AdobeCallbackWithError<Event>() {
                     @Override
                     public void fail(final AdobeError adobeError) {
+                        PropositionsStream.close(event.getUniqueIdentifier());
+                        if (!handle.complete()) {
+                            return;
+                        }
+
                         AEPOptimizeError aepOptimizeError;
                         if (adobeError == AdobeError.CALLBACK_TIMEOUT) {
                             aepOptimizeError = AEPOptimizeError.Companion.getTimeoutError();
@@ -208,10 +305,22 @@ public class Optimize {
                     }
 
                     @Override
-                    public void call(final Event event) {
+                    public void call(final Event responseEvent) {
+                        PropositionsStream.close(event.getUniqueIdentifier());
                         try {
-                            final Map<String, Object> eventData = event.getEventData();
-                            if (OptimizeUtils.isNullOrEmpty(eventData)) {
+                            final Map<DecisionScope, OptimizeProposition> handedOffPropositions =
+                                    PropositionsHandoff.take(responseEvent.getUniqueIdentifier());
+                            if (!handle.complete()) {
+                                // the request is cancelled, its callback is not invoked.
+                                return;
+                            }
+
+                            final Map<String, Object> eventData =
+                                    responseEvent.getEventData() != null
+                                            ? responseEvent.getEventData()
+                                            : new HashMap<>();
+                            if (handedOffPropositions == null
+                                    && OptimizeUtils.isNullOrEmpty(eventData)) {
 
                                 AEPOptimizeError aepOptimizeError =
                                         AEPOptimizeError.Companion.getUnexpectedError();
@@ -237,37 +346,33 @@ public class Optimize {
                                 return;
                             }
 
-                            if (!eventData.containsKey(
-                                    OptimizeConstants.EventDataKeys.PROPOSITIONS)) {
+                            if (handedOffPropositions == null
+                                    && !eventData.containsKey(
+                                            OptimizeConstants.EventDataKeys.PROPOSITIONS)) {
                                 AEPOptimizeError aepOptimizeError =
                                         AEPOptimizeError.Companion.getUnexpectedError();
                                 failWithOptimizeError(callback, aepOptimizeError);
                                 return;
                             }
 
-                            final List<Map<String, Object>> propositionsList;
-                            propositionsList =
-                                    DataReader.getTypedListOfMap(
-                                            Object.class,
-                                            eventData,
-                                            OptimizeConstants.EventDataKeys.PROPOSITIONS);
                             final Map<DecisionScope, OptimizeProposition> propositionsMap =
-                                    new HashMap<>();
-                            if (propositionsList != null) {
-                                for (final Map<String, Object> propositionData : propositionsList) {
-                                    final OptimizeProposition optimizeProposition =
-                                            OptimizeProposition.fromEventData(propositionData);
-                                    if (optimizeProposition != null
-                                            && !OptimizeUtils.isNullOrEmpty(
-                                                    optimizeProposition.getScope())) {
-                                        final DecisionScope scope =
-                                                new DecisionScope(optimizeProposition.getScope());
-                                        propositionsMap.put(scope, optimizeProposition);
-                                    }
-                                }
-                            }
+                                    handedOffPropositions != null
+                                            ? handedOffPropositions
+                                            : retrievePropositions(eventData);
 
-                            if (callback != null) {
+                            final boolean servedByCircuitBreaker =
+                                    DataReader.optBoolean(
+                                            eventData,
+                                            OptimizeConstants.EventDataKeys
+                                                    .SERVED_BY_CIRCUIT_BREAKER,
+                                            false);
+                            if (servedByCircuitBreaker
+                                    && callback instanceof AdobeCallbackWithCircuitBreaker) {
+                                ((AdobeCallbackWithCircuitBreaker<
+                                                        Map<DecisionScope, OptimizeProposition>>)
+                                                callback)
+                                        .cached(propositionsMap);
+                            } else if (callback != null) {
                                 callback.call(propositionsMap);
                             }
                         } catch (DataReaderException e) {
@@ -276,6 +381,7 @@ public class Optimize {
                         }
                     }
                 });
+        return handle;
     }
 
     /**
@@ -285,13 +391,24 @@ public class Optimize {
      * @param decisionScopes {@code List<DecisionScope>} containing scopes for which offers need to
      *     be requested.
      * @param callback {@code AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>} which
-     *     will be invoked when decision propositions are retrieved from the local cache.
+     *     will be invoked when decision propositions are retrieved from the local cache. If it is
+     *     an {@link AdobeCallbackWithExpiredScopes}, it is also notified of the scopes whose cached
+     *     propositions expired. If it is an {@link AdobeCallbackWithStalePropositions}, the cached
+     *     propositions are returned immediately, marked stale, when any of the scopes is being
+     *     updated, and the updated propositions follow once the update completes. If it is an
+     *     {@link AdobeCallbackWithPendingScopes} and the timeout expires while any of the scopes is
+     *     being updated, the cached propositions are returned along with the scopes still pending
+     *     instead of failing with {@link AdobeError#CALLBACK_TIMEOUT}.
      */
     public static void getPropositions(
             @NonNull final List<DecisionScope> decisionScopes,
             @NonNull final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
         final double defaultTimeoutSeconds = OptimizeConstants.GET_RESPONSE_CALLBACK_TIMEOUT;
-        getPropositionsInternal(decisionScopes, defaultTimeoutSeconds, callback);
+        getPropositionsInternal(
+                decisionScopes,
+                defaultTimeoutSeconds,
+                callback instanceof AdobeCallbackWithStalePropositions,
+                callback);
     }
 
     /**
@@ -301,18 +418,30 @@ public class Optimize {
      * @param decisionScopes {@code List<DecisionScope>} containing scopes for which offers need to
      *     be requested.
      * @param callback {@code AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>} which
-     *     will be invoked when decision propositions are retrieved from the local cache.
+     *     will be invoked when decision propositions are retrieved from the local cache. If it is
+     *     an {@link AdobeCallbackWithExpiredScopes}, it is also notified of the scopes whose cached
+     *     propositions expired. If it is an {@link AdobeCallbackWithStalePropositions}, the cached
+     *     propositions are returned immediately, marked stale, when any of the scopes is being
+     *     updated, and the updated propositions follow once the update completes. If it is an
+     *     {@link AdobeCallbackWithPendingScopes} and the timeout expires while any of the scopes is
+     *     being updated, the cached propositions are returned along with the scopes still pending
+     *     instead of failing with {@link AdobeError#CALLBACK_TIMEOUT}.
      */
     public static void getPropositions(
             @NonNull final List<DecisionScope> decisionScopes,
             final double timeoutSeconds,
             @NonNull final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
-        getPropositionsInternal(decisionScopes, timeoutSeconds, callback);
+        getPropositionsInternal(
+                decisionScopes,
+                timeoutSeconds,
+                callback instanceof AdobeCallbackWithStalePropositions,
+                callback);
     }
 
     private static void getPropositionsInternal(
             @NonNull final List<DecisionScope> decisionScopes,
             final double timeoutSeconds,
+            final boolean allowStale,
             @NonNull final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
         if (OptimizeUtils.isNullOrEmpty(decisionScopes)) {
             Log.warning(
@@ -341,30 +470,26 @@ public class Optimize {
             return;
         }
 
-        final List<Map<String, Object>> flattenedDecisionScopes = new ArrayList<>();
-        for (final DecisionScope scope : validScopes) {
-            flattenedDecisionScopes.add(scope.toEventData());
-        }
-
-        final Map<String, Object> eventData = new HashMap<>();
-        eventData.put(
-                OptimizeConstants.EventDataKeys.REQUEST_TYPE,
-                OptimizeConstants.EventDataValues.REQUEST_TYPE_GET);
-        eventData.put(OptimizeConstants.EventDataKeys.DECISION_SCOPES, flattenedDecisionScopes);
+        long timeoutMillis = (long) (timeoutSeconds * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR);
 
+        // with a pending scopes callback, the timeout is a deadline for the extension, which then
+        // responds with the cached propositions and the scopes still pending. The response
+        // callback only times out if the extension does not respond at all.
+        final boolean pendingScopesCallback = callback instanceof AdobeCallbackWithPendingScopes;
         final Event event =
-                new Event.Builder(
-                                OptimizeConstants.EventNames.GET_PROPOSITIONS_REQUEST,
-                                OptimizeConstants.EventType.OPTIMIZE,
-                                OptimizeConstants.EventSource.REQUEST_CONTENT)
-                        .setEventData(eventData)
-                        .build();
-
-        long timeoutMillis = (long) (timeoutSeconds * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR);
+                createGetPropositionsEvent(
+                        validScopes, allowStale, pendingScopesCallback ? timeoutMillis : 0L);
+        final long responseTimeoutMillis =
+                pendingScopesCallback
+                        ? timeoutMillis
+                                + (long)
+                                        (OptimizeConstants.GET_RESPONSE_CALLBACK_TIMEOUT
+                                                * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR)
+                        : timeoutMillis;
 
         MobileCore.dispatchEventWithResponseCallback(
                 event,
-                timeoutMillis,
+                responseTimeoutMillis,
                 new AdobeCallbackWithError<Event>() {
                     @Override
                     public void fail(final AdobeError adobeError) {
@@ -374,8 +499,14 @@ public class Optimize {
                     @Override
                     public void call(final Event event) {
                         try {
-                            final Map<String, Object> eventData = event.getEventData();
-                            if (OptimizeUtils.isNullOrEmpty(eventData)) {
+                            final Map<DecisionScope, OptimizeProposition> handedOffPropositions =
+                                    PropositionsHandoff.take(event.getUniqueIdentifier());
+                            final Map<String, Object> eventData =
+                                    event.getEventData() != null
+                                            ? event.getEventData()
+                                            : new HashMap<>();
+                            if (handedOffPropositions == null
+                                    && OptimizeUtils.isNullOrEmpty(eventData)) {
                                 failWithError(callback, AdobeError.UNEXPECTED_ERROR);
                                 return;
                             }
@@ -391,28 +522,67 @@ public class Optimize {
                                 return;
                             }
 
-                            final List<Map<String, Object>> propositionsList;
-                            propositionsList =
-                                    DataReader.getTypedListOfMap(
+                            if (handedOffPropositions == null
+                                    && !eventData.containsKey(
+                                            OptimizeConstants.EventDataKeys.PROPOSITIONS)) {
+                                failWithError(callback, AdobeError.UNEXPECTED_ERROR);
+                                return;
+                            }
+
+                            final Map<DecisionScope, OptimizeProposition> propositionsMap =
+                                    handedOffPropositions != null
+                                            ? handedOffPropositions
+                                            : retrievePropositions(eventData);
+                            final List<Map<String, Object>> pendingScopesList =
+                                    DataReader.optTypedListOfMap(
                                             Object.class,
                                             eventData,
-                                            OptimizeConstants.EventDataKeys.PROPOSITIONS);
-                            final Map<DecisionScope, OptimizeProposition> propositionsMap =
-                                    new HashMap<>();
-                            if (propositionsList != null) {
-                                for (final Map<String, Object> propositionData : propositionsList) {
-                                    final OptimizeProposition optimizeProposition =
-                                            OptimizeProposition.fromEventData(propositionData);
-                                    if (optimizeProposition != null
-                                            && !OptimizeUtils.isNullOrEmpty(
-                                                    optimizeProposition.getScope())) {
-                                        final DecisionScope scope =
-                                                new DecisionScope(optimizeProposition.getScope());
-                                        propositionsMap.put(scope, optimizeProposition);
-                                    }
-                                }
+                                            OptimizeConstants.EventDataKeys.PENDING_SCOPES,
+                                            null);
+                            final List<Map<String, Object>> staleScopesList =
+                                    DataReader.optTypedListOfMap(
+                                            Object.class,
+                                            eventData,
+                                            OptimizeConstants.EventDataKeys.STALE_SCOPES,
+                                            null);
+                            if (pendingScopesCallback
+                                    && !OptimizeUtils.isNullOrEmpty(pendingScopesList)) {
+                                // the deadline expired, the cached propositions are returned
+                                // along with the scopes still pending.
+                                ((AdobeCallbackWithPendingScopes<
+                                                        Map<DecisionScope, OptimizeProposition>>)
+                                                callback)
+                                        .pending(
+                                                propositionsMap,
+                                                retrieveDecisionScopes(pendingScopesList));
+                            } else if (callback instanceof AdobeCallbackWithStalePropositions
+                                    && !OptimizeUtils.isNullOrEmpty(staleScopesList)) {
+                                ((AdobeCallbackWithStalePropositions<
+                                                        Map<DecisionScope, OptimizeProposition>>)
+                                                callback)
+                                        .stale(propositionsMap);
+
+                                // the updated propositions are returned once the in-progress
+                                // updates complete.
+                                getPropositionsInternal(
+                                        validScopes, timeoutSeconds, false, callback);
+                            } else {
+                                callback.call(propositionsMap);
+                            }
+
+                            final List<Map<String, Object>> expiredScopesList =
+                                    DataReader.optTypedListOfMap(
+                                            Object.class,
+                                            eventData,
+                                            OptimizeConstants.EventDataKeys.EXPIRED_SCOPES,
+                                            null);
+                            if (callback instanceof AdobeCallbackWithExpiredScopes
+                                    && !OptimizeUtils.isNullOrEmpty(expiredScopesList)) {
+                                ((AdobeCallbackWithExpiredScopes<
+                                                        Map<DecisionScope, OptimizeProposition>>)
+                                                callback)
+                                        .expired(retrieveDecisionScopes(expiredScopesList));
                             }
-                            callback.call(propositionsMap);
                         } catch (DataReaderException e) {
                             failWithError(callback, AdobeError.UNEXPECTED_ERROR);
                         }
@@ -420,6 +590,47 @@ public class Optimize {
                 });
     }
 
+    /**
+     * Creates a get propositions request event for the given {@code validScopes}.
+     *
+     * @param validScopes {@code List<DecisionScope>} containing the requested scopes.
+     * @param allowStale {@code boolean} indicating whether the cached propositions are returned
+     *     without waiting for the update propositions requests in progress.
+     * @param deadlineMillis {@code long} containing the time, in milliseconds, after which the
+     *     cached propositions are returned along with the scopes still pending, or 0 to wait for
+     *     the update propositions requests in progress.
+     * @return {@link Event} containing the get propositions request.
+     */
+    private static Event createGetPropositionsEvent(
+            @NonNull final List<DecisionScope> validScopes,
+            final boolean allowStale,
+            final long deadlineMillis) {
+        final List<Map<String, Object>> flattenedDecisionScopes = new ArrayList<>();
+        for (final DecisionScope scope : validScopes) {
+            flattenedDecisionScopes.add(scope.toEventData());
+        }
+
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put(
+                OptimizeConstants.EventDataKeys.REQUEST_TYPE,
+                OptimizeConstants.EventDataValues.REQUEST_TYPE_GET);
+        eventData.put(OptimizeConstants.EventDataKeys.DECISION_SCOPES, flattenedDecisionScopes);
+        if (allowStale) {
+            eventData.put(OptimizeConstants.EventDataKeys.ALLOW_STALE, true);
+        }
+        if (deadlineMillis > 0) {
+            eventData.put(OptimizeConstants.EventDataKeys.DEADLINE, deadlineMillis);
+        }
+        eventData.put(OptimizeConstants.EventDataKeys.PROPOSITIONS_HANDOFF, true);
+
+        return new Event.Builder(
+                        OptimizeConstants.EventNames.GET_PROPOSITIONS_REQUEST,
+                        OptimizeConstants.EventType.OPTIMIZE,
+                        OptimizeConstants.EventSource.REQUEST_CONTENT)
+                .setEventData(eventData)
+                .build();
+    }
+
     /**
      * This API registers a permanent callback which is invoked whenever the Edge extension
      * dispatches a response Event received from the Experience Edge Network upon a personalization
@@ -481,7 +692,65 @@ public class Optimize {
                 });
     }
 
-    /** Clears the client-side in-memory propositions cache. */
+    /**
+     * This API synchronously reads the previously fetched propositions, for the provided decision
+     * scopes, from the in-memory extension propositions cache.
+     *
+     * <p>Unlike {@link #getPropositions(List, AdobeCallback)}, the propositions are read directly
+     * on the calling thread without dispatching an event, so this API is suitable for rendering
+     * offers on the UI thread. It does not wait for pending update propositions requests to
+     * complete, so it may return propositions which are about to be replaced. Expired propositions
+     * are not returned.
+     *
+     * <p>The returned propositions are the unmodifiable instances cached by the extension.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing scopes for which propositions
+     *     need to be read.
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the cached propositions,
+     *     or an empty map if none of the scopes has cached propositions or the extension is not
+     *     registered.
+     */
+    @NonNull public static Map<DecisionScope, OptimizeProposition> peekCachedPropositions(
+            @NonNull final List<DecisionScope> decisionScopes) {
+        if (OptimizeUtils.isNullOrEmpty(decisionScopes)) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cannot peek propositions, provided list of decision scopes is null or"
+                            + " empty.");
+            return new HashMap<>();
+        }
+
+        final List<DecisionScope> validScopes = new ArrayList<>();
+        for (final DecisionScope scope : decisionScopes) {
+            if (scope == null || !scope.isValid()) {
+                continue;
+            }
+            validScopes.add(scope);
+        }
+
+        if (validScopes.isEmpty()) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cannot peek propositions, provided list of decision scopes has no valid"
+                            + " scope.");
+            return new HashMap<>();
+        }
+
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                PropositionsPeek.read(validScopes);
+        if (propositions == null) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cannot peek propositions, Optimize extension is not registered.");
+            return new HashMap<>();
+        }
+        return propositions;
+    }
+
+    /** Clears the client-side in-memory and persisted propositions cache. */
     public static void clearCachedPropositions() {
         final Event event =
                 new Event.Builder(
@@ -492,6 +761,281 @@ public class Optimize {
         MobileCore.dispatchEvent(event);
     }
 
+    /**
+     * This API pins the provided decision scopes, so their propositions are never evicted from the
+     * propositions cache when it exceeds the configured {@code optimize.cacheMaxSize}.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing scopes to be pinned.
+     */
+    public static void pinPropositions(@NonNull final List<DecisionScope> decisionScopes) {
+        dispatchPinPropositionsRequest(
+                decisionScopes,
+                OptimizeConstants.EventNames.PIN_PROPOSITIONS_REQUEST,
+                OptimizeConstants.EventDataValues.REQUEST_TYPE_PIN);
+    }
+
+    /**
+     * This API unpins the provided decision scopes, previously pinned using {@link
+     * #pinPropositions(List)}, so their propositions can be evicted from the propositions cache.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing scopes to be unpinned.
+     */
+    public static void unpinPropositions(@NonNull final List<DecisionScope> decisionScopes) {
+        dispatchPinPropositionsRequest(
+                decisionScopes,
+                OptimizeConstants.EventNames.UNPIN_PROPOSITIONS_REQUEST,
+                OptimizeConstants.EventDataValues.REQUEST_TYPE_UNPIN);
+    }
+
+    /**
+     * This API retrieves the current metrics of the Optimize extension, such as the propositions
+     * cache size and eviction count.
+     *
+     * @param callback {@code AdobeCallback<Map<String, Object>>} which will be invoked with the
+     *     metrics. If it is an {@link AdobeCallbackWithError}, it is notified of any error.
+     */
+    public static void getMetrics(@NonNull final AdobeCallback<Map<String, Object>> callback) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put(
+                OptimizeConstants.EventDataKeys.REQUEST_TYPE,
+                OptimizeConstants.EventDataValues.REQUEST_TYPE_GET_METRICS);
+
+        final Event event =
+                new Event.Builder(
+                                OptimizeConstants.EventNames.GET_METRICS_REQUEST,
+                                OptimizeConstants.EventType.OPTIMIZE,
+                                OptimizeConstants.EventSource.REQUEST_CONTENT)
+                        .setEventData(eventData)
+                        .build();
+
+        final long timeoutMillis =
+                (long)
+                        (OptimizeConstants.GET_RESPONSE_CALLBACK_TIMEOUT
+                                * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR);
+
+        MobileCore.dispatchEventWithResponseCallback(
+                event,
+                timeoutMillis,
+                new AdobeCallbackWithError<Event>() {
+                    @Override
+                    public void fail(final AdobeError adobeError) {
+                        failWithError(callback, adobeError);
+                    }
+
+                    @Override
+                    public void call(final Event event) {
+                        final Map<String, Object> metrics =
+                                DataReader.optTypedMap(
+                                        Object.class,
+                                        event.getEventData(),
+                                        OptimizeConstants.EventDataKeys.METRICS,
+                                        null);
+                        if (metrics == null) {
+                            failWithError(callback, AdobeError.UNEXPECTED_ERROR);
+                            return;
+                        }
+                        callback.call(metrics);
+                    }
+                });
+    }
+
+    /**
+     * This API retrieves, for diagnostics, the recent errors of the Edge personalization requests
+     * for the provided decision scopes, oldest first.
+     *
+     * <p>Errors are kept for up to an hour, and only the most recent errors of each decision scope
+     * are kept.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing the scopes whose errors are
+     *     retrieved, or null or empty to retrieve the errors of all the scopes.
+     * @param callback {@code AdobeCallback<Map<DecisionScope, List<AEPOptimizeError>>>} which will
+     *     be invoked with the recent errors of each decision scope which has any. If it is an
+     *     {@link AdobeCallbackWithError}, it is notified of any error.
+     */
+    public static void getRecentErrors(
+            @Nullable final List<DecisionScope> decisionScopes,
+            @NonNull final AdobeCallback<Map<DecisionScope, List<AEPOptimizeError>>> callback) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put(
+                OptimizeConstants.EventDataKeys.REQUEST_TYPE,
+                OptimizeConstants.EventDataValues.REQUEST_TYPE_GET_RECENT_ERRORS);
+
+        if (!OptimizeUtils.isNullOrEmpty(decisionScopes)) {
+            final List<Map<String, Object>> flattenedDecisionScopes = new ArrayList<>();
+            for (final DecisionScope scope : decisionScopes) {
+                if (scope.isValid()) {
+                    flattenedDecisionScopes.add(scope.toEventData());
+                }
+            }
+
+            if (flattenedDecisionScopes.isEmpty()) {
+                Log.warning(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Cannot get recent errors, provided list of decision scopes has no valid"
+                                + " scope.");
+                failWithError(callback, AdobeError.INVALID_REQUEST);
+                return;
+            }
+            eventData.put(
+                    OptimizeConstants.EventDataKeys.DECISION_SCOPES, flattenedDecisionScopes);
+        }
+
+        final Event event =
+                new Event.Builder(
+                                OptimizeConstants.EventNames.GET_RECENT_ERRORS_REQUEST,
+                                OptimizeConstants.EventType.OPTIMIZE,
+                                OptimizeConstants.EventSource.REQUEST_CONTENT)
+                        .setEventData(eventData)
+                        .build();
+
+        final long timeoutMillis =
+                (long)
+                        (OptimizeConstants.GET_RESPONSE_CALLBACK_TIMEOUT
+                                * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR);
+
+        MobileCore.dispatchEventWithResponseCallback(
+                event,
+                timeoutMillis,
+                new AdobeCallbackWithError<Event>() {
+                    @Override
+                    public void fail(final AdobeError adobeError) {
+                        failWithError(callback, adobeError);
+                    }
+
+                    @Override
+                    public void call(final Event event) {
+                        final List<Map<String, Object>> recentErrorsList =
+                                DataReader.optTypedListOfMap(
+                                        Object.class,
+                                        event.getEventData(),
+                                        OptimizeConstants.EventDataKeys.RECENT_ERRORS,
+                                        null);
+                        if (recentErrorsList == null) {
+                            failWithError(callback, AdobeError.UNEXPECTED_ERROR);
+                            return;
+                        }
+
+                        final Map<DecisionScope, List<AEPOptimizeError>> recentErrors =
+                                new HashMap<>();
+                        for (final Map<String, Object> scopeErrors : recentErrorsList) {
+                            final String scopeName =
+                                    DataReader.optString(
+                                            scopeErrors,
+                                            OptimizeConstants.EventDataKeys.RECENT_ERRORS_SCOPE,
+                                            null);
+                            final List<Map<String, Object>> errorsList =
+                                    DataReader.optTypedListOfMap(
+                                            Object.class,
+                                            scopeErrors,
+                                            OptimizeConstants.EventDataKeys.RECENT_ERRORS_ERRORS,
+                                            null);
+                            if (OptimizeUtils.isNullOrEmpty(scopeName) || errorsList == null) {
+                                continue;
+                            }
+
+                            final List<AEPOptimizeError> errors = new ArrayList<>();
+                            for (final Map<String, Object> errorData : errorsList) {
+                                errors.add(AEPOptimizeError.toAEPOptimizeError(errorData));
+                            }
+                            recentErrors.put(new DecisionScope(scopeName), errors);
+                        }
+                        callback.call(recentErrors);
+                    }
+                });
+    }
+
+    private static void dispatchPinPropositionsRequest(
+            final List<DecisionScope> decisionScopes,
+            final String eventName,
+            final String requestType) {
+        if (OptimizeUtils.isNullOrEmpty(decisionScopes)) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cannot pin or unpin propositions, provided list of decision scopes is null or"
+                            + " empty.");
+            return;
+        }
+
+        final List<Map<String, Object>> flattenedDecisionScopes = new ArrayList<>();
+        for (final DecisionScope scope : decisionScopes) {
+            if (scope.isValid()) {
+                flattenedDecisionScopes.add(scope.toEventData());
+            }
+        }
+
+        if (flattenedDecisionScopes.isEmpty()) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cannot pin or unpin propositions, provided list of decision scopes has no"
+                            + " valid scope.");
+            return;
+        }
+
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put(OptimizeConstants.EventDataKeys.REQUEST_TYPE, requestType);
+        eventData.put(OptimizeConstants.EventDataKeys.DECISION_SCOPES, flattenedDecisionScopes);
+
+        final Event event =
+                new Event.Builder(
+                                eventName,
+                                OptimizeConstants.EventType.OPTIMIZE,
+                                OptimizeConstants.EventSource.REQUEST_CONTENT)
+                        .setEventData(eventData)
+                        .build();
+        MobileCore.dispatchEvent(event);
+    }
+
+    /**
+     * Retrieves the propositions from the given optimize response {@code eventData}.
+     *
+     * <p>The propositions are read from the response event data if they were not handed off
+     * in-process using {@link PropositionsHandoff}.
+     *
+     * @param eventData {@code Map<String, Object>} containing the response event data.
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the propositions.
+     * @throws DataReaderException if the propositions in the event data are malformed.
+     */
+    private static Map<DecisionScope, OptimizeProposition> retrievePropositions(
+            final Map<String, Object> eventData) throws DataReaderException {
+        final List<Map<String, Object>> propositionsList =
+                DataReader.getTypedListOfMap(
+                        Object.class, eventData, OptimizeConstants.EventDataKeys.PROPOSITIONS);
+        final Map<DecisionScope, OptimizeProposition> propositionsMap = new HashMap<>();
+        if (propositionsList != null) {
+            for (final Map<String, Object> propositionData : propositionsList) {
+                final OptimizeProposition optimizeProposition =
+                        OptimizeProposition.fromEventData(propositionData);
+                if (optimizeProposition != null
+                        && !OptimizeUtils.isNullOrEmpty(optimizeProposition.getScope())) {
+                    final DecisionScope scope = new DecisionScope(optimizeProposition.getScope());
+                    propositionsMap.put(scope, optimizeProposition);
+                }
+            }
+        }
+        return propositionsMap;
+    }
+
+    /**
+     * Retrieves the {@code List<DecisionScope>} from the given decision scopes event data list.
+     *
+     * @param scopesList {@code List<Map<String, Object>>} containing the decision scopes data.
+     * @return {@code List<DecisionScope>} containing the valid decision scopes.
+     */
+    private static List<DecisionScope> retrieveDecisionScopes(
+            final List<Map<String, Object>> scopesList) {
+        final List<DecisionScope> scopes = new ArrayList<>();
+        for (final Map<String, Object> scopeData : scopesList) {
+            final DecisionScope scope = DecisionScope.fromEventData(scopeData);
+            if (scope != null) {
+                scopes.add(scope);
+            }
+        }
+        return scopes;
+    }
+
     /**
      * Invokes fail method with the provided {@code error}, if the callback is an instance of {@code
      * AdobeCallbackWithError}.
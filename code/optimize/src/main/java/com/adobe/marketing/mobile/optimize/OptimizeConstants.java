@@ -36,9 +36,15 @@ class OptimizeConstants {
 
     static final class EventNames {
         static final String UPDATE_PROPOSITIONS_REQUEST = "Optimize Update Propositions Request";
+        static final String CANCEL_UPDATE_PROPOSITIONS_REQUEST =
+                "Optimize Cancel Update Propositions Request";
         static final String GET_PROPOSITIONS_REQUEST = "Optimize Get Propositions Request";
         static final String TRACK_PROPOSITIONS_REQUEST = "Optimize Track Propositions Request";
         static final String CLEAR_PROPOSITIONS_REQUEST = "Optimize Clear Propositions Request";
+        static final String PIN_PROPOSITIONS_REQUEST = "Optimize Pin Propositions Request";
+        static final String UNPIN_PROPOSITIONS_REQUEST = "Optimize Unpin Propositions Request";
+        static final String GET_METRICS_REQUEST = "Optimize Get Metrics Request";
+        static final String GET_RECENT_ERRORS_REQUEST = "Optimize Get Recent Errors Request";
         static final String OPTIMIZE_NOTIFICATION = "Optimize Notification";
         static final String EDGE_PERSONALIZATION_REQUEST = "Edge Optimize Personalization Request";
         static final String EDGE_PROPOSITION_INTERACTION_REQUEST =
@@ -53,6 +59,9 @@ class OptimizeConstants {
         static final String OPTIMIZE = "com.adobe.eventType.optimize";
         static final String EDGE = "com.adobe.eventType.edge";
         static final String GENERIC_IDENTITY = "com.adobe.eventType.generic.identity";
+        static final String GENERIC_LIFECYCLE = "com.adobe.eventType.generic.lifecycle";
+        static final String LIFECYCLE = "com.adobe.eventType.lifecycle";
+        static final String CONFIGURATION = "com.adobe.eventType.configuration";
 
         private EventType() {}
     }
@@ -78,8 +87,39 @@ class OptimizeConstants {
         static final String DATA = "data";
         static final String TIMEOUT = "timeout";
         static final String CONFIGS_TIMEOUT = "optimize.timeout";
+        static final String CONFIGS_CACHE_TTL = "optimize.cacheTtl";
+        static final String CONFIGS_CACHE_MAX_SIZE = "optimize.cacheMaxSize";
+        static final String CONFIGS_UPDATE_COALESCING_WINDOW = "optimize.updateCoalescingWindow";
+        static final String CONFIGS_ADAPTIVE_TIMEOUT_FACTOR = "optimize.adaptiveTimeoutFactor";
+        static final String CONFIGS_CIRCUIT_BREAKER_THRESHOLD = "optimize.circuitBreakerThreshold";
+        static final String CONFIGS_UPDATE_RATE_LIMIT = "optimize.updateRateLimit";
+        static final String CONFIGS_MIN_REFRESH_INTERVAL = "optimize.minRefreshInterval";
+        static final String CONFIGS_INTERACTION_BATCH_WINDOW = "optimize.interactionBatchWindow";
+        static final String CONFIGS_INTERACTION_BATCH_SIZE = "optimize.interactionBatchSize";
+        static final String CONFIGS_IMPRESSION_DEDUPLICATION_WINDOW =
+                "optimize.impressionDeduplicationWindow";
+        static final String CONFIGS_INTERACTION_JOURNAL_MAX_SIZE =
+                "optimize.interactionJournalMaxSize";
+        static final String CONFIGS_COMPACT_INTERACTION_TRACKING =
+                "optimize.compactInteractionTracking";
+        static final String LIFECYCLE_ACTION = "action";
+        static final String LIFECYCLE_SESSION_EVENT = "sessionevent";
         static final String PROPOSITIONS = "propositions";
         static final String RESPONSE_ERROR = "responseerror";
+        static final String EXPIRED_SCOPES = "expiredscopes";
+        static final String ALLOW_STALE = "allowstale";
+        static final String PROPOSITIONS_HANDOFF = "propositionshandoff";
+        static final String STREAM_PROPOSITIONS = "streampropositions";
+        static final String SERVED_BY_CIRCUIT_BREAKER = "servedbycircuitbreaker";
+        static final String SERVED_FROM_CACHE = "servedfromcache";
+        static final String STALE_SCOPES = "stalescopes";
+        static final String PENDING_SCOPES = "pendingscopes";
+        static final String DEADLINE = "deadline";
+        static final String CACHE_GENERATION = "cachegeneration";
+        static final String METRICS = "metrics";
+        static final String RECENT_ERRORS = "recenterrors";
+        static final String RECENT_ERRORS_SCOPE = "scope";
+        static final String RECENT_ERRORS_ERRORS = "errors";
         static final String PROPOSITION_INTERACTIONS = "propositioninteractions";
         static final String REQUEST_EVENT_ID = "requestEventId";
         static final String COMPLETED_UPDATE_EVENT_ID = "completedUpdateRequestForEventId";
@@ -89,8 +129,15 @@ class OptimizeConstants {
 
     static final class EventDataValues {
         static final String REQUEST_TYPE_UPDATE = "updatepropositions";
+        static final String REQUEST_TYPE_CANCEL_UPDATE = "cancelupdatepropositions";
         static final String REQUEST_TYPE_GET = "getpropositions";
         static final String REQUEST_TYPE_TRACK = "trackpropositions";
+        static final String REQUEST_TYPE_PIN = "pinpropositions";
+        static final String REQUEST_TYPE_UNPIN = "unpinpropositions";
+        static final String REQUEST_TYPE_GET_METRICS = "getmetrics";
+        static final String REQUEST_TYPE_GET_RECENT_ERRORS = "getrecenterrors";
+        static final String LIFECYCLE_ACTION_PAUSE = "pause";
+        static final String LIFECYCLE_SESSION_EVENT_START = "start";
 
         private EventDataValues() {}
     }
@@ -120,10 +167,129 @@ class OptimizeConstants {
     static final class Configuration {
         static final String EXTENSION_NAME = "com.adobe.module.configuration";
         static final String OPTIMIZE_OVERRIDE_DATASET_ID = "optimize.datasetId";
+        static final String EDGE_CONFIG_ID = "edge.configId";
+        static final String EDGE_ENVIRONMENT = "edge.environment";
 
         private Configuration() {}
     }
 
+    static final class PropositionsCache {
+        static final String DIRECTORY = "aepsdkoptimize";
+        static final String TEMP_FILE_SUFFIX = ".tmp";
+        static final String DATA_STORE_NAME = "AdobeMobile_OptimizePropositions";
+        static final String SNAPSHOT = "snapshot";
+        static final String VERSION = "version";
+        static final String CONFIG_IDS = "configids";
+        static final String SAVED_TIME = "savedtime";
+        static final String PROPOSITIONS = "propositions";
+        static final String FETCH_TIMES = "fetchtimes";
+        static final int CURRENT_VERSION = 1;
+        static final long ESTIMATED_ENTRY_OVERHEAD = 64;
+        static final long ESTIMATED_VALUE_SIZE = 8;
+        static final long ESTIMATED_CHAR_SIZE = 2;
+
+        private PropositionsCache() {}
+    }
+
+    static final class LatencyHistogram {
+        static final int ROLLING_WINDOW = 100;
+        static final long[] BUCKET_BOUNDS = {50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+        static final String OVERFLOW_BUCKET = "inf";
+        static final String COUNT = "count";
+        static final String P50 = "p50";
+        static final String P90 = "p90";
+        static final String P99 = "p99";
+        static final String BUCKETS = "buckets";
+
+        private LatencyHistogram() {}
+    }
+
+    static final class AdaptiveTimeout {
+        static final double PERCENTILE = 0.99;
+        static final int MIN_SAMPLES = 10;
+        static final long MIN_TIMEOUT = 1000;
+        static final long MAX_TIMEOUT = 30000;
+
+        private AdaptiveTimeout() {}
+    }
+
+    static final class CircuitBreaker {
+        static final long FAILURE_WINDOW = 60000;
+        static final long OPEN_DURATION = 30000;
+
+        private CircuitBreaker() {}
+    }
+
+    static final class TokenBucket {
+        static final long REFILL_PERIOD = 60000;
+
+        private TokenBucket() {}
+    }
+
+    static final class ErrorLedger {
+        static final int MAX_PENDING_ERRORS = 100;
+        static final int MAX_SCOPES = 100;
+        static final int MAX_ERRORS_PER_SCOPE = 10;
+        static final long RETENTION = 3600000;
+
+        private ErrorLedger() {}
+    }
+
+    static final class InteractionJournal {
+        static final String FILE_NAME = "interactions.journal";
+        static final String ID = "id";
+        static final String XDM = "xdm";
+        static final String DATASET_ID = "datasetid";
+        static final String ACK = "ack";
+        static final int COMPACTION_THRESHOLD = 100;
+
+        private InteractionJournal() {}
+    }
+
+    static final class ImpressionFilter {
+        static final int EXPECTED_IMPRESSIONS = 10000;
+        static final double FALSE_POSITIVE_RATE = 0.001;
+
+        private ImpressionFilter() {}
+    }
+
+    static final class InteractionCompactor {
+        static final int SAVED_BYTES_SAMPLING_INTERVAL = 32;
+
+        private InteractionCompactor() {}
+    }
+
+    static final class PropositionsHandoff {
+        static final int MAX_PENDING_RESPONSES = 100;
+
+        private PropositionsHandoff() {}
+    }
+
+    static final class Metrics {
+        static final String CACHED_SCOPES = "cachedscopes";
+        static final String PINNED_SCOPES = "pinnedscopes";
+        static final String CACHE_WEIGHT = "cacheweight";
+        static final String CACHE_MAX_WEIGHT = "cachemaxweight";
+        static final String CACHE_EVICTIONS = "cacheevictions";
+        static final String CACHE_GENERATION = "cachegeneration";
+        static final String COALESCED_UPDATES = "coalescedupdates";
+        static final String DEDUPLICATED_UPDATES = "deduplicatedupdates";
+        static final String COLLAPSED_GETS = "collapsedgets";
+        static final String CANCELLED_UPDATES = "cancelledupdates";
+        static final String EDGE_LATENCY = "edgelatency";
+        static final String CIRCUIT_BREAKER_STATE = "circuitbreakerstate";
+        static final String CIRCUIT_BREAKER_FALLBACKS = "circuitbreakerfallbacks";
+        static final String SUPPRESSED_UPDATES = "suppressedupdates";
+        static final String BATCHED_INTERACTIONS = "batchedinteractions";
+        static final String SUPPRESSED_IMPRESSIONS = "suppressedimpressions";
+        static final String EARLY_IMPRESSION_ROTATIONS = "earlyimpressionrotations";
+        static final String JOURNALED_INTERACTIONS = "journaledinteractions";
+        static final String COMPACTED_INTERACTIONS = "compactedinteractions";
+        static final String COMPACTED_INTERACTIONS_SAVED_BYTES = "compactedinteractionssavedbytes";
+
+        private Metrics() {}
+    }
+
     static final class JsonKeys {
         static final String PAYLOAD_ID = "id";
         static final String PAYLOAD_SCOPE = "scope";
@@ -218,6 +384,13 @@ class OptimizeConstants {
             private InvalidRequest() {}
         }
 
+        static final class Cancelled {
+            static final String TITLE = "Request Cancelled";
+            static final String DETAIL = "Update proposition request was cancelled.";
+
+            private Cancelled() {}
+        }
+
         private ErrorData() {}
     }
 
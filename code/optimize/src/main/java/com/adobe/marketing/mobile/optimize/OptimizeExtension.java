@@ -29,31 +29,70 @@ import com.adobe.marketing.mobile.util.DataReaderException;
 import com.adobe.marketing.mobile.util.SerialWorkDispatcher;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 class OptimizeExtension extends Extension {
 
     private static final String SELF_TAG = "OptimizeExtension";
 
-    // Concurrent Map containing the cached propositions returned in various
-    // personalization:decisions events
-    // for the same Edge personalization request.
+    // Cache containing the propositions returned in various personalization:decisions events,
+    // along with the time each proposition was fetched. It is bounded by the configured maximum
+    // cache size.
     // This is accessed from multiple threads.
-    private Map<DecisionScope, OptimizeProposition> cachedPropositions = new ConcurrentHashMap<>();
+    private final PropositionsCache propositionsCache = new PropositionsCache();
+
+    // Store used to persist a snapshot of the cached propositions across application launches.
+    // It is null if the SDK data store is not available.
+    private PropositionsCacheStore propositionsCacheStore;
+
+    // Edge configuration identifiers, the datastream identifier and environment, from the latest
+    // Configuration shared state. The propositions snapshot is scoped to them. It is null until
+    // the configuration is first available.
+    private volatile Map<String, String> propositionsCacheConfigIds;
+
+    // Executor used to restore and persist the propositions snapshot off the event processing
+    // threads. Tasks are executed in submission order.
+    private final ExecutorService propositionsCacheStoreExecutor =
+            Executors.newSingleThreadExecutor();
+
+    // Flag indicating a propositions snapshot write is scheduled but not yet started.
+    private final AtomicBoolean propositionsCacheWritePending = new AtomicBoolean(false);
+
+    // Flag indicating the persisted propositions are yet to be restored. It is reset when the
+    // cache is updated or cleared before the restore completes, so the stale snapshot is discarded.
+    private final AtomicBoolean propositionsCacheRestorePending = new AtomicBoolean(false);
+
+    // Lock guarding the propositions cache updates and clears against the snapshot restore.
+    private final Object propositionsCacheLock = new Object();
+
+    // Propositions cache time-to-live, in milliseconds, from the latest Configuration shared state
+    // read. It is applied on configuration changes, so the synchronous cached propositions reads
+    // do not read the Configuration shared state.
+    private volatile long propositionsCacheTtlMillis;
+
+    // Reader of the cached propositions registered for the synchronous cached propositions reads,
+    // while this extension is registered.
+    private final PropositionsPeek.Reader propositionsPeekReader = this::peekPropositions;
 
     // Concurrent Map containing propositions simulated for preview and cached in-memory in the SDK
     private Map<DecisionScope, OptimizeProposition> previewCachedPropositions =
             new ConcurrentHashMap<>();
 
-    // Events dispatcher used to maintain the processing order of update and get propositions
-    // events.
-    // It ensures any update propositions requests issued before a get propositions call are
-    // completed
-    // and the get propositions request is fulfilled from the latest cached content.
+    // Events dispatcher used to process the get propositions requests which are not fulfilled
+    // directly from the cache.
+    // It holds the get propositions requests until the persisted propositions are restored.
     private SerialWorkDispatcher eventsDispatcher =
             new SerialWorkDispatcher(
                     "OptimizeEventsDispatcher",
@@ -62,26 +101,137 @@ class OptimizeExtension extends Extension {
                         public boolean doWork(final Event event) {
                             if (OptimizeUtils.isGetEvent(event)) {
                                 handleGetPropositions(event);
-                            } else if (event.getType()
-                                    .equalsIgnoreCase(OptimizeConstants.EventType.EDGE)) {
-                                return !updateRequestEventIdsInProgress.containsKey(
-                                        event.getUniqueIdentifier());
                             }
                             return true;
                         }
                     });
 
+    // Registry of the get propositions requests waiting for the update propositions requests in
+    // progress for their scopes. It ensures any update propositions requests issued before a get
+    // propositions call are completed and the get propositions request is fulfilled from the
+    // latest cached content, without waiting for updates of unrelated scopes.
+    // This is guarded by scopeWaitersLock.
+    private final ScopeWaiters scopeWaiters = new ScopeWaiters();
+
+    private final Object scopeWaitersLock = new Object();
+
+    // Concurrent Map containing the get propositions requests collapsed into a released waiting
+    // request, keyed by the unique identifier of the request event offered to the events
+    // dispatcher.
+    private final Map<String, List<Event>> collapsedGetRequests = new ConcurrentHashMap<>();
+
+    // Number of get propositions requests collapsed into another waiting request for the same
+    // scopes.
+    private final AtomicLong collapsedGetRequestsCount = new AtomicLong(0);
+
+    // List containing the coalesced update propositions requests still accepting compatible
+    // requests, until their coalescing window elapses.
+    // This is guarded by coalescedUpdatesLock.
+    private final List<CoalescedUpdate> pendingCoalescedUpdates = new ArrayList<>();
+
+    // Index of the scopes of the update propositions requests which are pending or in progress,
+    // keeping the number of requests for each scope.
+    // This is guarded by coalescedUpdatesLock.
+    private final InProgressScopes inProgressScopes = new InProgressScopes();
+
+    private final Object coalescedUpdatesLock = new Object();
+
+    // Executor used to send the coalesced update propositions requests once their coalescing
+    // window elapses, and to respond to the waiting get propositions requests once their deadline
+    // expires.
+    private final ScheduledExecutorService coalescedUpdatesExecutor =
+            Executors.newSingleThreadScheduledExecutor();
+
+    // Number of update propositions requests merged into another pending request.
+    private final AtomicLong coalescedUpdateRequestsCount = new AtomicLong(0);
+
+    // Map containing the update propositions requests sent to the Edge network which haven't yet
+    // completed, keyed by the unique identifier of the Edge request event. Update requests for
+    // scopes already in flight attach to these instead of sending another Edge request.
+    // This is guarded by coalescedUpdatesLock.
+    private final Map<String, CoalescedUpdate> inFlightUpdates = new HashMap<>();
+
+    // Map containing the scopes requested only by cancelled update propositions requests, keyed by
+    // the unique identifier of their in-flight Edge request. The propositions returned for these
+    // scopes are neither responded nor cached.
+    // This is guarded by coalescedUpdatesLock.
+    private final Map<String, Set<DecisionScope>> cancelledScopesInProgress = new HashMap<>();
+
+    // Number of update propositions requests attached to an in-flight Edge request, each one
+    // saving a network request.
+    private final AtomicLong deduplicatedUpdateRequestsCount = new AtomicLong(0);
+
+    // Number of update propositions requests cancelled before they completed.
+    private final AtomicLong cancelledUpdateRequestsCount = new AtomicLong(0);
+
+    // Rolling histogram of the Edge personalization request round trip latencies, used to adapt
+    // the request timeout when `optimize.adaptiveTimeoutFactor` is configured.
+    private final LatencyHistogram edgeLatencyHistogram = new LatencyHistogram();
+
+    // Circuit breaker which stops sending Edge personalization requests after repeated failures,
+    // when `optimize.circuitBreakerThreshold` is configured.
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    // Number of update propositions requests answered from the cache while the circuit breaker is
+    // open.
+    private final AtomicLong circuitBreakerFallbacksCount = new AtomicLong(0);
+
+    // Set containing the Edge personalization request event IDs which received a non-recoverable
+    // server error response, counted as circuit breaker failures once their Edge request
+    // completes.
+    // This is accessed from multiple threads.
+    private final Set<String> failedEdgeRequestEventIds =
+            Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    // Token bucket rate limiting the update propositions requests, when
+    // `optimize.updateRateLimit` is configured.
+    private final TokenBucket updateRateLimiter = new TokenBucket();
+
+    // Number of update propositions requests answered from the cache, either because their scopes
+    // were refreshed within the minimum refresh interval or because they were rate limited.
+    private final AtomicLong suppressedUpdateRequestsCount = new AtomicLong(0);
+
+    // Journal persisting the proposition interactions until they are dispatched to the Edge
+    // network extension, when `optimize.interactionJournalMaxSize` is configured.
+    // It is null if the application cache directory is not available.
+    // The journal file is only accessed on the interaction batches executor.
+    private InteractionJournal interactionJournal;
+
+    // Whether the interactions journaled by the previous application launch are yet to be
+    // replayed or dropped, depending on the configuration.
+    private final AtomicBoolean interactionJournalReplayPending = new AtomicBoolean(true);
+
+    // Executor used to flush the batched proposition interactions once their batch window
+    // elapses, and to write, acknowledge and replay the journaled proposition interactions.
+    private final ScheduledExecutorService interactionBatchesExecutor =
+            Executors.newSingleThreadScheduledExecutor();
+
+    // Batcher buffering the proposition interactions tracked for the offers, when
+    // `optimize.interactionBatchWindow` is configured.
+    private final InteractionBatcher interactionBatcher =
+            new InteractionBatcher(
+                    interactionBatchesExecutor, this::dispatchPropositionInteractions);
+
+    // Filter suppressing the repeated display interactions of the same offer, when
+    // `optimize.impressionDeduplicationWindow` is configured.
+    private final ImpressionFilter impressionFilter = new ImpressionFilter();
+
+    // Compactor removing the proposition scope details from the interactions, when
+    // `optimize.compactInteractionTracking` is enabled.
+    private final InteractionCompactor interactionCompactor = new InteractionCompactor();
+
     // Concurrent Map containing the update event IDs (and corresponding requested scopes) for Edge
     // events that haven't yet received an Edge completion response.
     // This is accessed from multiple threads.
     private final Map<String, List<DecisionScope>> updateRequestEventIdsInProgress =
             new ConcurrentHashMap<>();
 
-    // Concurrent Map to accumulate propositions returned in various personalization:decisions
-    // events
-    // for the same Edge personalization request.
+    // Concurrent Map containing, for each Edge personalization request event ID in progress, the
+    // buffer accumulating the propositions returned in various personalization:decisions events
+    // for that request. Each buffer is created when the request is sent and dropped when it
+    // completes, so multiple update requests can be in progress at the same time.
     // This is accessed from multiple threads.
-    private final Map<DecisionScope, OptimizeProposition> propositionsInProgress =
+    private final Map<String, Map<DecisionScope, OptimizeProposition>> propositionsInProgress =
             new ConcurrentHashMap<>();
 
     // List containing the schema strings for the proposition items supported by the SDK, sent in
@@ -108,9 +258,9 @@ class OptimizeExtension extends Extension {
                     OptimizeConstants.HTTPResponseCodes.serviceUnavailable,
                     OptimizeConstants.HTTPResponseCodes.gatewayTimeout);
 
-    // Map containing the update event IDs and corresponding errors as received from Edge SDK
-    private static final Map<String, AEPOptimizeError> updateRequestEventIdsErrors =
-            new ConcurrentHashMap<>();
+    // Ledger holding the errors received from the Edge network for the Edge requests in progress,
+    // along with the recent errors per decision scope for diagnostics.
+    private final ErrorLedger errorLedger = new ErrorLedger();
 
     /**
      * Constructor for {@code OptimizeExtension}.
@@ -131,7 +281,13 @@ class OptimizeExtension extends Extension {
      *       OptimizeConstants.EventSource#REQUEST_RESET} Listener for {@code Event} type {@value
      *       OptimizeConstants.EventType#OPTIMIZE} and source {@value
      *       OptimizeConstants.EventSource#CONTENT_COMPLETE} Listener for {@code Event} type {@value
-     *       EventType#SYSTEM} and source {@value OptimizeConstants.EventSource#DEBUG}
+     *       EventType#SYSTEM} and source {@value OptimizeConstants.EventSource#DEBUG} Listener for
+     *       {@code Event} type {@value OptimizeConstants.EventType#GENERIC_LIFECYCLE} and source
+     *       {@value OptimizeConstants.EventSource#REQUEST_CONTENT} Listener for {@code Event} type
+     *       {@value OptimizeConstants.EventType#LIFECYCLE} and source {@value
+     *       OptimizeConstants.EventSource#RESPONSE_CONTENT} Listener for {@code Event} type {@value
+     *       OptimizeConstants.EventType#CONFIGURATION} and source {@value
+     *       OptimizeConstants.EventSource#RESPONSE_CONTENT}
      * </ul>
      *
      * @param extensionApi {@link ExtensionApi} instance.
@@ -179,7 +335,62 @@ class OptimizeExtension extends Extension {
                         OptimizeConstants.EventSource.DEBUG,
                         this::handleDebugEvent);
 
-        eventsDispatcher.start();
+        // Register listener - Mobile Core `lifecyclePause()` API dispatches generic lifecycle
+        // request content event.
+        getApi().registerEventListener(
+                        OptimizeConstants.EventType.GENERIC_LIFECYCLE,
+                        OptimizeConstants.EventSource.REQUEST_CONTENT,
+                        this::handleLifecycleRequest);
+
+        // Register listener - Lifecycle extension dispatches lifecycle response content event
+        // when a new session starts.
+        getApi().registerEventListener(
+                        OptimizeConstants.EventType.LIFECYCLE,
+                        OptimizeConstants.EventSource.RESPONSE_CONTENT,
+                        this::handleLifecycleResponse);
+
+        // Register listener - Configuration extension dispatches configuration response content
+        // event when the configuration is updated.
+        getApi().registerEventListener(
+                        OptimizeConstants.EventType.CONFIGURATION,
+                        OptimizeConstants.EventSource.RESPONSE_CONTENT,
+                        this::handleConfigurationResponse);
+
+        PropositionsPeek.register(propositionsPeekReader);
+
+        interactionJournal = InteractionJournal.create();
+
+        // Bound the cache before the persisted propositions are restored.
+        final Map<String, Object> configData = retrieveConfigurationSharedState(null);
+        if (!OptimizeUtils.isNullOrEmpty(configData)) {
+            applyPropositionsCacheConfiguration(configData);
+            applyInteractionJournalConfiguration(configData);
+        }
+
+        propositionsCacheStore = PropositionsCacheStore.create();
+        if (propositionsCacheStore == null) {
+            eventsDispatcher.start();
+        } else if (!OptimizeUtils.isNullOrEmpty(configData)) {
+            // Get propositions requests queued until the persisted propositions are restored.
+            propositionsCacheConfigIds = PropositionsCacheStore.retrieveConfigIds(configData);
+            restoreCachedPropositions();
+        }
+        // Otherwise, the persisted propositions are restored once the configuration is available,
+        // as they are scoped to the configured datastream and environment. Optimize requests are
+        // not processed before then.
+    }
+
+    @Override
+    protected void onUnregistered() {
+        PropositionsPeek.unregister(propositionsPeekReader);
+
+        // Send the batched proposition interactions before their batch window elapses, then stop
+        // the executors. The pending propositions snapshot and journal writes, if any, complete
+        // before their executors terminate, the scheduled batch flushes find nothing to flush.
+        interactionBatcher.flushAll();
+        coalescedUpdatesExecutor.shutdownNow();
+        interactionBatchesExecutor.shutdown();
+        propositionsCacheStoreExecutor.shutdown();
     }
 
     @Override
@@ -256,6 +467,9 @@ class OptimizeExtension extends Extension {
             case OptimizeConstants.EventDataValues.REQUEST_TYPE_UPDATE:
                 handleUpdatePropositions(event);
                 break;
+            case OptimizeConstants.EventDataValues.REQUEST_TYPE_CANCEL_UPDATE:
+                handleCancelUpdatePropositions(event);
+                break;
             case OptimizeConstants.EventDataValues.REQUEST_TYPE_GET:
                 try {
                     // Fetch decision scopes from the event
@@ -283,27 +497,51 @@ class OptimizeExtension extends Extension {
                     // Fetch propositions for the decision scopes from the cache
                     Map<DecisionScope, OptimizeProposition> fetchedPropositions = new HashMap<>();
                     for (DecisionScope scope : eventDecisionScopes) {
-                        if (cachedPropositions.containsKey(scope)) {
-                            fetchedPropositions.put(scope, cachedPropositions.get(scope));
+                        final OptimizeProposition cachedProposition = propositionsCache.get(scope);
+                        if (cachedProposition != null) {
+                            fetchedPropositions.put(scope, cachedProposition);
                         }
                     }
 
-                    // Check if all scopes are cached and none are in progress
-                    boolean anyScopeInProgress = false;
-                    HashSet<DecisionScope> scopesInProgress = new HashSet<>();
-                    for (List<DecisionScope> updatingScope :
-                            updateRequestEventIdsInProgress.values()) {
-                        scopesInProgress.addAll(updatingScope);
-                    }
-                    for (DecisionScope scope : eventDecisionScopes) {
-                        if (scopesInProgress.contains(scope)) {
-                            anyScopeInProgress = true;
-                            break;
+                    final boolean allowStale =
+                            DataReader.optBoolean(
+                                    eventData, OptimizeConstants.EventDataKeys.ALLOW_STALE, false);
+
+                    // Check if all scopes are cached and none are in progress, otherwise wait
+                    // only for the updates of the requested scopes in progress.
+                    final List<DecisionScope> requestedScopesInProgress;
+                    final boolean waitForScopesInProgress;
+                    synchronized (scopeWaitersLock) {
+                        requestedScopesInProgress =
+                                retrieveRequestedScopesInProgress(eventDecisionScopes);
+                        final boolean anyScopeInProgress = !requestedScopesInProgress.isEmpty();
+                        waitForScopesInProgress = anyScopeInProgress && !allowStale;
+                        if (waitForScopesInProgress
+                                && scopeWaiters.register(
+                                        event, eventDecisionScopes, requestedScopesInProgress)) {
+                            collapsedGetRequestsCount.incrementAndGet();
                         }
                     }
 
-                    if ((fetchedPropositions.size() == eventDecisionScopes.size())
-                            && !anyScopeInProgress) {
+                    if (waitForScopesInProgress) {
+                        Log.trace(
+                                OptimizeConstants.LOG_TAG,
+                                SELF_TAG,
+                                "handleOptimizeRequestContent - (%d) requested scopes are in"
+                                        + " progress, waiting for their update to complete.",
+                                requestedScopesInProgress.size());
+
+                        final long deadlineMillis =
+                                DataReader.optLong(
+                                        eventData, OptimizeConstants.EventDataKeys.DEADLINE, 0L);
+                        if (deadlineMillis > 0) {
+                            coalescedUpdatesExecutor.schedule(
+                                    () -> handleGetPropositionsDeadline(event),
+                                    deadlineMillis,
+                                    TimeUnit.MILLISECONDS);
+                        }
+                    } else if (fetchedPropositions.size() == eventDecisionScopes.size()
+                            && requestedScopesInProgress.isEmpty()) {
                         Log.trace(
                                 OptimizeConstants.LOG_TAG,
                                 SELF_TAG,
@@ -312,12 +550,25 @@ class OptimizeExtension extends Extension {
 
                         // Dispatch the event directly
                         handleGetPropositions(event);
+                    } else if (!requestedScopesInProgress.isEmpty()) {
+                        Log.trace(
+                                OptimizeConstants.LOG_TAG,
+                                SELF_TAG,
+                                "handleOptimizeRequestContent - Scopes are in progress and stale"
+                                        + " propositions are allowed, dispatching event directly.");
+
+                        // Respond with the cached propositions, marking the in-progress scopes
+                        // stale.
+                        handleGetPropositions(
+                                Collections.singletonList(event),
+                                requestedScopesInProgress,
+                                Collections.<DecisionScope>emptyList());
                     } else {
                         Log.trace(
                                 OptimizeConstants.LOG_TAG,
                                 SELF_TAG,
-                                "handleOptimizeRequestContent - Scopes are not fully cached or are"
-                                        + " in progress, adding event to dispatcher.");
+                                "handleOptimizeRequestContent - Scopes are not fully cached,"
+                                        + " adding event to dispatcher.");
                         eventsDispatcher.offer(event);
                     }
                     break;
@@ -333,6 +584,16 @@ class OptimizeExtension extends Extension {
             case OptimizeConstants.EventDataValues.REQUEST_TYPE_TRACK:
                 handleTrackPropositions(event);
                 break;
+            case OptimizeConstants.EventDataValues.REQUEST_TYPE_PIN:
+            case OptimizeConstants.EventDataValues.REQUEST_TYPE_UNPIN:
+                handlePinPropositions(event);
+                break;
+            case OptimizeConstants.EventDataValues.REQUEST_TYPE_GET_METRICS:
+                handleGetMetrics(event);
+                break;
+            case OptimizeConstants.EventDataValues.REQUEST_TYPE_GET_RECENT_ERRORS:
+                handleGetRecentErrors(event);
+                break;
             default:
                 Log.debug(
                         OptimizeConstants.LOG_TAG,
@@ -383,137 +644,808 @@ class OptimizeExtension extends Extension {
                 return;
             }
 
-            final Map<String, Object> edgeEventData = new HashMap<>();
+            applyPropositionsCacheConfiguration(configData);
 
-            // Add query
-            final Map<String, Object> queryPersonalization = new HashMap<>();
-            queryPersonalization.put(OptimizeConstants.JsonKeys.SCHEMAS, supportedSchemas);
+            if (attachToInFlightUpdate(event, validScopes)) {
+                return;
+            }
 
-            final List<String> validScopeNames = new ArrayList<>();
-            for (final DecisionScope scope : validScopes) {
-                validScopeNames.add(scope.getName());
-            }
-            queryPersonalization.put(OptimizeConstants.JsonKeys.DECISION_SCOPES, validScopeNames);
-
-            final Map<String, Object> query = new HashMap<>();
-            query.put(OptimizeConstants.JsonKeys.QUERY_PERSONALIZATION, queryPersonalization);
-            edgeEventData.put(OptimizeConstants.JsonKeys.QUERY, query);
-
-            // Add xdm
-            final Map<String, Object> xdm = new HashMap<>();
-            if (eventData.containsKey(OptimizeConstants.EventDataKeys.XDM)) {
-                final Map<String, Object> inputXdm =
-                        DataReader.getTypedMap(
-                                Object.class, eventData, OptimizeConstants.EventDataKeys.XDM);
-                if (!OptimizeUtils.isNullOrEmpty(inputXdm)) {
-                    xdm.putAll(inputXdm);
+            final long now = System.currentTimeMillis();
+            if (isRecentlyRefreshed(
+                    validScopes, ConfigUtils.retrieveMinRefreshInterval(configData), now)) {
+                suppressedUpdateRequestsCount.incrementAndGet();
+                Log.debug(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "handleUpdatePropositions - Decision scopes were refreshed within the"
+                                + " minimum refresh interval, update propositions request (%s)"
+                                + " is answered from the cache.",
+                        event.getUniqueIdentifier());
+                dispatchCachedPropositionsResponse(
+                        event, validScopes, OptimizeConstants.EventDataKeys.SERVED_FROM_CACHE);
+                return;
+            }
+
+            updateRateLimiter.setCapacity(ConfigUtils.retrieveUpdateRateLimit(configData), now);
+            if (!updateRateLimiter.tryAcquire(now)) {
+                suppressedUpdateRequestsCount.incrementAndGet();
+                Log.debug(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "handleUpdatePropositions - Update propositions rate limit is exceeded,"
+                                + " update propositions request (%s) is answered from the cache.",
+                        event.getUniqueIdentifier());
+                dispatchCachedPropositionsResponse(
+                        event, validScopes, OptimizeConstants.EventDataKeys.SERVED_FROM_CACHE);
+                return;
+            }
+
+            circuitBreaker.setFailureThreshold(
+                    ConfigUtils.retrieveCircuitBreakerThreshold(configData));
+
+            final long coalescingWindowMillis =
+                    ConfigUtils.retrieveUpdateCoalescingWindow(configData);
+            if (coalescingWindowMillis > 0) {
+                coalesceUpdatePropositions(event, validScopes, configData, coalescingWindowMillis);
+                return;
+            }
+
+            final Event edgeEvent =
+                    createEdgePersonalizationRequest(event, validScopes, configData);
+            final CoalescedUpdate update = new CoalescedUpdate(event, validScopes, configData);
+            if (!circuitBreaker.allowRequest(edgeEvent.getUniqueIdentifier(), now)) {
+                dispatchCircuitBreakerFallbackResponses(update.getRequests());
+                return;
+            }
+
+            synchronized (coalescedUpdatesLock) {
+                // In AEP Response Event handle, `requestEventId` corresponds to the unique
+                // identifier for the Edge request.
+                // Storing the request event unique identifier to compare and process only the
+                // anticipated response in the extension.
+                trackUpdateRequestInProgress(edgeEvent.getUniqueIdentifier(), validScopes);
+                update.setEdgeRequestEventId(edgeEvent.getUniqueIdentifier());
+                inFlightUpdates.put(edgeEvent.getUniqueIdentifier(), update);
+            }
+
+            dispatchEdgePersonalizationRequest(edgeEvent, update);
+        } catch (final Exception e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "handleUpdatePropositions - Failed to process update propositions request event"
+                            + " due to an exception (%s)!",
+                    e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Returns whether the cached propositions of all the given {@code scopes} were fetched within
+     * the given {@code minRefreshIntervalMillis}.
+     *
+     * @param scopes {@code List<DecisionScope>} containing the requested scopes.
+     * @param minRefreshIntervalMillis {@code long} containing the minimum refresh interval in
+     *     milliseconds, or 0 if scopes can always be refreshed.
+     * @param now {@code long} containing the current time in milliseconds.
+     * @return {@code boolean} indicating whether all the scopes were recently refreshed.
+     */
+    private boolean isRecentlyRefreshed(
+            @NonNull final List<DecisionScope> scopes,
+            final long minRefreshIntervalMillis,
+            final long now) {
+        if (minRefreshIntervalMillis <= 0) {
+            return false;
+        }
+
+        final PropositionsCache.Snapshot cacheSnapshot = propositionsCache.snapshot();
+        for (final DecisionScope scope : scopes) {
+            final Long fetchTime = cacheSnapshot.getFetchTime(scope);
+            if (fetchTime == null || now - fetchTime >= minRefreshIntervalMillis) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Responds to the given update propositions request {@code event} with the cached propositions
+     * for the given {@code validScopes}, without sending an Edge request.
+     *
+     * <p>The response event is marked with the given {@code servedFromCacheKey}, indicating why the
+     * request is answered from the cache.
+     *
+     * @param event incoming {@link Event} object containing the update propositions request.
+     * @param validScopes {@code List<DecisionScope>} containing the valid requested scopes.
+     * @param servedFromCacheKey {@link String} containing the response event data key marking the
+     *     response.
+     */
+    private void dispatchCachedPropositionsResponse(
+            @NonNull final Event event,
+            @NonNull final List<DecisionScope> validScopes,
+            @NonNull final String servedFromCacheKey) {
+        final Map<DecisionScope, OptimizeProposition> propositions = peekPropositions(validScopes);
+        final Map<String, Object> responseEventData = new HashMap<>();
+        responseEventData.put(servedFromCacheKey, true);
+
+        final boolean handOffPropositions = isPropositionsHandoffRequested(event);
+        if (!handOffPropositions) {
+            responseEventData.put(
+                    OptimizeConstants.EventDataKeys.PROPOSITIONS,
+                    toPropositionsEventData(propositions));
+        }
+
+        final Event responseEvent =
+                new Event.Builder(
+                                OptimizeConstants.EventNames.OPTIMIZE_RESPONSE,
+                                OptimizeConstants.EventType.OPTIMIZE,
+                                OptimizeConstants.EventSource.RESPONSE_CONTENT)
+                        .setEventData(responseEventData)
+                        .inResponseToEvent(event)
+                        .build();
+
+        if (handOffPropositions) {
+            PropositionsHandoff.offer(responseEvent.getUniqueIdentifier(), propositions);
+        }
+        getApi().dispatch(responseEvent);
+    }
+
+    /**
+     * Handles the cancel update propositions request event with type {@value
+     * OptimizeConstants.EventType#OPTIMIZE} and source {@value
+     * OptimizeConstants.EventSource#REQUEST_CONTENT}.
+     *
+     * <p>The cancelled update propositions request is removed from its pending coalesced update or
+     * in-flight Edge request, and responded with a cancelled error. If no other request is left in
+     * an in-flight Edge request, it is no longer tracked in progress, so its late responses are
+     * dropped and the cache is not updated with them. Otherwise, only the scopes requested by the
+     * cancelled request alone are no longer tracked in progress. The get propositions requests
+     * waiting for the released scopes are resumed.
+     *
+     * @param event incoming {@link Event} object containing the cancel request.
+     */
+    void handleCancelUpdatePropositions(@NonNull final Event event) {
+        final String requestEventId =
+                DataReader.optString(
+                        event.getEventData(), OptimizeConstants.EventDataKeys.REQUEST_EVENT_ID, "");
+        if (OptimizeUtils.isNullOrEmpty(requestEventId)) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "handleCancelUpdatePropositions - Ignoring the cancel request event, request"
+                            + " event ID is not present in event data.");
+            return;
+        }
+
+        CoalescedUpdate.Request cancelledRequest = null;
+        List<DecisionScope> releasedScopes = null;
+        synchronized (coalescedUpdatesLock) {
+            for (final CoalescedUpdate pendingUpdate : pendingCoalescedUpdates) {
+                cancelledRequest = pendingUpdate.remove(requestEventId);
+                if (cancelledRequest != null) {
+                    inProgressScopes.remove(cancelledRequest.scopes);
+                    releasedScopes = cancelledRequest.scopes;
+                    if (pendingUpdate.isEmpty()) {
+                        pendingCoalescedUpdates.remove(pendingUpdate);
+                    }
+                    break;
                 }
             }
-            xdm.put(
-                    OptimizeConstants.JsonKeys.EXPERIENCE_EVENT_TYPE,
-                    OptimizeConstants.JsonValues.EE_EVENT_TYPE_PERSONALIZATION);
-            edgeEventData.put(OptimizeConstants.JsonKeys.XDM, xdm);
-
-            // Add data
-            final Map<String, Object> data = new HashMap<>();
-            if (eventData.containsKey(OptimizeConstants.EventDataKeys.DATA)) {
-                final Map<String, Object> inputData =
-                        DataReader.getTypedMap(
-                                Object.class, eventData, OptimizeConstants.EventDataKeys.DATA);
-                if (!OptimizeUtils.isNullOrEmpty(inputData)) {
-                    data.putAll(inputData);
-                    edgeEventData.put(OptimizeConstants.JsonKeys.DATA, data);
+
+            if (cancelledRequest == null) {
+                for (final CoalescedUpdate inFlightUpdate : inFlightUpdates.values()) {
+                    cancelledRequest = inFlightUpdate.remove(requestEventId);
+                    if (cancelledRequest != null) {
+                        final String edgeRequestEventId = inFlightUpdate.getEdgeRequestEventId();
+                        if (inFlightUpdate.isEmpty()) {
+                            inFlightUpdates.remove(edgeRequestEventId);
+                            releasedScopes = untrackUpdateRequestInProgress(edgeRequestEventId);
+                        } else {
+                            releasedScopes =
+                                    untrackScopesInProgress(
+                                            edgeRequestEventId,
+                                            cancelledRequest.scopes,
+                                            inFlightUpdate.getScopes());
+                        }
+                        break;
+                    }
                 }
             }
+        }
 
-            // Add the flag to request sendCompletion
-            final Map<String, Object> request = new HashMap<>();
-            request.put(OptimizeConstants.JsonKeys.REQUEST_SEND_COMPLETION, true);
-            edgeEventData.put(OptimizeConstants.JsonKeys.REQUEST, request);
+        if (cancelledRequest == null) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "handleCancelUpdatePropositions - Update propositions request (%s) is not in"
+                            + " progress, it may already be completed.",
+                    requestEventId);
+            return;
+        }
 
-            // Add override datasetId
-            if (configData.containsKey(
-                    OptimizeConstants.Configuration.OPTIMIZE_OVERRIDE_DATASET_ID)) {
-                final String overrideDatasetId =
-                        DataReader.getString(
-                                configData,
-                                OptimizeConstants.Configuration.OPTIMIZE_OVERRIDE_DATASET_ID);
-                if (!OptimizeUtils.isNullOrEmpty(overrideDatasetId)) {
-                    edgeEventData.put(OptimizeConstants.JsonKeys.DATASET_ID, overrideDatasetId);
+        cancelledUpdateRequestsCount.incrementAndGet();
+        Log.trace(
+                OptimizeConstants.LOG_TAG,
+                SELF_TAG,
+                "handleCancelUpdatePropositions - Update propositions request (%s) is cancelled.",
+                requestEventId);
+        getApi().dispatch(
+                        createResponseEventWithError(
+                                cancelledRequest.event,
+                                AEPOptimizeError.Companion.getCancelledError()));
+        releaseGetRequestsWaitingFor(releasedScopes);
+    }
+
+    /**
+     * Attaches the given update propositions request {@code event} to an in-flight Edge request
+     * with the same XDM, data and timeout, if all of the requested {@code validScopes} are already
+     * being updated by it.
+     *
+     * <p>The attached request is responded with the propositions for its own decision scopes once
+     * the in-flight Edge request completes, without sending another Edge request.
+     *
+     * @param event incoming {@link Event} object containing the update propositions request.
+     * @param validScopes {@code List<DecisionScope>} containing the valid requested scopes.
+     * @return {@code boolean} indicating whether the request is attached to an in-flight request.
+     */
+    private boolean attachToInFlightUpdate(
+            @NonNull final Event event, @NonNull final List<DecisionScope> validScopes) {
+        synchronized (coalescedUpdatesLock) {
+            for (final CoalescedUpdate inFlightUpdate : inFlightUpdates.values()) {
+                if (inFlightUpdate.isCompatible(event)
+                        && inFlightUpdate.getScopes().containsAll(validScopes)) {
+                    inFlightUpdate.add(event, validScopes);
+                    deduplicatedUpdateRequestsCount.incrementAndGet();
+                    Log.trace(
+                            OptimizeConstants.LOG_TAG,
+                            SELF_TAG,
+                            "attachToInFlightUpdate - Update propositions request (%s) is attached"
+                                    + " to the in-flight Edge request (%s).",
+                            event.getUniqueIdentifier(),
+                            inFlightUpdate.getEdgeRequestEventId());
+                    return true;
                 }
             }
+        }
+        return false;
+    }
 
-            final Event edgeEvent =
-                    new Event.Builder(
-                                    OptimizeConstants.EventNames.EDGE_PERSONALIZATION_REQUEST,
-                                    OptimizeConstants.EventType.EDGE,
-                                    OptimizeConstants.EventSource.REQUEST_CONTENT)
-                            .setEventData(edgeEventData)
-                            .chainToParentEvent(event)
-                            .build();
+    /**
+     * Responds to the given update propositions {@code requests} with the cached propositions for
+     * their decision scopes, as the circuit breaker rejected their Edge request.
+     *
+     * @param requests {@code List<CoalescedUpdate.Request>} containing the update propositions
+     *     requests.
+     */
+    private void dispatchCircuitBreakerFallbackResponses(
+            @NonNull final List<CoalescedUpdate.Request> requests) {
+        for (final CoalescedUpdate.Request request : requests) {
+            circuitBreakerFallbacksCount.incrementAndGet();
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "dispatchCircuitBreakerFallbackResponses - Circuit breaker is open, update"
+                            + " propositions request (%s) is answered from the cache.",
+                    request.event.getUniqueIdentifier());
+            dispatchCachedPropositionsResponse(
+                    request.event,
+                    request.scopes,
+                    OptimizeConstants.EventDataKeys.SERVED_BY_CIRCUIT_BREAKER);
+        }
+    }
 
-            // In AEP Response Event handle, `requestEventId` corresponds to the unique identifier
-            // for the Edge request.
-            // Storing the request event unique identifier to compare and process only the
-            // anticipated response in the extension.
-            updateRequestEventIdsInProgress.put(edgeEvent.getUniqueIdentifier(), validScopes);
-
-            // add the Edge event to update propositions in the events queue.
-            eventsDispatcher.offer(edgeEvent);
-            long timeoutMillis = ConfigUtils.retrieveOptimizeRequestTimeout(event, configData);
-            MobileCore.dispatchEventWithResponseCallback(
-                    edgeEvent,
-                    timeoutMillis,
-                    new AdobeCallbackWithError<Event>() {
-                        @Override
-                        public void fail(final AdobeError error) {
-                            // response event failed or timed out, remove this event's unique
-                            // identifier from the requested event IDs dictionary and kick-off
-                            // queue.
-                            updateRequestEventIdsInProgress.remove(edgeEvent.getUniqueIdentifier());
-                            propositionsInProgress.clear();
-
-                            AEPOptimizeError aepOptimizeError;
-                            if (error == AdobeError.CALLBACK_TIMEOUT) {
-                                aepOptimizeError = AEPOptimizeError.Companion.getTimeoutError();
-                            } else {
-                                aepOptimizeError = AEPOptimizeError.Companion.getUnexpectedError();
-                            }
+    /**
+     * Stops tracking the given in-flight {@code update}, so no more requests can be attached to
+     * it, and returns all of its update propositions requests.
+     *
+     * @param update {@link CoalescedUpdate} whose Edge request is completed.
+     * @return {@code List<CoalescedUpdate.Request>} containing the requests to be responded.
+     */
+    private List<CoalescedUpdate.Request> completeInFlightUpdate(
+            @NonNull final CoalescedUpdate update) {
+        synchronized (coalescedUpdatesLock) {
+            inFlightUpdates.remove(update.getEdgeRequestEventId());
+            return new ArrayList<>(update.getRequests());
+        }
+    }
+
+    /**
+     * Adds the given update propositions request {@code event} to a pending {@link
+     * CoalescedUpdate} with the same XDM, data and timeout, or starts a new one which is sent to
+     * the Edge network once the given {@code coalescingWindowMillis} elapses.
+     *
+     * <p>The scopes of a pending {@code CoalescedUpdate} are considered in progress, so get
+     * propositions requests for any of the coalesced scopes wait for the coalesced request to
+     * complete.
+     *
+     * @param event incoming {@link Event} object containing the update propositions request.
+     * @param validScopes {@code List<DecisionScope>} containing the valid requested scopes.
+     * @param configData {@code Map<String, Object>} containing the configuration data.
+     * @param coalescingWindowMillis {@code long} containing the coalescing window in milliseconds.
+     */
+    private void coalesceUpdatePropositions(
+            @NonNull final Event event,
+            @NonNull final List<DecisionScope> validScopes,
+            @NonNull final Map<String, Object> configData,
+            final long coalescingWindowMillis) {
+        final CoalescedUpdate coalescedUpdate;
+        synchronized (coalescedUpdatesLock) {
+            for (final CoalescedUpdate pendingUpdate : pendingCoalescedUpdates) {
+                if (pendingUpdate.isCompatible(event)) {
+                    pendingUpdate.add(event, validScopes);
+                    inProgressScopes.add(validScopes);
+                    coalescedUpdateRequestsCount.incrementAndGet();
+                    Log.trace(
+                            OptimizeConstants.LOG_TAG,
+                            SELF_TAG,
+                            "coalesceUpdatePropositions - Update propositions request (%s) is"
+                                    + " coalesced with a pending request.",
+                            event.getUniqueIdentifier());
+                    return;
+                }
+            }
+
+            coalescedUpdate = new CoalescedUpdate(event, validScopes, configData);
+            pendingCoalescedUpdates.add(coalescedUpdate);
+            inProgressScopes.add(validScopes);
+        }
+
+        coalescedUpdatesExecutor.schedule(
+                () -> sendCoalescedUpdate(coalescedUpdate),
+                coalescingWindowMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the personalization query request for the given {@code coalescedUpdate}, containing
+     * the union of the decision scopes of all its requests.
+     *
+     * <p>This method does nothing if the {@code coalescedUpdate} is already sent. If the circuit
+     * breaker rejects the Edge request, the coalesced requests are answered from the cache.
+     *
+     * @param coalescedUpdate {@link CoalescedUpdate} to be sent.
+     */
+    private void sendCoalescedUpdate(@NonNull final CoalescedUpdate coalescedUpdate) {
+        Event edgeEvent = null;
+        List<CoalescedUpdate.Request> rejectedRequests = null;
+        synchronized (coalescedUpdatesLock) {
+            if (!pendingCoalescedUpdates.remove(coalescedUpdate)) {
+                return;
+            }
+            for (final CoalescedUpdate.Request request : coalescedUpdate.getRequests()) {
+                inProgressScopes.remove(request.scopes);
+            }
+
+            final List<DecisionScope> scopes = coalescedUpdate.getScopes();
+            try {
+                edgeEvent =
+                        createEdgePersonalizationRequest(
+                                coalescedUpdate.getFirstEvent(),
+                                scopes,
+                                coalescedUpdate.getConfigData());
+            } catch (final Exception e) {
+                Log.warning(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "sendCoalescedUpdate - Failed to process coalesced update propositions"
+                                + " request due to an exception (%s)!",
+                        e.getLocalizedMessage());
+            }
+
+            if (edgeEvent != null
+                    && !circuitBreaker.allowRequest(
+                            edgeEvent.getUniqueIdentifier(), System.currentTimeMillis())) {
+                rejectedRequests = new ArrayList<>(coalescedUpdate.getRequests());
+                edgeEvent = null;
+            }
+
+            if (edgeEvent != null) {
+                trackUpdateRequestInProgress(edgeEvent.getUniqueIdentifier(), scopes);
+                coalescedUpdate.setEdgeRequestEventId(edgeEvent.getUniqueIdentifier());
+                inFlightUpdates.put(edgeEvent.getUniqueIdentifier(), coalescedUpdate);
+            }
+        }
+
+        if (edgeEvent == null) {
+            if (rejectedRequests != null) {
+                dispatchCircuitBreakerFallbackResponses(rejectedRequests);
+            }
+            releaseGetRequestsWaitingFor(coalescedUpdate.getScopes());
+            return;
+        }
+
+        Log.trace(
+                OptimizeConstants.LOG_TAG,
+                SELF_TAG,
+                "sendCoalescedUpdate - Sending (%d) coalesced update propositions requests in a"
+                        + " single Edge request.",
+                coalescedUpdate.getRequests().size());
+        dispatchEdgePersonalizationRequest(edgeEvent, coalescedUpdate);
+    }
+
+    /**
+     * Retrieves the given {@code requestedScopes} which are being updated, including the scopes of
+     * the pending coalesced update propositions requests.
+     *
+     * @param requestedScopes {@code List<DecisionScope>} containing the requested scopes.
+     * @return {@code List<DecisionScope>} containing the requested scopes in progress.
+     */
+    private List<DecisionScope> retrieveRequestedScopesInProgress(
+            @NonNull final List<DecisionScope> requestedScopes) {
+        List<DecisionScope> requestedScopesInProgress = Collections.emptyList();
+        synchronized (coalescedUpdatesLock) {
+            for (final DecisionScope scope : requestedScopes) {
+                if (inProgressScopes.contains(scope)) {
+                    if (requestedScopesInProgress.isEmpty()) {
+                        requestedScopesInProgress = new ArrayList<>();
+                    }
+                    requestedScopesInProgress.add(scope);
+                }
+            }
+        }
+        return requestedScopesInProgress;
+    }
+
+    /**
+     * Tracks the Edge personalization request with the given {@code requestEventId} as in
+     * progress, along with an empty buffer accumulating the propositions returned for it.
+     *
+     * @param requestEventId {@link String} containing the Edge request event unique identifier.
+     * @param scopes {@code List<DecisionScope>} containing the requested scopes.
+     */
+    private void trackUpdateRequestInProgress(
+            @NonNull final String requestEventId, @NonNull final List<DecisionScope> scopes) {
+        synchronized (coalescedUpdatesLock) {
+            propositionsInProgress.put(
+                    requestEventId, new ConcurrentHashMap<DecisionScope, OptimizeProposition>());
+            final List<DecisionScope> previousScopes =
+                    updateRequestEventIdsInProgress.put(requestEventId, scopes);
+            if (previousScopes != null) {
+                inProgressScopes.remove(previousScopes);
+            }
+            inProgressScopes.add(scopes);
+        }
+    }
+
+    /**
+     * Stops tracking the given {@code cancelledScopes}, which are no longer requested by any of
+     * the remaining update propositions requests, as in progress for the Edge personalization
+     * request with the given {@code requestEventId}.
+     *
+     * @param requestEventId {@link String} containing the Edge request event unique identifier.
+     * @param cancelledScopes {@code List<DecisionScope>} containing the scopes of the cancelled
+     *     update propositions request.
+     * @param remainingScopes {@code List<DecisionScope>} containing the scopes still requested.
+     * @return {@code List<DecisionScope>} containing the scopes no longer in progress.
+     */
+    private List<DecisionScope> untrackScopesInProgress(
+            @NonNull final String requestEventId,
+            @NonNull final List<DecisionScope> cancelledScopes,
+            @NonNull final List<DecisionScope> remainingScopes) {
+        synchronized (coalescedUpdatesLock) {
+            final List<DecisionScope> trackedScopes =
+                    updateRequestEventIdsInProgress.get(requestEventId);
+            if (trackedScopes == null) {
+                return null;
+            }
+
+            final List<DecisionScope> releasedScopes = new ArrayList<>();
+            final List<DecisionScope> scopes = new ArrayList<>();
+            for (final DecisionScope scope : trackedScopes) {
+                if (cancelledScopes.contains(scope) && !remainingScopes.contains(scope)) {
+                    releasedScopes.add(scope);
+                } else {
+                    scopes.add(scope);
+                }
+            }
+            if (releasedScopes.isEmpty()) {
+                return null;
+            }
+
+            Set<DecisionScope> droppedScopes = cancelledScopesInProgress.get(requestEventId);
+            if (droppedScopes == null) {
+                droppedScopes = new HashSet<>();
+                cancelledScopesInProgress.put(requestEventId, droppedScopes);
+            }
+            droppedScopes.addAll(releasedScopes);
+
+            updateRequestEventIdsInProgress.put(requestEventId, scopes);
+            inProgressScopes.remove(releasedScopes);
+            return releasedScopes;
+        }
+    }
+
+    /**
+     * Stops tracking the Edge personalization request with the given {@code requestEventId} as in
+     * progress, dropping the propositions accumulated for it.
+     *
+     * @param requestEventId {@link String} containing the Edge request event unique identifier.
+     * @return {@code List<DecisionScope>} containing the requested scopes, or null if the request
+     *     is not in progress.
+     */
+    private List<DecisionScope> untrackUpdateRequestInProgress(
+            @NonNull final String requestEventId) {
+        synchronized (coalescedUpdatesLock) {
+            propositionsInProgress.remove(requestEventId);
+            cancelledScopesInProgress.remove(requestEventId);
+            final List<DecisionScope> scopes =
+                    updateRequestEventIdsInProgress.remove(requestEventId);
+            if (scopes != null) {
+                inProgressScopes.remove(scopes);
+            }
+            return scopes;
+        }
+    }
+
+    /**
+     * Retrieves a copy of the propositions accumulated so far for the Edge personalization request
+     * with the given {@code requestEventId}.
+     *
+     * <p>The propositions for the scopes requested only by cancelled update propositions requests
+     * are not retrieved.
+     *
+     * @param requestEventId {@link String} containing the Edge request event unique identifier.
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the accumulated
+     *     propositions, or an empty map if the request is not in progress.
+     */
+    private Map<DecisionScope, OptimizeProposition> retrievePropositionsInProgress(
+            @NonNull final String requestEventId) {
+        final Map<DecisionScope, OptimizeProposition> requestPropositionsInProgress =
+                propositionsInProgress.get(requestEventId);
+        if (requestPropositionsInProgress == null) {
+            return new HashMap<>();
+        }
+
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                new HashMap<>(requestPropositionsInProgress);
+        synchronized (coalescedUpdatesLock) {
+            final Set<DecisionScope> droppedScopes = cancelledScopesInProgress.get(requestEventId);
+            if (droppedScopes != null) {
+                propositions.keySet().removeAll(droppedScopes);
+            }
+        }
+        return propositions;
+    }
+
+    /**
+     * Releases the get propositions requests waiting for the given {@code completedScopes}, once
+     * none of their requested scopes is in progress, into the events dispatcher.
+     *
+     * <p>This method must be called after the completed update propositions request is no longer
+     * tracked as in progress.
+     *
+     * @param completedScopes {@code List<DecisionScope>} containing the scopes of a completed
+     *     update propositions request.
+     */
+    private void releaseGetRequestsWaitingFor(final List<DecisionScope> completedScopes) {
+        if (OptimizeUtils.isNullOrEmpty(completedScopes)) {
+            return;
+        }
+
+        final List<List<Event>> releasedEvents;
+        synchronized (scopeWaitersLock) {
+            synchronized (coalescedUpdatesLock) {
+                releasedEvents = scopeWaiters.release(completedScopes, inProgressScopes.asSet());
+            }
+        }
+
+        // collapsed get propositions requests are processed along with the first request.
+        for (final List<Event> collapsedEvents : releasedEvents) {
+            final Event firstEvent = collapsedEvents.get(0);
+            if (collapsedEvents.size() > 1) {
+                collapsedGetRequests.put(
+                        firstEvent.getUniqueIdentifier(),
+                        new ArrayList<>(collapsedEvents.subList(1, collapsedEvents.size())));
+            }
+            eventsDispatcher.offer(firstEvent);
+        }
+    }
+
+    /**
+     * Creates the Edge personalization query request event for the given {@code scopes}.
+     *
+     * <p>The event contains additional XDM and/ or free-form data, read from the given update
+     * propositions request {@code event}, to be attached to the Edge request.
+     *
+     * @param event {@link Event} containing the update propositions request.
+     * @param scopes {@code List<DecisionScope>} containing the scopes to be queried.
+     * @param configData {@code Map<String, Object>} containing the configuration data.
+     * @return {@link Event} containing the Edge personalization query request.
+     * @throws DataReaderException if the XDM or data in the request event data is malformed.
+     */
+    private Event createEdgePersonalizationRequest(
+            @NonNull final Event event,
+            @NonNull final List<DecisionScope> scopes,
+            @NonNull final Map<String, Object> configData)
+            throws DataReaderException {
+        final Map<String, Object> eventData = event.getEventData();
+        final Map<String, Object> edgeEventData = new HashMap<>();
+
+        // Add query
+        final Map<String, Object> queryPersonalization = new HashMap<>();
+        queryPersonalization.put(OptimizeConstants.JsonKeys.SCHEMAS, supportedSchemas);
 
+        final List<String> validScopeNames = new ArrayList<>();
+        for (final DecisionScope scope : scopes) {
+            validScopeNames.add(scope.getName());
+        }
+        queryPersonalization.put(OptimizeConstants.JsonKeys.DECISION_SCOPES, validScopeNames);
+
+        final Map<String, Object> query = new HashMap<>();
+        query.put(OptimizeConstants.JsonKeys.QUERY_PERSONALIZATION, queryPersonalization);
+        edgeEventData.put(OptimizeConstants.JsonKeys.QUERY, query);
+
+        // Add xdm
+        final Map<String, Object> xdm = new HashMap<>();
+        if (eventData.containsKey(OptimizeConstants.EventDataKeys.XDM)) {
+            final Map<String, Object> inputXdm =
+                    DataReader.getTypedMap(
+                            Object.class, eventData, OptimizeConstants.EventDataKeys.XDM);
+            if (!OptimizeUtils.isNullOrEmpty(inputXdm)) {
+                xdm.putAll(inputXdm);
+            }
+        }
+        xdm.put(
+                OptimizeConstants.JsonKeys.EXPERIENCE_EVENT_TYPE,
+                OptimizeConstants.JsonValues.EE_EVENT_TYPE_PERSONALIZATION);
+        edgeEventData.put(OptimizeConstants.JsonKeys.XDM, xdm);
+
+        // Add data
+        final Map<String, Object> data = new HashMap<>();
+        if (eventData.containsKey(OptimizeConstants.EventDataKeys.DATA)) {
+            final Map<String, Object> inputData =
+                    DataReader.getTypedMap(
+                            Object.class, eventData, OptimizeConstants.EventDataKeys.DATA);
+            if (!OptimizeUtils.isNullOrEmpty(inputData)) {
+                data.putAll(inputData);
+                edgeEventData.put(OptimizeConstants.JsonKeys.DATA, data);
+            }
+        }
+
+        // Add the flag to request sendCompletion
+        final Map<String, Object> request = new HashMap<>();
+        request.put(OptimizeConstants.JsonKeys.REQUEST_SEND_COMPLETION, true);
+        edgeEventData.put(OptimizeConstants.JsonKeys.REQUEST, request);
+
+        // Add override datasetId
+        if (configData.containsKey(OptimizeConstants.Configuration.OPTIMIZE_OVERRIDE_DATASET_ID)) {
+            final String overrideDatasetId =
+                    DataReader.getString(
+                            configData,
+                            OptimizeConstants.Configuration.OPTIMIZE_OVERRIDE_DATASET_ID);
+            if (!OptimizeUtils.isNullOrEmpty(overrideDatasetId)) {
+                edgeEventData.put(OptimizeConstants.JsonKeys.DATASET_ID, overrideDatasetId);
+            }
+        }
+
+        return new Event.Builder(
+                        OptimizeConstants.EventNames.EDGE_PERSONALIZATION_REQUEST,
+                        OptimizeConstants.EventType.EDGE,
+                        OptimizeConstants.EventSource.REQUEST_CONTENT)
+                .setEventData(edgeEventData)
+                .chainToParentEvent(event)
+                .build();
+    }
+
+    /**
+     * Dispatches the given Edge personalization query request {@code edgeEvent}, and responds to
+     * each of the update propositions requests in the given {@code update} once the Edge request
+     * completes, including the requests attached while the Edge request is in flight.
+     *
+     * <p>Each update propositions request is responded with the propositions for its own decision
+     * scopes, so the scopes of a cancelled request are not returned to the remaining requests.
+     *
+     * @param edgeEvent {@link Event} containing the Edge personalization query request.
+     * @param update {@link CoalescedUpdate} containing the update propositions requests sent in
+     *     the Edge request.
+     */
+    private void dispatchEdgePersonalizationRequest(
+            @NonNull final Event edgeEvent, @NonNull final CoalescedUpdate update) {
+        final Event event;
+        synchronized (coalescedUpdatesLock) {
+            event = update.getFirstEvent();
+        }
+        long timeoutMillis =
+                ConfigUtils.retrieveOptimizeRequestTimeout(
+                        event, update.getConfigData(), edgeLatencyHistogram);
+        final long requestStartTime = System.currentTimeMillis();
+        MobileCore.dispatchEventWithResponseCallback(
+                edgeEvent,
+                timeoutMillis,
+                new AdobeCallbackWithError<Event>() {
+                    @Override
+                    public void fail(final AdobeError error) {
+                        // a timed out round trip took at least the timeout, record it so the
+                        // adaptive timeout grows back when the Edge latency increases.
+                        if (error == AdobeError.CALLBACK_TIMEOUT) {
+                            edgeLatencyHistogram.record(
+                                    System.currentTimeMillis() - requestStartTime);
+                        }
+                        // response event failed or timed out, remove this event's unique
+                        // identifier from the requested event IDs dictionary and kick-off
+                        // queue.
+                        final List<CoalescedUpdate.Request> requests =
+                                completeInFlightUpdate(update);
+                        failedEdgeRequestEventIds.remove(edgeEvent.getUniqueIdentifier());
+                        circuitBreaker.recordFailure(
+                                edgeEvent.getUniqueIdentifier(), System.currentTimeMillis());
+                        final List<DecisionScope> completedScopes =
+                                untrackUpdateRequestInProgress(edgeEvent.getUniqueIdentifier());
+
+                        errorLedger.take(edgeEvent.getUniqueIdentifier());
+
+                        AEPOptimizeError aepOptimizeError;
+                        if (error == AdobeError.CALLBACK_TIMEOUT) {
+                            aepOptimizeError = AEPOptimizeError.Companion.getTimeoutError();
+                        } else {
+                            aepOptimizeError = AEPOptimizeError.Companion.getUnexpectedError();
+                        }
+                        errorLedger.record(
+                                update.getScopes(), aepOptimizeError, System.currentTimeMillis());
+
+                        for (final CoalescedUpdate.Request request : requests) {
                             getApi().dispatch(
-                                            createResponseEventWithError(event, aepOptimizeError));
+                                            createResponseEventWithError(
+                                                    request.event, aepOptimizeError));
+                        }
 
-                            eventsDispatcher.resume();
+                        releaseGetRequestsWaitingFor(completedScopes);
+                    }
+
+                    @Override
+                    public void call(final Event callbackEvent) {
+                        final String requestEventId =
+                                OptimizeUtils.getRequestEventId(callbackEvent);
+                        if (OptimizeUtils.isNullOrEmpty(requestEventId)) {
+                            fail(AdobeError.UNEXPECTED_ERROR);
+                            return;
+                        }
+                        edgeLatencyHistogram.record(System.currentTimeMillis() - requestStartTime);
+
+                        final AEPOptimizeError aepOptimizeError =
+                                errorLedger.take(requestEventId);
+                        if (aepOptimizeError != null) {
+                            errorLedger.record(
+                                    update.getScopes(),
+                                    aepOptimizeError,
+                                    System.currentTimeMillis());
                         }
 
-                        @Override
-                        public void call(final Event callbackEvent) {
-                            final String requestEventId =
-                                    OptimizeUtils.getRequestEventId(callbackEvent);
-                            if (OptimizeUtils.isNullOrEmpty(requestEventId)) {
-                                fail(AdobeError.UNEXPECTED_ERROR);
-                                return;
-                            }
+                        final Map<DecisionScope, OptimizeProposition> returnedPropositions =
+                                retrievePropositionsInProgress(edgeEvent.getUniqueIdentifier());
+                        final List<CoalescedUpdate.Request> requests =
+                                completeInFlightUpdate(update);
+                        if (failedEdgeRequestEventIds.remove(requestEventId)) {
+                            circuitBreaker.recordFailure(
+                                    edgeEvent.getUniqueIdentifier(), System.currentTimeMillis());
+                        } else {
+                            circuitBreaker.recordSuccess(edgeEvent.getUniqueIdentifier());
+                        }
 
+                        for (final CoalescedUpdate.Request request : requests) {
                             final Map<String, Object> responseEventData = new HashMap<>();
-                            AEPOptimizeError aepOptimizeError =
-                                    updateRequestEventIdsErrors.get(requestEventId);
                             if (aepOptimizeError != null) {
                                 responseEventData.put(
                                         OptimizeConstants.EventDataKeys.RESPONSE_ERROR,
                                         aepOptimizeError.toEventData());
                             }
 
-                            final List<Map<String, Object>> propositionsList = new ArrayList<>();
-
+                            // each request only receives the propositions for its own scopes.
+                            final Map<DecisionScope, OptimizeProposition> propositions =
+                                    new HashMap<>();
                             for (Map.Entry<DecisionScope, OptimizeProposition> entry :
-                                    propositionsInProgress.entrySet()) {
-                                OptimizeProposition optimizeProposition = entry.getValue();
-                                propositionsList.add(optimizeProposition.toEventData());
+                                    returnedPropositions.entrySet()) {
+                                if (request.scopes.contains(entry.getKey())) {
+                                    propositions.put(entry.getKey(), entry.getValue());
+                                }
                             }
 
-                            responseEventData.put(
-                                    OptimizeConstants.EventDataKeys.PROPOSITIONS, propositionsList);
+                            final boolean handOffPropositions =
+                                    isPropositionsHandoffRequested(request.event);
+                            if (!handOffPropositions) {
+                                responseEventData.put(
+                                        OptimizeConstants.EventDataKeys.PROPOSITIONS,
+                                        toPropositionsEventData(propositions));
+                            }
 
                             final Event responseEvent =
                                     new Event.Builder(
@@ -521,40 +1453,40 @@ class OptimizeExtension extends Extension {
                                                     OptimizeConstants.EventType.OPTIMIZE,
                                                     OptimizeConstants.EventSource.RESPONSE_CONTENT)
                                             .setEventData(responseEventData)
-                                            .inResponseToEvent(event)
+                                            .inResponseToEvent(request.event)
                                             .build();
 
+                            if (handOffPropositions) {
+                                PropositionsHandoff.offer(
+                                        responseEvent.getUniqueIdentifier(), propositions);
+                            }
                             getApi().dispatch(responseEvent);
-
-                            final Event updateCompleteEvent =
-                                    new Event.Builder(
-                                                    OptimizeConstants.EventNames
-                                                            .OPTIMIZE_UPDATE_COMPLETE,
-                                                    OptimizeConstants.EventType.OPTIMIZE,
-                                                    OptimizeConstants.EventSource.CONTENT_COMPLETE)
-                                            .setEventData(
-                                                    new HashMap<String, Object>() {
-                                                        {
-                                                            put(
-                                                                    OptimizeConstants.EventDataKeys
-                                                                            .COMPLETED_UPDATE_EVENT_ID,
-                                                                    requestEventId);
-                                                        }
-                                                    })
-                                            .chainToParentEvent(event)
-                                            .build();
-
-                            getApi().dispatch(updateCompleteEvent);
                         }
-                    });
-        } catch (final Exception e) {
-            Log.warning(
-                    OptimizeConstants.LOG_TAG,
-                    SELF_TAG,
-                    "handleUpdatePropositions - Failed to process update propositions request event"
-                            + " due to an exception (%s)!",
-                    e.getLocalizedMessage());
-        }
+
+                        final Event updateCompleteEvent =
+                                new Event.Builder(
+                                                OptimizeConstants.EventNames
+                                                        .OPTIMIZE_UPDATE_COMPLETE,
+                                                OptimizeConstants.EventType.OPTIMIZE,
+                                                OptimizeConstants.EventSource.CONTENT_COMPLETE)
+                                        .setEventData(
+                                                new HashMap<String, Object>() {
+                                                    {
+                                                        put(
+                                                                OptimizeConstants.EventDataKeys
+                                                                        .COMPLETED_UPDATE_EVENT_ID,
+                                                                requestEventId);
+                                                    }
+                                                })
+                                        .chainToParentEvent(
+                                                requests.isEmpty()
+                                                        ? event
+                                                        : requests.get(0).event)
+                                        .build();
+
+                        getApi().dispatch(updateCompleteEvent);
+                    }
+                });
     }
 
     /**
@@ -567,6 +1499,7 @@ class OptimizeExtension extends Extension {
      * @param event incoming {@link Event} object to be processed.
      */
     void handleUpdatePropositionsCompleted(@NonNull final Event event) {
+        List<DecisionScope> completedScopes = null;
         try {
             final String requestCompletedForEventId =
                     DataReader.getString(
@@ -590,14 +1523,17 @@ class OptimizeExtension extends Extension {
                         "handleUpdatePropositionsCompleted - Ignoring Optimize complete event,"
                             + " event Id is not being tracked for completion as requested scopes is"
                             + " null or empty.");
+                propositionsInProgress.remove(requestCompletedForEventId);
                 return;
             }
 
             // Update propositions in cache
-            updateCachedPropositions(requestedScopes);
+            updateCachedPropositions(
+                    requestedScopes, retrievePropositionsInProgress(requestCompletedForEventId));
 
-            // remove completed event's ID from the request event IDs dictionary.
-            updateRequestEventIdsInProgress.remove(requestCompletedForEventId);
+            // remove completed event's ID and propositions buffer from the in-progress
+            // dictionaries.
+            completedScopes = untrackUpdateRequestInProgress(requestCompletedForEventId);
         } catch (final DataReaderException e) {
             Log.warning(
                     OptimizeConstants.LOG_TAG,
@@ -606,10 +1542,8 @@ class OptimizeExtension extends Extension {
                             + " complete event due to an exception (%s)!",
                     e.getLocalizedMessage());
         } finally {
-            propositionsInProgress.clear();
-
-            // Resume events dispatcher processing after update propositions request is completed.
-            eventsDispatcher.resume();
+            // Release the get propositions requests waiting for the completed update.
+            releaseGetRequestsWaitingFor(completedScopes);
         }
     }
 
@@ -620,19 +1554,200 @@ class OptimizeExtension extends Extension {
      * events are removed from the cache.
      *
      * @param requestedScopes a {@code List<DecisionScope>} for which propositions are requested.
+     * @param returnedPropositions a {@code Map<DecisionScope, OptimizeProposition>} containing the
+     *     propositions accumulated for the update propositions request.
      */
-    private void updateCachedPropositions(@NonNull final List<DecisionScope> requestedScopes) {
-        // update cache with accumulated propositions
-        cachedPropositions.putAll(propositionsInProgress);
-
-        // remove cached propositions for requested scopes for which no propositions are returned.
-        final List<DecisionScope> returnedScopes = new ArrayList<>(propositionsInProgress.keySet());
+    private void updateCachedPropositions(
+            @NonNull final List<DecisionScope> requestedScopes,
+            @NonNull final Map<DecisionScope, OptimizeProposition> returnedPropositions) {
+        // remove cached propositions for requested scopes for which no propositions are
+        // returned.
         final List<DecisionScope> scopesToRemove = new ArrayList<>(requestedScopes);
-        scopesToRemove.removeAll(returnedScopes);
+        scopesToRemove.removeAll(returnedPropositions.keySet());
+
+        synchronized (propositionsCacheLock) {
+            // the persisted snapshot is older than the propositions returned from the network.
+            propositionsCacheRestorePending.set(false);
+
+            // update cache with accumulated propositions, publishing the returned and removed
+            // scopes together.
+            propositionsCache.update(
+                    returnedPropositions, System.currentTimeMillis(), scopesToRemove);
+        }
+
+        persistCachedPropositions();
+    }
+
+    /**
+     * Removes the cached propositions for the given {@code scopes} whose time-to-live has elapsed.
+     *
+     * <p>Propositions are expired lazily, when they are read from the cache.
+     *
+     * @param scopes a {@code List<DecisionScope>} whose cached propositions are checked.
+     * @param cacheTtlMillis {@code long} containing the propositions time-to-live in milliseconds,
+     *     or 0 if propositions never expire.
+     * @return {@code List<DecisionScope>} containing the scopes whose propositions expired.
+     */
+    private List<DecisionScope> expireCachedPropositions(
+            @NonNull final List<DecisionScope> scopes, final long cacheTtlMillis) {
+        if (cacheTtlMillis <= 0) {
+            return new ArrayList<>();
+        }
+
+        final List<DecisionScope> expiredScopes =
+                propositionsCache.removeFetchedBefore(
+                        scopes, System.currentTimeMillis() - cacheTtlMillis);
+
+        if (!expiredScopes.isEmpty()) {
+            Log.trace(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "expireCachedPropositions - Cached propositions expired for (%d) scopes.",
+                    expiredScopes.size());
+            persistCachedPropositions();
+        }
+        return expiredScopes;
+    }
+
+    /**
+     * Restores the propositions persisted in a previous application launch into the in-memory
+     * propositions cache.
+     *
+     * <p>The snapshot is loaded asynchronously and the events dispatcher is started once the
+     * restore completes, so any queued get propositions requests are fulfilled from the restored
+     * propositions. The snapshot is discarded if the cache is updated or cleared in the meantime,
+     * or if it was persisted for another datastream or environment.
+     */
+    void restoreCachedPropositions() {
+        propositionsCacheRestorePending.set(true);
+        propositionsCacheStoreExecutor.execute(
+                () -> {
+                    try {
+                        final PropositionsCacheStore.Snapshot snapshot =
+                                propositionsCacheStore.load(propositionsCacheConfigIds);
+                        synchronized (propositionsCacheLock) {
+                            if (propositionsCacheRestorePending.compareAndSet(true, false)) {
+                                propositionsCache.putAll(
+                                        snapshot.propositions, snapshot.fetchTimes);
+                                Log.trace(
+                                        OptimizeConstants.LOG_TAG,
+                                        SELF_TAG,
+                                        "restoreCachedPropositions - Restored (%d) persisted"
+                                                + " propositions.",
+                                        snapshot.propositions.size());
+                            }
+                        }
+                    } catch (final Exception e) {
+                        Log.warning(
+                                OptimizeConstants.LOG_TAG,
+                                SELF_TAG,
+                                "restoreCachedPropositions - Failed to restore persisted"
+                                        + " propositions due to an exception (%s)!",
+                                e.getLocalizedMessage());
+                    } finally {
+                        eventsDispatcher.start();
+                    }
+                });
+    }
+
+    /**
+     * Schedules a write of the current in-memory propositions cache to the persisted snapshot.
+     *
+     * <p>Writes requested while a write is already pending are coalesced into the pending write,
+     * which persists the latest cache contents.
+     */
+    private void persistCachedPropositions() {
+        if (propositionsCacheStore == null
+                || propositionsCacheConfigIds == null
+                || !propositionsCacheWritePending.compareAndSet(false, true)) {
+            return;
+        }
+
+        propositionsCacheStoreExecutor.execute(
+                () -> {
+                    propositionsCacheWritePending.set(false);
+                    final PropositionsCache.Snapshot cacheSnapshot = propositionsCache.snapshot();
+                    propositionsCacheStore.save(
+                            new PropositionsCacheStore.Snapshot(
+                                    cacheSnapshot.getPropositions(),
+                                    cacheSnapshot.getFetchTimes()),
+                            propositionsCacheConfigIds);
+                });
+    }
+
+    /**
+     * Handles the event with type {@value OptimizeConstants.EventType#CONFIGURATION} and source
+     * {@value OptimizeConstants.EventSource#RESPONSE_CONTENT}.
+     *
+     * <p>This method applies the updated propositions cache configuration, so the cache is bounded
+     * and expired per the latest configuration before any update or get propositions request.
+     * The interactions journaled by the previous application launch are replayed, or dropped,
+     * once the configuration is first available.
+     *
+     * <p>The persisted propositions are restored once the configuration is first available. The
+     * cached propositions are cleared if the configured datastream or environment changes.
+     *
+     * @param event incoming {@link Event} object to be processed.
+     */
+    void handleConfigurationResponse(@NonNull final Event event) {
+        final Map<String, Object> configData = retrieveConfigurationSharedState(event);
+        if (OptimizeUtils.isNullOrEmpty(configData)) {
+            return;
+        }
+        applyPropositionsCacheConfiguration(configData);
+        applyInteractionJournalConfiguration(configData);
+        applyPropositionsCacheConfigIds(configData);
+    }
 
-        for (final DecisionScope scope : scopesToRemove) {
-            cachedPropositions.remove(scope);
+    /**
+     * Applies the Edge configuration identifiers, the propositions snapshot is scoped to, from the
+     * given {@code configData}.
+     *
+     * <p>The persisted propositions are restored if the configuration was not available when the
+     * extension was registered. The propositions fetched for the previous datastream or
+     * environment are cleared, from the cache and from the persisted snapshot, if either changes.
+     *
+     * @param configData {@code Map<String, Object>} containing the configuration data.
+     */
+    private void applyPropositionsCacheConfigIds(@NonNull final Map<String, Object> configData) {
+        if (propositionsCacheStore == null) {
+            return;
+        }
+
+        final Map<String, String> configIds = PropositionsCacheStore.retrieveConfigIds(configData);
+        final Map<String, String> previousConfigIds = propositionsCacheConfigIds;
+        if (configIds.equals(previousConfigIds)) {
+            return;
         }
+        propositionsCacheConfigIds = configIds;
+
+        if (previousConfigIds == null) {
+            restoreCachedPropositions();
+            return;
+        }
+
+        Log.debug(
+                OptimizeConstants.LOG_TAG,
+                SELF_TAG,
+                "applyPropositionsCacheConfigIds - Clearing the cached propositions, the configured"
+                        + " datastream or environment changed.");
+        synchronized (propositionsCacheLock) {
+            propositionsCacheRestorePending.set(false);
+            propositionsCache.clear();
+        }
+        propositionsCacheStoreExecutor.execute(propositionsCacheStore::clear);
+    }
+
+    /**
+     * Applies the propositions cache maximum size and time-to-live from the given {@code
+     * configData}.
+     *
+     * @param configData {@code Map<String, Object>} containing the configuration data.
+     */
+    private void applyPropositionsCacheConfiguration(
+            @NonNull final Map<String, Object> configData) {
+        propositionsCache.setMaxWeight(ConfigUtils.retrievePropositionsCacheMaxSize(configData));
+        propositionsCacheTtlMillis = ConfigUtils.retrievePropositionsCacheTtl(configData);
     }
 
     /**
@@ -658,7 +1773,6 @@ class OptimizeExtension extends Extension {
                         "handleEdgeResponse - Ignoring Edge event, either handle type is not"
                             + " personalization:decisions, or the response isn't intended for this"
                             + " extension.");
-                propositionsInProgress.clear();
                 return;
             }
 
@@ -682,7 +1796,7 @@ class OptimizeExtension extends Extension {
                 if (optimizeProposition != null
                         && !OptimizeUtils.isNullOrEmpty(optimizeProposition.getOffers())) {
                     final DecisionScope scope = new DecisionScope(optimizeProposition.getScope());
-                    propositionsMap.put(scope, optimizeProposition);
+                    propositionsMap.put(scope, optimizeProposition.toImmutable());
                 }
             }
 
@@ -696,8 +1810,12 @@ class OptimizeExtension extends Extension {
                 return;
             }
 
-            // accumulate propositions in in-progress propositions dictionary
-            propositionsInProgress.putAll(propositionsMap);
+            // accumulate propositions in the in-progress propositions buffer of the request
+            final Map<DecisionScope, OptimizeProposition> requestPropositionsInProgress =
+                    propositionsInProgress.get(requestEventId);
+            if (requestPropositionsInProgress != null) {
+                requestPropositionsInProgress.putAll(propositionsMap);
+            }
 
             final List<Map<String, Object>> propositionsList = new ArrayList<>();
             for (final OptimizeProposition optimizeProposition : propositionsMap.values()) {
@@ -714,15 +1832,61 @@ class OptimizeExtension extends Extension {
                             .setEventData(notificationData)
                             .build();
 
-            // Dispatch notification event
-            getApi().dispatch(edgeEvent);
-        } catch (final Exception e) {
-            Log.warning(
-                    OptimizeConstants.LOG_TAG,
-                    SELF_TAG,
-                    "handleEdgeResponse - Cannot process the Edge personalization:decisions event"
-                            + " due to an exception (%s)!",
-                    e.getLocalizedMessage());
+            // Dispatch notification event
+            getApi().dispatch(edgeEvent);
+
+            streamPropositionsInProgress(requestEventId, propositionsMap);
+        } catch (final Exception e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "handleEdgeResponse - Cannot process the Edge personalization:decisions event"
+                            + " due to an exception (%s)!",
+                    e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Streams the given {@code propositions} chunk, received for the Edge request event with the
+     * given {@code requestEventId}, to the update propositions requests which asked for streaming.
+     *
+     * <p>Each request only receives the propositions for its own scopes.
+     *
+     * @param requestEventId {@link String} containing the Edge request event unique identifier.
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} parsed from the chunk.
+     */
+    private void streamPropositionsInProgress(
+            @NonNull final String requestEventId,
+            @NonNull final Map<DecisionScope, OptimizeProposition> propositions) {
+        final List<CoalescedUpdate.Request> requests;
+        synchronized (coalescedUpdatesLock) {
+            final CoalescedUpdate update = inFlightUpdates.get(requestEventId);
+            if (update == null) {
+                return;
+            }
+            requests = new ArrayList<>(update.getRequests());
+        }
+
+        for (final CoalescedUpdate.Request request : requests) {
+            if (!DataReader.optBoolean(
+                    request.event.getEventData(),
+                    OptimizeConstants.EventDataKeys.STREAM_PROPOSITIONS,
+                    false)) {
+                continue;
+            }
+
+            final Map<DecisionScope, OptimizeProposition> requestPropositions = new HashMap<>();
+            for (final Map.Entry<DecisionScope, OptimizeProposition> entry :
+                    propositions.entrySet()) {
+                if (request.scopes.contains(entry.getKey())) {
+                    requestPropositions.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            if (!requestPropositions.isEmpty()) {
+                PropositionsStream.publish(
+                        request.event.getUniqueIdentifier(), requestPropositions);
+            }
         }
     }
 
@@ -731,7 +1895,7 @@ class OptimizeExtension extends Extension {
      * OptimizeConstants.EventSource#ERROR_RESPONSE_CONTENT}.
      *
      * <p>This method logs the error information, returned in Edge response, specifying error type
-     * along with a detail message.
+     * along with a detail message. Server errors are also counted as circuit breaker failures.
      *
      * @param event incoming {@link Event} object to be processed.
      */
@@ -802,6 +1966,14 @@ class OptimizeExtension extends Extension {
                     errorStatus,
                     errorReport);
 
+            // server errors count as a single circuit breaker failure once the Edge request
+            // completes. The recoverable errors are retried by the Edge extension, they only count
+            // if the request finally fails or times out.
+            if (!recoverableNetworkErrorCodes.contains(errorStatus)
+                    && errorStatus >= OptimizeConstants.HTTPResponseCodes.internalServerError) {
+                failedEdgeRequestEventIds.add(requestEventId);
+            }
+
             // Check if the errorStatus is in the list of recoverable error codes
             if (recoverableNetworkErrorCodes.contains(errorStatus)) {
                 Log.debug(
@@ -814,7 +1986,7 @@ class OptimizeExtension extends Extension {
                 AEPOptimizeError aepOptimizeError =
                         new AEPOptimizeError(
                                 errorType, errorStatus, errorTitle, errorDetail, errorReport, null);
-                updateRequestEventIdsErrors.put(requestEventId, aepOptimizeError);
+                errorLedger.put(requestEventId, aepOptimizeError);
             }
         } catch (final Exception e) {
             Log.warning(
@@ -826,6 +1998,53 @@ class OptimizeExtension extends Extension {
         }
     }
 
+    /**
+     * Reads the cached propositions for the given {@code scopes} from the current cache snapshot,
+     * without locking or dispatching any event.
+     *
+     * <p>Unlike {@link #handleGetPropositions(Event)}, expired propositions are skipped but not
+     * removed from the cache, they are removed by the next get propositions request. If preview
+     * propositions are available for any of the given scopes, only the preview propositions are
+     * returned.
+     *
+     * <p>The propositions time-to-live is the one last applied from the Configuration shared
+     * state, it is not read from the Configuration shared state on every peek.
+     *
+     * @param scopes {@code List<DecisionScope>} containing valid scopes.
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the cached propositions.
+     */
+    Map<DecisionScope, OptimizeProposition> peekPropositions(
+            @NonNull final List<DecisionScope> scopes) {
+        final Map<DecisionScope, OptimizeProposition> previewPropositions = new HashMap<>();
+        for (final DecisionScope scope : scopes) {
+            final OptimizeProposition optimizeProposition = previewCachedPropositions.get(scope);
+            if (optimizeProposition != null) {
+                previewPropositions.put(scope, optimizeProposition);
+            }
+        }
+        if (!previewPropositions.isEmpty()) {
+            return previewPropositions;
+        }
+
+        final long cacheTtlMillis = propositionsCacheTtlMillis;
+        final long fetchedAfter =
+                cacheTtlMillis > 0 ? System.currentTimeMillis() - cacheTtlMillis : Long.MIN_VALUE;
+        final PropositionsCache.Snapshot cacheSnapshot = propositionsCache.snapshot();
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        for (final DecisionScope scope : scopes) {
+            final OptimizeProposition optimizeProposition = cacheSnapshot.get(scope);
+            if (optimizeProposition == null) {
+                continue;
+            }
+            final Long fetchTime = cacheSnapshot.getFetchTime(scope);
+            if (fetchTime != null && fetchTime <= fetchedAfter) {
+                continue;
+            }
+            propositions.put(scope, optimizeProposition);
+        }
+        return propositions;
+    }
+
     /**
      * Handles the event with type {@value OptimizeConstants.EventType#OPTIMIZE} and source {@value
      * OptimizeConstants.EventSource#REQUEST_CONTENT}.
@@ -834,9 +2053,75 @@ class OptimizeExtension extends Extension {
      * dispatches an optimize response event with the propositions for the requested decision
      * scopes.
      *
+     * <p>The get propositions requests collapsed into the given {@code event}, while waiting for an
+     * update of their scopes, are responded along with it.
+     *
      * @param event incoming {@link Event} object to be processed.
      */
     void handleGetPropositions(@NonNull final Event event) {
+        final List<Event> events = new ArrayList<>();
+        events.add(event);
+        final List<Event> collapsedEvents =
+                collapsedGetRequests.remove(event.getUniqueIdentifier());
+        if (collapsedEvents != null) {
+            events.addAll(collapsedEvents);
+        }
+        handleGetPropositions(
+                events,
+                Collections.<DecisionScope>emptyList(),
+                Collections.<DecisionScope>emptyList());
+    }
+
+    /**
+     * Responds to the given get propositions request {@code event} with the cached propositions
+     * once its deadline expired, if it is still waiting for the update of its scopes.
+     *
+     * <p>The scopes the request was still waiting for are marked pending in the response.
+     *
+     * @param event {@link Event} containing the get propositions request.
+     */
+    private void handleGetPropositionsDeadline(@NonNull final Event event) {
+        final List<DecisionScope> pendingScopes;
+        synchronized (scopeWaitersLock) {
+            pendingScopes = scopeWaiters.remove(event);
+        }
+        if (pendingScopes == null) {
+            // the request is already released, it is responded once its scopes are updated.
+            return;
+        }
+
+        Log.debug(
+                OptimizeConstants.LOG_TAG,
+                SELF_TAG,
+                "handleGetPropositionsDeadline - The deadline of get propositions request (%s)"
+                        + " expired, responding with the cached propositions and (%d) pending"
+                        + " scopes.",
+                event.getUniqueIdentifier(),
+                pendingScopes.size());
+        handleGetPropositions(
+                Collections.singletonList(event),
+                Collections.<DecisionScope>emptyList(),
+                pendingScopes);
+    }
+
+    /**
+     * Dispatches an optimize response event, for each of the given get propositions request {@code
+     * events}, with the cached propositions for the requested decision scopes, marking the given
+     * {@code staleScopes} stale and the given {@code pendingScopes} pending.
+     *
+     * <p>All the given {@code events} request the same decision scopes, they are responded from a
+     * single cache read and the propositions are serialized once.
+     *
+     * @param events {@code List<Event>} containing the get propositions requests to be processed.
+     * @param staleScopes {@code List<DecisionScope>} containing the requested scopes being updated.
+     * @param pendingScopes {@code List<DecisionScope>} containing the requested scopes still being
+     *     updated when the request deadline expired.
+     */
+    private void handleGetPropositions(
+            @NonNull final List<Event> events,
+            @NonNull final List<DecisionScope> staleScopes,
+            @NonNull final List<DecisionScope> pendingScopes) {
+        final Event event = events.get(0);
         final Map<String, Object> eventData = event.getEventData();
 
         try {
@@ -852,49 +2137,106 @@ class OptimizeExtension extends Extension {
                         SELF_TAG,
                         "handleGetPropositions - Cannot process the get propositions request event,"
                                 + " provided list of decision scopes has no valid scope.");
-                getApi().dispatch(createResponseEventWithError(event, AdobeError.UNEXPECTED_ERROR));
+                dispatchResponseEventsWithError(events, AdobeError.UNEXPECTED_ERROR);
                 return;
             }
 
-            final List<Map<String, Object>> propositionsList = new ArrayList<>();
+            final long cacheTtlMillis =
+                    ConfigUtils.retrievePropositionsCacheTtl(
+                            retrieveConfigurationSharedState(event));
+            propositionsCacheTtlMillis = cacheTtlMillis;
+            final List<DecisionScope> expiredScopes =
+                    expireCachedPropositions(validScopes, cacheTtlMillis);
+
+            // read all the requested propositions from a single, consistent cache snapshot.
+            final PropositionsCache.Snapshot cacheSnapshot = propositionsCache.snapshot();
+            final Map<DecisionScope, OptimizeProposition> propositionsMap = new HashMap<>();
             for (final DecisionScope scope : validScopes) {
-                if (cachedPropositions.containsKey(scope)) {
-                    final OptimizeProposition optimizeProposition = cachedPropositions.get(scope);
-                    propositionsList.add(optimizeProposition.toEventData());
+                final OptimizeProposition optimizeProposition = cacheSnapshot.get(scope);
+                if (optimizeProposition != null) {
+                    propositionsMap.put(scope, optimizeProposition);
                 }
             }
 
-            final List<Map<String, Object>> previewPropositionsList = new ArrayList<>();
+            final Map<DecisionScope, OptimizeProposition> previewPropositionsMap =
+                    new HashMap<>();
             for (final DecisionScope scope : validScopes) {
-                if (previewCachedPropositions.containsKey(scope)) {
-                    final OptimizeProposition optimizeProposition =
-                            previewCachedPropositions.get(scope);
-                    previewPropositionsList.add(optimizeProposition.toEventData());
+                final OptimizeProposition optimizeProposition =
+                        previewCachedPropositions.get(scope);
+                if (optimizeProposition != null) {
+                    previewPropositionsMap.put(scope, optimizeProposition);
                 }
             }
 
-            final Map<String, Object> responseEventData = new HashMap<>();
+            final Map<String, Object> commonResponseEventData = new HashMap<>();
+            commonResponseEventData.put(
+                    OptimizeConstants.EventDataKeys.CACHE_GENERATION, cacheSnapshot.generation);
 
-            if (!previewPropositionsList.isEmpty()) {
+            final Map<DecisionScope, OptimizeProposition> responsePropositions;
+            if (!previewPropositionsMap.isEmpty()) {
                 Log.debug(OptimizeConstants.LOG_TAG, SELF_TAG, "Preview Mode is enabled.");
-                responseEventData.put(
-                        OptimizeConstants.EventDataKeys.PROPOSITIONS, previewPropositionsList);
+                responsePropositions = previewPropositionsMap;
             } else {
-                responseEventData.put(
-                        OptimizeConstants.EventDataKeys.PROPOSITIONS, propositionsList);
+                responsePropositions = propositionsMap;
             }
 
-            final Event responseEvent =
-                    new Event.Builder(
-                                    OptimizeConstants.EventNames.OPTIMIZE_RESPONSE,
-                                    OptimizeConstants.EventType.OPTIMIZE,
-                                    OptimizeConstants.EventSource.RESPONSE_CONTENT)
-                            .setEventData(responseEventData)
-                            .inResponseToEvent(event)
-                            .build();
+            if (!expiredScopes.isEmpty()) {
+                final List<Map<String, Object>> expiredScopesList = new ArrayList<>();
+                for (final DecisionScope scope : expiredScopes) {
+                    expiredScopesList.add(scope.toEventData());
+                }
+                commonResponseEventData.put(
+                        OptimizeConstants.EventDataKeys.EXPIRED_SCOPES, expiredScopesList);
+            }
+
+            if (!staleScopes.isEmpty()) {
+                final List<Map<String, Object>> staleScopesList = new ArrayList<>();
+                for (final DecisionScope scope : staleScopes) {
+                    staleScopesList.add(scope.toEventData());
+                }
+                commonResponseEventData.put(
+                        OptimizeConstants.EventDataKeys.STALE_SCOPES, staleScopesList);
+            }
 
-            getApi().dispatch(responseEvent);
+            if (!pendingScopes.isEmpty()) {
+                final List<Map<String, Object>> pendingScopesList = new ArrayList<>();
+                for (final DecisionScope scope : pendingScopes) {
+                    pendingScopesList.add(scope.toEventData());
+                }
+                commonResponseEventData.put(
+                        OptimizeConstants.EventDataKeys.PENDING_SCOPES, pendingScopesList);
+            }
+
+            // the propositions are serialized at most once, for all the coalesced requests which
+            // do not take them from the handoff.
+            List<Map<String, Object>> propositionsList = null;
+            for (final Event requestEvent : events) {
+                final Map<String, Object> responseEventData =
+                        new HashMap<>(commonResponseEventData);
+                final boolean handOffPropositions = isPropositionsHandoffRequested(requestEvent);
+                if (!handOffPropositions) {
+                    if (propositionsList == null) {
+                        propositionsList = toPropositionsEventData(responsePropositions);
+                    }
+                    responseEventData.put(
+                            OptimizeConstants.EventDataKeys.PROPOSITIONS, propositionsList);
+                }
 
+                final Event responseEvent =
+                        new Event.Builder(
+                                        OptimizeConstants.EventNames.OPTIMIZE_RESPONSE,
+                                        OptimizeConstants.EventType.OPTIMIZE,
+                                        OptimizeConstants.EventSource.RESPONSE_CONTENT)
+                                .setEventData(responseEventData)
+                                .inResponseToEvent(requestEvent)
+                                .build();
+
+                if (handOffPropositions) {
+                    PropositionsHandoff.offer(
+                            responseEvent.getUniqueIdentifier(), responsePropositions);
+                }
+                getApi().dispatch(responseEvent);
+            }
         } catch (final Exception e) {
             Log.warning(
                     OptimizeConstants.LOG_TAG,
@@ -902,8 +2244,210 @@ class OptimizeExtension extends Extension {
                     "handleGetPropositions - Failed to process get propositions request event due"
                             + " to an exception (%s)!",
                     e.getLocalizedMessage());
-            getApi().dispatch(createResponseEventWithError(event, AdobeError.UNEXPECTED_ERROR));
+            dispatchResponseEventsWithError(events, AdobeError.UNEXPECTED_ERROR);
+        }
+    }
+
+    /**
+     * Checks whether the given request {@code event} takes the propositions for its response from
+     * the {@link PropositionsHandoff}, instead of the response event data.
+     *
+     * @param event incoming request {@link Event} object.
+     * @return {@code boolean} indicating whether the propositions are handed off.
+     */
+    private static boolean isPropositionsHandoffRequested(@NonNull final Event event) {
+        return DataReader.optBoolean(
+                event.getEventData(), OptimizeConstants.EventDataKeys.PROPOSITIONS_HANDOFF, false);
+    }
+
+    /**
+     * Creates the response event data list for the given {@code propositions}.
+     *
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} for the response.
+     * @return {@code List<Map<String, Object>>} containing the propositions event data.
+     */
+    private static List<Map<String, Object>> toPropositionsEventData(
+            @NonNull final Map<DecisionScope, OptimizeProposition> propositions) {
+        final List<Map<String, Object>> propositionsList = new ArrayList<>();
+        for (final OptimizeProposition optimizeProposition : propositions.values()) {
+            propositionsList.add(optimizeProposition.toEventData());
+        }
+        return propositionsList;
+    }
+
+    /**
+     * Dispatches an optimize response event with the given {@code error} for each of the given
+     * request {@code events}.
+     *
+     * @param events {@code List<Event>} containing the request events.
+     * @param error {@link AdobeError} to be added in the response event data.
+     */
+    private void dispatchResponseEventsWithError(
+            @NonNull final List<Event> events, @NonNull final AdobeError error) {
+        for (final Event requestEvent : events) {
+            getApi().dispatch(createResponseEventWithError(requestEvent, error));
+        }
+    }
+
+    /**
+     * Handles the event with type {@value OptimizeConstants.EventType#OPTIMIZE} and source {@value
+     * OptimizeConstants.EventSource#REQUEST_CONTENT}.
+     *
+     * <p>This method pins, or unpins, the decision scopes in the event data, so their cached
+     * propositions are never evicted when the propositions cache exceeds its maximum size.
+     *
+     * @param event incoming {@link Event} object to be processed.
+     */
+    void handlePinPropositions(@NonNull final Event event) {
+        final Map<String, Object> eventData = event.getEventData();
+
+        try {
+            final List<Map<String, Object>> decisionScopesData =
+                    DataReader.getTypedListOfMap(
+                            Object.class,
+                            eventData,
+                            OptimizeConstants.EventDataKeys.DECISION_SCOPES);
+            final List<DecisionScope> validScopes = retrieveValidDecisionScopes(decisionScopesData);
+            if (OptimizeUtils.isNullOrEmpty(validScopes)) {
+                Log.debug(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "handlePinPropositions - Cannot process the pin propositions request event,"
+                                + " provided list of decision scopes has no valid scope.");
+                return;
+            }
+
+            final String requestType =
+                    DataReader.getString(eventData, OptimizeConstants.EventDataKeys.REQUEST_TYPE);
+            if (OptimizeConstants.EventDataValues.REQUEST_TYPE_PIN.equals(requestType)) {
+                propositionsCache.pin(validScopes);
+            } else {
+                propositionsCache.unpin(validScopes);
+            }
+        } catch (final Exception e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "handlePinPropositions - Failed to process pin propositions request event due"
+                            + " to an exception (%s)!",
+                    e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Handles the event with type {@value OptimizeConstants.EventType#OPTIMIZE} and source {@value
+     * OptimizeConstants.EventSource#REQUEST_CONTENT}.
+     *
+     * <p>This method dispatches a response event containing the current metrics of the Optimize
+     * extension, such as the propositions cache size and eviction count.
+     *
+     * @param event incoming {@link Event} object to be processed.
+     */
+    void handleGetMetrics(@NonNull final Event event) {
+        final PropositionsCache.Snapshot cacheSnapshot = propositionsCache.snapshot();
+        final Map<String, Object> metrics = new HashMap<>();
+        metrics.put(OptimizeConstants.Metrics.CACHED_SCOPES, cacheSnapshot.size());
+        metrics.put(OptimizeConstants.Metrics.PINNED_SCOPES, propositionsCache.getPinnedCount());
+        metrics.put(OptimizeConstants.Metrics.CACHE_WEIGHT, cacheSnapshot.weight);
+        metrics.put(OptimizeConstants.Metrics.CACHE_MAX_WEIGHT, propositionsCache.getMaxWeight());
+        metrics.put(OptimizeConstants.Metrics.CACHE_EVICTIONS, cacheSnapshot.evictionCount);
+        metrics.put(OptimizeConstants.Metrics.CACHE_GENERATION, cacheSnapshot.generation);
+        metrics.put(
+                OptimizeConstants.Metrics.COALESCED_UPDATES, coalescedUpdateRequestsCount.get());
+        metrics.put(
+                OptimizeConstants.Metrics.DEDUPLICATED_UPDATES,
+                deduplicatedUpdateRequestsCount.get());
+        metrics.put(OptimizeConstants.Metrics.COLLAPSED_GETS, collapsedGetRequestsCount.get());
+        metrics.put(
+                OptimizeConstants.Metrics.CANCELLED_UPDATES, cancelledUpdateRequestsCount.get());
+        metrics.put(OptimizeConstants.Metrics.EDGE_LATENCY, edgeLatencyHistogram.toEventData());
+        metrics.put(
+                OptimizeConstants.Metrics.CIRCUIT_BREAKER_STATE,
+                circuitBreaker.getState().toString());
+        metrics.put(
+                OptimizeConstants.Metrics.CIRCUIT_BREAKER_FALLBACKS,
+                circuitBreakerFallbacksCount.get());
+        metrics.put(
+                OptimizeConstants.Metrics.SUPPRESSED_UPDATES, suppressedUpdateRequestsCount.get());
+        metrics.put(
+                OptimizeConstants.Metrics.BATCHED_INTERACTIONS,
+                interactionBatcher.getBatchedCount());
+        metrics.put(
+                OptimizeConstants.Metrics.JOURNALED_INTERACTIONS,
+                interactionJournal != null ? interactionJournal.getPendingCount() : 0);
+        metrics.put(
+                OptimizeConstants.Metrics.SUPPRESSED_IMPRESSIONS,
+                impressionFilter.getSuppressedCount());
+        metrics.put(
+                OptimizeConstants.Metrics.EARLY_IMPRESSION_ROTATIONS,
+                impressionFilter.getEarlyRotationsCount());
+        metrics.put(
+                OptimizeConstants.Metrics.COMPACTED_INTERACTIONS,
+                interactionCompactor.getCompactedCount());
+        metrics.put(
+                OptimizeConstants.Metrics.COMPACTED_INTERACTIONS_SAVED_BYTES,
+                interactionCompactor.getSavedBytes());
+
+        final Map<String, Object> responseEventData = new HashMap<>();
+        responseEventData.put(OptimizeConstants.EventDataKeys.METRICS, metrics);
+
+        final Event responseEvent =
+                new Event.Builder(
+                                OptimizeConstants.EventNames.OPTIMIZE_RESPONSE,
+                                OptimizeConstants.EventType.OPTIMIZE,
+                                OptimizeConstants.EventSource.RESPONSE_CONTENT)
+                        .setEventData(responseEventData)
+                        .inResponseToEvent(event)
+                        .build();
+        getApi().dispatch(responseEvent);
+    }
+
+    /**
+     * Handles the event with type {@value OptimizeConstants.EventType#OPTIMIZE} and source {@value
+     * OptimizeConstants.EventSource#REQUEST_CONTENT}.
+     *
+     * <p>This method dispatches a response event containing the recent Edge personalization
+     * request errors for the decision scopes in the event data, or for all the decision scopes
+     * with recent errors if no scope is provided.
+     *
+     * @param event incoming {@link Event} object to be processed.
+     */
+    void handleGetRecentErrors(@NonNull final Event event) {
+        final List<Map<String, Object>> decisionScopesData =
+                DataReader.optTypedListOfMap(
+                        Object.class,
+                        event.getEventData(),
+                        OptimizeConstants.EventDataKeys.DECISION_SCOPES,
+                        null);
+        final List<DecisionScope> scopes = retrieveValidDecisionScopes(decisionScopesData);
+
+        final List<Map<String, Object>> recentErrorsList = new ArrayList<>();
+        for (final Map.Entry<DecisionScope, List<AEPOptimizeError>> entry :
+                errorLedger.getRecentErrors(scopes, System.currentTimeMillis()).entrySet()) {
+            final List<Map<String, Object>> errorsList = new ArrayList<>();
+            for (final AEPOptimizeError error : entry.getValue()) {
+                errorsList.add(error.toEventData());
+            }
+
+            final Map<String, Object> scopeErrors = new HashMap<>();
+            scopeErrors.put(
+                    OptimizeConstants.EventDataKeys.RECENT_ERRORS_SCOPE, entry.getKey().getName());
+            scopeErrors.put(OptimizeConstants.EventDataKeys.RECENT_ERRORS_ERRORS, errorsList);
+            recentErrorsList.add(scopeErrors);
         }
+
+        final Map<String, Object> responseEventData = new HashMap<>();
+        responseEventData.put(OptimizeConstants.EventDataKeys.RECENT_ERRORS, recentErrorsList);
+
+        final Event responseEvent =
+                new Event.Builder(
+                                OptimizeConstants.EventNames.OPTIMIZE_RESPONSE,
+                                OptimizeConstants.EventType.OPTIMIZE,
+                                OptimizeConstants.EventSource.RESPONSE_CONTENT)
+                        .setEventData(responseEventData)
+                        .inResponseToEvent(event)
+                        .build();
+        getApi().dispatch(responseEvent);
     }
 
     /**
@@ -931,7 +2475,7 @@ class OptimizeExtension extends Extension {
         }
 
         try {
-            final Map<String, Object> propositionInteractionsXdm =
+            Map<String, Object> propositionInteractionsXdm =
                     DataReader.getTypedMap(
                             Object.class,
                             eventData,
@@ -945,31 +2489,70 @@ class OptimizeExtension extends Extension {
                 return;
             }
 
-            final Map<String, Object> edgeEventData = new HashMap<>();
-            edgeEventData.put(OptimizeConstants.JsonKeys.XDM, propositionInteractionsXdm);
+            final long deduplicationWindowMillis =
+                    ConfigUtils.retrieveImpressionDeduplicationWindow(configData);
+            if (deduplicationWindowMillis > 0) {
+                propositionInteractionsXdm =
+                        impressionFilter.filter(
+                                propositionInteractionsXdm,
+                                deduplicationWindowMillis,
+                                System.currentTimeMillis());
+                if (propositionInteractionsXdm == null) {
+                    Log.trace(
+                            OptimizeConstants.LOG_TAG,
+                            SELF_TAG,
+                            "handleTrackPropositions - Suppressing the track propositions request"
+                                    + " event (%s), the offers are already displayed.",
+                            event.getUniqueIdentifier());
+                    return;
+                }
+            }
+
+            if (ConfigUtils.retrieveCompactInteractionTracking(configData)) {
+                propositionInteractionsXdm =
+                        interactionCompactor.compact(propositionInteractionsXdm);
+            }
 
-            // Add override datasetId
+            // Read override datasetId
+            String overrideDatasetId = null;
             if (configData.containsKey(
                     OptimizeConstants.Configuration.OPTIMIZE_OVERRIDE_DATASET_ID)) {
-                final String overrideDatasetId =
+                overrideDatasetId =
                         DataReader.getString(
                                 configData,
                                 OptimizeConstants.Configuration.OPTIMIZE_OVERRIDE_DATASET_ID);
-                if (!OptimizeUtils.isNullOrEmpty(overrideDatasetId)) {
-                    edgeEventData.put(OptimizeConstants.JsonKeys.DATASET_ID, overrideDatasetId);
-                }
             }
 
-            final Event edgeEvent =
-                    new Event.Builder(
-                                    OptimizeConstants.EventNames
-                                            .EDGE_PROPOSITION_INTERACTION_REQUEST,
-                                    OptimizeConstants.EventType.EDGE,
-                                    OptimizeConstants.EventSource.REQUEST_CONTENT)
-                            .setEventData(edgeEventData)
-                            .build();
+            String journalEntryId = null;
+            final int journalMaxSize = ConfigUtils.retrieveInteractionJournalMaxSize(configData);
+            if (interactionJournal != null && journalMaxSize > 0) {
+                journalEntryId = event.getUniqueIdentifier();
+                appendJournalEntry(
+                        journalEntryId,
+                        propositionInteractionsXdm,
+                        overrideDatasetId,
+                        journalMaxSize);
+            }
 
-            getApi().dispatch(edgeEvent);
+            final long batchWindowMillis =
+                    ConfigUtils.retrieveInteractionBatchWindow(configData);
+            if (batchWindowMillis > 0
+                    && InteractionBatcher.isBatchable(propositionInteractionsXdm)) {
+                interactionBatcher.add(
+                        propositionInteractionsXdm,
+                        overrideDatasetId,
+                        journalEntryId,
+                        batchWindowMillis,
+                        ConfigUtils.retrieveInteractionBatchSize(configData));
+                return;
+            }
+
+            dispatchPropositionInteractions(
+                    propositionInteractionsXdm,
+                    overrideDatasetId,
+                    journalEntryId != null
+                            ? Collections.singletonList(journalEntryId)
+                            : Collections.<String>emptyList());
 
         } catch (final Exception e) {
             Log.warning(
@@ -981,17 +2564,188 @@ class OptimizeExtension extends Extension {
         }
     }
 
+    /**
+     * Appends an entry for the given proposition interactions {@code xdm} to the interactions
+     * journal, on the interaction batches executor.
+     *
+     * @param entryId {@link String} containing the unique identifier of the entry.
+     * @param xdm {@code Map<String, Object>} containing the proposition interactions XDM.
+     * @param overrideDatasetId {@link String} containing the override dataset identifier, or null.
+     * @param maxPendingEntries {@code int} containing the maximum number of pending interactions.
+     */
+    private void appendJournalEntry(
+            @NonNull final String entryId,
+            @NonNull final Map<String, Object> xdm,
+            final String overrideDatasetId,
+            final int maxPendingEntries) {
+        final InteractionJournal journal = interactionJournal;
+        interactionBatchesExecutor.execute(
+                () -> journal.append(entryId, xdm, overrideDatasetId, maxPendingEntries));
+    }
+
+    /**
+     * Dispatches an event to the Edge network extension to send an Experience Event with the
+     * given proposition interactions {@code xdm}.
+     *
+     * <p>The journal entries of the interactions are acknowledged once the event is dispatched,
+     * the Edge network extension then persists the Experience Event in its own queue.
+     *
+     * @param xdm {@code Map<String, Object>} containing the proposition interactions XDM.
+     * @param overrideDatasetId {@link String} containing the override dataset identifier, or null.
+     * @param journalEntryIds {@code List<String>} containing the journal entry identifiers of the
+     *     interactions.
+     */
+    private void dispatchPropositionInteractions(
+            @NonNull final Map<String, Object> xdm,
+            final String overrideDatasetId,
+            @NonNull final List<String> journalEntryIds) {
+        final Map<String, Object> edgeEventData = new HashMap<>();
+        edgeEventData.put(OptimizeConstants.JsonKeys.XDM, xdm);
+        if (!OptimizeUtils.isNullOrEmpty(overrideDatasetId)) {
+            edgeEventData.put(OptimizeConstants.JsonKeys.DATASET_ID, overrideDatasetId);
+        }
+
+        final Event edgeEvent =
+                new Event.Builder(
+                                OptimizeConstants.EventNames.EDGE_PROPOSITION_INTERACTION_REQUEST,
+                                OptimizeConstants.EventType.EDGE,
+                                OptimizeConstants.EventSource.REQUEST_CONTENT)
+                        .setEventData(edgeEventData)
+                        .build();
+
+        getApi().dispatch(edgeEvent);
+
+        final InteractionJournal journal = interactionJournal;
+        if (journal != null && !journalEntryIds.isEmpty()) {
+            interactionBatchesExecutor.execute(() -> journal.acknowledge(journalEntryIds));
+        }
+    }
+
+    /**
+     * Replays the interactions journaled by the previous application launch, once the
+     * configuration is available, if the journal is still enabled by {@code
+     * optimize.interactionJournalMaxSize}. Otherwise the journaled interactions are dropped.
+     *
+     * <p>The journal is applied once per application launch.
+     *
+     * @param configData {@code Map<String, Object>} containing the configuration data.
+     */
+    private void applyInteractionJournalConfiguration(
+            @NonNull final Map<String, Object> configData) {
+        final InteractionJournal journal = interactionJournal;
+        if (journal == null || !interactionJournalReplayPending.compareAndSet(true, false)) {
+            return;
+        }
+
+        if (ConfigUtils.retrieveInteractionJournalMaxSize(configData) > 0) {
+            replayJournaledInteractions();
+        } else {
+            interactionBatchesExecutor.execute(journal::clear);
+        }
+    }
+
+    /**
+     * Replays the proposition interactions journaled, but not dispatched to the Edge network
+     * extension, by the previous application launch.
+     */
+    void replayJournaledInteractions() {
+        interactionBatchesExecutor.execute(
+                () -> {
+                    try {
+                        final List<InteractionJournal.Entry> entries = interactionJournal.load();
+                        for (final InteractionJournal.Entry entry : entries) {
+                            dispatchPropositionInteractions(
+                                    entry.xdm,
+                                    entry.datasetId,
+                                    Collections.singletonList(entry.id));
+                        }
+                        if (!entries.isEmpty()) {
+                            Log.trace(
+                                    OptimizeConstants.LOG_TAG,
+                                    SELF_TAG,
+                                    "replayJournaledInteractions - Replayed (%d) journaled"
+                                            + " proposition interactions.",
+                                    entries.size());
+                        }
+                    } catch (final Exception e) {
+                        Log.warning(
+                                OptimizeConstants.LOG_TAG,
+                                SELF_TAG,
+                                "replayJournaledInteractions - Failed to replay journaled"
+                                        + " proposition interactions due to an exception (%s)!",
+                                e.getLocalizedMessage());
+                    }
+                });
+    }
+
+    /**
+     * Handles the event with type {@value OptimizeConstants.EventType#GENERIC_LIFECYCLE} and
+     * source {@value OptimizeConstants.EventSource#REQUEST_CONTENT}.
+     *
+     * <p>This method flushes the batched proposition interactions when the application is paused,
+     * so they are sent before the application goes to the background.
+     *
+     * @param event incoming {@link Event} object to be processed.
+     */
+    void handleLifecycleRequest(@NonNull final Event event) {
+        final String action =
+                DataReader.optString(
+                        event.getEventData(),
+                        OptimizeConstants.EventDataKeys.LIFECYCLE_ACTION,
+                        null);
+        if (OptimizeConstants.EventDataValues.LIFECYCLE_ACTION_PAUSE.equals(action)) {
+            interactionBatcher.flushAll();
+        }
+    }
+
+    /**
+     * Handles the event with type {@value OptimizeConstants.EventType#LIFECYCLE} and source
+     * {@value OptimizeConstants.EventSource#RESPONSE_CONTENT}.
+     *
+     * <p>This method forgets the offers displayed for the impression deduplication when a new
+     * session starts, so an offer display is reported at least once per session.
+     *
+     * @param event incoming {@link Event} object to be processed.
+     */
+    void handleLifecycleResponse(@NonNull final Event event) {
+        final String sessionEvent =
+                DataReader.optString(
+                        event.getEventData(),
+                        OptimizeConstants.EventDataKeys.LIFECYCLE_SESSION_EVENT,
+                        null);
+        if (OptimizeConstants.EventDataValues.LIFECYCLE_SESSION_EVENT_START.equals(sessionEvent)) {
+            impressionFilter.clear();
+        }
+    }
+
     /**
      * Handles the event with type {@value OptimizeConstants.EventType#OPTIMIZE} and source {@value
      * OptimizeConstants.EventSource#REQUEST_RESET}.
      *
-     * <p>This method clears previously cached propositions in the SDK.
+     * <p>This method clears previously cached propositions in the SDK, in-memory and persisted,
+     * forgets the offers displayed for the impression deduplication, and drops the journaled
+     * proposition interactions.
      *
      * @param event incoming {@link Event} object to be processed.
      */
     void handleClearPropositions(@NonNull final Event event) {
-        cachedPropositions.clear();
-        previewCachedPropositions.clear();
+        synchronized (propositionsCacheLock) {
+            propositionsCacheRestorePending.set(false);
+            propositionsCache.clear();
+            previewCachedPropositions.clear();
+        }
+        impressionFilter.clear();
+
+        // Journaled interactions belong to the previous identities, they are not replayed.
+        final InteractionJournal journal = interactionJournal;
+        if (journal != null) {
+            interactionBatchesExecutor.execute(journal::clear);
+        }
+
+        // Persisted propositions are removed as well, including upon identities reset.
+        if (propositionsCacheStore != null) {
+            propositionsCacheStoreExecutor.execute(propositionsCacheStore::clear);
+        }
     }
 
     /**
@@ -1044,7 +2798,7 @@ class OptimizeExtension extends Extension {
                 if (optimizeProposition != null
                         && !OptimizeUtils.isNullOrEmpty(optimizeProposition.getOffers())) {
                     final DecisionScope scope = new DecisionScope(optimizeProposition.getScope());
-                    propositionsMap.put(scope, optimizeProposition);
+                    propositionsMap.put(scope, optimizeProposition.toImmutable());
                 }
             }
 
@@ -1178,12 +2932,67 @@ class OptimizeExtension extends Extension {
 
     @VisibleForTesting
     Map<DecisionScope, OptimizeProposition> getCachedPropositions() {
-        return cachedPropositions;
+        return propositionsCache.getPropositions();
     }
 
     @VisibleForTesting
     void setCachedPropositions(final Map<DecisionScope, OptimizeProposition> cachedPropositions) {
-        this.cachedPropositions = cachedPropositions;
+        propositionsCache.clear();
+        propositionsCache.putAll(cachedPropositions, System.currentTimeMillis());
+    }
+
+    @VisibleForTesting
+    Map<DecisionScope, Long> getCachedPropositionsFetchTimes() {
+        return propositionsCache.getFetchTimes();
+    }
+
+    @VisibleForTesting
+    void setCachedPropositionFetchTime(final DecisionScope scope, final long fetchTime) {
+        final OptimizeProposition cachedProposition = propositionsCache.get(scope);
+        if (cachedProposition != null) {
+            propositionsCache.put(scope, cachedProposition, fetchTime);
+        }
+    }
+
+    @VisibleForTesting
+    LatencyHistogram getEdgeLatencyHistogram() {
+        return edgeLatencyHistogram;
+    }
+
+    @VisibleForTesting
+    ErrorLedger getErrorLedger() {
+        return errorLedger;
+    }
+
+    @VisibleForTesting
+    InteractionBatcher getInteractionBatcher() {
+        return interactionBatcher;
+    }
+
+    @VisibleForTesting
+    CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @VisibleForTesting
+    void sendPendingCoalescedUpdates() {
+        final List<CoalescedUpdate> coalescedUpdatesToSend;
+        synchronized (coalescedUpdatesLock) {
+            coalescedUpdatesToSend = new ArrayList<>(pendingCoalescedUpdates);
+        }
+        for (final CoalescedUpdate coalescedUpdate : coalescedUpdatesToSend) {
+            sendCoalescedUpdate(coalescedUpdate);
+        }
+    }
+
+    @VisibleForTesting
+    void setPropositionsCacheTtl(final long cacheTtlMillis) {
+        propositionsCacheTtlMillis = cacheTtlMillis;
+    }
+
+    @VisibleForTesting
+    PropositionsCache getPropositionsCache() {
+        return propositionsCache;
     }
 
     @VisibleForTesting
@@ -1198,15 +3007,16 @@ class OptimizeExtension extends Extension {
     }
 
     @VisibleForTesting
-    Map<DecisionScope, OptimizeProposition> getPropositionsInProgress() {
-        return propositionsInProgress;
+    Map<DecisionScope, OptimizeProposition> getPropositionsInProgress(final String requestEventId) {
+        return retrievePropositionsInProgress(requestEventId);
     }
 
     @VisibleForTesting
     void setPropositionsInProgress(
+            final String requestEventId,
             final Map<DecisionScope, OptimizeProposition> propositionsInProgress) {
-        this.propositionsInProgress.clear();
-        this.propositionsInProgress.putAll(propositionsInProgress);
+        this.propositionsInProgress.put(
+                requestEventId, new ConcurrentHashMap<>(propositionsInProgress));
     }
 
     @VisibleForTesting
@@ -1217,7 +3027,29 @@ class OptimizeExtension extends Extension {
     @VisibleForTesting
     void setUpdateRequestEventIdsInProgress(
             final String eventId, final List<DecisionScope> expectedScopes) {
-        updateRequestEventIdsInProgress.put(eventId, expectedScopes);
+        trackUpdateRequestInProgress(eventId, expectedScopes);
+    }
+
+    @VisibleForTesting
+    int getWaitingGetRequestsCount() {
+        synchronized (scopeWaitersLock) {
+            return scopeWaiters.size();
+        }
+    }
+
+    @VisibleForTesting
+    void setPropositionsCacheStore(final PropositionsCacheStore propositionsCacheStore) {
+        this.propositionsCacheStore = propositionsCacheStore;
+    }
+
+    @VisibleForTesting
+    void setPropositionsCacheConfigIds(final Map<String, String> propositionsCacheConfigIds) {
+        this.propositionsCacheConfigIds = propositionsCacheConfigIds;
+    }
+
+    @VisibleForTesting
+    void setInteractionJournal(final InteractionJournal interactionJournal) {
+        this.interactionJournal = interactionJournal;
     }
 
     @VisibleForTesting
@@ -15,6 +15,7 @@ import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.util.DataReader;
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +29,7 @@ public class OptimizeProposition {
     private final List<Offer> offers;
     private final String scope;
     private final Map<String, Object> scopeDetails;
+    private final boolean immutable;
 
     /**
      * Constructor creates a {@code OptimizeProposition} using the provided proposition {@code id},
@@ -43,7 +45,17 @@ public class OptimizeProposition {
             final List<Offer> offers,
             final String scope,
             final Map<String, Object> scopeDetails) {
+        this(id, offers, scope, scopeDetails, false);
+    }
+
+    private OptimizeProposition(
+            final String id,
+            final List<Offer> offers,
+            final String scope,
+            final Map<String, Object> scopeDetails,
+            final boolean immutable) {
         this.id = id != null ? id : "";
+        this.immutable = immutable;
         this.scope = scope != null ? scope : "";
         this.scopeDetails = scopeDetails != null ? scopeDetails : new HashMap<>();
 
@@ -201,6 +213,37 @@ public class OptimizeProposition {
         return propositionMap;
     }
 
+    /**
+     * Creates an unmodifiable copy of this {@code OptimizeProposition}, with unmodifiable copies of
+     * its offers and scope details.
+     *
+     * <p>The returned proposition can be shared by multiple readers.
+     *
+     * @return {@link OptimizeProposition} unmodifiable copy.
+     */
+    OptimizeProposition toImmutable() {
+        final List<Offer> offersCopy = new ArrayList<>();
+        for (final Offer offer : offers) {
+            offersCopy.add(offer.toImmutable());
+        }
+        return new OptimizeProposition(
+                id,
+                Collections.unmodifiableList(offersCopy),
+                scope,
+                OptimizeUtils.toImmutable(scopeDetails),
+                true);
+    }
+
+    /**
+     * Returns whether this {@code OptimizeProposition} is an unmodifiable copy created by {@link
+     * #toImmutable()}.
+     *
+     * @return {@code boolean} indicating whether this proposition is unmodifiable.
+     */
+    boolean isImmutable() {
+        return immutable;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -17,7 +17,11 @@ import com.adobe.marketing.mobile.Event;
 import com.adobe.marketing.mobile.EventType;
 import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.util.DataReader;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 class OptimizeUtils {
@@ -55,6 +59,34 @@ class OptimizeUtils {
         return str == null || str.isEmpty();
     }
 
+    /**
+     * Creates an unmodifiable deep copy of the given {@code value}.
+     *
+     * <p>Nested {@code Map} and {@code List} values are copied into unmodifiable maps and lists,
+     * other values are returned as is.
+     *
+     * @param value input {@link Object} to be copied.
+     * @return {@code Object} containing the unmodifiable copy of the {@code value}.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T toImmutable(final T value) {
+        if (value instanceof Map) {
+            final Map<Object, Object> copy = new HashMap<>();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), toImmutable(entry.getValue()));
+            }
+            return (T) Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List) {
+            final List<Object> copy = new ArrayList<>();
+            for (final Object element : (List<?>) value) {
+                copy.add(toImmutable(element));
+            }
+            return (T) Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
     /**
      * Base64 encode the given {@code String}.
      *
@@ -0,0 +1,538 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code PropositionsCache} is the in-memory cache of the propositions fetched from the Experience
+ * Edge network, bounded by the estimated size of the cached propositions.
+ *
+ * <p>The cache contents are published as an immutable {@link Snapshot}. Every update builds a new
+ * snapshot, with an incremented generation number, and publishes it through a single atomic
+ * reference swap, so readers always observe a consistent cache without locking. Updates are
+ * serialized.
+ *
+ * <p>Each cached proposition is weighted by the estimated size, in bytes, of its content and
+ * metadata. When the total weight exceeds the configured maximum weight, the least recently used
+ * propositions are evicted until the cache fits within the budget. Propositions for pinned scopes
+ * are never evicted.
+ */
+class PropositionsCache {
+
+    private static final String SELF_TAG = "PropositionsCache";
+
+    // Logical clock used to order the cache entries by their last access.
+    private final AtomicLong accessClock = new AtomicLong(0);
+
+    private final AtomicReference<Snapshot> currentSnapshot =
+            new AtomicReference<>(
+                    new Snapshot(
+                            Collections.<DecisionScope, Entry>emptyMap(), 0, 0, 0, accessClock));
+
+    private final Set<DecisionScope> pinnedScopes = new HashSet<>();
+
+    // Maximum weight, in bytes, of the cached propositions. It is 0 if the cache is unbounded.
+    private volatile long maxWeight = 0;
+
+    /**
+     * Returns the current immutable snapshot of the cache.
+     *
+     * @return {@link Snapshot} of the cache.
+     */
+    Snapshot snapshot() {
+        return currentSnapshot.get();
+    }
+
+    /**
+     * Returns the cached proposition for the given {@code scope} and marks it as recently used.
+     *
+     * @param scope {@link DecisionScope} of the proposition.
+     * @return {@link OptimizeProposition} for the given scope or null if it is not cached.
+     */
+    OptimizeProposition get(final DecisionScope scope) {
+        return snapshot().get(scope);
+    }
+
+    /**
+     * Returns the time, in milliseconds, at which the cached proposition for the given {@code
+     * scope} was fetched.
+     *
+     * @param scope {@link DecisionScope} of the proposition.
+     * @return {@code Long} containing the fetch time or null if the proposition is not cached.
+     */
+    Long getFetchTime(final DecisionScope scope) {
+        return snapshot().getFetchTime(scope);
+    }
+
+    boolean containsKey(final DecisionScope scope) {
+        return snapshot().containsKey(scope);
+    }
+
+    int size() {
+        return snapshot().size();
+    }
+
+    /**
+     * Returns a copy of the cached propositions.
+     *
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the cached propositions.
+     */
+    Map<DecisionScope, OptimizeProposition> getPropositions() {
+        return snapshot().getPropositions();
+    }
+
+    /**
+     * Returns a copy of the fetch times of the cached propositions.
+     *
+     * @return {@code Map<DecisionScope, Long>} containing the fetch time, in milliseconds, of each
+     *     cached proposition.
+     */
+    Map<DecisionScope, Long> getFetchTimes() {
+        return snapshot().getFetchTimes();
+    }
+
+    /**
+     * Returns the estimated weight of the cached propositions.
+     *
+     * @return {@code long} containing the estimated weight in bytes.
+     */
+    long getWeight() {
+        return snapshot().weight;
+    }
+
+    /**
+     * Returns the number of propositions evicted from the cache to stay within its maximum weight.
+     *
+     * @return {@code long} containing the eviction count.
+     */
+    long getEvictionCount() {
+        return snapshot().evictionCount;
+    }
+
+    /**
+     * Returns the generation number of the cache, incremented every time the cache is updated.
+     *
+     * @return {@code long} containing the generation number.
+     */
+    long getGeneration() {
+        return snapshot().generation;
+    }
+
+    /**
+     * Caches the given {@code proposition} for the given {@code scope}, evicting the least recently
+     * used propositions if the cache exceeds its maximum weight.
+     *
+     * @param scope {@link DecisionScope} of the proposition.
+     * @param proposition {@link OptimizeProposition} to be cached.
+     * @param fetchTime {@code long} containing the time, in milliseconds, the proposition was
+     *     fetched.
+     */
+    void put(
+            final DecisionScope scope,
+            final OptimizeProposition proposition,
+            final long fetchTime) {
+        update(
+                Collections.singletonMap(scope, proposition),
+                fetchTime,
+                Collections.<DecisionScope>emptyList());
+    }
+
+    /**
+     * Caches the given {@code propositions}, evicting the least recently used propositions if the
+     * cache exceeds its maximum weight.
+     *
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} to be cached.
+     * @param fetchTime {@code long} containing the time, in milliseconds, the propositions were
+     *     fetched.
+     */
+    void putAll(final Map<DecisionScope, OptimizeProposition> propositions, final long fetchTime) {
+        update(propositions, fetchTime, Collections.<DecisionScope>emptyList());
+    }
+
+    /**
+     * Caches the given {@code propositions}, each with its own fetch time, evicting the least
+     * recently used propositions if the cache exceeds its maximum weight.
+     *
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} to be cached.
+     * @param fetchTimes {@code Map<DecisionScope, Long>} containing the time, in milliseconds, each
+     *     proposition was fetched.
+     */
+    synchronized void putAll(
+            final Map<DecisionScope, OptimizeProposition> propositions,
+            final Map<DecisionScope, Long> fetchTimes) {
+        final Snapshot snapshot = snapshot();
+        final Map<DecisionScope, Entry> entries = new HashMap<>(snapshot.entries);
+        final long now = System.currentTimeMillis();
+        for (final Map.Entry<DecisionScope, OptimizeProposition> entry : propositions.entrySet()) {
+            final Long fetchTime = fetchTimes.get(entry.getKey());
+            entries.put(
+                    entry.getKey(),
+                    newEntry(entry.getValue(), fetchTime != null ? fetchTime : now));
+        }
+        commit(snapshot, entries);
+    }
+
+    void remove(final DecisionScope scope) {
+        update(
+                Collections.<DecisionScope, OptimizeProposition>emptyMap(),
+                0,
+                Collections.singletonList(scope));
+    }
+
+    /**
+     * Caches the given {@code propositions} and removes the propositions for the given {@code
+     * removedScopes} in a single update, evicting the least recently used propositions if the cache
+     * exceeds its maximum weight.
+     *
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} to be cached.
+     * @param fetchTime {@code long} containing the time, in milliseconds, the propositions were
+     *     fetched.
+     * @param removedScopes {@code Collection<DecisionScope>} whose propositions are removed.
+     */
+    synchronized void update(
+            final Map<DecisionScope, OptimizeProposition> propositions,
+            final long fetchTime,
+            final Collection<DecisionScope> removedScopes) {
+        final Snapshot snapshot = snapshot();
+        final Map<DecisionScope, Entry> entries = new HashMap<>(snapshot.entries);
+        boolean changed = false;
+        for (final Map.Entry<DecisionScope, OptimizeProposition> entry : propositions.entrySet()) {
+            entries.put(entry.getKey(), newEntry(entry.getValue(), fetchTime));
+            changed = true;
+        }
+        for (final DecisionScope scope : removedScopes) {
+            changed |= entries.remove(scope) != null;
+        }
+        if (changed) {
+            commit(snapshot, entries);
+        }
+    }
+
+    /**
+     * Removes the propositions for the given {@code scopes} which were fetched at or before the
+     * given {@code fetchedBefore} time, in a single update.
+     *
+     * @param scopes {@code Collection<DecisionScope>} whose propositions are checked.
+     * @param fetchedBefore {@code long} containing the time, in milliseconds, at or before which
+     *     propositions are removed.
+     * @return {@code List<DecisionScope>} containing the scopes whose propositions are removed.
+     */
+    synchronized List<DecisionScope> removeFetchedBefore(
+            final Collection<DecisionScope> scopes, final long fetchedBefore) {
+        final Snapshot snapshot = snapshot();
+        final Map<DecisionScope, Entry> entries = new HashMap<>(snapshot.entries);
+        final List<DecisionScope> removedScopes = new ArrayList<>();
+        for (final DecisionScope scope : scopes) {
+            final Entry entry = entries.get(scope);
+            if (entry != null && entry.fetchTime <= fetchedBefore) {
+                entries.remove(scope);
+                removedScopes.add(scope);
+            }
+        }
+        if (!removedScopes.isEmpty()) {
+            commit(snapshot, entries);
+        }
+        return removedScopes;
+    }
+
+    /** Removes all cached propositions. Pinned scopes remain pinned. */
+    synchronized void clear() {
+        final Snapshot snapshot = snapshot();
+        currentSnapshot.set(
+                new Snapshot(
+                        Collections.<DecisionScope, Entry>emptyMap(),
+                        snapshot.generation + 1,
+                        0,
+                        snapshot.evictionCount,
+                        accessClock));
+    }
+
+    /**
+     * Sets the maximum weight of the cached propositions.
+     *
+     * <p>The least recently used propositions are evicted right away if the cache exceeds the new
+     * maximum weight.
+     *
+     * @param maxWeight {@code long} containing the maximum weight in bytes, or 0 if the cache is
+     *     unbounded.
+     */
+    synchronized void setMaxWeight(final long maxWeight) {
+        this.maxWeight = Math.max(maxWeight, 0);
+
+        final Snapshot snapshot = snapshot();
+        if (this.maxWeight > 0 && snapshot.weight > this.maxWeight) {
+            commit(snapshot, new HashMap<>(snapshot.entries));
+        }
+    }
+
+    long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Pins the given {@code scopes}, so their propositions are never evicted from the cache.
+     *
+     * <p>Scopes can be pinned before their propositions are cached.
+     *
+     * @param scopes {@code Collection<DecisionScope>} to be pinned.
+     */
+    synchronized void pin(final Collection<DecisionScope> scopes) {
+        pinnedScopes.addAll(scopes);
+    }
+
+    /**
+     * Unpins the given {@code scopes}, so their propositions can be evicted from the cache the
+     * next time propositions are cached.
+     *
+     * @param scopes {@code Collection<DecisionScope>} to be unpinned.
+     */
+    synchronized void unpin(final Collection<DecisionScope> scopes) {
+        pinnedScopes.removeAll(scopes);
+    }
+
+    synchronized boolean isPinned(final DecisionScope scope) {
+        return pinnedScopes.contains(scope);
+    }
+
+    synchronized int getPinnedCount() {
+        return pinnedScopes.size();
+    }
+
+    /**
+     * Estimates the size, in bytes, of the given {@code proposition}, including the content and
+     * metadata of its offers.
+     *
+     * @param proposition {@link OptimizeProposition} whose size is estimated.
+     * @return {@code long} containing the estimated size in bytes.
+     */
+    static long estimateWeight(final OptimizeProposition proposition) {
+        long estimatedWeight = OptimizeConstants.PropositionsCache.ESTIMATED_ENTRY_OVERHEAD;
+        estimatedWeight += estimateSize(proposition.getId());
+        estimatedWeight += estimateSize(proposition.getScope());
+        estimatedWeight += estimateSize(proposition.getScopeDetails());
+
+        final List<Offer> offers = proposition.getOffers();
+        if (offers != null) {
+            for (final Offer offer : offers) {
+                estimatedWeight += OptimizeConstants.PropositionsCache.ESTIMATED_ENTRY_OVERHEAD;
+                estimatedWeight += estimateSize(offer.getId());
+                estimatedWeight += estimateSize(offer.getEtag());
+                estimatedWeight += estimateSize(offer.getSchema());
+                estimatedWeight += estimateSize(offer.getContent());
+                estimatedWeight += estimateSize(offer.getMeta());
+                estimatedWeight += estimateSize(offer.getLanguage());
+                estimatedWeight += estimateSize(offer.getCharacteristics());
+            }
+        }
+        return estimatedWeight;
+    }
+
+    private static long estimateSize(final Object value) {
+        if (value == null) {
+            return 0;
+        }
+
+        if (value instanceof String) {
+            return (long) ((String) value).length()
+                    * OptimizeConstants.PropositionsCache.ESTIMATED_CHAR_SIZE;
+        }
+
+        if (value instanceof Map) {
+            long size = 0;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            }
+            return size;
+        }
+
+        if (value instanceof Collection) {
+            long size = 0;
+            for (final Object element : (Collection<?>) value) {
+                size += estimateSize(element);
+            }
+            return size;
+        }
+
+        return OptimizeConstants.PropositionsCache.ESTIMATED_VALUE_SIZE;
+    }
+
+    private Entry newEntry(final OptimizeProposition proposition, final long fetchTime) {
+        return new Entry(
+                proposition,
+                fetchTime,
+                estimateWeight(proposition),
+                accessClock.incrementAndGet());
+    }
+
+    /**
+     * Evicts the least recently used propositions from the given {@code entries}, if the cache
+     * exceeds its maximum weight, and publishes the entries as the next snapshot.
+     *
+     * <p>This method must be called while holding the cache monitor.
+     *
+     * @param previousSnapshot {@link Snapshot} the given {@code entries} are derived from.
+     * @param entries {@code Map<DecisionScope, Entry>} containing the updated cache entries.
+     */
+    private void commit(final Snapshot previousSnapshot, final Map<DecisionScope, Entry> entries) {
+        long weight = 0;
+        for (final Entry entry : entries.values()) {
+            weight += entry.weight;
+        }
+
+        int evicted = 0;
+        final long currentMaxWeight = maxWeight;
+        if (currentMaxWeight > 0 && weight > currentMaxWeight) {
+            final List<Map.Entry<DecisionScope, Entry>> candidates = new ArrayList<>();
+            for (final Map.Entry<DecisionScope, Entry> entry : entries.entrySet()) {
+                if (!pinnedScopes.contains(entry.getKey())) {
+                    candidates.add(entry);
+                }
+            }
+            Collections.sort(
+                    candidates,
+                    new Comparator<Map.Entry<DecisionScope, Entry>>() {
+                        @Override
+                        public int compare(
+                                final Map.Entry<DecisionScope, Entry> first,
+                                final Map.Entry<DecisionScope, Entry> second) {
+                            return Long.compare(
+                                    first.getValue().lastAccess, second.getValue().lastAccess);
+                        }
+                    });
+
+            final List<DecisionScope> evictedScopes = new ArrayList<>();
+            for (final Map.Entry<DecisionScope, Entry> candidate : candidates) {
+                if (weight <= currentMaxWeight) {
+                    break;
+                }
+                evictedScopes.add(candidate.getKey());
+                weight -= candidate.getValue().weight;
+            }
+            for (final DecisionScope scope : evictedScopes) {
+                entries.remove(scope);
+            }
+            evicted = evictedScopes.size();
+
+            Log.trace(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "commit - Evicted (%d) propositions, cache weight is (%d) of (%d) bytes.",
+                    evicted,
+                    weight,
+                    currentMaxWeight);
+        }
+
+        currentSnapshot.set(
+                new Snapshot(
+                        Collections.unmodifiableMap(entries),
+                        previousSnapshot.generation + 1,
+                        weight,
+                        previousSnapshot.evictionCount + evicted,
+                        accessClock));
+    }
+
+    /**
+     * Immutable view of the cache contents at a given generation.
+     *
+     * <p>Reading a proposition from a snapshot marks it as recently used in the cache.
+     */
+    static final class Snapshot {
+        private final Map<DecisionScope, Entry> entries;
+        private final AtomicLong accessClock;
+        final long generation;
+        final long weight;
+        final long evictionCount;
+
+        private Snapshot(
+                final Map<DecisionScope, Entry> entries,
+                final long generation,
+                final long weight,
+                final long evictionCount,
+                final AtomicLong accessClock) {
+            this.entries = entries;
+            this.generation = generation;
+            this.weight = weight;
+            this.evictionCount = evictionCount;
+            this.accessClock = accessClock;
+        }
+
+        OptimizeProposition get(final DecisionScope scope) {
+            final Entry entry = entries.get(scope);
+            if (entry == null) {
+                return null;
+            }
+            entry.lastAccess = accessClock.incrementAndGet();
+            return entry.proposition;
+        }
+
+        Long getFetchTime(final DecisionScope scope) {
+            final Entry entry = entries.get(scope);
+            return entry != null ? entry.fetchTime : null;
+        }
+
+        boolean containsKey(final DecisionScope scope) {
+            return entries.containsKey(scope);
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        Map<DecisionScope, OptimizeProposition> getPropositions() {
+            final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+            for (final Map.Entry<DecisionScope, Entry> entry : entries.entrySet()) {
+                propositions.put(entry.getKey(), entry.getValue().proposition);
+            }
+            return propositions;
+        }
+
+        Map<DecisionScope, Long> getFetchTimes() {
+            final Map<DecisionScope, Long> fetchTimes = new HashMap<>();
+            for (final Map.Entry<DecisionScope, Entry> entry : entries.entrySet()) {
+                fetchTimes.put(entry.getKey(), entry.getValue().fetchTime);
+            }
+            return fetchTimes;
+        }
+    }
+
+    private static final class Entry {
+        final OptimizeProposition proposition;
+        final long fetchTime;
+        final long weight;
+
+        // Access clock value of the last read, shared by all the snapshots containing the entry.
+        volatile long lastAccess;
+
+        Entry(
+                final OptimizeProposition proposition,
+                final long fetchTime,
+                final long weight,
+                final long lastAccess) {
+            this.proposition = proposition;
+            this.fetchTime = fetchTime;
+            this.weight = weight;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
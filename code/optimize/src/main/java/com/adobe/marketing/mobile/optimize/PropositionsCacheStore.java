@@ -0,0 +1,273 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.services.NamedCollection;
+import com.adobe.marketing.mobile.services.ServiceProvider;
+import com.adobe.marketing.mobile.util.DataReader;
+import com.adobe.marketing.mobile.util.JSONUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONObject;
+
+/**
+ * {@code PropositionsCacheStore} persists a snapshot of the cached propositions in the SDK data
+ * store, so they can be restored on the next application launch before any personalization
+ * request completes.
+ *
+ * <p>A snapshot is stored along with the Edge configuration identifiers, the datastream
+ * identifier and environment, it was saved with. It is discarded if it is loaded with other
+ * configuration identifiers, so the propositions fetched for a datastream or environment are never
+ * restored for another one.
+ */
+class PropositionsCacheStore {
+
+    private static final String SELF_TAG = "PropositionsCacheStore";
+
+    private final NamedCollection dataStore;
+
+    /**
+     * Constructor creates a {@code PropositionsCacheStore} backed by the given {@code dataStore}.
+     *
+     * @param dataStore {@link NamedCollection} in which the snapshot is stored.
+     */
+    PropositionsCacheStore(@NonNull final NamedCollection dataStore) {
+        this.dataStore = dataStore;
+    }
+
+    /**
+     * Creates a {@code PropositionsCacheStore} in the SDK data store.
+     *
+     * <p>This method returns null if the SDK data store is not available.
+     *
+     * @return {@code PropositionsCacheStore} instance or null.
+     */
+    static PropositionsCacheStore create() {
+        try {
+            final NamedCollection dataStore =
+                    ServiceProvider.getInstance()
+                            .getDataStoreService()
+                            .getNamedCollection(
+                                    OptimizeConstants.PropositionsCache.DATA_STORE_NAME);
+            if (dataStore == null) {
+                Log.debug(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "create - Propositions will not be persisted, data store is not"
+                                + " available.");
+                return null;
+            }
+            return new PropositionsCacheStore(dataStore);
+        } catch (final Exception e) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "create - Propositions will not be persisted due to an exception (%s).",
+                    e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the Edge configuration identifiers a snapshot is scoped to from the given {@code
+     * configData}.
+     *
+     * @param configData {@code Map<String, Object>} containing the configuration data.
+     * @return {@code Map<String, String>} containing the datastream identifier and environment.
+     */
+    static Map<String, String> retrieveConfigIds(final Map<String, Object> configData) {
+        final Map<String, String> configIds = new HashMap<>();
+        configIds.put(
+                OptimizeConstants.Configuration.EDGE_CONFIG_ID,
+                DataReader.optString(
+                        configData, OptimizeConstants.Configuration.EDGE_CONFIG_ID, ""));
+        configIds.put(
+                OptimizeConstants.Configuration.EDGE_ENVIRONMENT,
+                DataReader.optString(
+                        configData, OptimizeConstants.Configuration.EDGE_ENVIRONMENT, ""));
+        return configIds;
+    }
+
+    /**
+     * Loads the persisted propositions snapshot saved with the given {@code configIds}.
+     *
+     * <p>A snapshot which cannot be parsed, or which was saved with other configuration
+     * identifiers, is deleted, and an empty snapshot is returned.
+     *
+     * @param configIds {@code Map<String, String>} containing the current Edge configuration
+     *     identifiers.
+     * @return {@link Snapshot} containing the persisted propositions and their fetch times.
+     * @see #retrieveConfigIds(Map)
+     */
+    Snapshot load(@NonNull final Map<String, String> configIds) {
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        final Map<DecisionScope, Long> fetchTimes = new HashMap<>();
+
+        final String snapshotJson =
+                dataStore.getString(OptimizeConstants.PropositionsCache.SNAPSHOT, null);
+        if (snapshotJson == null) {
+            return new Snapshot(propositions, fetchTimes);
+        }
+
+        try {
+            final Map<String, Object> snapshotData =
+                    JSONUtils.toMap(new JSONObject(snapshotJson));
+
+            final int version =
+                    DataReader.optInt(snapshotData, OptimizeConstants.PropositionsCache.VERSION, 0);
+            if (version != OptimizeConstants.PropositionsCache.CURRENT_VERSION) {
+                Log.debug(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "load - Discarding persisted propositions, snapshot version (%d) is not"
+                                + " supported.",
+                        version);
+                clear();
+                return new Snapshot(propositions, fetchTimes);
+            }
+
+            final Map<String, String> snapshotConfigIds =
+                    DataReader.optTypedMap(
+                            String.class,
+                            snapshotData,
+                            OptimizeConstants.PropositionsCache.CONFIG_IDS,
+                            null);
+            if (!configIds.equals(snapshotConfigIds)) {
+                Log.debug(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "load - Discarding persisted propositions, they were fetched for another"
+                                + " datastream or environment.");
+                clear();
+                return new Snapshot(propositions, fetchTimes);
+            }
+
+            final List<Map<String, Object>> propositionsList =
+                    DataReader.getTypedListOfMap(
+                            Object.class,
+                            snapshotData,
+                            OptimizeConstants.PropositionsCache.PROPOSITIONS);
+            final Map<String, Object> fetchTimesData =
+                    DataReader.optTypedMap(
+                            Object.class,
+                            snapshotData,
+                            OptimizeConstants.PropositionsCache.FETCH_TIMES,
+                            new HashMap<>());
+            final long savedTime =
+                    DataReader.optLong(
+                            snapshotData, OptimizeConstants.PropositionsCache.SAVED_TIME, 0);
+            if (propositionsList != null) {
+                for (final Map<String, Object> propositionData : propositionsList) {
+                    final OptimizeProposition optimizeProposition =
+                            OptimizeProposition.fromEventData(propositionData);
+                    if (optimizeProposition != null
+                            && !OptimizeUtils.isNullOrEmpty(optimizeProposition.getOffers())) {
+                        final DecisionScope scope =
+                                new DecisionScope(optimizeProposition.getScope());
+                        propositions.put(scope, optimizeProposition.toImmutable());
+
+                        // propositions without a recorded fetch time are as old as the snapshot.
+                        fetchTimes.put(
+                                scope,
+                                DataReader.optLong(
+                                        fetchTimesData, optimizeProposition.getScope(), savedTime));
+                    }
+                }
+            }
+        } catch (final Exception e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "load - Discarding persisted propositions, failed to read the snapshot due to"
+                            + " an exception (%s).",
+                    e.getLocalizedMessage());
+            clear();
+            propositions.clear();
+            fetchTimes.clear();
+        }
+        return new Snapshot(propositions, fetchTimes);
+    }
+
+    /**
+     * Persists the given {@code snapshot} along with the given {@code configIds}, replacing the
+     * previous snapshot.
+     *
+     * <p>The previous snapshot is deleted if the given {@code snapshot} contains no propositions.
+     *
+     * @param snapshot {@link Snapshot} containing the propositions and their fetch times.
+     * @param configIds {@code Map<String, String>} containing the Edge configuration identifiers
+     *     the propositions were fetched with.
+     * @see #retrieveConfigIds(Map)
+     */
+    void save(@NonNull final Snapshot snapshot, @NonNull final Map<String, String> configIds) {
+        if (OptimizeUtils.isNullOrEmpty(snapshot.propositions)) {
+            clear();
+            return;
+        }
+
+        final List<Map<String, Object>> propositionsList = new ArrayList<>();
+        final Map<String, Object> fetchTimesData = new HashMap<>();
+        for (final Map.Entry<DecisionScope, OptimizeProposition> entry :
+                snapshot.propositions.entrySet()) {
+            propositionsList.add(entry.getValue().toEventData());
+
+            final Long fetchTime = snapshot.fetchTimes.get(entry.getKey());
+            if (fetchTime != null) {
+                fetchTimesData.put(entry.getKey().getName(), fetchTime);
+            }
+        }
+
+        final Map<String, Object> snapshotData = new HashMap<>();
+        snapshotData.put(
+                OptimizeConstants.PropositionsCache.VERSION,
+                OptimizeConstants.PropositionsCache.CURRENT_VERSION);
+        snapshotData.put(OptimizeConstants.PropositionsCache.CONFIG_IDS, configIds);
+        snapshotData.put(
+                OptimizeConstants.PropositionsCache.SAVED_TIME, System.currentTimeMillis());
+        snapshotData.put(OptimizeConstants.PropositionsCache.PROPOSITIONS, propositionsList);
+        snapshotData.put(OptimizeConstants.PropositionsCache.FETCH_TIMES, fetchTimesData);
+
+        try {
+            dataStore.setString(
+                    OptimizeConstants.PropositionsCache.SNAPSHOT,
+                    new JSONObject(snapshotData).toString());
+        } catch (final Exception e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "save - Failed to persist propositions due to an exception (%s).",
+                    e.getLocalizedMessage());
+        }
+    }
+
+    /** Deletes the persisted propositions snapshot. */
+    void clear() {
+        dataStore.remove(OptimizeConstants.PropositionsCache.SNAPSHOT);
+    }
+
+    /** Propositions snapshot along with the time, in milliseconds, each scope was fetched. */
+    static final class Snapshot {
+        final Map<DecisionScope, OptimizeProposition> propositions;
+        final Map<DecisionScope, Long> fetchTimes;
+
+        Snapshot(
+                final Map<DecisionScope, OptimizeProposition> propositions,
+                final Map<DecisionScope, Long> fetchTimes) {
+            this.propositions = propositions;
+            this.fetchTimes = fetchTimes;
+        }
+    }
+}
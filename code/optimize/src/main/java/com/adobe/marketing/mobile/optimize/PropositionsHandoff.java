@@ -0,0 +1,120 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code PropositionsHandoff} hands the propositions for optimize response events from the
+ * extension to the public API in-process, keyed by the response event identifier, so the public
+ * API does not parse them again from the response event data.
+ *
+ * <p>Propositions are handed off only for requests dispatched by the public API, which set
+ * {@value OptimizeConstants.EventDataKeys#PROPOSITIONS_HANDOFF} in the request event data. The
+ * response events for these requests do not contain the propositions in their event data.
+ *
+ * <p>The handed off propositions are the unmodifiable instances cached by the extension, they are
+ * shared with the app without being copied.
+ *
+ * <p>Propositions that are never taken, for instance because the response callback timed out,
+ * are discarded once more than {@value
+ * OptimizeConstants.PropositionsHandoff#MAX_PENDING_RESPONSES} responses are pending. The
+ * response callback of a discarded response fails with an unexpected error.
+ */
+final class PropositionsHandoff {
+
+    private static final String SELF_TAG = "PropositionsHandoff";
+
+    private static final Map<String, Map<DecisionScope, OptimizeProposition>> pendingResponses =
+            new LinkedHashMap<String, Map<DecisionScope, OptimizeProposition>>() {
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<String, Map<DecisionScope, OptimizeProposition>> eldest) {
+                    if (size() <= OptimizeConstants.PropositionsHandoff.MAX_PENDING_RESPONSES) {
+                        return false;
+                    }
+
+                    Log.debug(
+                            OptimizeConstants.LOG_TAG,
+                            SELF_TAG,
+                            "Discarding the propositions handed off for response event (%s),"
+                                    + " more than (%d) responses are pending.",
+                            eldest.getKey(),
+                            OptimizeConstants.PropositionsHandoff.MAX_PENDING_RESPONSES);
+                    return true;
+                }
+            };
+
+    private PropositionsHandoff() {}
+
+    /**
+     * Hands off the given {@code propositions} for the response event with the given {@code
+     * responseEventId}.
+     *
+     * <p>This method must be called before the response event is dispatched.
+     *
+     * @param responseEventId {@link String} containing the response event unique identifier.
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} for the response.
+     */
+    static void offer(
+            final String responseEventId,
+            final Map<DecisionScope, OptimizeProposition> propositions) {
+        synchronized (pendingResponses) {
+            pendingResponses.put(responseEventId, Collections.unmodifiableMap(propositions));
+        }
+    }
+
+    /**
+     * Takes the propositions handed off for the response event with the given {@code
+     * responseEventId}.
+     *
+     * <p>The returned map can be modified by the caller, the propositions in it are unmodifiable.
+     *
+     * <p>This method returns null if no propositions were handed off for the response event, or if
+     * they were discarded.
+     *
+     * @param responseEventId {@link String} containing the response event unique identifier.
+     * @return {@code Map<DecisionScope, OptimizeProposition>} or null.
+     */
+    static Map<DecisionScope, OptimizeProposition> take(final String responseEventId) {
+        final Map<DecisionScope, OptimizeProposition> propositions;
+        synchronized (pendingResponses) {
+            propositions = pendingResponses.remove(responseEventId);
+        }
+        return propositions != null ? new HashMap<>(propositions) : null;
+    }
+
+    /**
+     * Returns the number of responses whose propositions are not yet taken.
+     *
+     * @return {@code int} containing the pending responses count.
+     */
+    @VisibleForTesting
+    static int getPendingCount() {
+        synchronized (pendingResponses) {
+            return pendingResponses.size();
+        }
+    }
+
+    /** Discards the propositions for all pending responses. */
+    @VisibleForTesting
+    static void clear() {
+        synchronized (pendingResponses) {
+            pendingResponses.clear();
+        }
+    }
+}
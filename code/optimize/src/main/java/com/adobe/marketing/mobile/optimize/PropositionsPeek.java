@@ -0,0 +1,85 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code PropositionsPeek} holds the reader of the cached propositions for the synchronous {@link
+ * Optimize#peekCachedPropositions(List)} API.
+ *
+ * <p>The Optimize extension registers its reader when it is registered with the event hub, and
+ * unregisters it when it is unregistered, so only the reader of the registered extension is
+ * reachable from the public API.
+ */
+final class PropositionsPeek {
+
+    /** Reader of the cached propositions, called on the thread peeking the propositions. */
+    interface Reader {
+        /**
+         * Reads the cached propositions for the given {@code scopes}.
+         *
+         * @param scopes {@code List<DecisionScope>} containing valid scopes.
+         * @return {@code Map<DecisionScope, OptimizeProposition>} containing the cached
+         *     propositions.
+         */
+        @NonNull Map<DecisionScope, OptimizeProposition> read(@NonNull List<DecisionScope> scopes);
+    }
+
+    private static final AtomicReference<Reader> registeredReader = new AtomicReference<>();
+
+    private PropositionsPeek() {}
+
+    /**
+     * Registers the given {@code reader}, replacing any previously registered reader.
+     *
+     * @param reader {@link Reader} of the registered extension.
+     */
+    static void register(@NonNull final Reader reader) {
+        registeredReader.set(reader);
+    }
+
+    /**
+     * Unregisters the given {@code reader}, if it is the registered reader.
+     *
+     * @param reader {@link Reader} of the unregistered extension.
+     */
+    static void unregister(@NonNull final Reader reader) {
+        registeredReader.compareAndSet(reader, null);
+    }
+
+    /**
+     * Reads the cached propositions for the given {@code scopes} with the registered reader, on
+     * the calling thread.
+     *
+     * <p>This method returns null if no reader is registered.
+     *
+     * @param scopes {@code List<DecisionScope>} containing valid scopes.
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the cached propositions or
+     *     null.
+     */
+    static Map<DecisionScope, OptimizeProposition> read(
+            @NonNull final List<DecisionScope> scopes) {
+        final Reader reader = registeredReader.get();
+        return reader != null ? reader.read(scopes) : null;
+    }
+
+    /** Unregisters the registered reader. */
+    @VisibleForTesting
+    static void reset() {
+        registeredReader.set(null);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code PropositionsStream} streams the propositions of update propositions requests from the
+ * extension to the public API in-process, keyed by the request event identifier, as soon as each
+ * Edge personalization:decisions response chunk is parsed.
+ *
+ * <p>Propositions are streamed only for requests dispatched by the public API with an {@link
+ * AdobeCallbackWithPartialPropositions}, which set {@value
+ * OptimizeConstants.EventDataKeys#STREAM_PROPOSITIONS} in the request event data. The stream is
+ * opened before the request event is dispatched and closed once its response is received or times
+ * out, so chunks received after that are dropped.
+ */
+final class PropositionsStream {
+
+    private static final String SELF_TAG = "PropositionsStream";
+
+    private static final Map<
+                    String,
+                    AdobeCallbackWithPartialPropositions<Map<DecisionScope, OptimizeProposition>>>
+            openStreams = new HashMap<>();
+
+    private PropositionsStream() {}
+
+    /**
+     * Opens the stream for the update propositions request event with the given {@code
+     * requestEventId}.
+     *
+     * @param requestEventId {@link String} containing the request event unique identifier.
+     * @param callback {@code AdobeCallbackWithPartialPropositions} notified of each chunk.
+     */
+    static void open(
+            final String requestEventId,
+            final AdobeCallbackWithPartialPropositions<Map<DecisionScope, OptimizeProposition>>
+                    callback) {
+        synchronized (openStreams) {
+            openStreams.put(requestEventId, callback);
+        }
+    }
+
+    /**
+     * Closes the stream for the update propositions request event with the given {@code
+     * requestEventId}.
+     *
+     * @param requestEventId {@link String} containing the request event unique identifier.
+     */
+    static void close(final String requestEventId) {
+        synchronized (openStreams) {
+            openStreams.remove(requestEventId);
+        }
+    }
+
+    /**
+     * Publishes the given {@code propositions} chunk to the stream for the update propositions
+     * request event with the given {@code requestEventId}, if it is open.
+     *
+     * @param requestEventId {@link String} containing the request event unique identifier.
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} parsed from the chunk.
+     * @return {@code boolean} indicating whether the chunk was published.
+     */
+    static boolean publish(
+            final String requestEventId,
+            final Map<DecisionScope, OptimizeProposition> propositions) {
+        final AdobeCallbackWithPartialPropositions<Map<DecisionScope, OptimizeProposition>>
+                callback;
+        synchronized (openStreams) {
+            callback = openStreams.get(requestEventId);
+        }
+        if (callback == null) {
+            return false;
+        }
+
+        try {
+            callback.partial(Collections.unmodifiableMap(propositions));
+        } catch (final Exception e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "publish - Exception in the partial propositions callback (%s).",
+                    e.getLocalizedMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of open streams.
+     *
+     * @return {@code int} containing the open streams count.
+     */
+    @VisibleForTesting
+    static int getOpenCount() {
+        synchronized (openStreams) {
+            return openStreams.size();
+        }
+    }
+
+    /** Closes all open streams. */
+    @VisibleForTesting
+    static void clear() {
+        synchronized (openStreams) {
+            openStreams.clear();
+        }
+    }
+}
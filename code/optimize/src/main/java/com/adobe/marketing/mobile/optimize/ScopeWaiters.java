@@ -0,0 +1,186 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.adobe.marketing.mobile.Event;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code ScopeWaiters} is a registry of the get propositions requests waiting for the update
+ * propositions requests in progress for their decision scopes, keyed by {@link DecisionScope}.
+ *
+ * <p>A waiting request is released once none of the decision scopes it waits for is in progress,
+ * so get propositions requests only wait for the updates which actually touch their scopes.
+ *
+ * <p>Get propositions requests for the same decision scopes, waiting for the same scopes in
+ * progress, are collapsed into a single waiter and released together, so they can be answered from
+ * a single cache read.
+ *
+ * <p>This class is not thread-safe, access must be synchronized by the caller.
+ */
+class ScopeWaiters {
+
+    private final Map<DecisionScope, List<Waiter>> waiters = new HashMap<>();
+    private final Map<Set<DecisionScope>, Waiter> waitersByRequestedScopes = new HashMap<>();
+    private int waitingCount;
+
+    /**
+     * Registers the given get propositions request {@code event} to wait for the given {@code
+     * scopesInProgress}.
+     *
+     * <p>If a get propositions request for the same {@code requestedScopes} is already waiting for
+     * the same scopes in progress, the given request is collapsed into its waiter.
+     *
+     * @param event {@link Event} containing the get propositions request.
+     * @param requestedScopes {@code Collection<DecisionScope>} containing all the requested scopes.
+     * @param scopesInProgress {@code Collection<DecisionScope>} containing the requested scopes
+     *     which are in progress.
+     * @return {@code boolean} indicating whether the request is collapsed into a waiting request.
+     */
+    boolean register(
+            final Event event,
+            final Collection<DecisionScope> requestedScopes,
+            final Collection<DecisionScope> scopesInProgress) {
+        final Set<DecisionScope> requestedScopesSet = new HashSet<>(requestedScopes);
+        final Waiter existingWaiter = waitersByRequestedScopes.get(requestedScopesSet);
+        if (existingWaiter != null
+                && existingWaiter.pendingScopes.equals(new HashSet<>(scopesInProgress))) {
+            existingWaiter.events.add(event);
+            waitingCount++;
+            return true;
+        }
+
+        final Waiter waiter = new Waiter(event, requestedScopesSet, scopesInProgress);
+        waitersByRequestedScopes.put(requestedScopesSet, waiter);
+        for (final DecisionScope scope : waiter.pendingScopes) {
+            List<Waiter> scopeWaiters = waiters.get(scope);
+            if (scopeWaiters == null) {
+                scopeWaiters = new ArrayList<>();
+                waiters.put(scope, scopeWaiters);
+            }
+            scopeWaiters.add(waiter);
+        }
+        waitingCount++;
+        return false;
+    }
+
+    /**
+     * Releases the get propositions requests waiting for the given {@code completedScopes}, which
+     * no longer wait for any scope in progress.
+     *
+     * @param completedScopes {@code Collection<DecisionScope>} containing the scopes of a
+     *     completed update propositions request.
+     * @param scopesInProgress {@code Set<DecisionScope>} containing the scopes still in progress,
+     *     possibly by other update propositions requests.
+     * @return {@code List<List<Event>>} containing the released get propositions requests, grouped
+     *     by collapsed requests, in their registration order per scope.
+     */
+    List<List<Event>> release(
+            final Collection<DecisionScope> completedScopes,
+            final Set<DecisionScope> scopesInProgress) {
+        final List<List<Event>> releasedEvents = new ArrayList<>();
+        for (final DecisionScope scope : completedScopes) {
+            if (scopesInProgress.contains(scope)) {
+                continue;
+            }
+
+            final List<Waiter> scopeWaiters = waiters.remove(scope);
+            if (scopeWaiters == null) {
+                continue;
+            }
+
+            for (final Waiter waiter : scopeWaiters) {
+                waiter.pendingScopes.remove(scope);
+                if (waiter.pendingScopes.isEmpty()) {
+                    releasedEvents.add(waiter.events);
+                    waitingCount -= waiter.events.size();
+                    if (waitersByRequestedScopes.get(waiter.requestedScopes) == waiter) {
+                        waitersByRequestedScopes.remove(waiter.requestedScopes);
+                    }
+                }
+            }
+        }
+        return releasedEvents;
+    }
+
+    /**
+     * Removes the given waiting get propositions request {@code event}, for instance once its
+     * deadline expired.
+     *
+     * @param event {@link Event} containing the get propositions request.
+     * @return {@code List<DecisionScope>} containing the scopes the request was still waiting for,
+     *     or null if the request is not waiting.
+     */
+    List<DecisionScope> remove(final Event event) {
+        Waiter eventWaiter = null;
+        for (final List<Waiter> scopeWaiters : waiters.values()) {
+            for (final Waiter waiter : scopeWaiters) {
+                if (waiter.events.contains(event)) {
+                    eventWaiter = waiter;
+                    break;
+                }
+            }
+            if (eventWaiter != null) {
+                break;
+            }
+        }
+        if (eventWaiter == null) {
+            return null;
+        }
+
+        eventWaiter.events.remove(event);
+        waitingCount--;
+        if (eventWaiter.events.isEmpty()) {
+            for (final DecisionScope scope : eventWaiter.pendingScopes) {
+                final List<Waiter> scopeWaiters = waiters.get(scope);
+                scopeWaiters.remove(eventWaiter);
+                if (scopeWaiters.isEmpty()) {
+                    waiters.remove(scope);
+                }
+            }
+            if (waitersByRequestedScopes.get(eventWaiter.requestedScopes) == eventWaiter) {
+                waitersByRequestedScopes.remove(eventWaiter.requestedScopes);
+            }
+        }
+        return new ArrayList<>(eventWaiter.pendingScopes);
+    }
+
+    /**
+     * Returns the number of get propositions requests waiting for scopes in progress.
+     *
+     * @return {@code int} containing the number of waiting requests.
+     */
+    int size() {
+        return waitingCount;
+    }
+
+    private static final class Waiter {
+        final List<Event> events = new ArrayList<>();
+        final Set<DecisionScope> requestedScopes;
+        final Set<DecisionScope> pendingScopes;
+
+        Waiter(
+                final Event event,
+                final Set<DecisionScope> requestedScopes,
+                final Collection<DecisionScope> pendingScopes) {
+            this.events.add(event);
+            this.requestedScopes = requestedScopes;
+            this.pendingScopes = new HashSet<>(pendingScopes);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+/**
+ * {@code TokenBucket} rate limits the update propositions requests.
+ *
+ * <p>The bucket holds up to its capacity in tokens and is refilled continuously, at the rate of
+ * its capacity per {@link OptimizeConstants.TokenBucket#REFILL_PERIOD}. Each request takes a
+ * token, and is rejected if the bucket is empty, so bursts up to the capacity are allowed.
+ *
+ * <p>This class is thread-safe.
+ */
+class TokenBucket {
+
+    private final long refillPeriodMillis;
+    private int capacity;
+    private double tokens;
+    private long lastRefillTime;
+
+    TokenBucket() {
+        this(OptimizeConstants.TokenBucket.REFILL_PERIOD);
+    }
+
+    TokenBucket(final long refillPeriodMillis) {
+        this.refillPeriodMillis = refillPeriodMillis;
+    }
+
+    /**
+     * Sets the capacity of the bucket, refilling it if the capacity changed.
+     *
+     * <p>A capacity of 0 disables the rate limiting.
+     *
+     * @param capacity {@code int} containing the maximum number of tokens.
+     * @param now {@code long} containing the current time in milliseconds.
+     */
+    synchronized void setCapacity(final int capacity, final long now) {
+        final int newCapacity = Math.max(capacity, 0);
+        if (newCapacity == this.capacity) {
+            return;
+        }
+        this.capacity = newCapacity;
+        tokens = newCapacity;
+        lastRefillTime = now;
+    }
+
+    /**
+     * Takes a token from the bucket, if available, at the given time.
+     *
+     * @param now {@code long} containing the current time in milliseconds.
+     * @return {@code boolean} indicating whether a token is taken, always true if rate limiting
+     *     is disabled.
+     */
+    synchronized boolean tryAcquire(final long now) {
+        if (capacity == 0) {
+            return true;
+        }
+
+        if (now > lastRefillTime) {
+            final double refilledTokens =
+                    (double) (now - lastRefillTime) * capacity / refillPeriodMillis;
+            tokens = Math.min(capacity, tokens + refilledTokens);
+            lastRefillTime = now;
+        }
+
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.MobileCore;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code UpdatePropositionsHandle} is returned by the {@link Optimize} {@code
+ * updatePropositionsCancellable} APIs to cancel the update propositions request while it is in
+ * progress, for instance when the user navigates away from the screen which requested it.
+ *
+ * <p>Once cancelled, the request no longer holds back the get propositions requests for its
+ * decision scopes, the propositions returned for it afterwards are dropped, and its callback is
+ * not invoked.
+ */
+public final class UpdatePropositionsHandle {
+
+    private final String requestEventId;
+    private final AtomicBoolean active = new AtomicBoolean(true);
+    private volatile boolean cancelled;
+
+    UpdatePropositionsHandle(final String requestEventId) {
+        this.requestEventId = requestEventId;
+    }
+
+    /**
+     * Cancels the update propositions request, if it is still in progress.
+     *
+     * <p>This method does nothing if the request already completed or was cancelled.
+     */
+    public void cancel() {
+        if (!active.compareAndSet(true, false)) {
+            return;
+        }
+        cancelled = true;
+
+        if (OptimizeUtils.isNullOrEmpty(requestEventId)) {
+            return;
+        }
+        PropositionsStream.close(requestEventId);
+
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put(
+                OptimizeConstants.EventDataKeys.REQUEST_TYPE,
+                OptimizeConstants.EventDataValues.REQUEST_TYPE_CANCEL_UPDATE);
+        eventData.put(OptimizeConstants.EventDataKeys.REQUEST_EVENT_ID, requestEventId);
+
+        final Event event =
+                new Event.Builder(
+                                OptimizeConstants.EventNames.CANCEL_UPDATE_PROPOSITIONS_REQUEST,
+                                OptimizeConstants.EventType.OPTIMIZE,
+                                OptimizeConstants.EventSource.REQUEST_CONTENT)
+                        .setEventData(eventData)
+                        .build();
+        MobileCore.dispatchEvent(event);
+    }
+
+    /**
+     * Checks if the update propositions request was cancelled.
+     *
+     * @return {@code boolean} indicating whether the request was cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Marks the update propositions request as completed, so it can no longer be cancelled.
+     *
+     * @return {@code boolean} indicating whether the request completed before it was cancelled,
+     *     in which case its callback is to be invoked.
+     */
+    boolean complete() {
+        return active.compareAndSet(true, false);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CircuitBreakerTests {
+    private static final String REQUEST = "requestEventId";
+    private static final String PROBE = "probeEventId";
+    private CircuitBreaker circuitBreaker;
+
+    @Before
+    public void setup() {
+        circuitBreaker = new CircuitBreaker(1000, 500);
+        circuitBreaker.setFailureThreshold(3);
+    }
+
+    @Test
+    public void testRecordFailure_opensAfterThresholdWithinWindow() {
+        // test
+        circuitBreaker.recordFailure(REQUEST, 0);
+        circuitBreaker.recordFailure(REQUEST, 100);
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        circuitBreaker.recordFailure(REQUEST, 200);
+
+        // verify
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assert.assertFalse(circuitBreaker.allowRequest("requestEventId", 300));
+    }
+
+    @Test
+    public void testRecordFailure_failuresOutsideWindowNotCounted() {
+        // test
+        circuitBreaker.recordFailure(REQUEST, 0);
+        circuitBreaker.recordFailure(REQUEST, 100);
+        circuitBreaker.recordFailure(REQUEST, 1100);
+
+        // verify
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assert.assertTrue(circuitBreaker.allowRequest("requestEventId", 1200));
+    }
+
+    @Test
+    public void testAllowRequest_halfOpenAllowsSingleProbe() {
+        // setup
+        openCircuitBreaker(0);
+
+        // test
+        final boolean beforeOpenDuration = circuitBreaker.allowRequest("requestEventId", 400);
+        final boolean probe = circuitBreaker.allowRequest("requestEventId", 500);
+        final boolean afterProbe = circuitBreaker.allowRequest("requestEventId", 600);
+
+        // verify
+        Assert.assertFalse(beforeOpenDuration);
+        Assert.assertTrue(probe);
+        Assert.assertFalse(afterProbe);
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testRecordSuccess_probeSucceeded() {
+        // setup
+        openCircuitBreaker(0);
+        circuitBreaker.allowRequest("probeEventId", 500);
+
+        // test
+        circuitBreaker.recordSuccess(PROBE);
+
+        // verify
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assert.assertTrue(circuitBreaker.allowRequest("requestEventId", 600));
+        Assert.assertTrue(circuitBreaker.allowRequest("requestEventId", 600));
+    }
+
+    @Test
+    public void testRecordFailure_probeFailed() {
+        // setup
+        openCircuitBreaker(0);
+        circuitBreaker.allowRequest("probeEventId", 500);
+
+        // test
+        circuitBreaker.recordFailure(PROBE, 700);
+
+        // verify the breaker opens again for the open duration
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assert.assertFalse(circuitBreaker.allowRequest("requestEventId", 1100));
+        Assert.assertTrue(circuitBreaker.allowRequest("requestEventId", 1200));
+    }
+
+    @Test
+    public void testRecordOutcome_requestOtherThanProbeIgnoredWhenHalfOpen() {
+        // setup
+        openCircuitBreaker(0);
+        circuitBreaker.allowRequest("probeEventId", 500);
+
+        // test
+        circuitBreaker.recordSuccess(REQUEST);
+        circuitBreaker.recordFailure(REQUEST, 600);
+
+        // verify only the probe outcome moves the breaker
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.recordSuccess(PROBE);
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testAllowRequest_abandonedProbe() {
+        // setup
+        openCircuitBreaker(0);
+        circuitBreaker.allowRequest("requestEventId", 500);
+
+        // verify another probe is allowed once the probe is abandoned
+        Assert.assertFalse(circuitBreaker.allowRequest("requestEventId", 900));
+        Assert.assertTrue(circuitBreaker.allowRequest("requestEventId", 1000));
+    }
+
+    @Test
+    public void testSetFailureThreshold_disabled() {
+        // setup
+        openCircuitBreaker(0);
+
+        // test
+        circuitBreaker.setFailureThreshold(0);
+        circuitBreaker.recordFailure(REQUEST, 100);
+        circuitBreaker.recordFailure(REQUEST, 100);
+        circuitBreaker.recordFailure(REQUEST, 100);
+
+        // verify
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assert.assertTrue(circuitBreaker.allowRequest("requestEventId", 100));
+    }
+
+    private void openCircuitBreaker(final long now) {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure(REQUEST, now);
+        }
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+}
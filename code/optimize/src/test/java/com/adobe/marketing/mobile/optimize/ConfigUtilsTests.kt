@@ -12,7 +12,17 @@
 package com.adobe.marketing.mobile.optimize
 
 import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.optimize.ConfigUtils.retrieveCircuitBreakerThreshold
+import com.adobe.marketing.mobile.optimize.ConfigUtils.retrieveCompactInteractionTracking
+import com.adobe.marketing.mobile.optimize.ConfigUtils.retrieveImpressionDeduplicationWindow
+import com.adobe.marketing.mobile.optimize.ConfigUtils.retrieveInteractionBatchSize
+import com.adobe.marketing.mobile.optimize.ConfigUtils.retrieveInteractionBatchWindow
+import com.adobe.marketing.mobile.optimize.ConfigUtils.retrieveInteractionJournalMaxSize
+import com.adobe.marketing.mobile.optimize.ConfigUtils.retrieveMinRefreshInterval
 import com.adobe.marketing.mobile.optimize.ConfigUtils.retrieveOptimizeRequestTimeout
+import com.adobe.marketing.mobile.optimize.ConfigUtils.retrievePropositionsCacheTtl
+import com.adobe.marketing.mobile.optimize.ConfigUtils.retrieveUpdateCoalescingWindow
+import com.adobe.marketing.mobile.optimize.ConfigUtils.retrieveUpdateRateLimit
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.unmockkAll
@@ -84,4 +94,188 @@ class ConfigUtilsTests {
 
         Assert.assertEquals(10000, retrieveOptimizeRequestTimeout(mockEvent, configData))
     }
+
+    @Test
+    fun `returns no cache ttl when configData is null or does not contain cache ttl`() {
+        Assert.assertEquals(0L, retrievePropositionsCacheTtl(null))
+        Assert.assertEquals(0L, retrievePropositionsCacheTtl(mapOf()))
+    }
+
+    @Test
+    fun `returns cache ttl in milliseconds from configData`() {
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_CACHE_TTL to 300)
+
+        Assert.assertEquals(300000L, retrievePropositionsCacheTtl(configData))
+    }
+
+    @Test
+    fun `returns no cache ttl when configData cache ttl is not positive or invalid`() {
+        Assert.assertEquals(
+            0L,
+            retrievePropositionsCacheTtl(
+                mapOf(OptimizeConstants.EventDataKeys.CONFIGS_CACHE_TTL to -5)
+            )
+        )
+        Assert.assertEquals(
+            0L,
+            retrievePropositionsCacheTtl(
+                mapOf(OptimizeConstants.EventDataKeys.CONFIGS_CACHE_TTL to "invalid_value")
+            )
+        )
+    }
+
+    @Test
+    fun `returns no coalescing window when configData is null or empty`() {
+        Assert.assertEquals(0L, retrieveUpdateCoalescingWindow(null))
+        Assert.assertEquals(0L, retrieveUpdateCoalescingWindow(mapOf()))
+    }
+
+    @Test
+    fun `returns coalescing window in milliseconds from configData`() {
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_UPDATE_COALESCING_WINDOW to 0.25)
+
+        Assert.assertEquals(250L, retrieveUpdateCoalescingWindow(configData))
+        Assert.assertEquals(
+            2000L,
+            retrieveUpdateCoalescingWindow(
+                mapOf(OptimizeConstants.EventDataKeys.CONFIGS_UPDATE_COALESCING_WINDOW to 2)
+            )
+        )
+    }
+
+    @Test
+    fun `returns no coalescing window when configData coalescing window is not positive`() {
+        Assert.assertEquals(
+            0L,
+            retrieveUpdateCoalescingWindow(
+                mapOf(OptimizeConstants.EventDataKeys.CONFIGS_UPDATE_COALESCING_WINDOW to -1)
+            )
+        )
+    }
+
+    @Test
+    fun `returns adaptive timeout from the p99 latency when configured`() {
+        val eventData = mapOf(OptimizeConstants.EventDataKeys.TIMEOUT to Long.MAX_VALUE)
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_ADAPTIVE_TIMEOUT_FACTOR to 3)
+        every { mockEvent.eventData } returns eventData
+        val latencyHistogram = LatencyHistogram()
+        repeat(10) { latencyHistogram.record(800) }
+
+        Assert.assertEquals(2400L, retrieveOptimizeRequestTimeout(mockEvent, configData, latencyHistogram))
+    }
+
+    @Test
+    fun `returns adaptive timeout clamped to bounds`() {
+        val eventData = mapOf(OptimizeConstants.EventDataKeys.TIMEOUT to Long.MAX_VALUE)
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_ADAPTIVE_TIMEOUT_FACTOR to 2)
+        every { mockEvent.eventData } returns eventData
+        val fastLatencyHistogram = LatencyHistogram()
+        repeat(10) { fastLatencyHistogram.record(100) }
+        val slowLatencyHistogram = LatencyHistogram()
+        repeat(10) { slowLatencyHistogram.record(20000) }
+
+        Assert.assertEquals(1000L, retrieveOptimizeRequestTimeout(mockEvent, configData, fastLatencyHistogram))
+        Assert.assertEquals(30000L, retrieveOptimizeRequestTimeout(mockEvent, configData, slowLatencyHistogram))
+    }
+
+    @Test
+    fun `returns configured timeout when adaptive timeout does not apply`() {
+        val latencyHistogram = LatencyHistogram()
+        repeat(10) { latencyHistogram.record(800) }
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_ADAPTIVE_TIMEOUT_FACTOR to 3)
+
+        // timeout provided in the request
+        every { mockEvent.eventData } returns mapOf(OptimizeConstants.EventDataKeys.TIMEOUT to 3000L)
+        Assert.assertEquals(3000L, retrieveOptimizeRequestTimeout(mockEvent, configData, latencyHistogram))
+
+        // adaptive timeout not configured
+        every { mockEvent.eventData } returns mapOf(OptimizeConstants.EventDataKeys.TIMEOUT to Long.MAX_VALUE)
+        Assert.assertEquals(10000L, retrieveOptimizeRequestTimeout(mockEvent, mapOf(), latencyHistogram))
+
+        // not enough round trips recorded
+        Assert.assertEquals(10000L, retrieveOptimizeRequestTimeout(mockEvent, configData, LatencyHistogram()))
+    }
+
+    @Test
+    fun `returns configured circuit breaker threshold`() {
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_CIRCUIT_BREAKER_THRESHOLD to 5)
+
+        Assert.assertEquals(5, retrieveCircuitBreakerThreshold(configData))
+        Assert.assertEquals(0, retrieveCircuitBreakerThreshold(mapOf()))
+        Assert.assertEquals(
+            0,
+            retrieveCircuitBreakerThreshold(
+                mapOf(OptimizeConstants.EventDataKeys.CONFIGS_CIRCUIT_BREAKER_THRESHOLD to -1)
+            )
+        )
+    }
+
+    @Test
+    fun `returns configured update rate limit`() {
+        val configData = mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_UPDATE_RATE_LIMIT to 30)
+
+        Assert.assertEquals(30, retrieveUpdateRateLimit(configData))
+        Assert.assertEquals(0, retrieveUpdateRateLimit(mapOf()))
+    }
+
+    @Test
+    fun `returns configured minimum refresh interval in milliseconds`() {
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_MIN_REFRESH_INTERVAL to 300)
+
+        Assert.assertEquals(300000L, retrieveMinRefreshInterval(configData))
+        Assert.assertEquals(0L, retrieveMinRefreshInterval(mapOf()))
+    }
+
+    @Test
+    fun `returns configured interaction batch window and size`() {
+        val configData = mapOf<String, Any?>(
+            OptimizeConstants.EventDataKeys.CONFIGS_INTERACTION_BATCH_WINDOW to 2,
+            OptimizeConstants.EventDataKeys.CONFIGS_INTERACTION_BATCH_SIZE to 20
+        )
+
+        Assert.assertEquals(2000L, retrieveInteractionBatchWindow(configData))
+        Assert.assertEquals(20, retrieveInteractionBatchSize(configData))
+        Assert.assertEquals(0L, retrieveInteractionBatchWindow(mapOf()))
+        Assert.assertEquals(0, retrieveInteractionBatchSize(mapOf()))
+    }
+
+    @Test
+    fun `returns configured impression deduplication window in milliseconds`() {
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_IMPRESSION_DEDUPLICATION_WINDOW to 1800)
+
+        Assert.assertEquals(1800000L, retrieveImpressionDeduplicationWindow(configData))
+        Assert.assertEquals(0L, retrieveImpressionDeduplicationWindow(mapOf()))
+    }
+
+    @Test
+    fun `returns configured interaction journal max size`() {
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_INTERACTION_JOURNAL_MAX_SIZE to 500)
+
+        Assert.assertEquals(500, retrieveInteractionJournalMaxSize(configData))
+        Assert.assertEquals(0, retrieveInteractionJournalMaxSize(mapOf()))
+        Assert.assertEquals(
+            0,
+            retrieveInteractionJournalMaxSize(
+                mapOf(OptimizeConstants.EventDataKeys.CONFIGS_INTERACTION_JOURNAL_MAX_SIZE to -1)
+            )
+        )
+    }
+
+    @Test
+    fun `returns configured compact interaction tracking`() {
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_COMPACT_INTERACTION_TRACKING to true)
+
+        Assert.assertTrue(retrieveCompactInteractionTracking(configData))
+        Assert.assertFalse(retrieveCompactInteractionTracking(mapOf()))
+    }
 }
@@ -0,0 +1,129 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ErrorLedgerTests {
+    private ErrorLedger errorLedger;
+    private final DecisionScope scopeA = new DecisionScope("scopeA");
+    private final DecisionScope scopeB = new DecisionScope("scopeB");
+    private final AEPOptimizeError error =
+            new AEPOptimizeError("type", 503, "title", "detail", null, null);
+
+    @Before
+    public void setup() {
+        errorLedger = new ErrorLedger();
+    }
+
+    @Test
+    public void testTake_removesPendingError() {
+        // setup
+        errorLedger.put("requestEventId", error);
+
+        // test
+        final AEPOptimizeError takenError = errorLedger.take("requestEventId");
+
+        // verify
+        Assert.assertSame(error, takenError);
+        Assert.assertNull(errorLedger.take("requestEventId"));
+        Assert.assertEquals(0, errorLedger.getPendingCount());
+    }
+
+    @Test
+    public void testPut_boundedPendingErrors() {
+        // test
+        for (int i = 0; i <= OptimizeConstants.ErrorLedger.MAX_PENDING_ERRORS; i++) {
+            errorLedger.put("requestEventId" + i, error);
+        }
+
+        // verify the oldest pending error is dropped
+        Assert.assertEquals(
+                OptimizeConstants.ErrorLedger.MAX_PENDING_ERRORS, errorLedger.getPendingCount());
+        Assert.assertNull(errorLedger.take("requestEventId0"));
+    }
+
+    @Test
+    public void testGetRecentErrors_perScope() {
+        // setup
+        final AEPOptimizeError timeoutError = AEPOptimizeError.Companion.getTimeoutError();
+        errorLedger.record(Arrays.asList(scopeA, scopeB), error, 0);
+        errorLedger.record(Collections.singletonList(scopeA), timeoutError, 100);
+
+        // test
+        final Map<DecisionScope, List<AEPOptimizeError>> scopeAErrors =
+                errorLedger.getRecentErrors(Collections.singletonList(scopeA), 200);
+        final Map<DecisionScope, List<AEPOptimizeError>> allErrors =
+                errorLedger.getRecentErrors(null, 200);
+
+        // verify
+        Assert.assertEquals(1, scopeAErrors.size());
+        Assert.assertEquals(Arrays.asList(error, timeoutError), scopeAErrors.get(scopeA));
+        Assert.assertEquals(2, allErrors.size());
+        Assert.assertEquals(Collections.singletonList(error), allErrors.get(scopeB));
+    }
+
+    @Test
+    public void testGetRecentErrors_boundedErrorsPerScope() {
+        // setup
+        final AEPOptimizeError timeoutError = AEPOptimizeError.Companion.getTimeoutError();
+        errorLedger.record(Collections.singletonList(scopeA), error, 0);
+        for (int i = 0; i < OptimizeConstants.ErrorLedger.MAX_ERRORS_PER_SCOPE; i++) {
+            errorLedger.record(Collections.singletonList(scopeA), timeoutError, 0);
+        }
+
+        // test
+        final List<AEPOptimizeError> scopeAErrors =
+                errorLedger.getRecentErrors(null, 0).get(scopeA);
+
+        // verify the oldest error is dropped
+        Assert.assertEquals(
+                OptimizeConstants.ErrorLedger.MAX_ERRORS_PER_SCOPE, scopeAErrors.size());
+        Assert.assertFalse(scopeAErrors.contains(error));
+    }
+
+    @Test
+    public void testGetRecentErrors_boundedScopes() {
+        // test
+        for (int i = 0; i <= OptimizeConstants.ErrorLedger.MAX_SCOPES; i++) {
+            errorLedger.record(Collections.singletonList(new DecisionScope("scope" + i)), error, 0);
+        }
+
+        // verify the scope with the least recent errors is dropped
+        final Map<DecisionScope, List<AEPOptimizeError>> allErrors =
+                errorLedger.getRecentErrors(null, 0);
+        Assert.assertEquals(OptimizeConstants.ErrorLedger.MAX_SCOPES, allErrors.size());
+        Assert.assertFalse(allErrors.containsKey(new DecisionScope("scope0")));
+    }
+
+    @Test
+    public void testGetRecentErrors_expiredErrors() {
+        // setup
+        final AEPOptimizeError timeoutError = AEPOptimizeError.Companion.getTimeoutError();
+        errorLedger.record(Arrays.asList(scopeA, scopeB), error, 0);
+        errorLedger.record(Collections.singletonList(scopeA), timeoutError, 1000);
+
+        // test
+        final Map<DecisionScope, List<AEPOptimizeError>> allErrors =
+                errorLedger.getRecentErrors(null, OptimizeConstants.ErrorLedger.RETENTION);
+
+        // verify
+        Assert.assertEquals(1, allErrors.size());
+        Assert.assertEquals(Collections.singletonList(timeoutError), allErrors.get(scopeA));
+    }
+}
@@ -0,0 +1,202 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("unchecked")
+public class ImpressionFilterTests {
+    private static final String DISPLAY = "decisioning.propositionDisplay";
+    private static final String INTERACT = "decisioning.propositionInteract";
+
+    private ImpressionFilter impressionFilter;
+
+    @Before
+    public void setup() {
+        impressionFilter = new ImpressionFilter(100, 0.001);
+    }
+
+    @Test
+    public void testFilter_repeatedDisplaySuppressed() {
+        // test
+        final Map<String, Object> first = createXdm(DISPLAY, "prop1", "offer1");
+        final Map<String, Object> firstResult = impressionFilter.filter(first, 1000, 0);
+        final Map<String, Object> repeatedResult =
+                impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer1"), 1000, 500);
+
+        // verify
+        Assert.assertSame(first, firstResult);
+        Assert.assertNull(repeatedResult);
+        Assert.assertEquals(1, impressionFilter.getSuppressedCount());
+    }
+
+    @Test
+    public void testFilter_otherOfferNotSuppressed() {
+        // test
+        impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer1"), 1000, 0);
+        final Map<String, Object> otherOffer = createXdm(DISPLAY, "prop1", "offer2");
+        final Map<String, Object> otherProposition = createXdm(DISPLAY, "prop2", "offer1");
+
+        // verify
+        Assert.assertSame(otherOffer, impressionFilter.filter(otherOffer, 1000, 100));
+        Assert.assertSame(otherProposition, impressionFilter.filter(otherProposition, 1000, 100));
+        Assert.assertEquals(0, impressionFilter.getSuppressedCount());
+    }
+
+    @Test
+    public void testFilter_displayedOffersRemoved() {
+        // setup
+        impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer1"), 1000, 0);
+
+        // test
+        final Map<String, Object> result =
+                impressionFilter.filter(
+                        createXdm(DISPLAY, "prop1", "offer1", "offer2"), 1000, 100);
+
+        // verify
+        Assert.assertNotNull(result);
+        final List<Map<String, Object>> propositions = getPropositions(result);
+        Assert.assertEquals(1, propositions.size());
+        final List<Map<String, Object>> items =
+                (List<Map<String, Object>>) propositions.get(0).get("items");
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals("offer2", items.get(0).get("id"));
+        Assert.assertEquals(DISPLAY, result.get("eventType"));
+        Assert.assertEquals(1, impressionFilter.getSuppressedCount());
+    }
+
+    @Test
+    public void testFilter_displayReportedAgainAfterWindow() {
+        // setup
+        impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer1"), 1000, 0);
+
+        // verify
+        Assert.assertNull(
+                impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer1"), 1000, 999));
+        Assert.assertNull(
+                impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer1"), 1000, 1500));
+        Assert.assertNotNull(
+                impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer1"), 1000, 2500));
+    }
+
+    @Test
+    public void testFilter_interactNotFiltered() {
+        // setup
+        impressionFilter.filter(createXdm(INTERACT, "prop1", "offer1"), 1000, 0);
+
+        // test
+        final Map<String, Object> tap = createXdm(INTERACT, "prop1", "offer1");
+
+        // verify
+        Assert.assertSame(tap, impressionFilter.filter(tap, 1000, 100));
+    }
+
+    @Test
+    public void testFilter_xdmWithAdditionalDataNotFiltered() {
+        // setup
+        impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer1"), 1000, 0);
+
+        // test
+        final Map<String, Object> xdm = createXdm(DISPLAY, "prop1", "offer1");
+        xdm.put("myKey", "myValue");
+
+        // verify
+        Assert.assertSame(xdm, impressionFilter.filter(xdm, 1000, 100));
+    }
+
+    @Test
+    public void testFilter_memoryBoundedBeyondExpectedImpressions() {
+        // test
+        for (int i = 0; i < 1000; i++) {
+            impressionFilter.filter(createXdm(DISPLAY, "prop", "offer" + i), 60000, i);
+        }
+
+        // verify only false positives are suppressed, within the false positive rate of the two
+        // generations, and the most recent displays are still suppressed
+        Assert.assertTrue(impressionFilter.getSuppressedCount() <= 10);
+        Assert.assertNull(
+                impressionFilter.filter(createXdm(DISPLAY, "prop", "offer999"), 60000, 1000));
+    }
+
+    @Test
+    public void testFilter_fullGenerationRotatedEarly() {
+        // test
+        for (int i = 0; i <= 200; i++) {
+            impressionFilter.filter(createXdm(DISPLAY, "prop", "offer" + i), 60000, i);
+        }
+
+        // verify the first display is reported again within the window, and the early rotations
+        // are counted
+        Assert.assertEquals(2, impressionFilter.getEarlyRotationsCount());
+        Assert.assertNotNull(
+                impressionFilter.filter(createXdm(DISPLAY, "prop", "offer0"), 60000, 300));
+    }
+
+    @Test
+    public void testFilter_rotationAfterWindowNotCountedAsEarly() {
+        // test
+        impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer1"), 1000, 0);
+        impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer2"), 1000, 1500);
+
+        // verify
+        Assert.assertEquals(0, impressionFilter.getEarlyRotationsCount());
+    }
+
+    @Test
+    public void testClear() {
+        // setup
+        impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer1"), 1000, 0);
+
+        // test
+        impressionFilter.clear();
+
+        // verify
+        Assert.assertNotNull(
+                impressionFilter.filter(createXdm(DISPLAY, "prop1", "offer1"), 1000, 100));
+    }
+
+    private Map<String, Object> createXdm(
+            final String eventType, final String propositionId, final String... offerIds) {
+        final List<Map<String, Object>> items = new ArrayList<>();
+        for (final String offerId : offerIds) {
+            final Map<String, Object> item = new HashMap<>();
+            item.put("id", offerId);
+            items.add(item);
+        }
+        final Map<String, Object> proposition = new HashMap<>();
+        proposition.put("id", propositionId);
+        proposition.put("scope", "myMbox");
+        proposition.put("scopeDetails", new HashMap<String, Object>());
+        proposition.put("items", items);
+        final Map<String, Object> decisioning = new HashMap<>();
+        decisioning.put("propositions", Arrays.asList(proposition));
+        final Map<String, Object> experience = new HashMap<>();
+        experience.put("decisioning", decisioning);
+        final Map<String, Object> xdm = new HashMap<>();
+        xdm.put("_experience", experience);
+        xdm.put("eventType", eventType);
+        return xdm;
+    }
+
+    private List<Map<String, Object>> getPropositions(final Map<String, Object> xdm) {
+        final Map<String, Object> experience = (Map<String, Object>) xdm.get("_experience");
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        return (List<Map<String, Object>>) decisioning.get("propositions");
+    }
+}
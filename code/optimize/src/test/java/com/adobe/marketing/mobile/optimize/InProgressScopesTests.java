@@ -0,0 +1,72 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InProgressScopesTests {
+    private InProgressScopes inProgressScopes;
+    private final DecisionScope scopeA = new DecisionScope("scopeA");
+    private final DecisionScope scopeB = new DecisionScope("scopeB");
+
+    @Before
+    public void setup() {
+        inProgressScopes = new InProgressScopes();
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        // test
+        inProgressScopes.add(Arrays.asList(scopeA, scopeB));
+
+        // verify
+        Assert.assertTrue(inProgressScopes.contains(scopeA));
+        Assert.assertTrue(inProgressScopes.contains(scopeB));
+
+        // test
+        inProgressScopes.remove(Arrays.asList(scopeA, scopeB));
+
+        // verify
+        Assert.assertFalse(inProgressScopes.contains(scopeA));
+        Assert.assertFalse(inProgressScopes.contains(scopeB));
+        Assert.assertTrue(inProgressScopes.asSet().isEmpty());
+    }
+
+    @Test
+    public void testRemove_scopeInProgressByAnotherRequest() {
+        // setup
+        inProgressScopes.add(Collections.singletonList(scopeA));
+        inProgressScopes.add(Arrays.asList(scopeA, scopeB));
+
+        // test
+        inProgressScopes.remove(Arrays.asList(scopeA, scopeB));
+
+        // verify
+        Assert.assertTrue(inProgressScopes.contains(scopeA));
+        Assert.assertFalse(inProgressScopes.contains(scopeB));
+        Assert.assertEquals(Collections.singleton(scopeA), inProgressScopes.asSet());
+    }
+
+    @Test
+    public void testRemove_scopeNotInProgress() {
+        // test
+        inProgressScopes.remove(Collections.singletonList(scopeA));
+        inProgressScopes.add(Collections.singletonList(scopeA));
+
+        // verify
+        Assert.assertTrue(inProgressScopes.contains(scopeA));
+    }
+}
@@ -0,0 +1,218 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("unchecked")
+public class InteractionBatcherTests {
+    private static final String DISPLAY = "decisioning.propositionDisplay";
+    private static final String INTERACT = "decisioning.propositionInteract";
+
+    private ScheduledExecutorService executor;
+    private InteractionBatcher interactionBatcher;
+    private final List<Map<String, Object>> flushedXdms = new ArrayList<>();
+    private final List<String> flushedDatasetIds = new ArrayList<>();
+    private final List<List<String>> flushedJournalEntryIds = new ArrayList<>();
+    private CountDownLatch flushLatch;
+
+    @Before
+    public void setup() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        flushLatch = new CountDownLatch(1);
+        interactionBatcher =
+                new InteractionBatcher(
+                        executor,
+                        (xdm, datasetId, journalEntryIds) -> {
+                            synchronized (flushedXdms) {
+                                flushedXdms.add(xdm);
+                                flushedDatasetIds.add(datasetId);
+                                flushedJournalEntryIds.add(journalEntryIds);
+                            }
+                            flushLatch.countDown();
+                        });
+    }
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testIsBatchable_interactionXdm() {
+        Assert.assertTrue(InteractionBatcher.isBatchable(createXdm(DISPLAY, "prop1", "offer1")));
+        Assert.assertTrue(InteractionBatcher.isBatchable(createXdm(INTERACT, "prop1", "offer1")));
+    }
+
+    @Test
+    public void testIsBatchable_additionalData() {
+        // setup
+        final Map<String, Object> xdm = createXdm(DISPLAY, "prop1", "offer1");
+        xdm.put("myKey", "myValue");
+
+        // verify
+        Assert.assertFalse(InteractionBatcher.isBatchable(xdm));
+    }
+
+    @Test
+    public void testIsBatchable_otherEventType() {
+        Assert.assertFalse(
+                InteractionBatcher.isBatchable(
+                        createXdm("decisioning.propositionDismiss", "prop1", "offer1")));
+        Assert.assertFalse(InteractionBatcher.isBatchable(null));
+    }
+
+    @Test
+    public void testAdd_flushedAtMaxSizeWithMergedPropositions() {
+        // test
+        interactionBatcher.add(createXdm(DISPLAY, "prop1", "offer1"), null, null, 60000, 3);
+        interactionBatcher.add(createXdm(DISPLAY, "prop2", "offer2"), null, null, 60000, 3);
+        Assert.assertTrue(flushedXdms.isEmpty());
+        interactionBatcher.add(createXdm(DISPLAY, "prop1", "offer1"), null, null, 60000, 3);
+
+        // verify
+        Assert.assertEquals(1, flushedXdms.size());
+        final Map<String, Object> xdm = flushedXdms.get(0);
+        Assert.assertEquals(DISPLAY, xdm.get("eventType"));
+        final List<Map<String, Object>> propositions = getPropositions(xdm);
+        Assert.assertEquals(2, propositions.size());
+        Assert.assertEquals("prop1", propositions.get(0).get("id"));
+        Assert.assertEquals("myMbox", propositions.get(0).get("scope"));
+        final List<Map<String, Object>> items =
+                (List<Map<String, Object>>) propositions.get(0).get("items");
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals("offer1", items.get(0).get("id"));
+        Assert.assertEquals("prop2", propositions.get(1).get("id"));
+        Assert.assertEquals(0, interactionBatcher.getBufferedCount());
+        Assert.assertEquals(3, interactionBatcher.getBatchedCount());
+    }
+
+    @Test
+    public void testAdd_repeatedInteractionsReportedOnce() {
+        // test
+        interactionBatcher.add(createXdm(DISPLAY, "prop1", "offer1"), null, null, 60000, 0);
+        interactionBatcher.add(createXdm(DISPLAY, "prop1", "offer1"), null, null, 60000, 0);
+        interactionBatcher.add(createXdm(DISPLAY, "prop1", "offer2"), null, null, 60000, 0);
+        interactionBatcher.flushAll();
+
+        // verify the repeated display is reported once
+        Assert.assertEquals(1, flushedXdms.size());
+        final List<Map<String, Object>> propositions = getPropositions(flushedXdms.get(0));
+        Assert.assertEquals(1, propositions.size());
+        final List<Map<String, Object>> items =
+                (List<Map<String, Object>>) propositions.get(0).get("items");
+        Assert.assertEquals(2, items.size());
+        Assert.assertEquals("offer1", items.get(0).get("id"));
+        Assert.assertEquals("offer2", items.get(1).get("id"));
+        Assert.assertEquals(3, interactionBatcher.getBatchedCount());
+    }
+
+    @Test
+    public void testAdd_batchedPerEventTypeAndDatasetId() {
+        // test
+        interactionBatcher.add(createXdm(DISPLAY, "prop1", "offer1"), null, null, 60000, 0);
+        interactionBatcher.add(createXdm(INTERACT, "prop1", "offer1"), null, null, 60000, 0);
+        interactionBatcher.add(createXdm(DISPLAY, "prop2", "offer2"), "dataset", null, 60000, 0);
+        interactionBatcher.add(createXdm(DISPLAY, "prop3", "offer3"), null, null, 60000, 0);
+        Assert.assertEquals(4, interactionBatcher.getBufferedCount());
+        interactionBatcher.flushAll();
+
+        // verify
+        Assert.assertEquals(3, flushedXdms.size());
+        Assert.assertEquals(DISPLAY, flushedXdms.get(0).get("eventType"));
+        Assert.assertEquals(2, getPropositions(flushedXdms.get(0)).size());
+        Assert.assertNull(flushedDatasetIds.get(0));
+        Assert.assertEquals(INTERACT, flushedXdms.get(1).get("eventType"));
+        Assert.assertEquals(1, getPropositions(flushedXdms.get(1)).size());
+        Assert.assertEquals(DISPLAY, flushedXdms.get(2).get("eventType"));
+        Assert.assertEquals("dataset", flushedDatasetIds.get(2));
+        Assert.assertEquals(0, interactionBatcher.getBufferedCount());
+    }
+
+    @Test
+    public void testAdd_flushedOnceWindowElapses() throws Exception {
+        // test
+        interactionBatcher.add(createXdm(DISPLAY, "prop1", "offer1"), null, null, 50, 0);
+        interactionBatcher.add(createXdm(DISPLAY, "prop1", "offer2"), null, null, 50, 0);
+
+        // verify
+        Assert.assertTrue(flushLatch.await(2, TimeUnit.SECONDS));
+        synchronized (flushedXdms) {
+            Assert.assertEquals(1, flushedXdms.size());
+            final List<Map<String, Object>> propositions = getPropositions(flushedXdms.get(0));
+            Assert.assertEquals(1, propositions.size());
+            Assert.assertEquals(
+                    2, ((List<Map<String, Object>>) propositions.get(0).get("items")).size());
+        }
+        Assert.assertEquals(0, interactionBatcher.getBufferedCount());
+    }
+
+    @Test
+    public void testFlushAll_journalEntryIds() {
+        // test
+        interactionBatcher.add(createXdm(DISPLAY, "prop1", "offer1"), null, "id1", 60000, 0);
+        interactionBatcher.add(createXdm(DISPLAY, "prop2", "offer2"), null, null, 60000, 0);
+        interactionBatcher.add(createXdm(DISPLAY, "prop3", "offer3"), null, "id3", 60000, 0);
+        interactionBatcher.flushAll();
+
+        // verify
+        Assert.assertEquals(1, flushedJournalEntryIds.size());
+        Assert.assertEquals(Arrays.asList("id1", "id3"), flushedJournalEntryIds.get(0));
+    }
+
+    @Test
+    public void testFlushAll_noBatches() {
+        // test
+        interactionBatcher.flushAll();
+
+        // verify
+        Assert.assertTrue(flushedXdms.isEmpty());
+    }
+
+    private Map<String, Object> createXdm(
+            final String eventType, final String propositionId, final String offerId) {
+        final Map<String, Object> item = new HashMap<>();
+        item.put("id", offerId);
+        final Map<String, Object> proposition = new HashMap<>();
+        proposition.put("id", propositionId);
+        proposition.put("scope", "myMbox");
+        proposition.put("scopeDetails", new HashMap<String, Object>());
+        proposition.put("items", Collections.singletonList(item));
+        final Map<String, Object> decisioning = new HashMap<>();
+        decisioning.put("propositions", Collections.singletonList(proposition));
+        final Map<String, Object> experience = new HashMap<>();
+        experience.put("decisioning", decisioning);
+        final Map<String, Object> xdm = new HashMap<>();
+        xdm.put("_experience", experience);
+        xdm.put("eventType", eventType);
+        return xdm;
+    }
+
+    private List<Map<String, Object>> getPropositions(final Map<String, Object> xdm) {
+        final Map<String, Object> experience = (Map<String, Object>) xdm.get("_experience");
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        return (List<Map<String, Object>>) decisioning.get("propositions");
+    }
+}
@@ -0,0 +1,167 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("unchecked")
+public class InteractionCompactorTests {
+    private static final String DISPLAY = "decisioning.propositionDisplay";
+    private static final String INTERACT = "decisioning.propositionInteract";
+
+    private InteractionCompactor interactionCompactor;
+
+    @Before
+    public void setup() {
+        interactionCompactor = new InteractionCompactor();
+    }
+
+    @Test
+    public void testCompact_scopeDetailsRemoved() {
+        // setup
+        final Map<String, Object> xdm = createXdm(INTERACT, "prop1", "prop2");
+        final int xdmSize = new JSONObject(xdm).toString().length();
+
+        // test
+        final Map<String, Object> compactXdm = interactionCompactor.compact(xdm);
+
+        // verify
+        Assert.assertNotSame(xdm, compactXdm);
+        Assert.assertEquals(INTERACT, compactXdm.get("eventType"));
+        final List<Map<String, Object>> propositions = getPropositions(compactXdm);
+        Assert.assertEquals(2, propositions.size());
+        for (final Map<String, Object> proposition : propositions) {
+            Assert.assertFalse(proposition.containsKey("scopeDetails"));
+            Assert.assertEquals("myMbox", proposition.get("scope"));
+            final List<Map<String, Object>> items =
+                    (List<Map<String, Object>>) proposition.get("items");
+            Assert.assertEquals("offer1", items.get(0).get("id"));
+        }
+        Assert.assertEquals("prop1", propositions.get(0).get("id"));
+        Assert.assertEquals("prop2", propositions.get(1).get("id"));
+
+        // verify the original XDM is unchanged
+        Assert.assertTrue(getPropositions(xdm).get(0).containsKey("scopeDetails"));
+
+        // verify the savings match the serialized payload size
+        final int compactXdmSize = new JSONObject(compactXdm).toString().length();
+        Assert.assertEquals(1, interactionCompactor.getCompactedCount());
+        Assert.assertEquals(xdmSize - compactXdmSize, interactionCompactor.getSavedBytes());
+    }
+
+    @Test
+    public void testCompact_savedBytesAccumulated() {
+        // test
+        interactionCompactor.compact(createXdm(DISPLAY, "prop1"));
+        final long savedBytes = interactionCompactor.getSavedBytes();
+        interactionCompactor.compact(createXdm(DISPLAY, "prop1"));
+
+        // verify
+        Assert.assertTrue(savedBytes > 0);
+        Assert.assertEquals(2, interactionCompactor.getCompactedCount());
+        Assert.assertEquals(2 * savedBytes, interactionCompactor.getSavedBytes());
+    }
+
+    @Test
+    public void testCompact_savedBytesEstimatedFromSampledInteractions() {
+        // setup
+        final int interactionsCount =
+                2 * OptimizeConstants.InteractionCompactor.SAVED_BYTES_SAMPLING_INTERVAL + 1;
+        interactionCompactor.compact(createXdm(DISPLAY, "prop1"));
+        final long savedBytes = interactionCompactor.getSavedBytes();
+
+        // test
+        for (int i = 1; i < interactionsCount; i++) {
+            interactionCompactor.compact(createXdm(DISPLAY, "prop1", "prop2"));
+        }
+
+        // verify
+        Assert.assertEquals(interactionsCount, interactionCompactor.getCompactedCount());
+        Assert.assertEquals(
+                (2L * interactionsCount - 1) * savedBytes, interactionCompactor.getSavedBytes());
+    }
+
+    @Test
+    public void testCompact_noScopeDetails() {
+        // setup
+        final Map<String, Object> xdm = createXdm(DISPLAY, "prop1");
+        getPropositions(xdm).get(0).remove("scopeDetails");
+
+        // test
+        final Map<String, Object> compactXdm = interactionCompactor.compact(xdm);
+
+        // verify
+        Assert.assertSame(xdm, compactXdm);
+        Assert.assertEquals(0, interactionCompactor.getCompactedCount());
+        Assert.assertEquals(0, interactionCompactor.getSavedBytes());
+    }
+
+    @Test
+    public void testCompact_xdmWithAdditionalDataNotCompacted() {
+        // setup
+        final Map<String, Object> xdm = createXdm(DISPLAY, "prop1");
+        xdm.put("myKey", "myValue");
+
+        // test
+        final Map<String, Object> compactXdm = interactionCompactor.compact(xdm);
+
+        // verify
+        Assert.assertSame(xdm, compactXdm);
+        Assert.assertTrue(getPropositions(compactXdm).get(0).containsKey("scopeDetails"));
+        Assert.assertEquals(0, interactionCompactor.getCompactedCount());
+    }
+
+    private Map<String, Object> createXdm(final String eventType, final String... propositionIds) {
+        final Map<String, Object> activity = new HashMap<>();
+        activity.put("id", "111111");
+        final Map<String, Object> characteristics = new HashMap<>();
+        characteristics.put("eventToken", "someToken");
+        final Map<String, Object> scopeDetails = new HashMap<>();
+        scopeDetails.put("decisionProvider", "TGT");
+        scopeDetails.put("activity", activity);
+        scopeDetails.put("characteristics", characteristics);
+
+        final Map<String, Object> item = new HashMap<>();
+        item.put("id", "offer1");
+        final Map<String, Object>[] propositions = new Map[propositionIds.length];
+        for (int i = 0; i < propositionIds.length; i++) {
+            final Map<String, Object> proposition = new HashMap<>();
+            proposition.put("id", propositionIds[i]);
+            proposition.put("scope", "myMbox");
+            proposition.put("scopeDetails", scopeDetails);
+            proposition.put("items", Collections.singletonList(item));
+            propositions[i] = proposition;
+        }
+        final Map<String, Object> decisioning = new HashMap<>();
+        decisioning.put("propositions", Arrays.asList(propositions));
+        final Map<String, Object> experience = new HashMap<>();
+        experience.put("decisioning", decisioning);
+        final Map<String, Object> xdm = new HashMap<>();
+        xdm.put("_experience", experience);
+        xdm.put("eventType", eventType);
+        return xdm;
+    }
+
+    private List<Map<String, Object>> getPropositions(final Map<String, Object> xdm) {
+        final Map<String, Object> experience = (Map<String, Object>) xdm.get("_experience");
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        return (List<Map<String, Object>>) decisioning.get("propositions");
+    }
+}
@@ -0,0 +1,195 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SuppressWarnings({"unchecked"})
+public class InteractionJournalTests {
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File directory;
+    private InteractionJournal journal;
+
+    @Before
+    public void setup() throws Exception {
+        directory = temporaryFolder.newFolder("aepsdkoptimize");
+        journal = new InteractionJournal(directory);
+    }
+
+    @Test
+    public void testLoad_noJournal() {
+        // test
+        final List<InteractionJournal.Entry> entries = journal.load();
+
+        // verify
+        Assert.assertTrue(entries.isEmpty());
+        Assert.assertEquals(0, journal.getPendingCount());
+    }
+
+    @Test
+    public void testLoad_pendingEntriesReplayed() {
+        // setup
+        journal.load();
+        journal.append("id1", createXdm("prop1"), null, 10);
+        journal.append("id2", createXdm("prop2"), "111111111111111111111111", 10);
+        journal.append("id3", createXdm("prop3"), null, 10);
+        journal.acknowledge(Collections.singletonList("id1"));
+
+        // test
+        final InteractionJournal relaunchedJournal = new InteractionJournal(directory);
+        final List<InteractionJournal.Entry> entries = relaunchedJournal.load();
+
+        // verify
+        Assert.assertEquals(2, entries.size());
+        Assert.assertEquals("id2", entries.get(0).id);
+        Assert.assertEquals("111111111111111111111111", entries.get(0).datasetId);
+        Assert.assertEquals("decisioning.propositionDisplay", entries.get(0).xdm.get("eventType"));
+        Assert.assertEquals("id3", entries.get(1).id);
+        Assert.assertNull(entries.get(1).datasetId);
+        Assert.assertEquals(2, relaunchedJournal.getPendingCount());
+    }
+
+    @Test
+    public void testLoad_entriesJournaledBeforeLoadNotReplayed() {
+        // setup
+        journal.load();
+        journal.append("id1", createXdm("prop1"), null, 10);
+        final InteractionJournal relaunchedJournal = new InteractionJournal(directory);
+        relaunchedJournal.append("id2", createXdm("prop2"), null, 10);
+
+        // test
+        final List<InteractionJournal.Entry> entries = relaunchedJournal.load();
+
+        // verify
+        Assert.assertEquals(1, entries.size());
+        Assert.assertEquals("id1", entries.get(0).id);
+        Assert.assertEquals(2, relaunchedJournal.getPendingCount());
+    }
+
+    @Test
+    public void testLoad_tornRecordIgnored() throws Exception {
+        // setup
+        journal.load();
+        journal.append("id1", createXdm("prop1"), null, 10);
+        try (FileOutputStream outputStream =
+                new FileOutputStream(new File(directory, "interactions.journal"), true)) {
+            outputStream.write("{\"id\":\"id2\",\"xd".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // test
+        final List<InteractionJournal.Entry> entries = new InteractionJournal(directory).load();
+
+        // verify
+        Assert.assertEquals(1, entries.size());
+        Assert.assertEquals("id1", entries.get(0).id);
+    }
+
+    @Test
+    public void testAcknowledge_journalCompacted() {
+        // setup
+        journal.load();
+        for (int i = 0; i < 150; i++) {
+            journal.append("id" + i, createXdm("prop" + i), null, 1000);
+        }
+        final File journalFile = new File(directory, "interactions.journal");
+        final long journalSize = journalFile.length();
+
+        // test
+        for (int i = 0; i < 100; i++) {
+            journal.acknowledge(Collections.singletonList("id" + i));
+        }
+
+        // verify
+        Assert.assertTrue(journalFile.length() < journalSize);
+        final List<InteractionJournal.Entry> entries = new InteractionJournal(directory).load();
+        Assert.assertEquals(50, entries.size());
+        Assert.assertEquals("id100", entries.get(0).id);
+    }
+
+    @Test
+    public void testLoad_acknowledgedEntriesNotReplayed() {
+        // setup
+        journal.load();
+        journal.append("id1", createXdm("prop1"), null, 10);
+        journal.acknowledge(Arrays.asList("id1", "unknown"));
+
+        // test
+        final List<InteractionJournal.Entry> entries = new InteractionJournal(directory).load();
+
+        // verify
+        Assert.assertTrue(entries.isEmpty());
+        Assert.assertFalse(new File(directory, "interactions.journal").exists());
+    }
+
+    @Test
+    public void testAppend_oldestEntryDroppedAtMaxSize() {
+        // setup
+        journal.load();
+
+        // test
+        journal.append("id1", createXdm("prop1"), null, 2);
+        journal.append("id2", createXdm("prop2"), null, 2);
+        journal.append("id3", createXdm("prop3"), null, 2);
+
+        // verify
+        Assert.assertEquals(2, journal.getPendingCount());
+        final List<InteractionJournal.Entry> entries = new InteractionJournal(directory).load();
+        Assert.assertEquals(2, entries.size());
+        Assert.assertEquals("id2", entries.get(0).id);
+        Assert.assertEquals("id3", entries.get(1).id);
+    }
+
+    @Test
+    public void testClear() {
+        // setup
+        journal.load();
+        journal.append("id1", createXdm("prop1"), null, 10);
+
+        // test
+        journal.clear();
+
+        // verify
+        Assert.assertEquals(0, journal.getPendingCount());
+        Assert.assertFalse(new File(directory, "interactions.journal").exists());
+        Assert.assertTrue(new InteractionJournal(directory).load().isEmpty());
+    }
+
+    private Map<String, Object> createXdm(final String propositionId) {
+        final Map<String, Object> item = new HashMap<>();
+        item.put("id", "offer");
+        final Map<String, Object> proposition = new HashMap<>();
+        proposition.put("id", propositionId);
+        proposition.put("scope", "myMbox");
+        proposition.put("items", Collections.singletonList(item));
+        final Map<String, Object> decisioning = new HashMap<>();
+        decisioning.put("propositions", Collections.singletonList(proposition));
+        final Map<String, Object> experience = new HashMap<>();
+        experience.put("decisioning", decisioning);
+        final Map<String, Object> xdm = new HashMap<>();
+        xdm.put("_experience", experience);
+        xdm.put("eventType", "decisioning.propositionDisplay");
+        return xdm;
+    }
+}
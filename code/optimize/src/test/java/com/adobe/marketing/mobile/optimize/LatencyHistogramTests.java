@@ -0,0 +1,87 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTests {
+
+    @Test
+    public void testGetPercentile_noSamples() {
+        // setup
+        final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+        // verify
+        Assert.assertEquals(0, latencyHistogram.getCount());
+        Assert.assertEquals(-1L, latencyHistogram.getPercentile(0.99));
+    }
+
+    @Test
+    public void testGetPercentile() {
+        // setup
+        final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+        // test
+        for (int i = 100; i >= 1; i--) {
+            latencyHistogram.record(i * 10L);
+        }
+
+        // verify
+        Assert.assertEquals(100, latencyHistogram.getCount());
+        Assert.assertEquals(500L, latencyHistogram.getPercentile(0.5));
+        Assert.assertEquals(990L, latencyHistogram.getPercentile(0.99));
+        Assert.assertEquals(1000L, latencyHistogram.getPercentile(1));
+    }
+
+    @Test
+    public void testRecord_evictsOldestSamples() {
+        // setup
+        final LatencyHistogram latencyHistogram = new LatencyHistogram(2);
+
+        // test
+        latencyHistogram.record(5000);
+        latencyHistogram.record(100);
+        latencyHistogram.record(200);
+
+        // verify
+        Assert.assertEquals(2, latencyHistogram.getCount());
+        Assert.assertEquals(200L, latencyHistogram.getPercentile(0.99));
+        final Map<String, Integer> buckets =
+                (Map<String, Integer>) latencyHistogram.toEventData().get("buckets");
+        Assert.assertEquals(Integer.valueOf(0), buckets.get("5000"));
+    }
+
+    @Test
+    public void testToEventData() {
+        // setup
+        final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+        // test
+        latencyHistogram.record(40);
+        latencyHistogram.record(50);
+        latencyHistogram.record(700);
+        latencyHistogram.record(45000);
+
+        // verify
+        final Map<String, Object> data = latencyHistogram.toEventData();
+        Assert.assertEquals(4, data.get("count"));
+        Assert.assertEquals(50L, data.get("p50"));
+        Assert.assertEquals(45000L, data.get("p99"));
+        final Map<String, Integer> buckets = (Map<String, Integer>) data.get("buckets");
+        Assert.assertEquals(10, buckets.size());
+        Assert.assertEquals(Integer.valueOf(2), buckets.get("50"));
+        Assert.assertEquals(Integer.valueOf(1), buckets.get("1000"));
+        Assert.assertEquals(Integer.valueOf(1), buckets.get("inf"));
+    }
+}
@@ -16,6 +16,7 @@ import com.adobe.marketing.mobile.MobileCore;
 import com.adobe.marketing.mobile.services.Log;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -724,6 +725,156 @@ public class OfferTests {
         Assert.assertNull(propositionInteractionXdm);
     }
 
+    @Test
+    public void testGenerateInteractionXdm_prebuiltForImmutableProposition() throws Exception {
+        // setup
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID_TARGET.json"),
+                                HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData).toImmutable();
+        Offer offer = optimizeProposition.getOffers().get(0);
+
+        // test
+        final Map<String, Object> displayXdm = offer.generateDisplayInteractionXdm();
+        final Map<String, Object> tapXdm = offer.generateTapInteractionXdm();
+
+        // verify
+        final Map<String, Object> repeatedDisplayXdm = offer.generateDisplayInteractionXdm();
+        Assert.assertNotSame(displayXdm, repeatedDisplayXdm);
+        Assert.assertEquals(displayXdm, repeatedDisplayXdm);
+        Assert.assertSame(displayXdm.get("_experience"), repeatedDisplayXdm.get("_experience"));
+        Assert.assertEquals("decisioning.propositionDisplay", displayXdm.get("eventType"));
+        Assert.assertEquals("decisioning.propositionInteract", tapXdm.get("eventType"));
+        Assert.assertSame(displayXdm.get("_experience"), tapXdm.get("_experience"));
+        final Map<String, Object> experience = (Map<String, Object>) tapXdm.get("_experience");
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        final List<Map<String, Object>> propositions =
+                (List<Map<String, Object>>) decisioning.get("propositions");
+        Assert.assertEquals(optimizeProposition.getId(), propositions.get(0).get("id"));
+    }
+
+    @Test
+    public void testGenerateInteractionXdm_modifiable() throws Exception {
+        // setup
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID.json"),
+                                HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+        Offer offer = optimizeProposition.getOffers().get(0);
+        final Map<String, Object> displayXdm = offer.generateDisplayInteractionXdm();
+
+        // test
+        displayXdm.put("myKey", "myValue");
+
+        // verify
+        Assert.assertEquals("myValue", displayXdm.get("myKey"));
+        Assert.assertFalse(offer.generateDisplayInteractionXdm().containsKey("myKey"));
+    }
+
+    @Test
+    public void testGenerateInteractionXdm_immutablePropositionScopeDetailsNotCopied()
+            throws Exception {
+        // setup
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID.json"),
+                                HashMap.class);
+        final OptimizeProposition proposition =
+                OptimizeProposition.fromEventData(propositionData).toImmutable();
+
+        // test
+        final Map<String, Object> displayXdm =
+                proposition.getOffers().get(0).generateDisplayInteractionXdm();
+
+        // verify
+        final Map<String, Object> experience = (Map<String, Object>) displayXdm.get("_experience");
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        final List<Map<String, Object>> propositions =
+                (List<Map<String, Object>>) decisioning.get("propositions");
+        Assert.assertSame(proposition.getScopeDetails(), propositions.get(0).get("scopeDetails"));
+    }
+
+    @Test
+    public void testGenerateInteractionXdm_rebuiltForModifiableProposition() throws Exception {
+        // setup
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID.json"),
+                                HashMap.class);
+        final OptimizeProposition proposition = OptimizeProposition.fromEventData(propositionData);
+        final Offer offer = proposition.getOffers().get(0);
+        final Map<String, Object> displayXdm = offer.generateDisplayInteractionXdm();
+
+        // test
+        proposition.getScopeDetails().put("correlationID", "otherCorrelationId");
+        final Map<String, Object> otherDisplayXdm = offer.generateDisplayInteractionXdm();
+
+        // verify
+        Assert.assertNotSame(displayXdm.get("_experience"), otherDisplayXdm.get("_experience"));
+        final Map<String, Object> experience =
+                (Map<String, Object>) otherDisplayXdm.get("_experience");
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        final List<Map<String, Object>> propositions =
+                (List<Map<String, Object>>) decisioning.get("propositions");
+        final Map<String, Object> scopeDetails =
+                (Map<String, Object>) propositions.get(0).get("scopeDetails");
+        Assert.assertEquals("otherCorrelationId", scopeDetails.get("correlationID"));
+    }
+
+    @Test
+    public void testGenerateInteractionXdm_rebuiltForOtherProposition() throws Exception {
+        // setup
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID.json"),
+                                HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+        Offer offer = optimizeProposition.getOffers().get(0);
+        final Map<String, Object> displayXdm = offer.generateDisplayInteractionXdm();
+
+        // test
+        offer.propositionReference = null;
+        final OptimizeProposition otherProposition =
+                new OptimizeProposition(
+                        "otherPropositionId",
+                        Collections.singletonList(offer),
+                        "otherScope",
+                        new HashMap<>());
+        final Map<String, Object> otherDisplayXdm = offer.generateDisplayInteractionXdm();
+
+        // verify
+        Assert.assertNotSame(displayXdm, otherDisplayXdm);
+        final Map<String, Object> experience =
+                (Map<String, Object>) otherDisplayXdm.get("_experience");
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        final List<Map<String, Object>> propositions =
+                (List<Map<String, Object>>) decisioning.get("propositions");
+        Assert.assertEquals(otherProposition.getId(), propositions.get(0).get("id"));
+        Assert.assertEquals("otherScope", propositions.get(0).get("scope"));
+    }
+
     @Test
     public void testDisplayed_validProposition() throws Exception {
         try (MockedStatic<MobileCore> mobileCoreMockedStatic =
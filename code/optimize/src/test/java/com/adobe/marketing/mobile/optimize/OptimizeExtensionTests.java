@@ -12,24 +12,33 @@
 package com.adobe.marketing.mobile.optimize;
 
 import android.util.Base64;
+import com.adobe.marketing.mobile.AdobeCallbackWithError;
+import com.adobe.marketing.mobile.AdobeError;
 import com.adobe.marketing.mobile.Event;
 import com.adobe.marketing.mobile.ExtensionApi;
 import com.adobe.marketing.mobile.ExtensionEventListener;
+import com.adobe.marketing.mobile.MobileCore;
 import com.adobe.marketing.mobile.SharedStateResolution;
 import com.adobe.marketing.mobile.SharedStateResult;
 import com.adobe.marketing.mobile.SharedStateStatus;
 import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.util.SerialWorkDispatcher;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
@@ -42,6 +51,8 @@ import org.mockito.stubbing.Answer;
 @RunWith(MockitoJUnitRunner.Silent.class)
 @SuppressWarnings("unchecked")
 public class OptimizeExtensionTests {
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private OptimizeExtension extension;
 
     @Mock ExtensionApi mockExtensionApi;
@@ -56,6 +67,11 @@ public class OptimizeExtensionTests {
         Mockito.clearInvocations(mockExtensionApi);
     }
 
+    @After
+    public void teardown() {
+        extension.onUnregistered();
+    }
+
     @Test
     public void test_getName() {
         // test
@@ -92,6 +108,7 @@ public class OptimizeExtensionTests {
         Mockito.clearInvocations(mockExtensionApi);
 
         // test
+        extension.onUnregistered();
         extension = new OptimizeExtension(mockExtensionApi);
         extension.onRegistered();
 
@@ -125,6 +142,21 @@ public class OptimizeExtensionTests {
                         ArgumentMatchers.eq("com.adobe.eventType.optimize"),
                         ArgumentMatchers.eq("com.adobe.eventSource.contentComplete"),
                         ArgumentMatchers.any(ExtensionEventListener.class));
+        Mockito.verify(mockExtensionApi, Mockito.times(1))
+                .registerEventListener(
+                        ArgumentMatchers.eq("com.adobe.eventType.generic.lifecycle"),
+                        ArgumentMatchers.eq("com.adobe.eventSource.requestContent"),
+                        ArgumentMatchers.any(ExtensionEventListener.class));
+        Mockito.verify(mockExtensionApi, Mockito.times(1))
+                .registerEventListener(
+                        ArgumentMatchers.eq("com.adobe.eventType.lifecycle"),
+                        ArgumentMatchers.eq("com.adobe.eventSource.responseContent"),
+                        ArgumentMatchers.any(ExtensionEventListener.class));
+        Mockito.verify(mockExtensionApi, Mockito.times(1))
+                .registerEventListener(
+                        ArgumentMatchers.eq("com.adobe.eventType.configuration"),
+                        ArgumentMatchers.eq("com.adobe.eventSource.responseContent"),
+                        ArgumentMatchers.any(ExtensionEventListener.class));
     }
 
     @Test
@@ -371,9 +403,10 @@ public class OptimizeExtensionTests {
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleUpdatePropositions_validDecisionScopeWithXdmAndDataAndDatasetId() {
-        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+    public void testHandleUpdatePropositions_coalescesCompatibleRequests() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
             base64MockedStatic
                     .when(
                             () ->
@@ -392,66 +425,100 @@ public class OptimizeExtensionTests {
                     new HashMap<String, Object>() {
                         {
                             put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
-                            put("optimize.datasetId", "111111111111111111111111");
+                            put("optimize.updateCoalescingWindow", 60);
                         }
                     });
 
-            final DecisionScope testScope =
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
-                        {
-                            add(testScope.toEventData());
-                        }
-                    });
-            testEventData.put(
-                    "xdm",
-                    new HashMap<String, Object>() {
-                        {
-                            put("myXdmKey", "myXdmValue");
-                        }
-                    });
-            testEventData.put(
-                    "data",
-                    new HashMap<String, Object>() {
-                        {
-                            put("myKey", "myValue");
-                        }
-                    });
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Update Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
+            final OptimizeProposition testPropositionA = loadProposition("PROPOSITION_VALID.json");
+            final OptimizeProposition testPropositionB =
+                    loadProposition("PROPOSITION_VALID_B.json");
+            final DecisionScope testScopeA = new DecisionScope(testPropositionA.getScope());
+            final DecisionScope testScopeB = new DecisionScope(testPropositionB.getScope());
+            final Event testEventA = createUpdatePropositionsEvent(testScopeA, null);
+            final Event testEventB = createUpdatePropositionsEvent(testScopeB, null);
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleUpdatePropositions(testEventA);
+            extension.handleUpdatePropositions(testEventB);
 
-            // verify
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(1, updateEventIdsInProgress.size());
-            Assert.assertTrue(
-                    updateEventIdsInProgress.containsValue(
-                            new ArrayList<DecisionScope>() {
-                                {
-                                    add(testScope);
-                                }
-                            }));
+            // verify the requests are held until the coalescing window elapses
+            Assert.assertTrue(extension.getUpdateRequestEventIdsInProgress().isEmpty());
+            mobileCoreMockedStatic.verifyNoInteractions();
+
+            extension.sendPendingCoalescedUpdates();
+
+            final ArgumentCaptor<Event> edgeEventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    edgeEventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()),
+                    Mockito.times(1));
+            final Event edgeEvent = edgeEventCaptor.getValue();
+            final Map<String, Object> queryPersonalization =
+                    (Map<String, Object>)
+                            ((Map<String, Object>) edgeEvent.getEventData().get("query"))
+                                    .get("personalization");
+            Assert.assertEquals(
+                    Arrays.asList(testScopeA.getName(), testScopeB.getName()),
+                    queryPersonalization.get("decisionScopes"));
+            Assert.assertEquals(
+                    Arrays.asList(testScopeA, testScopeB),
+                    extension.getUpdateRequestEventIdsInProgress().get(
+                            edgeEvent.getUniqueIdentifier()));
+
+            // each request is responded with the propositions for its own scope
+            final Map<DecisionScope, OptimizeProposition> propositionsInProgress =
+                    new HashMap<>();
+            propositionsInProgress.put(testScopeA, testPropositionA);
+            propositionsInProgress.put(testScopeB, testPropositionB);
+            extension.setPropositionsInProgress(
+                    edgeEvent.getUniqueIdentifier(), propositionsInProgress);
+
+            final Map<String, Object> callbackEventData = new HashMap<>();
+            callbackEventData.put("requestEventId", edgeEvent.getUniqueIdentifier());
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Edge Content Complete",
+                                            "com.adobe.eventType.edge",
+                                            "com.adobe.eventSource.contentComplete")
+                                    .setEventData(callbackEventData)
+                                    .build());
+
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(3)).dispatch(eventCaptor.capture());
+            final List<Event> dispatchedEvents = eventCaptor.getAllValues();
+
+            final Event responseEventA = dispatchedEvents.get(0);
+            Assert.assertEquals(testEventA.getUniqueIdentifier(), responseEventA.getResponseID());
+            final List<Map<String, Object>> propositionsListA =
+                    (List<Map<String, Object>>) responseEventA.getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsListA.size());
+            Assert.assertEquals(testScopeA.getName(), propositionsListA.get(0).get("scope"));
+
+            final Event responseEventB = dispatchedEvents.get(1);
+            Assert.assertEquals(testEventB.getUniqueIdentifier(), responseEventB.getResponseID());
+            final List<Map<String, Object>> propositionsListB =
+                    (List<Map<String, Object>>) responseEventB.getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsListB.size());
+            Assert.assertEquals(testScopeB.getName(), propositionsListB.get(0).get("scope"));
+
+            Assert.assertEquals(
+                    "com.adobe.eventSource.contentComplete", dispatchedEvents.get(2).getSource());
         }
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleUpdatePropositions_validDecisionScopeWithXdmAndDataAndNoDatasetId() {
-        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+    public void testHandleUpdatePropositions_doesNotCoalesceRequestsWithDifferentXdm()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
             base64MockedStatic
                     .when(
                             () ->
@@ -470,65 +537,42 @@ public class OptimizeExtensionTests {
                     new HashMap<String, Object>() {
                         {
                             put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.updateCoalescingWindow", 60);
                         }
                     });
 
-            final DecisionScope testScope =
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
-                        {
-                            add(testScope.toEventData());
-                        }
-                    });
-            testEventData.put(
-                    "xdm",
-                    new HashMap<String, Object>() {
-                        {
-                            put("myXdmKey", "myXdmValue");
-                        }
-                    });
-            testEventData.put(
-                    "data",
-                    new HashMap<String, Object>() {
-                        {
-                            put("myKey", "myValue");
-                        }
-                    });
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Update Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
+            final DecisionScope testScopeA =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID.json").getScope());
+            final DecisionScope testScopeB =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID_B.json").getScope());
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleUpdatePropositions(
+                    createUpdatePropositionsEvent(
+                            testScopeA, Collections.singletonMap("myXdmKey", "valueA")));
+            extension.handleUpdatePropositions(
+                    createUpdatePropositionsEvent(
+                            testScopeB, Collections.singletonMap("myXdmKey", "valueB")));
+            extension.sendPendingCoalescedUpdates();
 
             // verify
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(1, updateEventIdsInProgress.size());
-            Assert.assertTrue(
-                    updateEventIdsInProgress.containsValue(
-                            new ArrayList<DecisionScope>() {
-                                {
-                                    add(testScope);
-                                }
-                            }));
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)),
+                    Mockito.times(2));
+            Assert.assertEquals(2, extension.getUpdateRequestEventIdsInProgress().size());
         }
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleUpdatePropositions_multipleValidDecisionScopes() {
-        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+    public void testHandleUpdatePropositions_attachesToInFlightRequestForSameScopes()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
             base64MockedStatic
                     .when(
                             () ->
@@ -550,96 +594,127 @@ public class OptimizeExtensionTests {
                         }
                     });
 
-            final DecisionScope testScope1 =
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
-            final DecisionScope testScope2 = new DecisionScope("myMbox");
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
-                        {
-                            add(testScope1.toEventData());
-                            add(testScope2.toEventData());
-                        }
-                    });
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Update Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
+            final OptimizeProposition testProposition = loadProposition("PROPOSITION_VALID.json");
+            final DecisionScope testScope = new DecisionScope(testProposition.getScope());
+            final Event testEvent1 = createUpdatePropositionsEvent(testScope, null);
+            final Event testEvent2 = createUpdatePropositionsEvent(testScope, null);
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleUpdatePropositions(testEvent1);
+            extension.handleUpdatePropositions(testEvent2);
+
+            // verify a single Edge request is sent
+            final ArgumentCaptor<Event> edgeEventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    edgeEventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()),
+                    Mockito.times(1));
+            Assert.assertEquals(1, extension.getUpdateRequestEventIdsInProgress().size());
+
+            // both requests are responded once the Edge request completes
+            extension.setPropositionsInProgress(
+                    edgeEventCaptor.getValue().getUniqueIdentifier(),
+                    Collections.singletonMap(testScope, testProposition));
+
+            final Map<String, Object> callbackEventData = new HashMap<>();
+            callbackEventData.put(
+                    "requestEventId", edgeEventCaptor.getValue().getUniqueIdentifier());
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Edge Content Complete",
+                                            "com.adobe.eventType.edge",
+                                            "com.adobe.eventSource.contentComplete")
+                                    .setEventData(callbackEventData)
+                                    .build());
 
-            // verify
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(1, updateEventIdsInProgress.size());
-            Assert.assertTrue(
-                    updateEventIdsInProgress.containsValue(
-                            new ArrayList<DecisionScope>() {
-                                {
-                                    add(testScope1);
-                                    add(testScope2);
-                                }
-                            }));
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(3)).dispatch(eventCaptor.capture());
+            final List<Event> dispatchedEvents = eventCaptor.getAllValues();
+            Assert.assertEquals(
+                    testEvent1.getUniqueIdentifier(), dispatchedEvents.get(0).getResponseID());
+            Assert.assertEquals(
+                    testEvent2.getUniqueIdentifier(), dispatchedEvents.get(1).getResponseID());
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>)
+                            dispatchedEvents.get(1).getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsList.size());
+            Assert.assertEquals(testScope.getName(), propositionsList.get(0).get("scope"));
+
+            // a new request for the same scope is sent once the previous one completed
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)),
+                    Mockito.times(2));
         }
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_UpdatePropositions_configurationNotAvailable() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+    public void testHandleUpdatePropositions_doesNotAttachToInFlightRequestForOtherScopes()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
 
             // setup
-            final DecisionScope testScope =
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
                         {
-                            add(testScope.toEventData());
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
                         }
                     });
 
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Update Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
+            final DecisionScope testScopeA =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID.json").getScope());
+            final DecisionScope testScopeB =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID_B.json").getScope());
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScopeA, null));
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScopeB, null));
+            extension.handleUpdatePropositions(
+                    createUpdatePropositionsEvent(
+                            testScopeA, Collections.singletonMap("myXdmKey", "myXdmValue")));
 
             // verify
-            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
-            logMockedStatic.verify(
+            mobileCoreMockedStatic.verify(
                     () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()));
-
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(0, updateEventIdsInProgress.size());
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)),
+                    Mockito.times(3));
+            Assert.assertEquals(3, extension.getUpdateRequestEventIdsInProgress().size());
         }
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_HandleUpdatePropositions_noDecisionScopes() {
+    public void testHandleOptimizeRequestContent_getWaitsForPendingCoalescedUpdate()
+            throws Exception {
         try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
-                MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+                MockedStatic<MobileCore> ignored = Mockito.mockStatic(MobileCore.class)) {
             base64MockedStatic
                     .when(
                             () ->
@@ -658,16 +733,22 @@ public class OptimizeExtensionTests {
                     new HashMap<String, Object>() {
                         {
                             put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.updateCoalescingWindow", 60);
                         }
                     });
 
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put("decisionscopes", new ArrayList<Map<String, Object>>());
+            final OptimizeProposition testProposition = loadProposition("PROPOSITION_VALID.json");
+            final DecisionScope testScope = new DecisionScope(testProposition.getScope());
+            extension.setCachedPropositions(Collections.singletonMap(testScope, testProposition));
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
 
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "getpropositions");
+            testEventData.put(
+                    "decisionscopes", Collections.singletonList(testScope.toEventData()));
             final Event testEvent =
                     new Event.Builder(
-                                    "Optimize Update Propositions Request",
+                                    "Optimize Get Propositions Request",
                                     "com.adobe.eventType.optimize",
                                     "com.adobe.eventSource.requestContent")
                             .setEventData(testEventData)
@@ -676,27 +757,16 @@ public class OptimizeExtensionTests {
             // test
             extension.handleOptimizeRequestContent(testEvent);
 
-            // verify
-            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()),
-                    Mockito.times(2));
-
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(0, updateEventIdsInProgress.size());
+            // verify the get request is not responded from the cache while the update is pending
+            Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
         }
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_HandleUpdatePropositions_invalidDecisionScope() {
+    public void testHandleOptimizeRequestContent_getRespondedWithPendingScopesAtDeadline()
+            throws Exception {
         try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
-                MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+                MockedStatic<MobileCore> ignored = Mockito.mockStatic(MobileCore.class)) {
             base64MockedStatic
                     .when(
                             () ->
@@ -715,25 +785,23 @@ public class OptimizeExtensionTests {
                     new HashMap<String, Object>() {
                         {
                             put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.updateCoalescingWindow", 60);
                         }
                     });
 
-            final DecisionScope testScope =
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoiIn0=");
+            final OptimizeProposition testProposition = loadProposition("PROPOSITION_VALID.json");
+            final DecisionScope testScope = new DecisionScope(testProposition.getScope());
+            extension.setCachedPropositions(Collections.singletonMap(testScope, testProposition));
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
+
             final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put("requesttype", "getpropositions");
             testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
-                        {
-                            add(testScope.toEventData());
-                        }
-                    });
-
+                    "decisionscopes", Collections.singletonList(testScope.toEventData()));
+            testEventData.put("deadline", 100L);
             final Event testEvent =
                     new Event.Builder(
-                                    "Optimize Update Propositions Request",
+                                    "Optimize Get Propositions Request",
                                     "com.adobe.eventType.optimize",
                                     "com.adobe.eventSource.requestContent")
                             .setEventData(testEventData)
@@ -742,34 +810,25 @@ public class OptimizeExtensionTests {
             // test
             extension.handleOptimizeRequestContent(testEvent);
 
-            // verify
-            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()),
-                    Mockito.times(2));
-            logMockedStatic.verify(
-                    () ->
-                            Log.warning(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()));
-
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(0, updateEventIdsInProgress.size());
+            // verify the get request is responded from the cache once its deadline expires
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.timeout(2000).times(1))
+                    .dispatch(eventCaptor.capture());
+            final Map<String, Object> responseEventData = eventCaptor.getValue().getEventData();
+            Assert.assertEquals(
+                    Collections.singletonList(testScope.toEventData()),
+                    responseEventData.get("pendingscopes"));
+            Assert.assertEquals(
+                    1, ((List<Map<String, Object>>) responseEventData.get("propositions")).size());
+            Assert.assertEquals(0, extension.getWaitingGetRequestsCount());
         }
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleUpdatePropositions_validAndInvalidDecisionScopes() {
-        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+    public void testHandleOptimizeRequestContent_getWaitsOnlyForUpdatesOfRequestedScopes()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> ignored = Mockito.mockStatic(MobileCore.class)) {
             base64MockedStatic
                     .when(
                             () ->
@@ -790,583 +849,629 @@ public class OptimizeExtensionTests {
                             put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
                         }
                     });
+            extension.setEventsDispatcher(mockEventsDispatcher);
 
-            final DecisionScope testScope1 =
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoiIiwicGxhY2VtZW50SWQiOiJ4Y29yZTpvZmZlci1wbGFjZW1lbnQ6MTExMTExMTExMTExMTExMSJ9");
-            final DecisionScope testScope2 = new DecisionScope("myMbox");
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
+            final DecisionScope testScopeA =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID.json").getScope());
+            final DecisionScope testScopeB =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID_B.json").getScope());
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScopeA, null));
+            final String updateRequestEventId =
+                    extension.getUpdateRequestEventIdsInProgress().keySet().iterator().next();
+
+            final Event testGetEventA = createGetPropositionsEvent(testScopeA);
+            final Event testGetEventB = createGetPropositionsEvent(testScopeB);
+
+            // test
+            extension.handleOptimizeRequestContent(testGetEventB);
+            extension.handleOptimizeRequestContent(testGetEventA);
+
+            // verify the get request for the unrelated scope is not held by the update
+            Mockito.verify(mockEventsDispatcher, Mockito.times(1)).offer(testGetEventB);
+            Mockito.verify(mockEventsDispatcher, Mockito.never()).offer(testGetEventA);
+            Assert.assertEquals(1, extension.getWaitingGetRequestsCount());
+
+            // test
+            extension.handleUpdatePropositionsCompleted(
+                    new Event.Builder(
+                                    "Optimize Update Propositions Complete",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.contentComplete")
+                            .setEventData(
+                                    Collections.singletonMap(
+                                            "completedUpdateRequestForEventId",
+                                            updateRequestEventId))
+                            .build());
+
+            // verify the get request is released once the update of its scope completes
+            Mockito.verify(mockEventsDispatcher, Mockito.times(1)).offer(testGetEventA);
+            Assert.assertEquals(0, extension.getWaitingGetRequestsCount());
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_collapsesDuplicateWaitingGetRequests()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> ignored = Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
                         {
-                            add(testScope1.toEventData());
-                            add(testScope2.toEventData());
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
                         }
                     });
-            final Event testEvent =
+            extension.setEventsDispatcher(mockEventsDispatcher);
+
+            final OptimizeProposition testProposition = loadProposition("PROPOSITION_VALID.json");
+            final DecisionScope testScope = new DecisionScope(testProposition.getScope());
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
+            final String updateRequestEventId =
+                    extension.getUpdateRequestEventIdsInProgress().keySet().iterator().next();
+
+            final Event testGetEvent1 = createGetPropositionsEvent(testScope);
+            final Event testGetEvent2 = createGetPropositionsEvent(testScope);
+
+            // test
+            extension.handleOptimizeRequestContent(testGetEvent1);
+            extension.handleOptimizeRequestContent(testGetEvent2);
+            extension.setPropositionsInProgress(
+                    updateRequestEventId, Collections.singletonMap(testScope, testProposition));
+            extension.handleUpdatePropositionsCompleted(
                     new Event.Builder(
-                                    "Optimize Update Propositions Request",
+                                    "Optimize Update Propositions Complete",
                                     "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
+                                    "com.adobe.eventSource.contentComplete")
+                            .setEventData(
+                                    Collections.singletonMap(
+                                            "completedUpdateRequestForEventId",
+                                            updateRequestEventId))
+                            .build());
+
+            // verify a single event is queued for the collapsed requests
+            Assert.assertEquals(0, extension.getWaitingGetRequestsCount());
+            final ArgumentCaptor<Event> queuedEventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockEventsDispatcher, Mockito.times(1))
+                    .offer(queuedEventCaptor.capture());
+            Assert.assertSame(testGetEvent1, queuedEventCaptor.getValue());
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleGetPropositions(queuedEventCaptor.getValue());
 
-            // verify
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(1, updateEventIdsInProgress.size());
-            Assert.assertTrue(
-                    updateEventIdsInProgress.containsValue(
-                            new ArrayList<DecisionScope>() {
-                                {
-                                    add(testScope2);
-                                }
-                            }));
+            // verify both requests are responded
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(2)).dispatch(eventCaptor.capture());
+            final List<Event> dispatchedEvents = eventCaptor.getAllValues();
+            Assert.assertEquals(
+                    testGetEvent1.getUniqueIdentifier(), dispatchedEvents.get(0).getResponseID());
+            Assert.assertEquals(
+                    testGetEvent2.getUniqueIdentifier(), dispatchedEvents.get(1).getResponseID());
+            for (final Event dispatchedEvent : dispatchedEvents) {
+                final List<Map<String, Object>> propositionsList =
+                        (List<Map<String, Object>>)
+                                dispatchedEvent.getEventData().get("propositions");
+                Assert.assertEquals(1, propositionsList.size());
+                Assert.assertEquals(testScope.getName(), propositionsList.get(0).get("scope"));
+            }
+
+            final Event testMetricsEvent =
+                    new Event.Builder(
+                                    "Optimize Get Metrics Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(Collections.singletonMap("requesttype", "getmetrics"))
+                            .build();
+            extension.handleGetMetrics(testMetricsEvent);
+            Mockito.verify(mockExtensionApi, Mockito.times(3)).dispatch(eventCaptor.capture());
+            final Map<String, Object> metrics =
+                    (Map<String, Object>) eventCaptor.getValue().getEventData().get("metrics");
+            Assert.assertEquals(1L, metrics.get("collapsedgets"));
         }
     }
 
     @Test
-    public void testHandleEdgeResponse_validProposition() throws Exception {
-        // setup
-        extension.setUpdateRequestEventIdsInProgress(
-                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
-                new ArrayList<DecisionScope>() {
-                    {
-                        add(
-                                new DecisionScope(
-                                        "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
-                    }
-                });
-        final Map<String, Object> edgeResponseData =
-                new ObjectMapper()
-                        .readValue(
-                                getClass()
-                                        .getClassLoader()
-                                        .getResource("json/EVENT_DATA_EDGE_RESPONSE_VALID.json"),
-                                HashMap.class);
-        final Event testEvent =
-                new Event.Builder(
-                                "AEP Response Event Handle",
-                                "com.adobe.eventType.edge",
-                                "personalization:decisions")
-                        .setEventData(edgeResponseData)
-                        .build();
+    public void testHandleUpdatePropositions_adaptiveTimeout() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
 
-        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.adaptiveTimeoutFactor", 2);
+                        }
+                    });
+            for (int i = 0; i < 10; i++) {
+                extension.getEdgeLatencyHistogram().record(1500);
+            }
 
-        // test
-        extension.handleEdgeResponse(testEvent);
+            final DecisionScope testScope =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID.json").getScope());
 
-        // verify
-        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            // test
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
 
-        final Event dispatchedEvent = eventCaptor.getValue();
-        Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
-        Assert.assertEquals("com.adobe.eventSource.notification", dispatchedEvent.getSource());
+            // verify the timeout is adapted to the recorded latencies
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.eq(3000L),
+                                    callbackCaptor.capture()));
+
+            // verify the timed out round trip is recorded
+            callbackCaptor.getValue().fail(AdobeError.CALLBACK_TIMEOUT);
+            Assert.assertEquals(11, extension.getEdgeLatencyHistogram().getCount());
+        }
+    }
 
-        final List<Map<String, Object>> propositionsList =
-                (List<Map<String, Object>>) dispatchedEvent.getEventData().get("propositions");
-        Assert.assertNotNull(propositionsList);
-        Assert.assertEquals(1, propositionsList.size());
+    @Test
+    public void testHandleUpdatePropositions_circuitBreakerOpen() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
 
-        final Map<String, Object> propositionsData = propositionsList.get(0);
-        Assert.assertNotNull(propositionsData);
-        final OptimizeProposition optimizeProposition =
-                OptimizeProposition.fromEventData(propositionsData);
-        Assert.assertNotNull(optimizeProposition);
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.circuitBreakerThreshold", 1);
+                        }
+                    });
 
-        Assert.assertEquals("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa", optimizeProposition.getId());
-        Assert.assertEquals(
-                "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==",
-                optimizeProposition.getScope());
-        Assert.assertTrue(optimizeProposition.getScopeDetails().isEmpty());
-        Assert.assertEquals(1, optimizeProposition.getOffers().size());
+            final OptimizeProposition testProposition = loadProposition("PROPOSITION_VALID.json");
+            final DecisionScope testScope = new DecisionScope(testProposition.getScope());
+            extension.setCachedPropositions(Collections.singletonMap(testScope, testProposition));
 
-        final Offer offer = optimizeProposition.getOffers().get(0);
-        Assert.assertEquals("xcore:personalized-offer:1111111111111111", offer.getId());
-        Assert.assertEquals("10", offer.getEtag());
-        Assert.assertEquals(
-                "https://ns.adobe.com/experience/offer-management/content-component-html",
-                offer.getSchema());
-        Assert.assertEquals(OfferType.HTML, offer.getType());
-        Assert.assertEquals("<h1>This is a HTML content</h1>", offer.getContent());
-        Assert.assertEquals(1, offer.getCharacteristics().size());
-        Assert.assertEquals("true", offer.getCharacteristics().get("testing"));
-        Assert.assertNull(offer.getLanguage());
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+            callbackCaptor.getValue().fail(AdobeError.CALLBACK_TIMEOUT);
+            Assert.assertEquals(
+                    CircuitBreaker.State.OPEN, extension.getCircuitBreaker().getState());
 
-        // incoming proposition is accumulated, not cached yet
-        Assert.assertEquals(1, extension.getPropositionsInProgress().size());
-        Assert.assertEquals(0, extension.getCachedPropositions().size());
+            // test
+            final Event testEvent = createUpdatePropositionsEvent(testScope, null);
+            extension.handleUpdatePropositions(testEvent);
+
+            // verify no Edge request is sent and the request is answered from the cache
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)),
+                    Mockito.times(1));
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(2)).dispatch(eventCaptor.capture());
+            final Event responseEvent = eventCaptor.getAllValues().get(1);
+            Assert.assertEquals(testEvent.getUniqueIdentifier(), responseEvent.getResponseID());
+            Assert.assertEquals(true, responseEvent.getEventData().get("servedbycircuitbreaker"));
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>) responseEvent.getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsList.size());
+            Assert.assertEquals(testScope.getName(), propositionsList.get(0).get("scope"));
+            Assert.assertTrue(extension.getUpdateRequestEventIdsInProgress().isEmpty());
+        }
     }
 
     @Test
-    public void testHandleEdgeResponse_validPropositionFromTargetWithClickTracking()
-            throws Exception {
-        // setup
-        extension.setUpdateRequestEventIdsInProgress(
-                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
-                new ArrayList<DecisionScope>() {
-                    {
-                        add(new DecisionScope("myMbox"));
-                    }
-                });
-        final Map<String, Object> edgeResponseData =
-                new ObjectMapper()
-                        .readValue(
-                                getClass()
-                                        .getClassLoader()
-                                        .getResource(
-                                                "json/EVENT_DATA_EDGE_RESPONSE_VALID_TARGET_WITH_CLICK_TRACKING.json"),
-                                HashMap.class);
-        final Event testEvent =
-                new Event.Builder(
-                                "AEP Response Event Handle",
-                                "com.adobe.eventType.edge",
-                                "personalization:decisions")
-                        .setEventData(edgeResponseData)
-                        .build();
-
-        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
-
-        // test
-        extension.handleEdgeResponse(testEvent);
-
-        // verify
-        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
-
-        final Event dispatchedEvent = eventCaptor.getValue();
-        Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
-        Assert.assertEquals("com.adobe.eventSource.notification", dispatchedEvent.getSource());
-
-        final List<Map<String, Object>> propositionsList =
-                (List<Map<String, Object>>) dispatchedEvent.getEventData().get("propositions");
-        Assert.assertNotNull(propositionsList);
-        Assert.assertEquals(1, propositionsList.size());
-
-        final Map<String, Object> propositionsData = propositionsList.get(0);
-        Assert.assertNotNull(propositionsData);
-        final OptimizeProposition optimizeProposition =
-                OptimizeProposition.fromEventData(propositionsData);
-        Assert.assertNotNull(optimizeProposition);
-
-        Assert.assertEquals(
-                "AT:eyJhY3Rpdml0eUlkIjoiMTExMTExIiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
-                optimizeProposition.getId());
-        Assert.assertEquals("myMbox", optimizeProposition.getScope());
-        Assert.assertNotNull(optimizeProposition.getScopeDetails());
-
-        final Map<String, Object> scopeDetails = optimizeProposition.getScopeDetails();
-        Assert.assertNotNull(scopeDetails);
-        Assert.assertEquals(5, scopeDetails.size());
-        Assert.assertEquals("TGT", scopeDetails.get("decisionProvider"));
-        final Map<String, Object> activity = (Map<String, Object>) scopeDetails.get("activity");
-        Assert.assertNotNull(activity);
-        Assert.assertEquals(1, activity.size());
-        Assert.assertEquals("111111", activity.get("id"));
-        Map<String, Object> experience = (Map<String, Object>) scopeDetails.get("experience");
-        Assert.assertNotNull(experience);
-        Assert.assertEquals(1, experience.size());
-        Assert.assertEquals("0", experience.get("id"));
-        final List<Map<String, Object>> strategies =
-                (List<Map<String, Object>>) scopeDetails.get("strategies");
-        Assert.assertNotNull(strategies);
-        Assert.assertEquals(2, strategies.size());
-        final Map<String, Object> strategy0 = strategies.get(0);
-        Assert.assertNotNull(strategy0);
-        Assert.assertEquals(3, strategy0.size());
-        Assert.assertEquals("entry", strategy0.get("step"));
-        Assert.assertEquals("0", strategy0.get("algorithmID"));
-        Assert.assertEquals("0", strategy0.get("trafficType"));
+    public void testSendCoalescedUpdate_circuitBreakerOpen() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
 
-        final Map<String, Object> strategy1 = strategies.get(1);
-        Assert.assertNotNull(strategy1);
-        Assert.assertEquals(3, strategy1.size());
-        Assert.assertEquals("display", strategy1.get("step"));
-        Assert.assertEquals("0", strategy1.get("algorithmID"));
-        Assert.assertEquals("0", strategy1.get("trafficType"));
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.circuitBreakerThreshold", 1);
+                        }
+                    });
 
-        final Map<String, Object> characteristics =
-                (Map<String, Object>) scopeDetails.get("characteristics");
-        Assert.assertNotNull(characteristics);
-        Assert.assertEquals(2, characteristics.size());
-        Assert.assertEquals(
-                "SGFZpwAqaqFTayhAT2xsgzG3+2fw4m+O9FK8c0QoOHfxVkH1ttT1PGBX3/jV8a5uFF0fAox6CXpjJ1PGRVQBjHl9Zc6mRxY9NQeM7rs/3Es1RHPkzBzyhpVS6eg9q+kw",
-                characteristics.get("stateToken"));
-        final Map<String, Object> eventTokens =
-                (Map<String, Object>) characteristics.get("eventTokens");
-        Assert.assertNotNull(eventTokens);
-        Assert.assertEquals(2, eventTokens.size());
-        Assert.assertEquals(
-                "MmvRrL5aB4Jz36JappRYg2qipfsIHvVzTQxHolz2IpSCnQ9Y9OaLL2gsdrWQTvE54PwSz67rmXWmSnkXpSSS2Q==",
-                eventTokens.get("display"));
-        Assert.assertEquals("EZDMbI2wmAyGcUYLr3VpmA==", eventTokens.get("click"));
+            final OptimizeProposition testProposition = loadProposition("PROPOSITION_VALID.json");
+            final DecisionScope testScope = new DecisionScope(testProposition.getScope());
+            extension.setCachedPropositions(Collections.singletonMap(testScope, testProposition));
 
-        Assert.assertEquals(1, optimizeProposition.getOffers().size());
-        final Offer offer = optimizeProposition.getOffers().get(0);
-        Assert.assertEquals("0", offer.getId());
-        Assert.assertNull(offer.getEtag());
-        Assert.assertEquals(
-                "https://ns.adobe.com/personalization/json-content-item", offer.getSchema());
-        Assert.assertEquals(OfferType.JSON, offer.getType());
-        Assert.assertEquals("{\"device\":\"mobile\"}", offer.getContent());
-        Assert.assertNull(offer.getCharacteristics());
-        Assert.assertNull(offer.getLanguage());
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+            callbackCaptor.getValue().fail(AdobeError.CALLBACK_TIMEOUT);
+            Assert.assertEquals(
+                    CircuitBreaker.State.OPEN, extension.getCircuitBreaker().getState());
+            Mockito.clearInvocations(mockExtensionApi);
 
-        // incoming proposition is accumulated, not cached yet
-        Assert.assertEquals(1, extension.getPropositionsInProgress().size());
-        Assert.assertEquals(0, extension.getCachedPropositions().size());
-    }
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.circuitBreakerThreshold", 1);
+                            put("optimize.updateCoalescingWindow", 60);
+                        }
+                    });
+            final Event testEventA = createUpdatePropositionsEvent(testScope, null);
+            final Event testEventB = createUpdatePropositionsEvent(testScope, null);
+            extension.handleUpdatePropositions(testEventA);
+            extension.handleUpdatePropositions(testEventB);
 
-    @Test
-    public void testHandleEdgeResponse_emptyProposition() throws Exception {
-        extension.setUpdateRequestEventIdsInProgress(
-                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", new ArrayList<DecisionScope>());
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            final Map<String, Object> edgeResponseData =
-                    new ObjectMapper()
-                            .readValue(
-                                    getClass()
-                                            .getClassLoader()
-                                            .getResource(
-                                                    "json/EVENT_DATA_EDGE_RESPONSE_EMPTY_PAYLOAD.json"),
-                                    HashMap.class);
-            final Event testEvent =
-                    new Event.Builder(
-                                    "AEP Response Event Handle",
-                                    "com.adobe.eventType.edge",
-                                    "personalization:decisions")
-                            .setEventData(edgeResponseData)
-                            .build();
+            // verify the breaker is only consulted once the coalesced Edge request is sent
+            Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
 
             // test
-            extension.handleEdgeResponse(testEvent);
+            extension.sendPendingCoalescedUpdates();
 
-            // verify
-            logMockedStatic.verify(
+            // verify no Edge request is sent and both requests are answered from the cache
+            mobileCoreMockedStatic.verify(
                     () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()));
-
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)),
+                    Mockito.times(1));
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(2)).dispatch(eventCaptor.capture());
+            Assert.assertEquals(
+                    testEventA.getUniqueIdentifier(),
+                    eventCaptor.getAllValues().get(0).getResponseID());
+            Assert.assertEquals(
+                    testEventB.getUniqueIdentifier(),
+                    eventCaptor.getAllValues().get(1).getResponseID());
+            for (final Event responseEvent : eventCaptor.getAllValues()) {
+                Assert.assertEquals(
+                        true, responseEvent.getEventData().get("servedbycircuitbreaker"));
+            }
+            Assert.assertTrue(extension.getUpdateRequestEventIdsInProgress().isEmpty());
         }
     }
 
     @Test
-    public void testHandleEdgeResponse_unsupportedItemInProposition() throws Exception {
-        extension.setUpdateRequestEventIdsInProgress(
-                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
-                new ArrayList<DecisionScope>() {
-                    {
-                        add(new DecisionScope("myMbox"));
-                    }
-                });
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+    public void testHandleUpdatePropositions_scopesRefreshedWithinMinRefreshInterval()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
             // setup
-            final Map<String, Object> edgeResponseData =
-                    new ObjectMapper()
-                            .readValue(
-                                    getClass()
-                                            .getClassLoader()
-                                            .getResource(
-                                                    "json/EVENT_DATA_EDGE_RESPONSE_UNSUPPORTED_ITEM_IN_PAYLOAD.json"),
-                                    HashMap.class);
-            final Event testEvent =
-                    new Event.Builder(
-                                    "AEP Response Event Handle",
-                                    "com.adobe.eventType.edge",
-                                    "personalization:decisions")
-                            .setEventData(edgeResponseData)
-                            .build();
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.minRefreshInterval", 60);
+                        }
+                    });
+
+            final OptimizeProposition testProposition = loadProposition("PROPOSITION_VALID.json");
+            final DecisionScope testScope = new DecisionScope(testProposition.getScope());
+            extension.setCachedPropositions(Collections.singletonMap(testScope, testProposition));
 
             // test
-            extension.handleEdgeResponse(testEvent);
+            final Event testEvent = createUpdatePropositionsEvent(testScope, null);
+            extension.handleUpdatePropositions(testEvent);
 
-            // verify
-            logMockedStatic.verify(
+            // verify no Edge request is sent and the request is answered from the cache
+            mobileCoreMockedStatic.verifyNoInteractions();
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            final Event responseEvent = eventCaptor.getValue();
+            Assert.assertEquals(testEvent.getUniqueIdentifier(), responseEvent.getResponseID());
+            Assert.assertEquals(true, responseEvent.getEventData().get("servedfromcache"));
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>) responseEvent.getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsList.size());
+
+            // verify the scope is refreshed once the minimum refresh interval elapsed
+            extension.setCachedPropositionFetchTime(
+                    testScope, System.currentTimeMillis() - 60000);
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
+            mobileCoreMockedStatic.verify(
                     () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()),
-                    Mockito.times(2));
-
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)),
+                    Mockito.times(1));
         }
     }
 
     @Test
-    public void testHandleEdgeResponse_nullEventData() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+    public void testHandleUpdatePropositions_rateLimited() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
             // setup
-            final Event testEvent =
-                    new Event.Builder(
-                                    "AEP Response Event Handle",
-                                    "com.adobe.eventType.edge",
-                                    "personalization:decisions")
-                            .setEventData(null)
-                            .build();
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.updateRateLimit", 1);
+                        }
+                    });
 
             // test
-            extension.handleEdgeResponse(testEvent);
+            extension.handleUpdatePropositions(
+                    createUpdatePropositionsEvent(new DecisionScope("myMbox1"), null));
+            final Event testEvent =
+                    createUpdatePropositionsEvent(new DecisionScope("myMbox2"), null);
+            extension.handleUpdatePropositions(testEvent);
 
-            // verify
-            logMockedStatic.verify(
+            // verify the second request is answered from the cache
+            mobileCoreMockedStatic.verify(
                     () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)),
+                    Mockito.times(1));
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            Assert.assertEquals(
+                    testEvent.getUniqueIdentifier(), eventCaptor.getValue().getResponseID());
+            Assert.assertEquals(true, eventCaptor.getValue().getEventData().get("servedfromcache"));
 
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
+            final Event testMetricsEvent =
+                    new Event.Builder(
+                                    "Optimize Get Metrics Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(Collections.singletonMap("requesttype", "getmetrics"))
+                            .build();
+            extension.handleGetMetrics(testMetricsEvent);
+            Mockito.verify(mockExtensionApi, Mockito.times(2)).dispatch(eventCaptor.capture());
+            final Map<String, Object> metrics =
+                    (Map<String, Object>) eventCaptor.getValue().getEventData().get("metrics");
+            Assert.assertEquals(1L, metrics.get("suppressedupdates"));
         }
     }
 
     @Test
-    public void testHandleEdgeResponse_emptyEventData() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            final Event testEvent =
-                    new Event.Builder(
-                                    "AEP Response Event Handle",
-                                    "com.adobe.eventType.edge",
-                                    "personalization:decisions")
-                            .setEventData(new HashMap<>())
-                            .build();
-
-            // test
-            extension.handleEdgeResponse(testEvent);
-
-            // verify
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
-
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
-        }
-    }
-
-    @Test
-    public void testHandleEdgeResponse_requestEventIdNotBeingTracked() throws Exception {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            final Map<String, Object> edgeResponseData =
-                    new ObjectMapper()
-                            .readValue(
-                                    getClass()
-                                            .getClassLoader()
-                                            .getResource(
-                                                    "json/EVENT_DATA_EDGE_RESPONSE_VALID.json"),
-                                    HashMap.class);
-            final Event testEvent =
-                    new Event.Builder(
-                                    "AEP Response Event Handle",
-                                    "com.adobe.eventType.edge",
-                                    "personalization:decisions")
-                            .setEventData(edgeResponseData)
-                            .build();
-
-            // test
-            extension.handleEdgeResponse(testEvent);
-
-            // verify
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
-
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
-        }
-    }
-
-    @Test
-    public void testHandleEdgeResponse_missingItemData() throws IOException {
-        // Setup
-        ObjectMapper objectMapper = new ObjectMapper();
-        Map<String, Object> edgeResponseData =
-                objectMapper.readValue(
-                        Objects.requireNonNull(getClass().getClassLoader())
-                                .getResource(
-                                        "json/EVENT_DATA_EDGE_RESPONSE_MISSING_ITEM_DATA.json"),
-                        HashMap.class);
-
-        Event testEvent =
-                new Event.Builder(
-                                "AEP Response Event Handle",
-                                "com.adobe.eventType.edge",
-                                "personalization:decisions")
-                        .setEventData(edgeResponseData)
-                        .build();
-
-        ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
-        extension.setUpdateRequestEventIdsInProgress(
-                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
-                new ArrayList<DecisionScope>() {
-                    {
-                        add(new DecisionScope("someDecisionScope"));
-                    }
-                });
-        extension.handleEdgeResponse(testEvent);
-        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
-
-        List<Map<String, Object>> propositionsList =
-                (List<Map<String, Object>>)
-                        eventCaptor.getValue().getEventData().get("propositions");
-
-        Assert.assertNotNull(propositionsList);
-        Assert.assertEquals(1, propositionsList.size());
-
-        final Map<String, Object> propositionsData = propositionsList.get(0);
-        Assert.assertNotNull(propositionsData);
-        final OptimizeProposition optimizeProposition =
-                OptimizeProposition.fromEventData(propositionsData);
-        Assert.assertNotNull(optimizeProposition);
-        Assert.assertEquals(1, optimizeProposition.getOffers().size());
-
-        final Offer offer = optimizeProposition.getOffers().get(0);
-        Assert.assertEquals("0", offer.getId());
-        Assert.assertNull(offer.getEtag());
-        Assert.assertEquals(
-                "https://ns.adobe.com/personalization/default-content-item", offer.getSchema());
-        Assert.assertEquals(OfferType.UNKNOWN, offer.getType());
-        Assert.assertEquals("", offer.getContent());
-        Assert.assertNull(offer.getCharacteristics());
-        Assert.assertNull(offer.getLanguage());
-    }
+    public void testHandleEdgeErrorResponse_serverErrorOpensCircuitBreaker() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
 
-    @Test
-    public void testHandleEdgeErrorResponse() throws Exception {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
             // setup
-            final Map<String, Object> edgeErrorResponseData =
-                    new ObjectMapper()
-                            .readValue(
-                                    getClass()
-                                            .getClassLoader()
-                                            .getResource(
-                                                    "json/EVENT_DATA_EDGE_ERROR_RESPONSE.json"),
-                                    HashMap.class);
-
-            extension.setUpdateRequestEventIdsInProgress(
-                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
-                    new ArrayList<DecisionScope>() {
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
                         {
-                            add(
-                                    new DecisionScope(
-                                            "eydhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.circuitBreakerThreshold", 1);
                         }
                     });
 
-            final Event testEvent =
+            final DecisionScope testScope =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID.json").getScope());
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
+            final ArgumentCaptor<Event> edgeEventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    edgeEventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+            final String edgeRequestEventId = edgeEventCaptor.getValue().getUniqueIdentifier();
+
+            final Map<String, Object> edgeErrorResponseData = new HashMap<>();
+            edgeErrorResponseData.put("type", "https://ns.adobe.com/aep/errors/EXEG-0201-500");
+            edgeErrorResponseData.put("status", 500);
+            edgeErrorResponseData.put("title", "Internal Server Error");
+            edgeErrorResponseData.put("requestEventId", edgeRequestEventId);
+
+            // test
+            extension.handleEdgeErrorResponse(
                     new Event.Builder(
                                     "AEP Error Response",
                                     "com.adobe.eventType.edge",
                                     "com.adobe.eventSource.errorResponseContent")
                             .setEventData(edgeErrorResponseData)
-                            .build();
-
-            // test
-            extension.handleEdgeErrorResponse(testEvent);
-
-            // verify
-            logMockedStatic.verify(
-                    () ->
-                            Log.warning(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
-
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
+                            .build());
+            Assert.assertEquals(
+                    CircuitBreaker.State.CLOSED, extension.getCircuitBreaker().getState());
+
+            final Map<String, Object> callbackEventData = new HashMap<>();
+            callbackEventData.put("requestEventId", edgeRequestEventId);
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Edge Content Complete",
+                                            "com.adobe.eventType.edge",
+                                            "com.adobe.eventSource.contentComplete")
+                                    .setEventData(callbackEventData)
+                                    .build());
+
+            // verify the failure is recorded once the Edge request completes
+            Assert.assertEquals(
+                    CircuitBreaker.State.OPEN, extension.getCircuitBreaker().getState());
         }
     }
 
     @Test
-    public void testHandleEdgeErrorResponse_nullEventData() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            final Event testEvent =
-                    new Event.Builder(
-                                    "AEP Error Response",
-                                    "com.adobe.eventType.edge",
-                                    "com.adobe.eventSource.errorResponseContent")
-                            .setEventData(null)
-                            .build();
+    public void testHandleEdgeErrorResponse_recoverableErrorNotCountedByCircuitBreaker() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
 
-            // test
-            extension.handleEdgeErrorResponse(testEvent);
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.circuitBreakerThreshold", 1);
+                        }
+                    });
 
-            // verify
-            logMockedStatic.verify(
+            final DecisionScope testScope =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID.json").getScope());
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
+            final ArgumentCaptor<Event> edgeEventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
                     () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
-
-            final Map<DecisionScope, OptimizeProposition> cachedPropositions =
-                    extension.getCachedPropositions();
-            Assert.assertNotNull(cachedPropositions);
-            Assert.assertTrue(cachedPropositions.isEmpty());
-        }
-    }
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    edgeEventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+            final String edgeRequestEventId = edgeEventCaptor.getValue().getUniqueIdentifier();
+
+            final Map<String, Object> edgeErrorResponseData = new HashMap<>();
+            edgeErrorResponseData.put("type", "https://ns.adobe.com/aep/errors/EXEG-0201-503");
+            edgeErrorResponseData.put("status", 503);
+            edgeErrorResponseData.put("title", "Service Unavailable");
+            edgeErrorResponseData.put("requestEventId", edgeRequestEventId);
 
-    @Test
-    public void testHandleEdgeErrorResponse_emptyEventData() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            final Event testEvent =
+            // test
+            extension.handleEdgeErrorResponse(
                     new Event.Builder(
                                     "AEP Error Response",
                                     "com.adobe.eventType.edge",
                                     "com.adobe.eventSource.errorResponseContent")
-                            .setEventData(new HashMap<>())
-                            .build();
-
-            // test
-            extension.handleEdgeErrorResponse(testEvent);
-
-            // verify
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
-
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
+                            .setEventData(edgeErrorResponseData)
+                            .build());
+            Assert.assertEquals(
+                    CircuitBreaker.State.CLOSED, extension.getCircuitBreaker().getState());
+
+            final Map<String, Object> callbackEventData = new HashMap<>();
+            callbackEventData.put("requestEventId", edgeRequestEventId);
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Edge Content Complete",
+                                            "com.adobe.eventType.edge",
+                                            "com.adobe.eventSource.contentComplete")
+                                    .setEventData(callbackEventData)
+                                    .build());
+
+            // verify the recoverable error, retried by the Edge extension, is not a failure
+            Assert.assertEquals(
+                    CircuitBreaker.State.CLOSED, extension.getCircuitBreaker().getState());
         }
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_GetPropositionsEvent_shouldAddToSerialDispatcher()
-            throws Exception {
-        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+    public void testHandleCancelUpdatePropositions_inFlightRequest() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> ignored = Mockito.mockStatic(MobileCore.class)) {
             base64MockedStatic
                     .when(
                             () ->
@@ -1378,7 +1483,8 @@ public class OptimizeExtensionTests {
                                     invocation ->
                                             java.util.Base64.getDecoder()
                                                     .decode((String) invocation.getArguments()[0]));
-            extension.setEventsDispatcher(mockEventsDispatcher);
+
+            // setup
             setConfigurationSharedState(
                     SharedStateStatus.SET,
                     new HashMap<String, Object>() {
@@ -1386,58 +1492,285 @@ public class OptimizeExtensionTests {
                             put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
                         }
                     });
+            extension.setEventsDispatcher(mockEventsDispatcher);
 
             final DecisionScope testScope =
                     new DecisionScope(
                             "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "getpropositions");
-            testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
+            final Event testUpdateEvent = createUpdatePropositionsEvent(testScope, null);
+            extension.handleUpdatePropositions(testUpdateEvent);
+            final String updateRequestEventId =
+                    extension.getUpdateRequestEventIdsInProgress().keySet().iterator().next();
+            final Event testGetEvent = createGetPropositionsEvent(testScope);
+            extension.handleOptimizeRequestContent(testGetEvent);
+            Assert.assertEquals(1, extension.getWaitingGetRequestsCount());
+
+            // test
+            extension.handleCancelUpdatePropositions(
+                    createCancelUpdatePropositionsEvent(testUpdateEvent));
+
+            // verify the request is responded with an error and the waiting get is released
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            Assert.assertEquals(
+                    testUpdateEvent.getUniqueIdentifier(), eventCaptor.getValue().getResponseID());
+            Assert.assertTrue(eventCaptor.getValue().getEventData().containsKey("responseerror"));
+            Assert.assertTrue(extension.getUpdateRequestEventIdsInProgress().isEmpty());
+            Mockito.verify(mockEventsDispatcher, Mockito.times(1)).offer(testGetEvent);
+            Assert.assertEquals(0, extension.getWaitingGetRequestsCount());
+
+            // verify the late Edge response is dropped
+            final Map<String, Object> edgeResponseData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource(
+                                                    "json/EVENT_DATA_EDGE_RESPONSE_VALID.json"),
+                                    HashMap.class);
+            edgeResponseData.put("requestEventId", updateRequestEventId);
+            extension.handleEdgeResponse(
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(edgeResponseData)
+                            .build());
+            Mockito.verify(mockExtensionApi, Mockito.times(1))
+                    .dispatch(ArgumentMatchers.any(Event.class));
+            Assert.assertTrue(extension.getPropositionsInProgress(updateRequestEventId).isEmpty());
+        }
+    }
+
+    @Test
+    public void testHandleCancelUpdatePropositions_inFlightCoalescedRequestReleasesItsScopes()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> ignored = Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
                         {
-                            add(testScope.toEventData());
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.updateCoalescingWindow", 60);
                         }
                     });
-            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            extension.setEventsDispatcher(mockEventsDispatcher);
 
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Get Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
+            final DecisionScope testScopeA =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID.json").getScope());
+            final DecisionScope testScopeB =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID_B.json").getScope());
+            final Event testUpdateEventA = createUpdatePropositionsEvent(testScopeA, null);
+            final Event testUpdateEventB = createUpdatePropositionsEvent(testScopeB, null);
+            extension.handleUpdatePropositions(testUpdateEventA);
+            extension.handleUpdatePropositions(testUpdateEventB);
+            extension.sendPendingCoalescedUpdates();
+            final String updateRequestEventId =
+                    extension.getUpdateRequestEventIdsInProgress().keySet().iterator().next();
+            final Event testGetEventA = createGetPropositionsEvent(testScopeA);
+            final Event testGetEventB = createGetPropositionsEvent(testScopeB);
+            extension.handleOptimizeRequestContent(testGetEventA);
+            extension.handleOptimizeRequestContent(testGetEventB);
+            Assert.assertEquals(2, extension.getWaitingGetRequestsCount());
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleCancelUpdatePropositions(
+                    createCancelUpdatePropositionsEvent(testUpdateEventA));
 
-            // verify
-            Mockito.verify(mockEventsDispatcher, Mockito.times(1)).offer(eventCaptor.capture());
+            // verify only the scope of the cancelled request is released
+            Assert.assertEquals(
+                    Collections.singletonList(testScopeB),
+                    extension.getUpdateRequestEventIdsInProgress().get(updateRequestEventId));
+            Mockito.verify(mockEventsDispatcher, Mockito.times(1)).offer(testGetEventA);
+            Mockito.verify(mockEventsDispatcher, Mockito.never()).offer(testGetEventB);
+            Assert.assertEquals(1, extension.getWaitingGetRequestsCount());
+        }
+    }
 
-            final Event queuedEvent = eventCaptor.getValue();
-            Assert.assertEquals("Optimize Get Propositions Request", queuedEvent.getName());
-            Assert.assertEquals("com.adobe.eventType.optimize", queuedEvent.getType());
-            Assert.assertEquals("com.adobe.eventSource.requestContent", queuedEvent.getSource());
+    @Test
+    public void testHandleCancelUpdatePropositions_cancelledScopesNotReturnedOrCached()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
 
-            final String requestType = (String) queuedEvent.getEventData().get("requesttype");
-            Assert.assertEquals("getpropositions", requestType);
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.updateCoalescingWindow", 60);
+                        }
+                    });
 
-            final List<Map<String, Object>> scopesData =
-                    (List<Map<String, Object>>) queuedEvent.getEventData().get("decisionscopes");
-            Assert.assertNotNull(scopesData);
-            final List<DecisionScope> scopes = new ArrayList<>();
-            for (final Map<String, Object> scopeData : scopesData) {
-                final DecisionScope scope = DecisionScope.fromEventData(scopeData);
-                scopes.add(scope);
-            }
-            Assert.assertEquals(1, scopes.size());
-            Assert.assertEquals(testScope, scopes.get(0));
+            final OptimizeProposition testPropositionA = loadProposition("PROPOSITION_VALID.json");
+            final OptimizeProposition testPropositionB =
+                    loadProposition("PROPOSITION_VALID_B.json");
+            final DecisionScope testScopeA = new DecisionScope(testPropositionA.getScope());
+            final DecisionScope testScopeB = new DecisionScope(testPropositionB.getScope());
+            final Event testUpdateEventA = createUpdatePropositionsEvent(testScopeA, null);
+            final Event testUpdateEventB = createUpdatePropositionsEvent(testScopeB, null);
+            extension.handleUpdatePropositions(testUpdateEventA);
+            extension.handleUpdatePropositions(testUpdateEventB);
+            extension.sendPendingCoalescedUpdates();
+
+            final ArgumentCaptor<Event> edgeEventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    edgeEventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+            final String edgeRequestEventId = edgeEventCaptor.getValue().getUniqueIdentifier();
+
+            // test
+            extension.handleCancelUpdatePropositions(
+                    createCancelUpdatePropositionsEvent(testUpdateEventA));
+
+            final Map<DecisionScope, OptimizeProposition> propositionsInProgress =
+                    new HashMap<>();
+            propositionsInProgress.put(testScopeA, testPropositionA);
+            propositionsInProgress.put(testScopeB, testPropositionB);
+            extension.setPropositionsInProgress(edgeRequestEventId, propositionsInProgress);
+
+            final Map<String, Object> callbackEventData = new HashMap<>();
+            callbackEventData.put("requestEventId", edgeRequestEventId);
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Edge Content Complete",
+                                            "com.adobe.eventType.edge",
+                                            "com.adobe.eventSource.contentComplete")
+                                    .setEventData(callbackEventData)
+                                    .build());
+
+            // verify the remaining request only receives the propositions for its own scope
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(3)).dispatch(eventCaptor.capture());
+            final List<Event> dispatchedEvents = eventCaptor.getAllValues();
+
+            final Event responseEventB = dispatchedEvents.get(1);
+            Assert.assertEquals(
+                    testUpdateEventB.getUniqueIdentifier(), responseEventB.getResponseID());
+            final List<Map<String, Object>> propositionsListB =
+                    (List<Map<String, Object>>) responseEventB.getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsListB.size());
+            Assert.assertEquals(testScopeB.getName(), propositionsListB.get(0).get("scope"));
+
+            // verify the update complete event is chained to the remaining request
+            final Event updateCompleteEvent = dispatchedEvents.get(2);
+            Assert.assertEquals(
+                    "com.adobe.eventSource.contentComplete", updateCompleteEvent.getSource());
+            Assert.assertEquals(
+                    testUpdateEventB.getUniqueIdentifier(), updateCompleteEvent.getParentID());
+
+            // verify the propositions for the cancelled scope are not cached
+            extension.handleUpdatePropositionsCompleted(updateCompleteEvent);
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions =
+                    extension.getCachedPropositions();
+            Assert.assertEquals(1, cachedPropositions.size());
+            Assert.assertEquals(testPropositionB, cachedPropositions.get(testScopeB));
         }
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_GetPropositionsEvent_whenUpdateIsInProgress() {
+    public void testHandleCancelUpdatePropositions_pendingCoalescedRequest() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.updateCoalescingWindow", 60);
+                        }
+                    });
+            extension.setEventsDispatcher(mockEventsDispatcher);
+
+            final DecisionScope testScope =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID.json").getScope());
+            final Event testUpdateEvent = createUpdatePropositionsEvent(testScope, null);
+            extension.handleUpdatePropositions(testUpdateEvent);
+            final Event testGetEvent = createGetPropositionsEvent(testScope);
+            extension.handleOptimizeRequestContent(testGetEvent);
+            Assert.assertEquals(1, extension.getWaitingGetRequestsCount());
+
+            // test
+            extension.handleCancelUpdatePropositions(
+                    createCancelUpdatePropositionsEvent(testUpdateEvent));
+            extension.sendPendingCoalescedUpdates();
+
+            // verify the cancelled request is not sent and the waiting get is released
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)),
+                    Mockito.never());
+            Mockito.verify(mockEventsDispatcher, Mockito.times(1)).offer(testGetEvent);
+            Assert.assertEquals(0, extension.getWaitingGetRequestsCount());
+        }
+    }
+
+    @Test
+    public void testHandleCancelUpdatePropositions_completedRequest() {
+        // test
+        extension.handleCancelUpdatePropositions(
+                createCancelUpdatePropositionsEvent(
+                        createUpdatePropositionsEvent(new DecisionScope("myMbox"), null)));
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.never())
+                .dispatch(ArgumentMatchers.any(Event.class));
+    }
+
+    @Test
+    public void
+            testHandleOptimizeRequestContent_HandleUpdatePropositions_validDecisionScopeWithXdmAndDataAndDatasetId() {
         try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
             base64MockedStatic
                     .when(
@@ -1457,6 +1790,7 @@ public class OptimizeExtensionTests {
                     new HashMap<String, Object>() {
                         {
                             put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.datasetId", "111111111111111111111111");
                         }
                     });
 
@@ -1472,6 +1806,20 @@ public class OptimizeExtensionTests {
                             add(testScope.toEventData());
                         }
                     });
+            testEventData.put(
+                    "xdm",
+                    new HashMap<String, Object>() {
+                        {
+                            put("myXdmKey", "myXdmValue");
+                        }
+                    });
+            testEventData.put(
+                    "data",
+                    new HashMap<String, Object>() {
+                        {
+                            put("myKey", "myValue");
+                        }
+                    });
             final Event testEvent =
                     new Event.Builder(
                                     "Optimize Update Propositions Request",
@@ -1480,7 +1828,7 @@ public class OptimizeExtensionTests {
                             .setEventData(testEventData)
                             .build();
 
-            // simulate update
+            // test
             extension.handleOptimizeRequestContent(testEvent);
 
             // verify
@@ -1495,37 +1843,89 @@ public class OptimizeExtensionTests {
                                     add(testScope);
                                 }
                             }));
+        }
+    }
 
-            // dispatch get event
-            final Map<String, Object> testGetEventData = new HashMap<>();
-            testGetEventData.put("requesttype", "getpropositions");
-            testGetEventData.put(
+    @Test
+    public void
+            testHandleOptimizeRequestContent_HandleUpdatePropositions_validDecisionScopeWithXdmAndDataAndNoDatasetId() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
                     "decisionscopes",
                     new ArrayList<Map<String, Object>>() {
                         {
                             add(testScope.toEventData());
                         }
                     });
-            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
-
-            final Event testGetEvent =
+            testEventData.put(
+                    "xdm",
+                    new HashMap<String, Object>() {
+                        {
+                            put("myXdmKey", "myXdmValue");
+                        }
+                    });
+            testEventData.put(
+                    "data",
+                    new HashMap<String, Object>() {
+                        {
+                            put("myKey", "myValue");
+                        }
+                    });
+            final Event testEvent =
                     new Event.Builder(
-                                    "Optimize Get Propositions Request",
+                                    "Optimize Update Propositions Request",
                                     "com.adobe.eventType.optimize",
                                     "com.adobe.eventSource.requestContent")
-                            .setEventData(testGetEventData)
+                            .setEventData(testEventData)
                             .build();
 
-            // simulate get
-            extension.handleOptimizeRequestContent(testGetEvent);
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
 
             // verify
-            Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(eventCaptor.capture());
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(1, updateEventIdsInProgress.size());
+            Assert.assertTrue(
+                    updateEventIdsInProgress.containsValue(
+                            new ArrayList<DecisionScope>() {
+                                {
+                                    add(testScope);
+                                }
+                            }));
         }
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_GetPropositionsEvent_whenUpdateIsComplete() {
+    public void
+            testHandleOptimizeRequestContent_HandleUpdatePropositions_multipleValidDecisionScopes() {
         try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
             base64MockedStatic
                     .when(
@@ -1548,16 +1948,18 @@ public class OptimizeExtensionTests {
                         }
                     });
 
-            final DecisionScope testScope =
+            final DecisionScope testScope1 =
                     new DecisionScope(
                             "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final DecisionScope testScope2 = new DecisionScope("myMbox");
             final Map<String, Object> testEventData = new HashMap<>();
             testEventData.put("requesttype", "updatepropositions");
             testEventData.put(
                     "decisionscopes",
                     new ArrayList<Map<String, Object>>() {
                         {
-                            add(testScope.toEventData());
+                            add(testScope1.toEventData());
+                            add(testScope2.toEventData());
                         }
                     });
             final Event testEvent =
@@ -1568,7 +1970,7 @@ public class OptimizeExtensionTests {
                             .setEventData(testEventData)
                             .build();
 
-            // simulate update
+            // test
             extension.handleOptimizeRequestContent(testEvent);
 
             // verify
@@ -1580,15 +1982,24 @@ public class OptimizeExtensionTests {
                     updateEventIdsInProgress.containsValue(
                             new ArrayList<DecisionScope>() {
                                 {
-                                    add(testScope);
-                                }
+                                    add(testScope1);
+                                    add(testScope2);
+                                }
                             }));
-            Mockito.clearInvocations(mockExtensionApi);
+        }
+    }
 
-            // simulate get
-            final Map<String, Object> testGetEventData = new HashMap<>();
-            testGetEventData.put("requesttype", "getpropositions");
-            testGetEventData.put(
+    @Test
+    public void testHandleOptimizeRequestContent_UpdatePropositions_configurationNotAvailable() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+
+            // setup
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
                     "decisionscopes",
                     new ArrayList<Map<String, Object>>() {
                         {
@@ -1596,292 +2007,2029 @@ public class OptimizeExtensionTests {
                         }
                     });
 
-            final Event testGetEvent =
+            final Event testEvent =
                     new Event.Builder(
-                                    "Optimize Get Propositions Request",
+                                    "Optimize Update Propositions Request",
                                     "com.adobe.eventType.optimize",
                                     "com.adobe.eventSource.requestContent")
-                            .setEventData(testGetEventData)
+                            .setEventData(testEventData)
                             .build();
 
-            // simulate update complete
-            final Event testUpdateCompleteEvent =
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()));
+
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(0, updateEventIdsInProgress.size());
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_HandleUpdatePropositions_noDecisionScopes() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put("decisionscopes", new ArrayList<Map<String, Object>>());
+
+            final Event testEvent =
                     new Event.Builder(
-                                    "Optimize Update Propositions Complete",
+                                    "Optimize Update Propositions Request",
                                     "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.contentComplete")
-                            .setEventData(
-                                    new HashMap<String, Object>() {
-                                        {
-                                            put(
-                                                    "completedUpdateRequestForEventId",
-                                                    updateEventIdsInProgress.keySet().toArray()[0]);
-                                        }
-                                    })
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
                             .build();
 
-            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()),
+                    Mockito.times(2));
+
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(0, updateEventIdsInProgress.size());
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_HandleUpdatePropositions_invalidDecisionScope() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoiIn0=");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
 
             // test
-            extension.handleOptimizeRequestContent(testGetEvent);
-            extension.handleUpdatePropositionsCompleted(testUpdateCompleteEvent);
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()),
+                    Mockito.times(2));
+            logMockedStatic.verify(
+                    () ->
+                            Log.warning(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()));
+
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(0, updateEventIdsInProgress.size());
+        }
+    }
+
+    @Test
+    public void
+            testHandleOptimizeRequestContent_HandleUpdatePropositions_validAndInvalidDecisionScopes() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope1 =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoiIiwicGxhY2VtZW50SWQiOiJ4Y29yZTpvZmZlci1wbGFjZW1lbnQ6MTExMTExMTExMTExMTExMSJ9");
+            final DecisionScope testScope2 = new DecisionScope("myMbox");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope1.toEventData());
+                            add(testScope2.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(1, updateEventIdsInProgress.size());
+            Assert.assertTrue(
+                    updateEventIdsInProgress.containsValue(
+                            new ArrayList<DecisionScope>() {
+                                {
+                                    add(testScope2);
+                                }
+                            }));
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_validProposition() throws Exception {
+        // setup
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                new ArrayList<DecisionScope>() {
+                    {
+                        add(
+                                new DecisionScope(
+                                        "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+                    }
+                });
+        final Map<String, Object> edgeResponseData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/EVENT_DATA_EDGE_RESPONSE_VALID.json"),
+                                HashMap.class);
+        final Event testEvent =
+                new Event.Builder(
+                                "AEP Response Event Handle",
+                                "com.adobe.eventType.edge",
+                                "personalization:decisions")
+                        .setEventData(edgeResponseData)
+                        .build();
+
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+        // test
+        extension.handleEdgeResponse(testEvent);
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.notification", dispatchedEvent.getSource());
+
+        final List<Map<String, Object>> propositionsList =
+                (List<Map<String, Object>>) dispatchedEvent.getEventData().get("propositions");
+        Assert.assertNotNull(propositionsList);
+        Assert.assertEquals(1, propositionsList.size());
+
+        final Map<String, Object> propositionsData = propositionsList.get(0);
+        Assert.assertNotNull(propositionsData);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionsData);
+        Assert.assertNotNull(optimizeProposition);
+
+        Assert.assertEquals("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa", optimizeProposition.getId());
+        Assert.assertEquals(
+                "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==",
+                optimizeProposition.getScope());
+        Assert.assertTrue(optimizeProposition.getScopeDetails().isEmpty());
+        Assert.assertEquals(1, optimizeProposition.getOffers().size());
+
+        final Offer offer = optimizeProposition.getOffers().get(0);
+        Assert.assertEquals("xcore:personalized-offer:1111111111111111", offer.getId());
+        Assert.assertEquals("10", offer.getEtag());
+        Assert.assertEquals(
+                "https://ns.adobe.com/experience/offer-management/content-component-html",
+                offer.getSchema());
+        Assert.assertEquals(OfferType.HTML, offer.getType());
+        Assert.assertEquals("<h1>This is a HTML content</h1>", offer.getContent());
+        Assert.assertEquals(1, offer.getCharacteristics().size());
+        Assert.assertEquals("true", offer.getCharacteristics().get("testing"));
+        Assert.assertNull(offer.getLanguage());
+
+        // incoming proposition is accumulated, not cached yet
+        Assert.assertEquals(
+                1,
+                extension
+                        .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                        .size());
+        Assert.assertEquals(0, extension.getCachedPropositions().size());
+    }
+
+    @Test
+    public void testHandleEdgeResponse_validPropositionFromTargetWithClickTracking()
+            throws Exception {
+        // setup
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                new ArrayList<DecisionScope>() {
+                    {
+                        add(new DecisionScope("myMbox"));
+                    }
+                });
+        final Map<String, Object> edgeResponseData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource(
+                                                "json/EVENT_DATA_EDGE_RESPONSE_VALID_TARGET_WITH_CLICK_TRACKING.json"),
+                                HashMap.class);
+        final Event testEvent =
+                new Event.Builder(
+                                "AEP Response Event Handle",
+                                "com.adobe.eventType.edge",
+                                "personalization:decisions")
+                        .setEventData(edgeResponseData)
+                        .build();
+
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+        // test
+        extension.handleEdgeResponse(testEvent);
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.notification", dispatchedEvent.getSource());
+
+        final List<Map<String, Object>> propositionsList =
+                (List<Map<String, Object>>) dispatchedEvent.getEventData().get("propositions");
+        Assert.assertNotNull(propositionsList);
+        Assert.assertEquals(1, propositionsList.size());
+
+        final Map<String, Object> propositionsData = propositionsList.get(0);
+        Assert.assertNotNull(propositionsData);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionsData);
+        Assert.assertNotNull(optimizeProposition);
+
+        Assert.assertEquals(
+                "AT:eyJhY3Rpdml0eUlkIjoiMTExMTExIiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
+                optimizeProposition.getId());
+        Assert.assertEquals("myMbox", optimizeProposition.getScope());
+        Assert.assertNotNull(optimizeProposition.getScopeDetails());
+
+        final Map<String, Object> scopeDetails = optimizeProposition.getScopeDetails();
+        Assert.assertNotNull(scopeDetails);
+        Assert.assertEquals(5, scopeDetails.size());
+        Assert.assertEquals("TGT", scopeDetails.get("decisionProvider"));
+        final Map<String, Object> activity = (Map<String, Object>) scopeDetails.get("activity");
+        Assert.assertNotNull(activity);
+        Assert.assertEquals(1, activity.size());
+        Assert.assertEquals("111111", activity.get("id"));
+        Map<String, Object> experience = (Map<String, Object>) scopeDetails.get("experience");
+        Assert.assertNotNull(experience);
+        Assert.assertEquals(1, experience.size());
+        Assert.assertEquals("0", experience.get("id"));
+        final List<Map<String, Object>> strategies =
+                (List<Map<String, Object>>) scopeDetails.get("strategies");
+        Assert.assertNotNull(strategies);
+        Assert.assertEquals(2, strategies.size());
+        final Map<String, Object> strategy0 = strategies.get(0);
+        Assert.assertNotNull(strategy0);
+        Assert.assertEquals(3, strategy0.size());
+        Assert.assertEquals("entry", strategy0.get("step"));
+        Assert.assertEquals("0", strategy0.get("algorithmID"));
+        Assert.assertEquals("0", strategy0.get("trafficType"));
+
+        final Map<String, Object> strategy1 = strategies.get(1);
+        Assert.assertNotNull(strategy1);
+        Assert.assertEquals(3, strategy1.size());
+        Assert.assertEquals("display", strategy1.get("step"));
+        Assert.assertEquals("0", strategy1.get("algorithmID"));
+        Assert.assertEquals("0", strategy1.get("trafficType"));
+
+        final Map<String, Object> characteristics =
+                (Map<String, Object>) scopeDetails.get("characteristics");
+        Assert.assertNotNull(characteristics);
+        Assert.assertEquals(2, characteristics.size());
+        Assert.assertEquals(
+                "SGFZpwAqaqFTayhAT2xsgzG3+2fw4m+O9FK8c0QoOHfxVkH1ttT1PGBX3/jV8a5uFF0fAox6CXpjJ1PGRVQBjHl9Zc6mRxY9NQeM7rs/3Es1RHPkzBzyhpVS6eg9q+kw",
+                characteristics.get("stateToken"));
+        final Map<String, Object> eventTokens =
+                (Map<String, Object>) characteristics.get("eventTokens");
+        Assert.assertNotNull(eventTokens);
+        Assert.assertEquals(2, eventTokens.size());
+        Assert.assertEquals(
+                "MmvRrL5aB4Jz36JappRYg2qipfsIHvVzTQxHolz2IpSCnQ9Y9OaLL2gsdrWQTvE54PwSz67rmXWmSnkXpSSS2Q==",
+                eventTokens.get("display"));
+        Assert.assertEquals("EZDMbI2wmAyGcUYLr3VpmA==", eventTokens.get("click"));
+
+        Assert.assertEquals(1, optimizeProposition.getOffers().size());
+        final Offer offer = optimizeProposition.getOffers().get(0);
+        Assert.assertEquals("0", offer.getId());
+        Assert.assertNull(offer.getEtag());
+        Assert.assertEquals(
+                "https://ns.adobe.com/personalization/json-content-item", offer.getSchema());
+        Assert.assertEquals(OfferType.JSON, offer.getType());
+        Assert.assertEquals("{\"device\":\"mobile\"}", offer.getContent());
+        Assert.assertNull(offer.getCharacteristics());
+        Assert.assertNull(offer.getLanguage());
+
+        // incoming proposition is accumulated, not cached yet
+        Assert.assertEquals(
+                1,
+                extension
+                        .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                        .size());
+        Assert.assertEquals(0, extension.getCachedPropositions().size());
+    }
+
+    @Test
+    public void testHandleEdgeResponse_emptyProposition() throws Exception {
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", new ArrayList<DecisionScope>());
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Map<String, Object> edgeResponseData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource(
+                                                    "json/EVENT_DATA_EDGE_RESPONSE_EMPTY_PAYLOAD.json"),
+                                    HashMap.class);
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(edgeResponseData)
+                            .build();
+
+            // test
+            extension.handleEdgeResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()));
+
+            Assert.assertEquals(
+                    0,
+                    extension
+                            .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                            .size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_unsupportedItemInProposition() throws Exception {
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                new ArrayList<DecisionScope>() {
+                    {
+                        add(new DecisionScope("myMbox"));
+                    }
+                });
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Map<String, Object> edgeResponseData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource(
+                                                    "json/EVENT_DATA_EDGE_RESPONSE_UNSUPPORTED_ITEM_IN_PAYLOAD.json"),
+                                    HashMap.class);
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(edgeResponseData)
+                            .build();
+
+            // test
+            extension.handleEdgeResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()),
+                    Mockito.times(2));
+
+            Assert.assertEquals(
+                    0,
+                    extension
+                            .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                            .size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_nullEventData() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(null)
+                            .build();
+
+            // test
+            extension.handleEdgeResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            Assert.assertEquals(
+                    0,
+                    extension
+                            .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                            .size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_emptyEventData() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(new HashMap<>())
+                            .build();
+
+            // test
+            extension.handleEdgeResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            Assert.assertEquals(
+                    0,
+                    extension
+                            .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                            .size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_requestEventIdNotBeingTracked() throws Exception {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Map<String, Object> edgeResponseData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource(
+                                                    "json/EVENT_DATA_EDGE_RESPONSE_VALID.json"),
+                                    HashMap.class);
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(edgeResponseData)
+                            .build();
+
+            // test
+            extension.handleEdgeResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            Assert.assertEquals(
+                    0,
+                    extension
+                            .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                            .size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_missingItemData() throws IOException {
+        // Setup
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Object> edgeResponseData =
+                objectMapper.readValue(
+                        Objects.requireNonNull(getClass().getClassLoader())
+                                .getResource(
+                                        "json/EVENT_DATA_EDGE_RESPONSE_MISSING_ITEM_DATA.json"),
+                        HashMap.class);
+
+        Event testEvent =
+                new Event.Builder(
+                                "AEP Response Event Handle",
+                                "com.adobe.eventType.edge",
+                                "personalization:decisions")
+                        .setEventData(edgeResponseData)
+                        .build();
+
+        ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                new ArrayList<DecisionScope>() {
+                    {
+                        add(new DecisionScope("someDecisionScope"));
+                    }
+                });
+        extension.handleEdgeResponse(testEvent);
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+
+        List<Map<String, Object>> propositionsList =
+                (List<Map<String, Object>>)
+                        eventCaptor.getValue().getEventData().get("propositions");
+
+        Assert.assertNotNull(propositionsList);
+        Assert.assertEquals(1, propositionsList.size());
+
+        final Map<String, Object> propositionsData = propositionsList.get(0);
+        Assert.assertNotNull(propositionsData);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionsData);
+        Assert.assertNotNull(optimizeProposition);
+        Assert.assertEquals(1, optimizeProposition.getOffers().size());
+
+        final Offer offer = optimizeProposition.getOffers().get(0);
+        Assert.assertEquals("0", offer.getId());
+        Assert.assertNull(offer.getEtag());
+        Assert.assertEquals(
+                "https://ns.adobe.com/personalization/default-content-item", offer.getSchema());
+        Assert.assertEquals(OfferType.UNKNOWN, offer.getType());
+        Assert.assertEquals("", offer.getContent());
+        Assert.assertNull(offer.getCharacteristics());
+        Assert.assertNull(offer.getLanguage());
+    }
+
+    @Test
+    public void testHandleEdgeErrorResponse() throws Exception {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Map<String, Object> edgeErrorResponseData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource(
+                                                    "json/EVENT_DATA_EDGE_ERROR_RESPONSE.json"),
+                                    HashMap.class);
+
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                    new ArrayList<DecisionScope>() {
+                        {
+                            add(
+                                    new DecisionScope(
+                                            "eydhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+                        }
+                    });
+
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Error Response",
+                                    "com.adobe.eventType.edge",
+                                    "com.adobe.eventSource.errorResponseContent")
+                            .setEventData(edgeErrorResponseData)
+                            .build();
+
+            // test
+            extension.handleEdgeErrorResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.warning(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            Assert.assertEquals(
+                    0,
+                    extension
+                            .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                            .size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeErrorResponse_errorReportedAndRecordedOnCompletion()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope =
+                    new DecisionScope(loadProposition("PROPOSITION_VALID.json").getScope());
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
+            final ArgumentCaptor<Event> edgeEventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    edgeEventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+            final String edgeRequestEventId = edgeEventCaptor.getValue().getUniqueIdentifier();
+
+            final Map<String, Object> edgeErrorResponseData = new HashMap<>();
+            edgeErrorResponseData.put("type", "https://ns.adobe.com/aep/errors/ODE-0001-404");
+            edgeErrorResponseData.put("status", 404);
+            edgeErrorResponseData.put("title", "Not Found");
+            edgeErrorResponseData.put("requestEventId", edgeRequestEventId);
+            extension.handleEdgeErrorResponse(
+                    new Event.Builder(
+                                    "AEP Error Response",
+                                    "com.adobe.eventType.edge",
+                                    "com.adobe.eventSource.errorResponseContent")
+                            .setEventData(edgeErrorResponseData)
+                            .build());
+            Assert.assertEquals(1, extension.getErrorLedger().getPendingCount());
+
+            // test
+            final Map<String, Object> callbackEventData = new HashMap<>();
+            callbackEventData.put("requestEventId", edgeRequestEventId);
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Edge Content Complete",
+                                            "com.adobe.eventType.edge",
+                                            "com.adobe.eventSource.contentComplete")
+                                    .setEventData(callbackEventData)
+                                    .build());
+
+            // verify the error is reported and no longer held once the request completes
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(2)).dispatch(eventCaptor.capture());
+            Assert.assertTrue(
+                    eventCaptor.getAllValues().get(0).getEventData().containsKey("responseerror"));
+            Assert.assertEquals(0, extension.getErrorLedger().getPendingCount());
+
+            // verify the error is recorded for the requested scope
+            final Map<String, Object> getRecentErrorsData = new HashMap<>();
+            getRecentErrorsData.put("requesttype", "getrecenterrors");
+            getRecentErrorsData.put(
+                    "decisionscopes", Collections.singletonList(testScope.toEventData()));
+            extension.handleGetRecentErrors(
+                    new Event.Builder(
+                                    "Optimize Get Recent Errors Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(getRecentErrorsData)
+                            .build());
+            Mockito.verify(mockExtensionApi, Mockito.times(3)).dispatch(eventCaptor.capture());
+            final List<Map<String, Object>> recentErrorsList =
+                    (List<Map<String, Object>>)
+                            eventCaptor.getValue().getEventData().get("recenterrors");
+            Assert.assertEquals(1, recentErrorsList.size());
+            Assert.assertEquals(testScope.getName(), recentErrorsList.get(0).get("scope"));
+            final List<Map<String, Object>> errorsList =
+                    (List<Map<String, Object>>) recentErrorsList.get(0).get("errors");
+            Assert.assertEquals(1, errorsList.size());
+            Assert.assertEquals(404, errorsList.get(0).get("status"));
+        }
+    }
+
+    @Test
+    public void testHandleUpdatePropositions_timeoutRecordedInRecentErrors() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope = new DecisionScope("myMbox");
+            extension.handleUpdatePropositions(createUpdatePropositionsEvent(testScope, null));
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+
+            // test
+            callbackCaptor.getValue().fail(AdobeError.CALLBACK_TIMEOUT);
+
+            // verify
+            final List<AEPOptimizeError> recentErrors =
+                    extension
+                            .getErrorLedger()
+                            .getRecentErrors(null, System.currentTimeMillis())
+                            .get(testScope);
+            Assert.assertEquals(1, recentErrors.size());
+            Assert.assertEquals(AdobeError.CALLBACK_TIMEOUT, recentErrors.get(0).getAdobeError());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeErrorResponse_nullEventData() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Error Response",
+                                    "com.adobe.eventType.edge",
+                                    "com.adobe.eventSource.errorResponseContent")
+                            .setEventData(null)
+                            .build();
+
+            // test
+            extension.handleEdgeErrorResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions =
+                    extension.getCachedPropositions();
+            Assert.assertNotNull(cachedPropositions);
+            Assert.assertTrue(cachedPropositions.isEmpty());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeErrorResponse_emptyEventData() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Error Response",
+                                    "com.adobe.eventType.edge",
+                                    "com.adobe.eventSource.errorResponseContent")
+                            .setEventData(new HashMap<>())
+                            .build();
+
+            // test
+            extension.handleEdgeErrorResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            Assert.assertEquals(
+                    0,
+                    extension
+                            .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                            .size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_GetPropositionsEvent_shouldAddToSerialDispatcher()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            extension.setEventsDispatcher(mockEventsDispatcher);
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "getpropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            Mockito.verify(mockEventsDispatcher, Mockito.times(1)).offer(eventCaptor.capture());
+
+            final Event queuedEvent = eventCaptor.getValue();
+            Assert.assertEquals("Optimize Get Propositions Request", queuedEvent.getName());
+            Assert.assertEquals("com.adobe.eventType.optimize", queuedEvent.getType());
+            Assert.assertEquals("com.adobe.eventSource.requestContent", queuedEvent.getSource());
+
+            final String requestType = (String) queuedEvent.getEventData().get("requesttype");
+            Assert.assertEquals("getpropositions", requestType);
+
+            final List<Map<String, Object>> scopesData =
+                    (List<Map<String, Object>>) queuedEvent.getEventData().get("decisionscopes");
+            Assert.assertNotNull(scopesData);
+            final List<DecisionScope> scopes = new ArrayList<>();
+            for (final Map<String, Object> scopeData : scopesData) {
+                final DecisionScope scope = DecisionScope.fromEventData(scopeData);
+                scopes.add(scope);
+            }
+            Assert.assertEquals(1, scopes.size());
+            Assert.assertEquals(testScope, scopes.get(0));
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_GetPropositionsEvent_whenUpdateIsInProgress() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // simulate update
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(1, updateEventIdsInProgress.size());
+            Assert.assertTrue(
+                    updateEventIdsInProgress.containsValue(
+                            new ArrayList<DecisionScope>() {
+                                {
+                                    add(testScope);
+                                }
+                            }));
+
+            // dispatch get event
+            final Map<String, Object> testGetEventData = new HashMap<>();
+            testGetEventData.put("requesttype", "getpropositions");
+            testGetEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+            final Event testGetEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testGetEventData)
+                            .build();
+
+            // simulate get
+            extension.handleOptimizeRequestContent(testGetEvent);
+
+            // verify
+            Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(eventCaptor.capture());
+        }
+    }
+
+    @Test
+    public void
+            testHandleOptimizeRequestContent_GetPropositionsEvent_allowStaleWhenUpdateIsInProgress()
+                    throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final OptimizeProposition testOptimizeProposition =
+                    OptimizeProposition.fromEventData(
+                            new ObjectMapper()
+                                    .readValue(
+                                            getClass()
+                                                    .getClassLoader()
+                                                    .getResource("json/PROPOSITION_VALID.json"),
+                                            HashMap.class));
+            Assert.assertNotNull(testOptimizeProposition);
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(testScope, testOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                    new ArrayList<DecisionScope>() {
+                        {
+                            add(testScope);
+                        }
+                    });
+            extension.setEventsDispatcher(mockEventsDispatcher);
+
+            final Map<String, Object> testGetEventData = new HashMap<>();
+            testGetEventData.put("requesttype", "getpropositions");
+            testGetEventData.put("allowstale", true);
+            testGetEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final Event testGetEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testGetEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testGetEvent);
+
+            // verify
+            Mockito.verify(mockEventsDispatcher, Mockito.never()).offer(ArgumentMatchers.any());
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            final Map<String, Object> responseEventData = eventCaptor.getValue().getEventData();
+
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>) responseEventData.get("propositions");
+            Assert.assertEquals(1, propositionsList.size());
+            Assert.assertEquals(
+                    testOptimizeProposition.getId(), propositionsList.get(0).get("id"));
+
+            final List<Map<String, Object>> staleScopesList =
+                    (List<Map<String, Object>>) responseEventData.get("stalescopes");
+            Assert.assertEquals(1, staleScopesList.size());
+            Assert.assertEquals(testScope.getName(), staleScopesList.get(0).get("name"));
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_GetPropositionsEvent_whenUpdateIsComplete() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // simulate update
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(1, updateEventIdsInProgress.size());
+            Assert.assertTrue(
+                    updateEventIdsInProgress.containsValue(
+                            new ArrayList<DecisionScope>() {
+                                {
+                                    add(testScope);
+                                }
+                            }));
+            Mockito.clearInvocations(mockExtensionApi);
+
+            // simulate get
+            final Map<String, Object> testGetEventData = new HashMap<>();
+            testGetEventData.put("requesttype", "getpropositions");
+            testGetEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+
+            final Event testGetEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testGetEventData)
+                            .build();
+
+            // simulate update complete
+            final Event testUpdateCompleteEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Complete",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.contentComplete")
+                            .setEventData(
+                                    new HashMap<String, Object>() {
+                                        {
+                                            put(
+                                                    "completedUpdateRequestForEventId",
+                                                    updateEventIdsInProgress.keySet().toArray()[0]);
+                                        }
+                                    })
+                            .build();
+
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+            // test
+            extension.handleOptimizeRequestContent(testGetEvent);
+            extension.handleUpdatePropositionsCompleted(testUpdateCompleteEvent);
+
+            // verify
+            Mockito.verify(mockExtensionApi, Mockito.after(2000L).times(1))
+                    .dispatch(eventCaptor.capture());
+            final Event dispatchedEvent = eventCaptor.getValue();
+            Assert.assertEquals("Optimize Response", dispatchedEvent.getName());
+            Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
+            Assert.assertEquals(
+                    "com.adobe.eventSource.responseContent", dispatchedEvent.getSource());
+        }
+    }
+
+    @Test
+    public void
+            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsForDisplay()
+                    throws Exception {
+        // setup
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                    }
+                });
+
+        final Map<String, Object> optimizeTrackRequestData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource(
+                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_DISPLAY.json"),
+                                HashMap.class);
+        final Event testEvent =
+                new Event.Builder(
+                                "Optimize Track Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(optimizeTrackRequestData)
+                        .build();
+
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+        // test
+        extension.handleOptimizeRequestContent(testEvent);
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
+        final Map<String, Object> eventData = dispatchedEvent.getEventData();
+        Assert.assertNotNull(eventData);
+        final Map<String, Object> propositionInteractionsXdm =
+                (Map<String, Object>) eventData.get("xdm");
+        Assert.assertNotNull(propositionInteractionsXdm);
+        Assert.assertEquals(
+                "decisioning.propositionDisplay", propositionInteractionsXdm.get("eventType"));
+        final Map<String, Object> experience =
+                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
+        Assert.assertNotNull(experience);
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        Assert.assertNotNull(decisioning);
+        final List<Map<String, Object>> propositionInteractionDetailsList =
+                (List<Map<String, Object>>) decisioning.get("propositions");
+        Assert.assertNotNull(propositionInteractionDetailsList);
+        Assert.assertEquals(1, propositionInteractionDetailsList.size());
+        final Map<String, Object> propositionInteractionDetailsMap =
+                propositionInteractionDetailsList.get(0);
+        Assert.assertEquals(
+                "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa", propositionInteractionDetailsMap.get("id"));
+        Assert.assertEquals(
+                "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==",
+                propositionInteractionDetailsMap.get("scope"));
+        final Map<String, Object> scopeDetails =
+                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
+        Assert.assertNotNull(scopeDetails);
+        Assert.assertTrue(scopeDetails.isEmpty());
+        final List<Map<String, Object>> items =
+                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
+        Assert.assertNotNull(items);
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals("xcore:personalized-offer:1111111111111111", items.get(0).get("id"));
+    }
+
+    @Test
+    public void
+            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsForTap()
+                    throws Exception {
+        // setup
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                    }
+                });
+
+        final Map<String, Object> optimizeTrackRequestData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource(
+                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_TAP.json"),
+                                HashMap.class);
+        final Event testEvent =
+                new Event.Builder(
+                                "Optimize Track Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(optimizeTrackRequestData)
+                        .build();
+
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+        // test
+        extension.handleOptimizeRequestContent(testEvent);
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
+        final Map<String, Object> eventData = dispatchedEvent.getEventData();
+        Assert.assertNotNull(eventData);
+        final Map<String, Object> propositionInteractionsXdm =
+                (Map<String, Object>) eventData.get("xdm");
+        Assert.assertNotNull(propositionInteractionsXdm);
+        Assert.assertEquals(
+                "decisioning.propositionInteract", propositionInteractionsXdm.get("eventType"));
+        final Map<String, Object> experience =
+                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
+        Assert.assertNotNull(experience);
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        Assert.assertNotNull(decisioning);
+        final List<Map<String, Object>> propositionInteractionDetailsList =
+                (List<Map<String, Object>>) decisioning.get("propositions");
+        Assert.assertNotNull(propositionInteractionDetailsList);
+        Assert.assertEquals(1, propositionInteractionDetailsList.size());
+        final Map<String, Object> propositionInteractionDetailsMap =
+                propositionInteractionDetailsList.get(0);
+        Assert.assertEquals(
+                "AT:eyJhY3Rpdml0eUlkIjoiMTI1NTg5IiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
+                propositionInteractionDetailsMap.get("id"));
+        Assert.assertEquals("myMbox", propositionInteractionDetailsMap.get("scope"));
+        final Map<String, Object> scopeDetails =
+                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
+        Assert.assertNotNull(scopeDetails);
+        Assert.assertEquals(4, scopeDetails.size());
+        Assert.assertEquals("TGT", scopeDetails.get("decisionProvider"));
+        final Map<String, Object> sdActivity = (Map<String, Object>) scopeDetails.get("activity");
+        Assert.assertEquals("125589", sdActivity.get("id"));
+        final Map<String, Object> sdExperience =
+                (Map<String, Object>) scopeDetails.get("experience");
+        Assert.assertEquals("0", sdExperience.get("id"));
+        final List<Map<String, Object>> sdStrategies =
+                (List<Map<String, Object>>) scopeDetails.get("strategies");
+        Assert.assertNotNull(sdStrategies);
+        Assert.assertEquals(1, sdStrategies.size());
+        Assert.assertEquals("0", sdStrategies.get(0).get("algorithmID"));
+        Assert.assertEquals("0", sdStrategies.get(0).get("trafficType"));
+        final List<Map<String, Object>> items =
+                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
+        Assert.assertNotNull(items);
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals("246315", items.get(0).get("id"));
+    }
+
+    @Test
+    public void
+            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsWithDatasetIdInConfig()
+                    throws Exception {
+        // setup
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.datasetId", "111111111111111111111111");
+                    }
+                });
+
+        final Map<String, Object> optimizeTrackRequestData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource(
+                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_TAP.json"),
+                                HashMap.class);
+        final Event testEvent =
+                new Event.Builder(
+                                "Optimize Track Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(optimizeTrackRequestData)
+                        .build();
+
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+        // test
+        extension.handleOptimizeRequestContent(testEvent);
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
+        final Map<String, Object> eventData = dispatchedEvent.getEventData();
+        Assert.assertNotNull(eventData);
+        final String datasetId = (String) eventData.get("datasetId");
+        Assert.assertEquals("111111111111111111111111", datasetId);
+        final Map<String, Object> propositionInteractionsXdm =
+                (Map<String, Object>) eventData.get("xdm");
+        Assert.assertNotNull(propositionInteractionsXdm);
+        Assert.assertEquals(
+                "decisioning.propositionInteract", propositionInteractionsXdm.get("eventType"));
+        final Map<String, Object> experience =
+                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
+        Assert.assertNotNull(experience);
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        Assert.assertNotNull(decisioning);
+        final List<Map<String, Object>> propositionInteractionDetailsList =
+                (List<Map<String, Object>>) decisioning.get("propositions");
+        Assert.assertNotNull(propositionInteractionDetailsList);
+        Assert.assertEquals(1, propositionInteractionDetailsList.size());
+        final Map<String, Object> propositionInteractionDetailsMap =
+                propositionInteractionDetailsList.get(0);
+        Assert.assertEquals(
+                "AT:eyJhY3Rpdml0eUlkIjoiMTI1NTg5IiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
+                propositionInteractionDetailsMap.get("id"));
+        Assert.assertEquals("myMbox", propositionInteractionDetailsMap.get("scope"));
+        final Map<String, Object> scopeDetails =
+                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
+        Assert.assertNotNull(scopeDetails);
+        Assert.assertEquals(4, scopeDetails.size());
+        Assert.assertEquals("TGT", scopeDetails.get("decisionProvider"));
+        final Map<String, Object> sdActivity = (Map<String, Object>) scopeDetails.get("activity");
+        Assert.assertEquals("125589", sdActivity.get("id"));
+        final Map<String, Object> sdExperience =
+                (Map<String, Object>) scopeDetails.get("experience");
+        Assert.assertEquals("0", sdExperience.get("id"));
+        final List<Map<String, Object>> sdStrategies =
+                (List<Map<String, Object>>) scopeDetails.get("strategies");
+        Assert.assertNotNull(sdStrategies);
+        Assert.assertEquals(1, sdStrategies.size());
+        Assert.assertEquals("0", sdStrategies.get(0).get("algorithmID"));
+        Assert.assertEquals("0", sdStrategies.get(0).get("trafficType"));
+        final List<Map<String, Object>> items =
+                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
+        Assert.assertNotNull(items);
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals("246315", items.get(0).get("id"));
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_HandleTrackPropositions_batchedUntilBatchSize()
+            throws Exception {
+        // setup
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.interactionBatchWindow", 60L);
+                        put("optimize.interactionBatchSize", 3);
+                    }
+                });
+
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+        // test
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer1"));
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop2", "offer2"));
+
+        // verify interactions are buffered
+        Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
+        Assert.assertEquals(2, extension.getInteractionBatcher().getBufferedCount());
+
+        // test
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer3"));
+
+        // verify a single Edge event is dispatched with all the propositions
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
+        final Map<String, Object> xdm =
+                (Map<String, Object>) dispatchedEvent.getEventData().get("xdm");
+        Assert.assertEquals("decisioning.propositionDisplay", xdm.get("eventType"));
+        final List<Map<String, Object>> propositions =
+                (List<Map<String, Object>>)
+                        ((Map<String, Object>)
+                                        ((Map<String, Object>) xdm.get("_experience"))
+                                                .get("decisioning"))
+                                .get("propositions");
+        Assert.assertEquals(2, propositions.size());
+        Assert.assertEquals("prop1", propositions.get(0).get("id"));
+        Assert.assertEquals(
+                2, ((List<Map<String, Object>>) propositions.get(0).get("items")).size());
+        Assert.assertEquals("prop2", propositions.get(1).get("id"));
+        Assert.assertEquals(0, extension.getInteractionBatcher().getBufferedCount());
+        Assert.assertEquals(3L, extension.getInteractionBatcher().getBatchedCount());
+    }
+
+    @Test
+    public void
+            testHandleOptimizeRequestContent_HandleTrackPropositions_repeatedDisplaySuppressed()
+                    throws Exception {
+        // setup
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.impressionDeduplicationWindow", 1800);
+                    }
+                });
+
+        // test
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer1"));
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer1"));
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer2"));
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(2)).dispatch(ArgumentMatchers.any());
+
+        // test
+        extension.handleClearPropositions(
+                new Event.Builder(
+                                "Optimize Clear Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestReset")
+                        .build());
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer1"));
+
+        // verify the display is reported again once the displayed offers are cleared
+        Mockito.verify(mockExtensionApi, Mockito.times(3)).dispatch(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_HandleTrackPropositions_compactTracking()
+            throws Exception {
+        // setup
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.compactInteractionTracking", true);
+                    }
+                });
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+        // test
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer1"));
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+        final Map<String, Object> xdm =
+                (Map<String, Object>) eventCaptor.getValue().getEventData().get("xdm");
+        Assert.assertEquals("decisioning.propositionDisplay", xdm.get("eventType"));
+        final Map<String, Object> experience = (Map<String, Object>) xdm.get("_experience");
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        final List<Map<String, Object>> propositions =
+                (List<Map<String, Object>>) decisioning.get("propositions");
+        Assert.assertEquals(1, propositions.size());
+        Assert.assertEquals("prop1", propositions.get(0).get("id"));
+        Assert.assertEquals("myMbox", propositions.get(0).get("scope"));
+        Assert.assertFalse(propositions.get(0).containsKey("scopeDetails"));
+        final List<Map<String, Object>> items =
+                (List<Map<String, Object>>) propositions.get(0).get("items");
+        Assert.assertEquals("offer1", items.get(0).get("id"));
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_HandleTrackPropositions_journaled()
+            throws Exception {
+        // setup
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.interactionJournalMaxSize", 500);
+                        put("optimize.interactionBatchWindow", 60L);
+                    }
+                });
+        final InteractionJournal mockJournal = Mockito.mock(InteractionJournal.class);
+        extension.setInteractionJournal(mockJournal);
+        final Event testEvent = createTrackPropositionsEvent("prop1", "offer1");
+
+        // test
+        extension.handleOptimizeRequestContent(testEvent);
+
+        // verify the interaction is journaled off the event hub thread, and not acknowledged
+        // until dispatched
+        Mockito.verify(mockJournal, Mockito.timeout(1000).times(1))
+                .append(
+                        ArgumentMatchers.eq(testEvent.getUniqueIdentifier()),
+                        ArgumentMatchers.anyMap(),
+                        ArgumentMatchers.isNull(),
+                        ArgumentMatchers.eq(500));
+        Mockito.verify(mockJournal, Mockito.never()).acknowledge(ArgumentMatchers.any());
+
+        // test
+        extension.getInteractionBatcher().flushAll();
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(ArgumentMatchers.any());
+        Mockito.verify(mockJournal, Mockito.timeout(1000).times(1))
+                .acknowledge(
+                        ArgumentMatchers.eq(
+                                Collections.singletonList(testEvent.getUniqueIdentifier())));
+    }
+
+    @Test
+    public void testReplayJournaledInteractions() {
+        // setup
+        final InteractionJournal mockJournal = Mockito.mock(InteractionJournal.class);
+        final Map<String, Object> xdm = new HashMap<>();
+        xdm.put("eventType", "decisioning.propositionDisplay");
+        Mockito.when(mockJournal.load())
+                .thenReturn(
+                        Collections.singletonList(
+                                new InteractionJournal.Entry(
+                                        "id1", xdm, "111111111111111111111111")));
+        extension.setInteractionJournal(mockJournal);
+
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+        // test
+        extension.replayJournaledInteractions();
+
+        // verify
+        Mockito.verify(mockJournal, Mockito.timeout(1000).times(1))
+                .acknowledge(ArgumentMatchers.eq(Collections.singletonList("id1")));
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
+        Assert.assertEquals(
+                "111111111111111111111111", dispatchedEvent.getEventData().get("datasetId"));
+        Assert.assertEquals(xdm, dispatchedEvent.getEventData().get("xdm"));
+    }
+
+    @Test
+    public void testReplayJournaledInteractions_replayedEntriesNotReplayedAgain() throws Exception {
+        // setup
+        final File directory = temporaryFolder.newFolder("aepsdkoptimize");
+        final InteractionJournal previousLaunchJournal = new InteractionJournal(directory);
+        previousLaunchJournal.load();
+        final Map<String, Object> xdm = new HashMap<>();
+        xdm.put("eventType", "decisioning.propositionDisplay");
+        previousLaunchJournal.append("id1", xdm, null, 500);
+        extension.setInteractionJournal(new InteractionJournal(directory));
+
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.interactionJournalMaxSize", 500);
+                    }
+                });
+        final Event testEvent =
+                new Event.Builder(
+                                "Configuration Response Event",
+                                "com.adobe.eventType.configuration",
+                                "com.adobe.eventSource.responseContent")
+                        .build();
+
+        // test
+        extension.handleConfigurationResponse(testEvent);
+
+        // verify the entry is replayed once, and left out of the next launch replay
+        Mockito.verify(mockExtensionApi, Mockito.timeout(1000).times(1))
+                .dispatch(ArgumentMatchers.any());
+        Mockito.verify(mockExtensionApi, Mockito.after(100).times(1))
+                .dispatch(ArgumentMatchers.any());
+        Assert.assertTrue(new InteractionJournal(directory).load().isEmpty());
+    }
+
+    @Test
+    public void testHandleConfigurationResponse_journalDisabledDropsJournaledInteractions() {
+        // setup
+        final InteractionJournal mockJournal = Mockito.mock(InteractionJournal.class);
+        extension.setInteractionJournal(mockJournal);
+
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.interactionJournalMaxSize", 0);
+                    }
+                });
+        final Event testEvent =
+                new Event.Builder(
+                                "Configuration Response Event",
+                                "com.adobe.eventType.configuration",
+                                "com.adobe.eventSource.responseContent")
+                        .build();
+
+        // test
+        extension.handleConfigurationResponse(testEvent);
 
-            // verify
-            Mockito.verify(mockExtensionApi, Mockito.after(2000L).times(1))
-                    .dispatch(eventCaptor.capture());
-            final Event dispatchedEvent = eventCaptor.getValue();
-            Assert.assertEquals("Optimize Response", dispatchedEvent.getName());
-            Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
-            Assert.assertEquals(
-                    "com.adobe.eventSource.responseContent", dispatchedEvent.getSource());
-        }
+        // verify
+        Mockito.verify(mockJournal, Mockito.timeout(1000).times(1)).clear();
+        Mockito.verify(mockJournal, Mockito.never()).load();
+        Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsForDisplay()
-                    throws Exception {
+    public void testHandleConfigurationResponse_restoresPersistedPropositions() {
         // setup
+        final Map<String, String> testConfigIds = new HashMap<>();
+        testConfigIds.put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+        testConfigIds.put("edge.environment", "prod");
+        final PropositionsCacheStore mockCacheStore = Mockito.mock(PropositionsCacheStore.class);
+        Mockito.when(mockCacheStore.load(testConfigIds))
+                .thenReturn(new PropositionsCacheStore.Snapshot(new HashMap<>(), new HashMap<>()));
+        extension.setPropositionsCacheStore(mockCacheStore);
+        extension.setEventsDispatcher(mockEventsDispatcher);
+
         setConfigurationSharedState(
                 SharedStateStatus.SET,
                 new HashMap<String, Object>() {
                     {
                         put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("edge.environment", "prod");
                     }
                 });
+        final Event testEvent =
+                new Event.Builder(
+                                "Configuration Response Event",
+                                "com.adobe.eventType.configuration",
+                                "com.adobe.eventSource.responseContent")
+                        .build();
 
-        final Map<String, Object> optimizeTrackRequestData =
+        // test
+        extension.handleConfigurationResponse(testEvent);
+
+        // verify
+        Mockito.verify(mockCacheStore, Mockito.timeout(1000)).load(testConfigIds);
+        Mockito.verify(mockEventsDispatcher, Mockito.timeout(1000)).start();
+    }
+
+    @Test
+    public void testHandleConfigurationResponse_datastreamChangeClearsPropositions()
+            throws Exception {
+        // setup
+        final Map<String, Object> testPropositionData =
                 new ObjectMapper()
                         .readValue(
                                 getClass()
                                         .getClassLoader()
-                                        .getResource(
-                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_DISPLAY.json"),
+                                        .getResource("json/PROPOSITION_VALID.json"),
                                 HashMap.class);
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(testPropositionData);
+        Assert.assertNotNull(testOptimizeProposition);
+        extension.setCachedPropositions(
+                Collections.singletonMap(
+                        new DecisionScope(testOptimizeProposition.getScope()),
+                        testOptimizeProposition));
+
+        final PropositionsCacheStore mockCacheStore = Mockito.mock(PropositionsCacheStore.class);
+        extension.setPropositionsCacheStore(mockCacheStore);
+        final Map<String, String> previousConfigIds = new HashMap<>();
+        previousConfigIds.put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+        previousConfigIds.put("edge.environment", "");
+        extension.setPropositionsCacheConfigIds(previousConfigIds);
+
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "eeeeeeee-eeee-eeee-eeee-eeeeeeeeeeee");
+                    }
+                });
         final Event testEvent =
                 new Event.Builder(
-                                "Optimize Track Propositions Request",
-                                "com.adobe.eventType.optimize",
-                                "com.adobe.eventSource.requestContent")
-                        .setEventData(optimizeTrackRequestData)
+                                "Configuration Response Event",
+                                "com.adobe.eventType.configuration",
+                                "com.adobe.eventSource.responseContent")
                         .build();
 
-        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
-
         // test
-        extension.handleOptimizeRequestContent(testEvent);
+        extension.handleConfigurationResponse(testEvent);
 
         // verify
-        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
-
-        final Event dispatchedEvent = eventCaptor.getValue();
-        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
-        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
-        final Map<String, Object> eventData = dispatchedEvent.getEventData();
-        Assert.assertNotNull(eventData);
-        final Map<String, Object> propositionInteractionsXdm =
-                (Map<String, Object>) eventData.get("xdm");
-        Assert.assertNotNull(propositionInteractionsXdm);
-        Assert.assertEquals(
-                "decisioning.propositionDisplay", propositionInteractionsXdm.get("eventType"));
-        final Map<String, Object> experience =
-                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
-        Assert.assertNotNull(experience);
-        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
-        Assert.assertNotNull(decisioning);
-        final List<Map<String, Object>> propositionInteractionDetailsList =
-                (List<Map<String, Object>>) decisioning.get("propositions");
-        Assert.assertNotNull(propositionInteractionDetailsList);
-        Assert.assertEquals(1, propositionInteractionDetailsList.size());
-        final Map<String, Object> propositionInteractionDetailsMap =
-                propositionInteractionDetailsList.get(0);
-        Assert.assertEquals(
-                "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa", propositionInteractionDetailsMap.get("id"));
-        Assert.assertEquals(
-                "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==",
-                propositionInteractionDetailsMap.get("scope"));
-        final Map<String, Object> scopeDetails =
-                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
-        Assert.assertNotNull(scopeDetails);
-        Assert.assertTrue(scopeDetails.isEmpty());
-        final List<Map<String, Object>> items =
-                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
-        Assert.assertNotNull(items);
-        Assert.assertEquals(1, items.size());
-        Assert.assertEquals("xcore:personalized-offer:1111111111111111", items.get(0).get("id"));
+        Assert.assertTrue(extension.getCachedPropositions().isEmpty());
+        Mockito.verify(mockCacheStore, Mockito.timeout(1000)).clear();
+        Mockito.verify(mockCacheStore, Mockito.never()).load(ArgumentMatchers.any());
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsForTap()
-                    throws Exception {
+    public void testHandleLifecycleRequest_pauseFlushesBatchedInteractions() throws Exception {
         // setup
         setConfigurationSharedState(
                 SharedStateStatus.SET,
                 new HashMap<String, Object>() {
                     {
                         put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.datasetId", "111111111111111111111111");
+                        put("optimize.interactionBatchWindow", 60L);
                     }
                 });
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer1"));
+        Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
 
-        final Map<String, Object> optimizeTrackRequestData =
-                new ObjectMapper()
-                        .readValue(
-                                getClass()
-                                        .getClassLoader()
-                                        .getResource(
-                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_TAP.json"),
-                                HashMap.class);
         final Event testEvent =
                 new Event.Builder(
-                                "Optimize Track Propositions Request",
-                                "com.adobe.eventType.optimize",
+                                "Lifecycle Pause",
+                                "com.adobe.eventType.generic.lifecycle",
                                 "com.adobe.eventSource.requestContent")
-                        .setEventData(optimizeTrackRequestData)
+                        .setEventData(
+                                new HashMap<String, Object>() {
+                                    {
+                                        put("action", "pause");
+                                    }
+                                })
                         .build();
 
         final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
 
         // test
-        extension.handleOptimizeRequestContent(testEvent);
+        extension.handleLifecycleRequest(testEvent);
 
         // verify
         Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
-
-        final Event dispatchedEvent = eventCaptor.getValue();
-        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
-        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
-        final Map<String, Object> eventData = dispatchedEvent.getEventData();
-        Assert.assertNotNull(eventData);
-        final Map<String, Object> propositionInteractionsXdm =
-                (Map<String, Object>) eventData.get("xdm");
-        Assert.assertNotNull(propositionInteractionsXdm);
-        Assert.assertEquals(
-                "decisioning.propositionInteract", propositionInteractionsXdm.get("eventType"));
-        final Map<String, Object> experience =
-                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
-        Assert.assertNotNull(experience);
-        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
-        Assert.assertNotNull(decisioning);
-        final List<Map<String, Object>> propositionInteractionDetailsList =
-                (List<Map<String, Object>>) decisioning.get("propositions");
-        Assert.assertNotNull(propositionInteractionDetailsList);
-        Assert.assertEquals(1, propositionInteractionDetailsList.size());
-        final Map<String, Object> propositionInteractionDetailsMap =
-                propositionInteractionDetailsList.get(0);
+        final Map<String, Object> eventData = eventCaptor.getValue().getEventData();
+        Assert.assertEquals("111111111111111111111111", eventData.get("datasetId"));
         Assert.assertEquals(
-                "AT:eyJhY3Rpdml0eUlkIjoiMTI1NTg5IiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
-                propositionInteractionDetailsMap.get("id"));
-        Assert.assertEquals("myMbox", propositionInteractionDetailsMap.get("scope"));
-        final Map<String, Object> scopeDetails =
-                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
-        Assert.assertNotNull(scopeDetails);
-        Assert.assertEquals(4, scopeDetails.size());
-        Assert.assertEquals("TGT", scopeDetails.get("decisionProvider"));
-        final Map<String, Object> sdActivity = (Map<String, Object>) scopeDetails.get("activity");
-        Assert.assertEquals("125589", sdActivity.get("id"));
-        final Map<String, Object> sdExperience =
-                (Map<String, Object>) scopeDetails.get("experience");
-        Assert.assertEquals("0", sdExperience.get("id"));
-        final List<Map<String, Object>> sdStrategies =
-                (List<Map<String, Object>>) scopeDetails.get("strategies");
-        Assert.assertNotNull(sdStrategies);
-        Assert.assertEquals(1, sdStrategies.size());
-        Assert.assertEquals("0", sdStrategies.get(0).get("algorithmID"));
-        Assert.assertEquals("0", sdStrategies.get(0).get("trafficType"));
-        final List<Map<String, Object>> items =
-                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
-        Assert.assertNotNull(items);
-        Assert.assertEquals(1, items.size());
-        Assert.assertEquals("246315", items.get(0).get("id"));
+                "decisioning.propositionDisplay",
+                ((Map<String, Object>) eventData.get("xdm")).get("eventType"));
+        Assert.assertEquals(0, extension.getInteractionBatcher().getBufferedCount());
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsWithDatasetIdInConfig()
-                    throws Exception {
+    public void testHandleLifecycleResponse_sessionStartClearsDisplayedOffers() throws Exception {
         // setup
         setConfigurationSharedState(
                 SharedStateStatus.SET,
                 new HashMap<String, Object>() {
                     {
                         put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
-                        put("optimize.datasetId", "111111111111111111111111");
+                        put("optimize.impressionDeduplicationWindow", 1800);
                     }
                 });
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer1"));
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer1"));
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(ArgumentMatchers.any());
 
-        final Map<String, Object> optimizeTrackRequestData =
-                new ObjectMapper()
-                        .readValue(
-                                getClass()
-                                        .getClassLoader()
-                                        .getResource(
-                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_TAP.json"),
-                                HashMap.class);
+        // test
+        extension.handleLifecycleResponse(createLifecycleResponseEvent("resume"));
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer1"));
+
+        // verify the display is still suppressed within the session
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(ArgumentMatchers.any());
+
+        // test
+        extension.handleLifecycleResponse(createLifecycleResponseEvent("start"));
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer1"));
+
+        // verify the display is reported again in the new session
+        Mockito.verify(mockExtensionApi, Mockito.times(2)).dispatch(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testOnRegistered_appliesCacheConfigurationBeforeRestore() {
+        // setup
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.cacheMaxSize", 2048);
+                        put("optimize.cacheTtl", 60);
+                    }
+                });
+        extension.onUnregistered();
+
+        // test
+        extension = new OptimizeExtension(mockExtensionApi);
+        extension.onRegistered();
+
+        // verify
+        Assert.assertEquals(2048L, extension.getPropositionsCache().getMaxWeight());
+    }
+
+    @Test
+    public void testHandleConfigurationResponse_appliesCacheConfiguration() {
+        // setup
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.cacheMaxSize", 4096);
+                    }
+                });
         final Event testEvent =
                 new Event.Builder(
-                                "Optimize Track Propositions Request",
-                                "com.adobe.eventType.optimize",
-                                "com.adobe.eventSource.requestContent")
-                        .setEventData(optimizeTrackRequestData)
+                                "Configuration Response Event",
+                                "com.adobe.eventType.configuration",
+                                "com.adobe.eventSource.responseContent")
                         .build();
 
-        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
-
         // test
-        extension.handleOptimizeRequestContent(testEvent);
+        extension.handleConfigurationResponse(testEvent);
 
         // verify
-        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+        Assert.assertEquals(4096L, extension.getPropositionsCache().getMaxWeight());
+    }
 
-        final Event dispatchedEvent = eventCaptor.getValue();
-        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
-        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
-        final Map<String, Object> eventData = dispatchedEvent.getEventData();
-        Assert.assertNotNull(eventData);
-        final String datasetId = (String) eventData.get("datasetId");
-        Assert.assertEquals("111111111111111111111111", datasetId);
-        final Map<String, Object> propositionInteractionsXdm =
-                (Map<String, Object>) eventData.get("xdm");
-        Assert.assertNotNull(propositionInteractionsXdm);
-        Assert.assertEquals(
-                "decisioning.propositionInteract", propositionInteractionsXdm.get("eventType"));
-        final Map<String, Object> experience =
-                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
-        Assert.assertNotNull(experience);
-        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
-        Assert.assertNotNull(decisioning);
-        final List<Map<String, Object>> propositionInteractionDetailsList =
-                (List<Map<String, Object>>) decisioning.get("propositions");
-        Assert.assertNotNull(propositionInteractionDetailsList);
-        Assert.assertEquals(1, propositionInteractionDetailsList.size());
-        final Map<String, Object> propositionInteractionDetailsMap =
-                propositionInteractionDetailsList.get(0);
-        Assert.assertEquals(
-                "AT:eyJhY3Rpdml0eUlkIjoiMTI1NTg5IiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
-                propositionInteractionDetailsMap.get("id"));
-        Assert.assertEquals("myMbox", propositionInteractionDetailsMap.get("scope"));
-        final Map<String, Object> scopeDetails =
-                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
-        Assert.assertNotNull(scopeDetails);
-        Assert.assertEquals(4, scopeDetails.size());
-        Assert.assertEquals("TGT", scopeDetails.get("decisionProvider"));
-        final Map<String, Object> sdActivity = (Map<String, Object>) scopeDetails.get("activity");
-        Assert.assertEquals("125589", sdActivity.get("id"));
-        final Map<String, Object> sdExperience =
-                (Map<String, Object>) scopeDetails.get("experience");
-        Assert.assertEquals("0", sdExperience.get("id"));
-        final List<Map<String, Object>> sdStrategies =
-                (List<Map<String, Object>>) scopeDetails.get("strategies");
-        Assert.assertNotNull(sdStrategies);
-        Assert.assertEquals(1, sdStrategies.size());
-        Assert.assertEquals("0", sdStrategies.get(0).get("algorithmID"));
-        Assert.assertEquals("0", sdStrategies.get(0).get("trafficType"));
-        final List<Map<String, Object>> items =
-                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
-        Assert.assertNotNull(items);
-        Assert.assertEquals(1, items.size());
-        Assert.assertEquals("246315", items.get(0).get("id"));
+    @Test
+    public void testOnUnregistered_flushesBatchedInteractions() throws Exception {
+        // setup
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.interactionBatchWindow", 60L);
+                    }
+                });
+        extension.handleOptimizeRequestContent(createTrackPropositionsEvent("prop1", "offer1"));
+        Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
+
+        // test
+        extension.onUnregistered();
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(ArgumentMatchers.any());
+        Assert.assertEquals(0, extension.getInteractionBatcher().getBufferedCount());
     }
 
     @Test
@@ -2073,26 +4221,470 @@ public class OptimizeExtensionTests {
                         .build();
 
         // test
-        extension.handleClearPropositions(testEvent);
+        extension.handleClearPropositions(testEvent);
+
+        // verify
+        final Map<DecisionScope, OptimizeProposition> actualCachedPropositions =
+                extension.getCachedPropositions();
+        Assert.assertTrue(actualCachedPropositions.isEmpty());
+    }
+
+    @Test
+    public void testHandleClearPropositions_clearsPersistedPropositions() {
+        // setup
+        final PropositionsCacheStore mockCacheStore = Mockito.mock(PropositionsCacheStore.class);
+        extension.setPropositionsCacheStore(mockCacheStore);
+
+        final Event testEvent =
+                new Event.Builder(
+                                "Reset Identities Request",
+                                "com.adobe.eventType.generic.identity",
+                                "com.adobe.eventSource.requestReset")
+                        .build();
+
+        // test
+        extension.handleClearPropositions(testEvent);
+
+        // verify
+        Mockito.verify(mockCacheStore, Mockito.timeout(1000)).clear();
+    }
+
+    @Test
+    public void testHandlePinPropositions() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "pinpropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Pin Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            Assert.assertTrue(extension.getPropositionsCache().isPinned(testScope));
+
+            // test
+            testEventData.put("requesttype", "unpinpropositions");
+            final Event testUnpinEvent =
+                    new Event.Builder(
+                                    "Optimize Unpin Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+            extension.handleOptimizeRequestContent(testUnpinEvent);
+
+            // verify
+            Assert.assertFalse(extension.getPropositionsCache().isPinned(testScope));
+        }
+    }
+
+    @Test
+    public void testHandleGetMetrics() throws Exception {
+        // setup
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(
+                        new ObjectMapper()
+                                .readValue(
+                                        getClass()
+                                                .getClassLoader()
+                                                .getResource("json/PROPOSITION_VALID.json"),
+                                        HashMap.class));
+        Assert.assertNotNull(testOptimizeProposition);
+        final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+        cachedPropositions.put(
+                new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
+        extension.setCachedPropositions(cachedPropositions);
+
+        final Map<String, Object> testEventData = new HashMap<>();
+        testEventData.put("requesttype", "getmetrics");
+        final Event testEvent =
+                new Event.Builder(
+                                "Optimize Get Metrics Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(testEventData)
+                        .build();
+
+        // test
+        extension.handleOptimizeRequestContent(testEvent);
+
+        // verify
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("Optimize Response", dispatchedEvent.getName());
+        Assert.assertEquals(testEvent.getUniqueIdentifier(), dispatchedEvent.getResponseID());
+
+        final Map<String, Object> metrics =
+                (Map<String, Object>) dispatchedEvent.getEventData().get("metrics");
+        Assert.assertEquals(1, metrics.get("cachedscopes"));
+        Assert.assertEquals(0, metrics.get("pinnedscopes"));
+        Assert.assertEquals(
+                PropositionsCache.estimateWeight(testOptimizeProposition),
+                metrics.get("cacheweight"));
+        Assert.assertEquals(0L, metrics.get("cachemaxweight"));
+        Assert.assertEquals(0L, metrics.get("cacheevictions"));
+        Assert.assertEquals(
+                extension.getPropositionsCache().getGeneration(), metrics.get("cachegeneration"));
+        Assert.assertEquals(0L, metrics.get("coalescedupdates"));
+        Assert.assertEquals(0L, metrics.get("deduplicatedupdates"));
+        Assert.assertEquals(0L, metrics.get("collapsedgets"));
+        Assert.assertEquals(0L, metrics.get("cancelledupdates"));
+        Assert.assertEquals(0, ((Map<String, Object>) metrics.get("edgelatency")).get("count"));
+        Assert.assertEquals("closed", metrics.get("circuitbreakerstate"));
+        Assert.assertEquals(0L, metrics.get("circuitbreakerfallbacks"));
+        Assert.assertEquals(0L, metrics.get("suppressedupdates"));
+        Assert.assertEquals(0L, metrics.get("batchedinteractions"));
+        Assert.assertEquals(0L, metrics.get("suppressedimpressions"));
+        Assert.assertEquals(0L, metrics.get("earlyimpressionrotations"));
+        Assert.assertEquals(0, metrics.get("journaledinteractions"));
+        Assert.assertEquals(0L, metrics.get("compactedinteractions"));
+        Assert.assertEquals(0L, metrics.get("compactedinteractionssavedbytes"));
+    }
+
+    @Test
+    public void testPeekCachedPropositions() throws Exception {
+        // setup
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(
+                        new ObjectMapper()
+                                .readValue(
+                                        getClass()
+                                                .getClassLoader()
+                                                .getResource("json/PROPOSITION_VALID.json"),
+                                        HashMap.class));
+        Assert.assertNotNull(testOptimizeProposition);
+        final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+        final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+        cachedPropositions.put(testScope, testOptimizeProposition);
+        extension.setCachedPropositions(cachedPropositions);
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                PropositionsPeek.read(Arrays.asList(testScope, new DecisionScope("myMbox")));
+
+        // verify
+        Assert.assertNotNull(propositions);
+        Assert.assertEquals(1, propositions.size());
+        Assert.assertSame(testOptimizeProposition, propositions.get(testScope));
+        Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testPeekCachedPropositions_skipsExpiredPropositions() throws Exception {
+        // setup
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(
+                        new ObjectMapper()
+                                .readValue(
+                                        getClass()
+                                                .getClassLoader()
+                                                .getResource("json/PROPOSITION_VALID.json"),
+                                        HashMap.class));
+        Assert.assertNotNull(testOptimizeProposition);
+        final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+        final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+        cachedPropositions.put(testScope, testOptimizeProposition);
+        extension.setCachedPropositions(cachedPropositions);
+        extension.setCachedPropositionFetchTime(testScope, System.currentTimeMillis() - 120000L);
+        extension.setPropositionsCacheTtl(60000L);
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                extension.peekPropositions(Collections.singletonList(testScope));
+
+        // verify
+        Assert.assertTrue(propositions.isEmpty());
+        // expired propositions are not removed by peek
+        Assert.assertEquals(1, extension.getCachedPropositions().size());
+    }
+
+    @Test
+    public void testPeekCachedPropositions_usesConfiguredTtl() throws Exception {
+        // setup
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(
+                        new ObjectMapper()
+                                .readValue(
+                                        getClass()
+                                                .getClassLoader()
+                                                .getResource("json/PROPOSITION_VALID.json"),
+                                        HashMap.class));
+        Assert.assertNotNull(testOptimizeProposition);
+        final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+        final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+        cachedPropositions.put(testScope, testOptimizeProposition);
+        extension.setCachedPropositions(cachedPropositions);
+        extension.setCachedPropositionFetchTime(testScope, System.currentTimeMillis() - 120000L);
+        extension.setPropositionsCacheTtl(0L);
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("optimize.cacheTtl", 60);
+                    }
+                });
+        extension.handleConfigurationResponse(
+                new Event.Builder(
+                                "Configuration Response Event",
+                                "com.adobe.eventType.configuration",
+                                "com.adobe.eventSource.responseContent")
+                        .build());
+        Mockito.clearInvocations(mockExtensionApi);
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                extension.peekPropositions(Collections.singletonList(testScope));
+
+        // verify
+        Assert.assertTrue(propositions.isEmpty());
+        Mockito.verify(mockExtensionApi, Mockito.never())
+                .getSharedState(
+                        ArgumentMatchers.anyString(),
+                        ArgumentMatchers.any(),
+                        ArgumentMatchers.anyBoolean(),
+                        ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testPeekCachedPropositions_previewPropositions() throws Exception {
+        // setup
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(
+                        new ObjectMapper()
+                                .readValue(
+                                        getClass()
+                                                .getClassLoader()
+                                                .getResource("json/PROPOSITION_VALID.json"),
+                                        HashMap.class));
+        final OptimizeProposition testPreviewProposition =
+                OptimizeProposition.fromEventData(
+                        new ObjectMapper()
+                                .readValue(
+                                        getClass()
+                                                .getClassLoader()
+                                                .getResource("json/PROPOSITION_VALID_B.json"),
+                                        HashMap.class));
+        Assert.assertNotNull(testOptimizeProposition);
+        Assert.assertNotNull(testPreviewProposition);
+        final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+        final DecisionScope testPreviewScope =
+                new DecisionScope(testPreviewProposition.getScope());
+        final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+        cachedPropositions.put(testScope, testOptimizeProposition);
+        extension.setCachedPropositions(cachedPropositions);
+        final Map<DecisionScope, OptimizeProposition> previewPropositions = new HashMap<>();
+        previewPropositions.put(testPreviewScope, testPreviewProposition);
+        extension.setPreviewCachedPropositions(previewPropositions);
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                extension.peekPropositions(Arrays.asList(testScope, testPreviewScope));
+
+        // verify
+        Assert.assertEquals(1, propositions.size());
+        Assert.assertEquals(testPreviewProposition, propositions.get(testPreviewScope));
+    }
+
+    @Test
+    public void testPeekCachedPropositions_extensionUnregistered() {
+        // setup
+        extension.onUnregistered();
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                PropositionsPeek.read(Collections.singletonList(new DecisionScope("myMbox")));
+
+        // verify
+        Assert.assertNull(propositions);
+    }
+
+    @Test
+    public void testRestoreCachedPropositions() throws Exception {
+        // setup
+        final Map<String, Object> testPropositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID.json"),
+                                HashMap.class);
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(testPropositionData);
+        Assert.assertNotNull(testOptimizeProposition);
+        final Map<DecisionScope, OptimizeProposition> persistedPropositions = new HashMap<>();
+        persistedPropositions.put(
+                new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
+
+        final PropositionsCacheStore mockCacheStore = Mockito.mock(PropositionsCacheStore.class);
+        final Map<DecisionScope, Long> persistedFetchTimes = new HashMap<>();
+        persistedFetchTimes.put(new DecisionScope(testOptimizeProposition.getScope()), 1000L);
+        final Map<String, String> testConfigIds = new HashMap<>();
+        testConfigIds.put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+        testConfigIds.put("edge.environment", "");
+        Mockito.when(mockCacheStore.load(testConfigIds))
+                .thenReturn(
+                        new PropositionsCacheStore.Snapshot(
+                                persistedPropositions, persistedFetchTimes));
+        extension.setPropositionsCacheStore(mockCacheStore);
+        extension.setPropositionsCacheConfigIds(testConfigIds);
+        extension.setEventsDispatcher(mockEventsDispatcher);
+
+        // test
+        extension.restoreCachedPropositions();
+
+        // verify
+        Mockito.verify(mockEventsDispatcher, Mockito.timeout(1000)).start();
+        Assert.assertEquals(1, extension.getCachedPropositions().size());
+        Assert.assertEquals(
+                testOptimizeProposition,
+                extension
+                        .getCachedPropositions()
+                        .get(new DecisionScope(testOptimizeProposition.getScope())));
+        Assert.assertEquals(persistedFetchTimes, extension.getCachedPropositionsFetchTimes());
+    }
+
+    @Test
+    public void testRestoreCachedPropositions_cacheClearedBeforeRestoreCompletes()
+            throws Exception {
+        // setup
+        final Map<String, Object> testPropositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID.json"),
+                                HashMap.class);
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(testPropositionData);
+        Assert.assertNotNull(testOptimizeProposition);
+        final Map<DecisionScope, OptimizeProposition> persistedPropositions = new HashMap<>();
+        persistedPropositions.put(
+                new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
+
+        final Event resetEvent =
+                new Event.Builder(
+                                "Reset Identities Request",
+                                "com.adobe.eventType.generic.identity",
+                                "com.adobe.eventSource.requestReset")
+                        .build();
+
+        final PropositionsCacheStore mockCacheStore = Mockito.mock(PropositionsCacheStore.class);
+        Mockito.when(mockCacheStore.load(ArgumentMatchers.any()))
+                .thenAnswer(
+                        invocation -> {
+                            // identities are reset while the snapshot is being loaded
+                            extension.handleClearPropositions(resetEvent);
+                            return new PropositionsCacheStore.Snapshot(
+                                    persistedPropositions, new HashMap<>());
+                        });
+        extension.setPropositionsCacheStore(mockCacheStore);
+        extension.setEventsDispatcher(mockEventsDispatcher);
+
+        // test
+        extension.restoreCachedPropositions();
+
+        // verify
+        Mockito.verify(mockEventsDispatcher, Mockito.timeout(1000)).start();
+        Mockito.verify(mockCacheStore, Mockito.timeout(1000)).clear();
+        Assert.assertTrue(extension.getCachedPropositions().isEmpty());
+    }
+
+    @Test
+    public void testHandleUpdatePropositionsComplete_updatesPropositionsCache() throws Exception {
+        // setup
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                new ArrayList<DecisionScope>() {
+                    {
+                        add(
+                                new DecisionScope(
+                                        "eydhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+                    }
+                });
+        final Map<String, Object> testPropositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID.json"),
+                                HashMap.class);
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(testPropositionData);
+        Assert.assertNotNull(testOptimizeProposition);
+        final Map<DecisionScope, OptimizeProposition> propositionsInProgress = new HashMap<>();
+        propositionsInProgress.put(
+                new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
+        extension.setPropositionsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", propositionsInProgress);
+
+        final Event testEvent =
+                new Event.Builder(
+                                "Optimize Update Propositions Complete",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.contentComplete")
+                        .setEventData(
+                                new HashMap<String, Object>() {
+                                    {
+                                        put(
+                                                "completedUpdateRequestForEventId",
+                                                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
+                                    }
+                                })
+                        .build();
+
+        // test
+        extension.handleUpdatePropositionsCompleted(testEvent);
 
         // verify
-        final Map<DecisionScope, OptimizeProposition> actualCachedPropositions =
-                extension.getCachedPropositions();
-        Assert.assertTrue(actualCachedPropositions.isEmpty());
+        Assert.assertEquals(1, extension.getCachedPropositions().size());
+        Assert.assertEquals(
+                0,
+                extension
+                        .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                        .size());
+        Assert.assertEquals(0, extension.getUpdateRequestEventIdsInProgress().size());
     }
 
     @Test
-    public void testHandleUpdatePropositionsComplete_updatesPropositionsCache() throws Exception {
+    public void testHandleUpdatePropositionsComplete_persistsPropositionsCache() throws Exception {
         // setup
-        extension.setUpdateRequestEventIdsInProgress(
-                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
-                new ArrayList<DecisionScope>() {
-                    {
-                        add(
-                                new DecisionScope(
-                                        "eydhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
-                    }
-                });
+        final PropositionsCacheStore mockCacheStore = Mockito.mock(PropositionsCacheStore.class);
+        extension.setPropositionsCacheStore(mockCacheStore);
+        final Map<String, String> testConfigIds = new HashMap<>();
+        testConfigIds.put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+        testConfigIds.put("edge.environment", "");
+        extension.setPropositionsCacheConfigIds(testConfigIds);
+
         final Map<String, Object> testPropositionData =
                 new ObjectMapper()
                         .readValue(
@@ -2103,10 +4695,18 @@ public class OptimizeExtensionTests {
         final OptimizeProposition testOptimizeProposition =
                 OptimizeProposition.fromEventData(testPropositionData);
         Assert.assertNotNull(testOptimizeProposition);
+        final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                new ArrayList<DecisionScope>() {
+                    {
+                        add(testScope);
+                    }
+                });
         final Map<DecisionScope, OptimizeProposition> propositionsInProgress = new HashMap<>();
-        propositionsInProgress.put(
-                new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
-        extension.setPropositionsInProgress(propositionsInProgress);
+        propositionsInProgress.put(testScope, testOptimizeProposition);
+        extension.setPropositionsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", propositionsInProgress);
 
         final Event testEvent =
                 new Event.Builder(
@@ -2127,9 +4727,176 @@ public class OptimizeExtensionTests {
         extension.handleUpdatePropositionsCompleted(testEvent);
 
         // verify
-        Assert.assertEquals(1, extension.getCachedPropositions().size());
-        Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-        Assert.assertEquals(0, extension.getUpdateRequestEventIdsInProgress().size());
+        final ArgumentCaptor<PropositionsCacheStore.Snapshot> snapshotCaptor =
+                ArgumentCaptor.forClass(PropositionsCacheStore.Snapshot.class);
+        Mockito.verify(mockCacheStore, Mockito.timeout(1000))
+                .save(snapshotCaptor.capture(), ArgumentMatchers.eq(testConfigIds));
+        Assert.assertEquals(1, snapshotCaptor.getValue().propositions.size());
+        Assert.assertEquals(
+                testOptimizeProposition, snapshotCaptor.getValue().propositions.get(testScope));
+        Assert.assertNotNull(snapshotCaptor.getValue().fetchTimes.get(testScope));
+    }
+
+    @Test
+    public void testHandleGetPropositions_handsOffPropositions() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final OptimizeProposition testOptimizeProposition =
+                    OptimizeProposition.fromEventData(
+                            new ObjectMapper()
+                                    .readValue(
+                                            getClass()
+                                                    .getClassLoader()
+                                                    .getResource("json/PROPOSITION_VALID.json"),
+                                            HashMap.class));
+            Assert.assertNotNull(testOptimizeProposition);
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(testScope, testOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "getpropositions");
+            testEventData.put("propositionshandoff", true);
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleGetPropositions(testEvent);
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            final Event dispatchedEvent = eventCaptor.getValue();
+            Assert.assertFalse(dispatchedEvent.getEventData().containsKey("propositions"));
+
+            final Map<DecisionScope, OptimizeProposition> handedOffPropositions =
+                    PropositionsHandoff.take(dispatchedEvent.getUniqueIdentifier());
+            Assert.assertNotNull(handedOffPropositions);
+            Assert.assertEquals(1, handedOffPropositions.size());
+            Assert.assertSame(testOptimizeProposition, handedOffPropositions.get(testScope));
+        }
+    }
+
+    @Test
+    public void testHandleGetPropositions_expiresPropositionsOlderThanCacheTtl() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.cacheTtl", 60);
+                        }
+                    });
+
+            final OptimizeProposition expiredProposition =
+                    OptimizeProposition.fromEventData(
+                            new ObjectMapper()
+                                    .readValue(
+                                            getClass()
+                                                    .getClassLoader()
+                                                    .getResource("json/PROPOSITION_VALID.json"),
+                                            HashMap.class));
+            final OptimizeProposition freshProposition =
+                    OptimizeProposition.fromEventData(
+                            new ObjectMapper()
+                                    .readValue(
+                                            getClass()
+                                                    .getClassLoader()
+                                                    .getResource("json/PROPOSITION_VALID_B.json"),
+                                            HashMap.class));
+            Assert.assertNotNull(expiredProposition);
+            Assert.assertNotNull(freshProposition);
+            final DecisionScope expiredScope = new DecisionScope(expiredProposition.getScope());
+            final DecisionScope freshScope = new DecisionScope(freshProposition.getScope());
+
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(expiredScope, expiredProposition);
+            cachedPropositions.put(freshScope, freshProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            extension.setCachedPropositionFetchTime(
+                    expiredScope, System.currentTimeMillis() - 61000L);
+            extension.setCachedPropositionFetchTime(freshScope, System.currentTimeMillis());
+
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "getpropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(expiredScope.toEventData());
+                            add(freshScope.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleGetPropositions(testEvent);
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            final Map<String, Object> responseEventData =
+                    eventCaptor.getValue().getEventData();
+
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>) responseEventData.get("propositions");
+            Assert.assertEquals(1, propositionsList.size());
+            Assert.assertEquals(freshProposition.getId(), propositionsList.get(0).get("id"));
+
+            final List<Map<String, Object>> expiredScopesList =
+                    (List<Map<String, Object>>) responseEventData.get("expiredscopes");
+            Assert.assertEquals(1, expiredScopesList.size());
+            Assert.assertEquals(expiredScope.getName(), expiredScopesList.get(0).get("name"));
+
+            Assert.assertFalse(extension.getCachedPropositions().containsKey(expiredScope));
+            Assert.assertFalse(extension.getCachedPropositionsFetchTimes().containsKey(expiredScope));
+            Assert.assertTrue(extension.getCachedPropositions().containsKey(freshScope));
+        }
     }
 
     @Test
@@ -2149,7 +4916,8 @@ public class OptimizeExtensionTests {
         final Map<DecisionScope, OptimizeProposition> propositionsInProgress = new HashMap<>();
         propositionsInProgress.put(
                 new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
-        extension.setPropositionsInProgress(propositionsInProgress);
+        extension.setPropositionsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", propositionsInProgress);
 
         final Event testEvent =
                 new Event.Builder(
@@ -2171,7 +4939,11 @@ public class OptimizeExtensionTests {
 
         // verify
         Assert.assertEquals(0, extension.getCachedPropositions().size());
-        Assert.assertEquals(0, extension.getPropositionsInProgress().size());
+        Assert.assertEquals(
+                0,
+                extension
+                        .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                        .size());
         Assert.assertEquals(0, extension.getUpdateRequestEventIdsInProgress().size());
     }
 
@@ -2201,7 +4973,8 @@ public class OptimizeExtensionTests {
         final Map<DecisionScope, OptimizeProposition> propositionsInProgress = new HashMap<>();
         propositionsInProgress.put(
                 new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
-        extension.setPropositionsInProgress(propositionsInProgress);
+        extension.setPropositionsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", propositionsInProgress);
 
         final Event testEvent =
                 new Event.Builder(
@@ -2214,10 +4987,164 @@ public class OptimizeExtensionTests {
         // test
         extension.handleUpdatePropositionsCompleted(testEvent);
 
-        // verify
+        // verify the propositions of the request in progress are kept
         Assert.assertEquals(0, extension.getCachedPropositions().size());
-        Assert.assertEquals(0, extension.getPropositionsInProgress().size());
+        Assert.assertEquals(
+                1,
+                extension
+                        .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                        .size());
+        Assert.assertEquals(1, extension.getUpdateRequestEventIdsInProgress().size());
+    }
+
+    @Test
+    public void testHandleEdgeResponse_accumulatesPropositionsPerRequest() throws Exception {
+        // setup
+        final DecisionScope testScope =
+                new DecisionScope(
+                        "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", Collections.singletonList(testScope));
+        extension.setUpdateRequestEventIdsInProgress(
+                "BBBBBBBB-BBBB-BBBB-BBBB-BBBBBBBBBBBB",
+                Collections.singletonList(new DecisionScope("myMbox")));
+
+        final Map<String, Object> edgeResponseData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/EVENT_DATA_EDGE_RESPONSE_VALID.json"),
+                                HashMap.class);
+        final Map<String, Object> unrelatedEdgeResponseData = new HashMap<>(edgeResponseData);
+        unrelatedEdgeResponseData.put("requestEventId", "CCCCCCCC-CCCC-CCCC-CCCC-CCCCCCCCCCCC");
+
+        // test
+        extension.handleEdgeResponse(
+                new Event.Builder(
+                                "AEP Response Event Handle",
+                                "com.adobe.eventType.edge",
+                                "personalization:decisions")
+                        .setEventData(edgeResponseData)
+                        .build());
+        extension.handleEdgeResponse(
+                new Event.Builder(
+                                "AEP Response Event Handle",
+                                "com.adobe.eventType.edge",
+                                "personalization:decisions")
+                        .setEventData(unrelatedEdgeResponseData)
+                        .build());
+        extension.handleUpdatePropositionsCompleted(
+                new Event.Builder(
+                                "Optimize Update Propositions Complete",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.contentComplete")
+                        .setEventData(
+                                Collections.singletonMap(
+                                        "completedUpdateRequestForEventId",
+                                        "BBBBBBBB-BBBB-BBBB-BBBB-BBBBBBBBBBBB"))
+                        .build());
+
+        // verify the propositions are accumulated only for their own request
+        Assert.assertEquals(
+                Collections.singleton(testScope),
+                extension
+                        .getPropositionsInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                        .keySet());
+        Assert.assertTrue(
+                extension
+                        .getPropositionsInProgress("BBBBBBBB-BBBB-BBBB-BBBB-BBBBBBBBBBBB")
+                        .isEmpty());
         Assert.assertEquals(1, extension.getUpdateRequestEventIdsInProgress().size());
+        Assert.assertEquals(0, extension.getCachedPropositions().size());
+    }
+
+    @Test
+    public void testHandleEdgeResponse_streamsPropositionsToRequestsInProgress() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
+                    "decisionscopes", Collections.singletonList(testScope.toEventData()));
+            testEventData.put("streampropositions", true);
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+            final AdobeCallbackWithPartialPropositions<Map<DecisionScope, OptimizeProposition>>
+                    mockCallback = Mockito.mock(AdobeCallbackWithPartialPropositions.class);
+            PropositionsStream.open(testEvent.getUniqueIdentifier(), mockCallback);
+
+            extension.handleUpdatePropositions(testEvent);
+
+            final ArgumentCaptor<Event> edgeEventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    edgeEventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)),
+                    Mockito.times(1));
+
+            final Map<String, Object> edgeResponseData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource(
+                                                    "json/EVENT_DATA_EDGE_RESPONSE_VALID.json"),
+                                    HashMap.class);
+            edgeResponseData.put(
+                    "requestEventId", edgeEventCaptor.getValue().getUniqueIdentifier());
+
+            // test
+            extension.handleEdgeResponse(
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(edgeResponseData)
+                            .build());
+
+            // verify the chunk is streamed before the request completes
+            final ArgumentCaptor<Map<DecisionScope, OptimizeProposition>> partialCaptor =
+                    ArgumentCaptor.forClass(Map.class);
+            Mockito.verify(mockCallback, Mockito.times(1)).partial(partialCaptor.capture());
+            Assert.assertEquals(
+                    Collections.singleton(testScope), partialCaptor.getValue().keySet());
+            Mockito.verify(mockCallback, Mockito.never()).call(ArgumentMatchers.any());
+        } finally {
+            PropositionsStream.clear();
+        }
     }
 
     @Test
@@ -2656,6 +5583,98 @@ public class OptimizeExtensionTests {
     }
 
     // Helper methods
+    private OptimizeProposition loadProposition(final String fileName) throws Exception {
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(
+                        new ObjectMapper()
+                                .readValue(
+                                        getClass().getClassLoader().getResource("json/" + fileName),
+                                        HashMap.class));
+        Assert.assertNotNull(optimizeProposition);
+        return optimizeProposition;
+    }
+
+    private Event createUpdatePropositionsEvent(
+            final DecisionScope scope, final Map<String, Object> xdm) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("requesttype", "updatepropositions");
+        eventData.put("decisionscopes", Collections.singletonList(scope.toEventData()));
+        if (xdm != null) {
+            eventData.put("xdm", xdm);
+        }
+        return new Event.Builder(
+                        "Optimize Update Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .setEventData(eventData)
+                .build();
+    }
+
+    private Event createCancelUpdatePropositionsEvent(final Event updateEvent) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("requesttype", "cancelupdatepropositions");
+        eventData.put("requestEventId", updateEvent.getUniqueIdentifier());
+        return new Event.Builder(
+                        "Optimize Cancel Update Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .setEventData(eventData)
+                .build();
+    }
+
+    private Event createGetPropositionsEvent(final DecisionScope scope) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("requesttype", "getpropositions");
+        eventData.put("decisionscopes", Collections.singletonList(scope.toEventData()));
+        return new Event.Builder(
+                        "Optimize Get Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .setEventData(eventData)
+                .build();
+    }
+
+    private Event createLifecycleResponseEvent(final String sessionEvent) {
+        return new Event.Builder(
+                        "Lifecycle Start",
+                        "com.adobe.eventType.lifecycle",
+                        "com.adobe.eventSource.responseContent")
+                .setEventData(
+                        new HashMap<String, Object>() {
+                            {
+                                put("sessionevent", sessionEvent);
+                            }
+                        })
+                .build();
+    }
+
+    private Event createTrackPropositionsEvent(final String propositionId, final String offerId) {
+        final Map<String, Object> item = new HashMap<>();
+        item.put("id", offerId);
+        final Map<String, Object> proposition = new HashMap<>();
+        proposition.put("id", propositionId);
+        proposition.put("scope", "myMbox");
+        proposition.put("scopeDetails", new HashMap<String, Object>());
+        proposition.put("items", Collections.singletonList(item));
+        final Map<String, Object> decisioning = new HashMap<>();
+        decisioning.put("propositions", Collections.singletonList(proposition));
+        final Map<String, Object> experience = new HashMap<>();
+        experience.put("decisioning", decisioning);
+        final Map<String, Object> xdm = new HashMap<>();
+        xdm.put("_experience", experience);
+        xdm.put("eventType", "decisioning.propositionDisplay");
+
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("requesttype", "trackpropositions");
+        eventData.put("propositioninteractions", xdm);
+        return new Event.Builder(
+                        "Optimize Track Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .setEventData(eventData)
+                .build();
+    }
+
     private void setConfigurationSharedState(
             final SharedStateStatus status, final Map<String, Object> data) {
         Mockito.when(
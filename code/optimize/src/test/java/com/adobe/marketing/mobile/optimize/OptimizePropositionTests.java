@@ -190,4 +190,61 @@ public class OptimizePropositionTests {
                 "AT:eyJhY3Rpdml0eUlkIjoiMTI1NTg5IiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
                 decisioning.get("propositionID"));
     }
+
+    @Test
+    public void testToImmutable_validProposition() throws Exception {
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID.json"),
+                                HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+
+        // test
+        final OptimizeProposition immutableProposition = optimizeProposition.toImmutable();
+
+        // verify
+        Assert.assertNotSame(optimizeProposition, immutableProposition);
+        Assert.assertEquals(optimizeProposition, immutableProposition);
+        Assert.assertSame(
+                immutableProposition, immutableProposition.getOffers().get(0).getProposition());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testToImmutable_offersUnmodifiable() throws Exception {
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID.json"),
+                                HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+
+        // test
+        optimizeProposition.toImmutable().getOffers().clear();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testToImmutable_scopeDetailsUnmodifiable() throws Exception {
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID.json"),
+                                HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+
+        // test
+        optimizeProposition.toImmutable().getScopeDetails().put("key", "value");
+    }
 }
@@ -22,6 +22,8 @@ import com.adobe.marketing.mobile.MobileCore;
 import com.adobe.marketing.mobile.services.Log;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -120,6 +122,172 @@ public class OptimizeTests {
         }
     }
 
+    @Test
+    public void testUpdatePropositions_partialPropositionsCallback() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final AdobeCallbackWithPartialPropositions<Map<DecisionScope, OptimizeProposition>>
+                    mockCallback = Mockito.mock(AdobeCallbackWithPartialPropositions.class);
+
+            // test
+            final List<DecisionScope> scopes = new ArrayList<>();
+            scopes.add(
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+
+            Optimize.updatePropositions(scopes, null, null, mockCallback);
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+
+            final Event event = eventCaptor.getValue();
+            Assert.assertEquals(true, event.getEventData().get("streampropositions"));
+            Assert.assertEquals(1, PropositionsStream.getOpenCount());
+
+            // the stream is closed once the request fails
+            callbackCaptor.getValue().fail(AdobeError.CALLBACK_TIMEOUT);
+            Assert.assertEquals(0, PropositionsStream.getOpenCount());
+            Assert.assertFalse(
+                    PropositionsStream.publish(event.getUniqueIdentifier(), new HashMap<>()));
+            Mockito.verify(mockCallback, Mockito.never())
+                    .partial(ArgumentMatchers.<Map<DecisionScope, OptimizeProposition>>any());
+        } finally {
+            PropositionsStream.clear();
+        }
+    }
+
+    @Test
+    public void testUpdatePropositions_servedByCircuitBreaker() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final AdobeCallbackWithCircuitBreaker<Map<DecisionScope, OptimizeProposition>>
+                    mockCallback = Mockito.mock(AdobeCallbackWithCircuitBreaker.class);
+            final List<DecisionScope> scopes = new ArrayList<>();
+            scopes.add(new DecisionScope("myMbox"));
+            Optimize.updatePropositions(scopes, null, null, mockCallback);
+
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+
+            final Event responseEvent =
+                    new Event.Builder(
+                                    "Optimize Response",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.responseContent")
+                            .setEventData(Collections.singletonMap("servedbycircuitbreaker", true))
+                            .inResponseToEvent(eventCaptor.getValue())
+                            .build();
+            PropositionsHandoff.offer(
+                    responseEvent.getUniqueIdentifier(),
+                    new HashMap<DecisionScope, OptimizeProposition>());
+
+            // test
+            callbackCaptor.getValue().call(responseEvent);
+
+            // verify the callback is notified the propositions are served from the cache
+            Mockito.verify(mockCallback, Mockito.times(1))
+                    .cached(ArgumentMatchers.<Map<DecisionScope, OptimizeProposition>>any());
+            Mockito.verify(mockCallback, Mockito.never())
+                    .call(ArgumentMatchers.<Map<DecisionScope, OptimizeProposition>>any());
+        }
+    }
+
+    @Test
+    public void testUpdatePropositionsCancellable_cancel() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>> mockCallback =
+                    Mockito.mock(AdobeCallbackWithError.class);
+            final List<DecisionScope> scopes = new ArrayList<>();
+            scopes.add(new DecisionScope("myMbox"));
+            final UpdatePropositionsHandle handle =
+                    Optimize.updatePropositionsCancellable(scopes, null, null, mockCallback);
+
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+
+            // test
+            handle.cancel();
+            handle.cancel();
+
+            // verify
+            Assert.assertTrue(handle.isCancelled());
+            final ArgumentCaptor<Event> cancelEventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(
+                    () -> MobileCore.dispatchEvent(cancelEventCaptor.capture()), times(1));
+            final Map<String, Object> cancelEventData = cancelEventCaptor.getValue().getEventData();
+            Assert.assertEquals("cancelupdatepropositions", cancelEventData.get("requesttype"));
+            Assert.assertEquals(
+                    eventCaptor.getValue().getUniqueIdentifier(),
+                    cancelEventData.get("requestEventId"));
+
+            // verify the callback is not invoked once the request is cancelled
+            callbackCaptor.getValue().fail(AdobeError.UNEXPECTED_ERROR);
+            Mockito.verifyNoInteractions(mockCallback);
+        }
+    }
+
     @Test
     public void testUpdatePropositionsWithCallback_validDecisionScope() throws Exception {
         try (MockedStatic<MobileCore> mobileCoreMockedStatic =
@@ -540,7 +708,7 @@ public class OptimizeTests {
     }
 
     @Test
-    public void testGetPropositions_multipleValidDecisionScopes() {
+    public void testGetPropositions_handedOffPropositions() throws Exception {
         try (MockedStatic<MobileCore> mobileCoreMockedStatic =
                         Mockito.mockStatic(MobileCore.class);
                 MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
@@ -557,15 +725,21 @@ public class OptimizeTests {
                                             java.util.Base64.getDecoder()
                                                     .decode((String) invocation.getArguments()[0]));
 
-            // test
-            final List<DecisionScope> scopes = new ArrayList<>();
-            scopes.add(
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
-            scopes.add(new DecisionScope("myMbox"));
+            final Map<String, Object> propositionData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource("json/PROPOSITION_VALID.json"),
+                                    HashMap.class);
+            final OptimizeProposition optimizeProposition =
+                    OptimizeProposition.fromEventData(propositionData);
+            Assert.assertNotNull(optimizeProposition);
+            final DecisionScope testScope = new DecisionScope(optimizeProposition.getScope());
 
+            // test
             Optimize.getPropositions(
-                    scopes,
+                    Collections.singletonList(testScope),
                     new AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>() {
                         @Override
                         public void fail(AdobeError adobeError) {
@@ -580,42 +754,45 @@ public class OptimizeTests {
 
             // verify
             final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
             mobileCoreMockedStatic.verify(
                     () ->
                             MobileCore.dispatchEventWithResponseCallback(
                                     eventCaptor.capture(),
                                     ArgumentMatchers.anyLong(),
-                                    ArgumentMatchers.any(AdobeCallbackWithError.class)));
-            final Event event = eventCaptor.getValue();
-            Assert.assertNotNull(event);
-
-            Assert.assertEquals("com.adobe.eventType.optimize", event.getType());
-            Assert.assertEquals("com.adobe.eventSource.requestContent", event.getSource());
-            final Map<String, Object> eventData = event.getEventData();
-            Assert.assertEquals("getpropositions", eventData.get("requesttype"));
-
-            final List<Map<String, Object>> scopesList =
-                    (List<Map<String, Object>>) eventData.get("decisionscopes");
-            Assert.assertEquals(2, scopesList.size());
-
-            final Map<String, Object> scopeData1 = scopesList.get(0);
-            Assert.assertNotNull(scopeData1);
-            Assert.assertEquals(1, scopeData1.size());
+                                    callbackCaptor.capture()));
             Assert.assertEquals(
-                    "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==",
-                    scopeData1.get("name"));
+                    true, eventCaptor.getValue().getEventData().get("propositionshandoff"));
 
-            final Map<String, Object> scopeData2 = scopesList.get(1);
-            Assert.assertNotNull(scopeData2);
-            Assert.assertEquals(1, scopeData2.size());
-            Assert.assertEquals("myMbox", scopeData2.get("name"));
+            final Map<String, Object> responseEventData = new HashMap<>();
+            responseEventData.put("cachegeneration", 1L);
+            final Event responseEvent =
+                    new Event.Builder(
+                                    "Optimize Response",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.responseContent")
+                            .setEventData(responseEventData)
+                            .build();
+            PropositionsHandoff.offer(
+                    responseEvent.getUniqueIdentifier(),
+                    Collections.singletonMap(testScope, optimizeProposition));
+            callbackCaptor.getValue().call(responseEvent);
+
+            Assert.assertNull(responseError);
+            Assert.assertNotNull(responseMap);
+            Assert.assertEquals(1, responseMap.size());
+            Assert.assertSame(optimizeProposition, responseMap.get(testScope));
+            Assert.assertNull(PropositionsHandoff.take(responseEvent.getUniqueIdentifier()));
         }
     }
 
     @Test
-    public void testGetPropositions_invalidDecisionScopeInList() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class);
+    public void testGetPropositions_discardedHandedOffPropositions() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
                 MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
             base64MockedStatic
                     .when(
                             () ->
@@ -627,15 +804,11 @@ public class OptimizeTests {
                                     invocation ->
                                             java.util.Base64.getDecoder()
                                                     .decode((String) invocation.getArguments()[0]));
+            final DecisionScope testScope = new DecisionScope("myMbox");
 
             // test
-            final List<DecisionScope> scopes = new ArrayList<>();
-            scopes.add(
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoiIiwicGxhY2VtZW50SWQiOiJ4Y29yZTpvZmZlci1wbGFjZW1lbnQ6MTExMTExMTExMTExMTExMSJ9"));
-
             Optimize.getPropositions(
-                    scopes,
+                    Collections.singletonList(testScope),
                     new AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>() {
                         @Override
                         public void fail(AdobeError adobeError) {
@@ -649,26 +822,59 @@ public class OptimizeTests {
                     });
 
             // verify
-            logMockedStatic.verify(
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
                     () ->
-                            Log.warning(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()));
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+
+            final Event responseEvent =
+                    new Event.Builder(
+                                    "Optimize Response",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.responseContent")
+                            .setEventData(Collections.singletonMap("cachegeneration", 1L))
+                            .build();
+            callbackCaptor.getValue().call(responseEvent);
+
+            Assert.assertNull(responseMap);
             Assert.assertEquals(AdobeError.UNEXPECTED_ERROR, responseError);
         }
     }
 
     @Test
-    public void testGetPropositions_emptyDecisionScopesList() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+    public void testGetPropositions_expiredScopes() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final List<DecisionScope> expiredScopes = new ArrayList<>();
+
             // test
             Optimize.getPropositions(
-                    new ArrayList<DecisionScope>(),
-                    new AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>() {
+                    Collections.singletonList(testScope),
+                    new AdobeCallbackWithExpiredScopes<
+                            Map<DecisionScope, OptimizeProposition>>() {
                         @Override
-                        public void fail(AdobeError adobeError) {
-                            responseError = adobeError;
+                        public void expired(List<DecisionScope> scopes) {
+                            expiredScopes.addAll(scopes);
                         }
 
                         @Override
@@ -678,19 +884,400 @@ public class OptimizeTests {
                     });
 
             // verify
-            logMockedStatic.verify(
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
                     () ->
-                            Log.warning(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()));
-            Assert.assertEquals(AdobeError.UNEXPECTED_ERROR, responseError);
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+
+            final Map<String, Object> responseEventData = new HashMap<>();
+            responseEventData.put(
+                    "expiredscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final Event responseEvent =
+                    new Event.Builder(
+                                    "Optimize Response",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.responseContent")
+                            .setEventData(responseEventData)
+                            .build();
+            callbackCaptor.getValue().call(responseEvent);
+
+            Assert.assertNotNull(responseMap);
+            Assert.assertTrue(responseMap.isEmpty());
+            Assert.assertEquals(1, expiredScopes.size());
+            Assert.assertEquals(testScope, expiredScopes.get(0));
         }
     }
 
     @Test
-    public void testGetPropositions_nullDecisionScopesList() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+    public void testGetPropositions_stalePropositions() throws Exception {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final OptimizeProposition optimizeProposition =
+                    OptimizeProposition.fromEventData(
+                            new ObjectMapper()
+                                    .readValue(
+                                            getClass()
+                                                    .getClassLoader()
+                                                    .getResource("json/PROPOSITION_VALID.json"),
+                                            HashMap.class));
+            Assert.assertNotNull(optimizeProposition);
+            final DecisionScope testScope = new DecisionScope(optimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition>[] stalePropositions = new Map[1];
+
+            // test
+            Optimize.getPropositions(
+                    Collections.singletonList(testScope),
+                    new AdobeCallbackWithStalePropositions<
+                            Map<DecisionScope, OptimizeProposition>>() {
+                        @Override
+                        public void stale(Map<DecisionScope, OptimizeProposition> propositionsMap) {
+                            stalePropositions[0] = propositionsMap;
+                        }
+
+                        @Override
+                        public void call(Map<DecisionScope, OptimizeProposition> propositionsMap) {
+                            responseMap = propositionsMap;
+                        }
+                    });
+
+            // verify stale propositions request
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+            Assert.assertEquals(true, eventCaptor.getValue().getEventData().get("allowstale"));
+
+            final List<Map<String, Object>> propositionsList = new ArrayList<>();
+            propositionsList.add(optimizeProposition.toEventData());
+            final Map<String, Object> staleResponseEventData = new HashMap<>();
+            staleResponseEventData.put("propositions", propositionsList);
+            staleResponseEventData.put(
+                    "stalescopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Optimize Response",
+                                            "com.adobe.eventType.optimize",
+                                            "com.adobe.eventSource.responseContent")
+                                    .setEventData(staleResponseEventData)
+                                    .build());
+
+            Assert.assertNotNull(stalePropositions[0]);
+            Assert.assertEquals(optimizeProposition, stalePropositions[0].get(testScope));
+            Assert.assertNull(responseMap);
+
+            // verify refresh request
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()),
+                    Mockito.times(2));
+            Assert.assertNull(eventCaptor.getValue().getEventData().get("allowstale"));
+
+            final Map<String, Object> responseEventData = new HashMap<>();
+            responseEventData.put("propositions", propositionsList);
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Optimize Response",
+                                            "com.adobe.eventType.optimize",
+                                            "com.adobe.eventSource.responseContent")
+                                    .setEventData(responseEventData)
+                                    .build());
+
+            Assert.assertNotNull(responseMap);
+            Assert.assertEquals(optimizeProposition, responseMap.get(testScope));
+        }
+    }
+
+    @Test
+    public void testGetPropositions_deadlineExpiredReturnsPendingScopes() throws Exception {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final OptimizeProposition optimizeProposition =
+                    OptimizeProposition.fromEventData(
+                            new ObjectMapper()
+                                    .readValue(
+                                            getClass()
+                                                    .getClassLoader()
+                                                    .getResource("json/PROPOSITION_VALID.json"),
+                                            HashMap.class));
+            Assert.assertNotNull(optimizeProposition);
+            final DecisionScope testScope = new DecisionScope(optimizeProposition.getScope());
+            final DecisionScope pendingScope = new DecisionScope("myMbox");
+            final Map<DecisionScope, OptimizeProposition>[] cachedPropositions = new Map[1];
+            final List<DecisionScope>[] pendingScopes = new List[1];
+
+            // test
+            Optimize.getPropositions(
+                    Arrays.asList(testScope, pendingScope),
+                    1,
+                    new AdobeCallbackWithPendingScopes<Map<DecisionScope, OptimizeProposition>>() {
+                        @Override
+                        public void pending(
+                                Map<DecisionScope, OptimizeProposition> propositionsMap,
+                                List<DecisionScope> scopes) {
+                            cachedPropositions[0] = propositionsMap;
+                            pendingScopes[0] = scopes;
+                        }
+
+                        @Override
+                        public void call(Map<DecisionScope, OptimizeProposition> propositionsMap) {
+                            responseMap = propositionsMap;
+                        }
+                    });
+
+            // verify the request waits for the scopes in progress until its deadline
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.eq(11000L),
+                                    callbackCaptor.capture()));
+            Assert.assertNull(eventCaptor.getValue().getEventData().get("allowstale"));
+            Assert.assertEquals(1000L, eventCaptor.getValue().getEventData().get("deadline"));
+
+            // the deadline expires, the extension responds with the cached propositions
+            final List<Map<String, Object>> propositionsList = new ArrayList<>();
+            propositionsList.add(optimizeProposition.toEventData());
+            final Map<String, Object> responseEventData = new HashMap<>();
+            responseEventData.put("propositions", propositionsList);
+            responseEventData.put(
+                    "pendingscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(pendingScope.toEventData());
+                        }
+                    });
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Optimize Response",
+                                            "com.adobe.eventType.optimize",
+                                            "com.adobe.eventSource.responseContent")
+                                    .setEventData(responseEventData)
+                                    .build());
+
+            // verify no other request is dispatched
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any()),
+                    Mockito.times(1));
+            Assert.assertNotNull(cachedPropositions[0]);
+            Assert.assertEquals(optimizeProposition, cachedPropositions[0].get(testScope));
+            Assert.assertEquals(Collections.singletonList(pendingScope), pendingScopes[0]);
+            Assert.assertNull(responseMap);
+        }
+    }
+
+    @Test
+    public void testGetPropositions_multipleValidDecisionScopes() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // test
+            final List<DecisionScope> scopes = new ArrayList<>();
+            scopes.add(
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+            scopes.add(new DecisionScope("myMbox"));
+
+            Optimize.getPropositions(
+                    scopes,
+                    new AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>() {
+                        @Override
+                        public void fail(AdobeError adobeError) {
+                            responseError = adobeError;
+                        }
+
+                        @Override
+                        public void call(Map<DecisionScope, OptimizeProposition> propositionsMap) {
+                            responseMap = propositionsMap;
+                        }
+                    });
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)));
+            final Event event = eventCaptor.getValue();
+            Assert.assertNotNull(event);
+
+            Assert.assertEquals("com.adobe.eventType.optimize", event.getType());
+            Assert.assertEquals("com.adobe.eventSource.requestContent", event.getSource());
+            final Map<String, Object> eventData = event.getEventData();
+            Assert.assertEquals("getpropositions", eventData.get("requesttype"));
+
+            final List<Map<String, Object>> scopesList =
+                    (List<Map<String, Object>>) eventData.get("decisionscopes");
+            Assert.assertEquals(2, scopesList.size());
+
+            final Map<String, Object> scopeData1 = scopesList.get(0);
+            Assert.assertNotNull(scopeData1);
+            Assert.assertEquals(1, scopeData1.size());
+            Assert.assertEquals(
+                    "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==",
+                    scopeData1.get("name"));
+
+            final Map<String, Object> scopeData2 = scopesList.get(1);
+            Assert.assertNotNull(scopeData2);
+            Assert.assertEquals(1, scopeData2.size());
+            Assert.assertEquals("myMbox", scopeData2.get("name"));
+        }
+    }
+
+    @Test
+    public void testGetPropositions_invalidDecisionScopeInList() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // test
+            final List<DecisionScope> scopes = new ArrayList<>();
+            scopes.add(
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoiIiwicGxhY2VtZW50SWQiOiJ4Y29yZTpvZmZlci1wbGFjZW1lbnQ6MTExMTExMTExMTExMTExMSJ9"));
+
+            Optimize.getPropositions(
+                    scopes,
+                    new AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>() {
+                        @Override
+                        public void fail(AdobeError adobeError) {
+                            responseError = adobeError;
+                        }
+
+                        @Override
+                        public void call(Map<DecisionScope, OptimizeProposition> propositionsMap) {
+                            responseMap = propositionsMap;
+                        }
+                    });
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.warning(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()));
+            Assert.assertEquals(AdobeError.UNEXPECTED_ERROR, responseError);
+        }
+    }
+
+    @Test
+    public void testGetPropositions_emptyDecisionScopesList() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // test
+            Optimize.getPropositions(
+                    new ArrayList<DecisionScope>(),
+                    new AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>() {
+                        @Override
+                        public void fail(AdobeError adobeError) {
+                            responseError = adobeError;
+                        }
+
+                        @Override
+                        public void call(Map<DecisionScope, OptimizeProposition> propositionsMap) {
+                            responseMap = propositionsMap;
+                        }
+                    });
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.warning(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()));
+            Assert.assertEquals(AdobeError.UNEXPECTED_ERROR, responseError);
+        }
+    }
+
+    @Test
+    public void testGetPropositions_nullDecisionScopesList() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
             // test
             Optimize.getPropositions(
                     null,
@@ -900,6 +1487,263 @@ public class OptimizeTests {
         }
     }
 
+    @Test
+    public void testPinPropositions_validDecisionScope() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+
+            // test
+            Optimize.pinPropositions(Collections.singletonList(testScope));
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(() -> MobileCore.dispatchEvent(eventCaptor.capture()));
+            final Event event = eventCaptor.getValue();
+
+            Assert.assertNotNull(event);
+            Assert.assertEquals("com.adobe.eventType.optimize", event.getType());
+            Assert.assertEquals("com.adobe.eventSource.requestContent", event.getSource());
+            Assert.assertEquals("pinpropositions", event.getEventData().get("requesttype"));
+            final List<Map<String, Object>> scopesList =
+                    (List<Map<String, Object>>) event.getEventData().get("decisionscopes");
+            Assert.assertEquals(1, scopesList.size());
+            Assert.assertEquals(testScope.getName(), scopesList.get(0).get("name"));
+        }
+    }
+
+    @Test
+    public void testUnpinPropositions_emptyDecisionScopesList() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // test
+            Optimize.unpinPropositions(new ArrayList<>());
+
+            // verify
+            mobileCoreMockedStatic.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    public void testPeekCachedPropositions() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<PropositionsPeek> peekMockedStatic =
+                        Mockito.mockStatic(PropositionsPeek.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final DecisionScope testScope = new DecisionScope("myMbox");
+            final OptimizeProposition testProposition =
+                    new OptimizeProposition(
+                            "de03ac85-802a-4331-a905-a57053164d35",
+                            new ArrayList<>(),
+                            "myMbox",
+                            new HashMap<>());
+            peekMockedStatic
+                    .when(
+                            () ->
+                                    PropositionsPeek.read(
+                                            Collections.singletonList(testScope)))
+                    .thenReturn(Collections.singletonMap(testScope, testProposition));
+
+            // test
+            final Map<DecisionScope, OptimizeProposition> propositions =
+                    Optimize.peekCachedPropositions(
+                            new ArrayList<DecisionScope>() {
+                                {
+                                    add(testScope);
+                                    add(new DecisionScope(""));
+                                }
+                            });
+
+            // verify
+            Assert.assertEquals(1, propositions.size());
+            Assert.assertSame(testProposition, propositions.get(testScope));
+            mobileCoreMockedStatic.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    public void testPeekCachedPropositions_extensionNotRegistered() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<PropositionsPeek> peekMockedStatic =
+                        Mockito.mockStatic(PropositionsPeek.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            peekMockedStatic
+                    .when(() -> PropositionsPeek.read(ArgumentMatchers.any()))
+                    .thenReturn(null);
+
+            // test
+            final Map<DecisionScope, OptimizeProposition> propositions =
+                    Optimize.peekCachedPropositions(
+                            Collections.singletonList(new DecisionScope("myMbox")));
+
+            // verify
+            Assert.assertNotNull(propositions);
+            Assert.assertTrue(propositions.isEmpty());
+        }
+    }
+
+    @Test
+    public void testPeekCachedPropositions_emptyDecisionScopes() {
+        try (MockedStatic<PropositionsPeek> peekMockedStatic =
+                Mockito.mockStatic(PropositionsPeek.class)) {
+            // test
+            final Map<DecisionScope, OptimizeProposition> propositions =
+                    Optimize.peekCachedPropositions(new ArrayList<>());
+
+            // verify
+            Assert.assertTrue(propositions.isEmpty());
+            peekMockedStatic.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    public void testGetMetrics() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            final Map<String, Object>[] metricsHolder = new Map[1];
+
+            // test
+            Optimize.getMetrics(metrics -> metricsHolder[0] = metrics);
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+            Assert.assertEquals(
+                    "getmetrics", eventCaptor.getValue().getEventData().get("requesttype"));
+
+            final Map<String, Object> responseEventData = new HashMap<>();
+            responseEventData.put(
+                    "metrics",
+                    new HashMap<String, Object>() {
+                        {
+                            put("cacheevictions", 3L);
+                        }
+                    });
+            final Event responseEvent =
+                    new Event.Builder(
+                                    "Optimize Response",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.responseContent")
+                            .setEventData(responseEventData)
+                            .build();
+            callbackCaptor.getValue().call(responseEvent);
+
+            Assert.assertNotNull(metricsHolder[0]);
+            Assert.assertEquals(3L, metricsHolder[0].get("cacheevictions"));
+        }
+    }
+
+    @Test
+    public void testGetRecentErrors() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final Map<DecisionScope, List<AEPOptimizeError>>[] recentErrorsHolder = new Map[1];
+
+            // test
+            Optimize.getRecentErrors(
+                    Collections.singletonList(new DecisionScope("myMbox")),
+                    recentErrors -> recentErrorsHolder[0] = recentErrors);
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+            final Map<String, Object> eventData = eventCaptor.getValue().getEventData();
+            Assert.assertEquals("getrecenterrors", eventData.get("requesttype"));
+            Assert.assertEquals(
+                    Collections.singletonList(Collections.singletonMap("name", "myMbox")),
+                    eventData.get("decisionscopes"));
+
+            final Map<String, Object> scopeErrors = new HashMap<>();
+            scopeErrors.put("scope", "myMbox");
+            scopeErrors.put(
+                    "errors",
+                    Collections.singletonList(
+                            AEPOptimizeError.Companion.getTimeoutError().toEventData()));
+            final Event responseEvent =
+                    new Event.Builder(
+                                    "Optimize Response",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.responseContent")
+                            .setEventData(
+                                    Collections.singletonMap(
+                                            "recenterrors", Collections.singletonList(scopeErrors)))
+                            .build();
+            callbackCaptor.getValue().call(responseEvent);
+
+            Assert.assertNotNull(recentErrorsHolder[0]);
+            final List<AEPOptimizeError> errors =
+                    recentErrorsHolder[0].get(new DecisionScope("myMbox"));
+            Assert.assertEquals(1, errors.size());
+            Assert.assertEquals(AdobeError.CALLBACK_TIMEOUT, errors.get(0).getAdobeError());
+        }
+    }
+
     @Test
     public void testUpdatePropositions_timeoutError() {
 
@@ -27,7 +27,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
 
 @RunWith(MockitoJUnitRunner.Silent.class)
-@SuppressWarnings({"rawtypes"})
+@SuppressWarnings({"rawtypes", "unchecked"})
 public class OptimizeUtilsTest {
 
     @Test
@@ -201,4 +201,45 @@ public class OptimizeUtilsTest {
     public void testConvertToAdobeError_unknownErrorCode() {
         Assert.assertEquals(AdobeError.UNEXPECTED_ERROR, OptimizeUtils.convertToAdobeError(123));
     }
+
+    @Test
+    public void testToImmutable_nestedMapsAndLists() {
+        // setup
+        final Map<String, Object> nested = new HashMap<>();
+        nested.put("key", "value");
+        final List<Object> list = new ArrayList<>();
+        list.add(nested);
+        final Map<String, Object> value = new HashMap<>();
+        value.put("list", list);
+
+        // test
+        final Map<String, Object> immutableValue = OptimizeUtils.toImmutable(value);
+        nested.put("otherKey", "otherValue");
+
+        // verify
+        Assert.assertNotSame(value, immutableValue);
+        final List<Object> immutableList = (List<Object>) immutableValue.get("list");
+        final Map<String, Object> immutableNested = (Map<String, Object>) immutableList.get(0);
+        Assert.assertEquals(1, immutableNested.size());
+        Assert.assertEquals("value", immutableNested.get("key"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testToImmutable_nestedMapUnmodifiable() {
+        // setup
+        final Map<String, Object> value = new HashMap<>();
+        value.put("nested", new HashMap<String, Object>());
+
+        // test
+        final Map<String, Object> immutableValue = OptimizeUtils.toImmutable(value);
+        ((Map<String, Object>) immutableValue.get("nested")).put("key", "value");
+    }
+
+    @Test
+    public void testToImmutable_otherValues() {
+        // verify
+        Assert.assertNull(OptimizeUtils.toImmutable(null));
+        Assert.assertEquals("value", OptimizeUtils.toImmutable("value"));
+        Assert.assertEquals(1L, (long) OptimizeUtils.toImmutable(1L));
+    }
 }
@@ -0,0 +1,275 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.adobe.marketing.mobile.services.NamedCollection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+@SuppressWarnings({"unchecked"})
+public class PropositionsCacheStoreTests {
+    private final Map<String, String> dataStoreValues = new HashMap<>();
+    private final Map<String, String> configIds = new HashMap<>();
+    private NamedCollection dataStore;
+    private PropositionsCacheStore store;
+
+    @Before
+    public void setup() {
+        dataStore = Mockito.mock(NamedCollection.class);
+        Mockito.doAnswer(
+                        invocation ->
+                                dataStoreValues.put(
+                                        invocation.getArgument(0), invocation.getArgument(1)))
+                .when(dataStore)
+                .setString(ArgumentMatchers.anyString(), ArgumentMatchers.any());
+        Mockito.when(dataStore.getString(ArgumentMatchers.anyString(), ArgumentMatchers.any()))
+                .thenAnswer(
+                        invocation ->
+                                dataStoreValues.containsKey(invocation.getArgument(0))
+                                        ? dataStoreValues.get(invocation.getArgument(0))
+                                        : invocation.getArgument(1));
+        Mockito.doAnswer(invocation -> dataStoreValues.remove(invocation.getArgument(0)))
+                .when(dataStore)
+                .remove(ArgumentMatchers.anyString());
+
+        configIds.put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+        configIds.put("edge.environment", "");
+        store = new PropositionsCacheStore(dataStore);
+    }
+
+    @Test
+    public void testLoad_noSnapshot() {
+        // test
+        final PropositionsCacheStore.Snapshot snapshot = store.load(configIds);
+
+        // verify
+        Assert.assertNotNull(snapshot);
+        Assert.assertTrue(snapshot.propositions.isEmpty());
+        Assert.assertTrue(snapshot.fetchTimes.isEmpty());
+    }
+
+    @Test
+    public void testSaveAndLoad_validPropositions() throws Exception {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        final OptimizeProposition testProposition = loadProposition("json/PROPOSITION_VALID.json");
+        final OptimizeProposition testPropositionB =
+                loadProposition("json/PROPOSITION_VALID_B.json");
+        propositions.put(new DecisionScope(testProposition.getScope()), testProposition);
+        propositions.put(new DecisionScope(testPropositionB.getScope()), testPropositionB);
+
+        final Map<DecisionScope, Long> fetchTimes = new HashMap<>();
+        fetchTimes.put(new DecisionScope(testProposition.getScope()), 1000L);
+        fetchTimes.put(new DecisionScope(testPropositionB.getScope()), 2000L);
+
+        // test
+        store.save(new PropositionsCacheStore.Snapshot(propositions, fetchTimes), configIds);
+        final PropositionsCacheStore.Snapshot snapshot =
+                new PropositionsCacheStore(dataStore).load(configIds);
+        final Map<DecisionScope, OptimizeProposition> loadedPropositions = snapshot.propositions;
+
+        // verify
+        Assert.assertEquals(2, loadedPropositions.size());
+        final OptimizeProposition loadedProposition =
+                loadedPropositions.get(new DecisionScope(testProposition.getScope()));
+        Assert.assertNotNull(loadedProposition);
+        Assert.assertEquals(testProposition.getId(), loadedProposition.getId());
+        Assert.assertEquals(1, loadedProposition.getOffers().size());
+        Assert.assertEquals(
+                testProposition.getOffers().get(0).getId(),
+                loadedProposition.getOffers().get(0).getId());
+        Assert.assertEquals(
+                testProposition.getOffers().get(0).getContent(),
+                loadedProposition.getOffers().get(0).getContent());
+        Assert.assertEquals(
+                testProposition.getOffers().get(0).getType(),
+                loadedProposition.getOffers().get(0).getType());
+        Assert.assertEquals(fetchTimes, snapshot.fetchTimes);
+    }
+
+    @Test
+    public void testSave_emptyPropositionsDeletesSnapshot() throws Exception {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        final OptimizeProposition testProposition = loadProposition("json/PROPOSITION_VALID.json");
+        propositions.put(new DecisionScope(testProposition.getScope()), testProposition);
+        store.save(snapshotOf(propositions), configIds);
+        Assert.assertTrue(dataStoreValues.containsKey("snapshot"));
+
+        // test
+        store.save(
+                new PropositionsCacheStore.Snapshot(new HashMap<>(), new HashMap<>()), configIds);
+
+        // verify
+        Assert.assertFalse(dataStoreValues.containsKey("snapshot"));
+        Assert.assertTrue(store.load(configIds).propositions.isEmpty());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        final OptimizeProposition testProposition = loadProposition("json/PROPOSITION_VALID.json");
+        propositions.put(new DecisionScope(testProposition.getScope()), testProposition);
+        store.save(snapshotOf(propositions), configIds);
+
+        // test
+        store.clear();
+
+        // verify
+        Assert.assertFalse(dataStoreValues.containsKey("snapshot"));
+        Assert.assertTrue(store.load(configIds).propositions.isEmpty());
+    }
+
+    @Test
+    public void testLoad_corruptedSnapshot() {
+        // setup
+        dataStoreValues.put("snapshot", "{\"version\":1,\"propositions\":[");
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                store.load(configIds).propositions;
+
+        // verify
+        Assert.assertTrue(propositions.isEmpty());
+        Assert.assertFalse(dataStoreValues.containsKey("snapshot"));
+    }
+
+    @Test
+    public void testLoad_unsupportedVersion() {
+        // setup
+        dataStoreValues.put("snapshot", "{\"version\":99,\"propositions\":[]}");
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                store.load(configIds).propositions;
+
+        // verify
+        Assert.assertTrue(propositions.isEmpty());
+        Assert.assertFalse(dataStoreValues.containsKey("snapshot"));
+    }
+
+    @Test
+    public void testLoad_otherDatastreamDiscardsSnapshot() throws Exception {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        final OptimizeProposition testProposition = loadProposition("json/PROPOSITION_VALID.json");
+        propositions.put(new DecisionScope(testProposition.getScope()), testProposition);
+        store.save(snapshotOf(propositions), configIds);
+
+        final Map<String, String> otherConfigIds = new HashMap<>(configIds);
+        otherConfigIds.put("edge.configId", "eeeeeeee-eeee-eeee-eeee-eeeeeeeeeeee");
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> loadedPropositions =
+                store.load(otherConfigIds).propositions;
+
+        // verify
+        Assert.assertTrue(loadedPropositions.isEmpty());
+        Assert.assertFalse(dataStoreValues.containsKey("snapshot"));
+    }
+
+    @Test
+    public void testLoad_otherEnvironmentDiscardsSnapshot() throws Exception {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        final OptimizeProposition testProposition = loadProposition("json/PROPOSITION_VALID.json");
+        propositions.put(new DecisionScope(testProposition.getScope()), testProposition);
+        store.save(snapshotOf(propositions), configIds);
+
+        final Map<String, String> otherConfigIds = new HashMap<>(configIds);
+        otherConfigIds.put("edge.environment", "int");
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> loadedPropositions =
+                store.load(otherConfigIds).propositions;
+
+        // verify
+        Assert.assertTrue(loadedPropositions.isEmpty());
+        Assert.assertFalse(dataStoreValues.containsKey("snapshot"));
+    }
+
+    @Test
+    public void testLoad_missingConfigIdsDiscardsSnapshot() {
+        // setup
+        dataStoreValues.put("snapshot", "{\"version\":1,\"propositions\":[]}");
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                store.load(configIds).propositions;
+
+        // verify
+        Assert.assertTrue(propositions.isEmpty());
+        Assert.assertFalse(dataStoreValues.containsKey("snapshot"));
+    }
+
+    @Test
+    public void testLoad_missingFetchTimeDefaultsToSnapshotTime() throws Exception {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        final OptimizeProposition testProposition = loadProposition("json/PROPOSITION_VALID.json");
+        final DecisionScope scope = new DecisionScope(testProposition.getScope());
+        propositions.put(scope, testProposition);
+        final long beforeSave = System.currentTimeMillis();
+        store.save(snapshotOf(propositions), configIds);
+        final long afterSave = System.currentTimeMillis();
+
+        // test
+        final PropositionsCacheStore.Snapshot snapshot = store.load(configIds);
+
+        // verify
+        Assert.assertEquals(1, snapshot.propositions.size());
+        final Long fetchTime = snapshot.fetchTimes.get(scope);
+        Assert.assertNotNull(fetchTime);
+        Assert.assertTrue(fetchTime >= beforeSave && fetchTime <= afterSave);
+    }
+
+    @Test
+    public void testRetrieveConfigIds() {
+        // setup
+        final Map<String, Object> configData = new HashMap<>();
+        configData.put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+        configData.put("edge.environment", "prod");
+        configData.put("optimize.cacheMaxSize", 100);
+
+        // test
+        final Map<String, String> retrievedConfigIds =
+                PropositionsCacheStore.retrieveConfigIds(configData);
+
+        // verify
+        Assert.assertEquals(2, retrievedConfigIds.size());
+        Assert.assertEquals(
+                "ffffffff-ffff-ffff-ffff-ffffffffffff", retrievedConfigIds.get("edge.configId"));
+        Assert.assertEquals("prod", retrievedConfigIds.get("edge.environment"));
+    }
+
+    private static PropositionsCacheStore.Snapshot snapshotOf(
+            final Map<DecisionScope, OptimizeProposition> propositions) {
+        return new PropositionsCacheStore.Snapshot(propositions, new HashMap<>());
+    }
+
+    private OptimizeProposition loadProposition(final String fileName) throws Exception {
+        final Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(getClass().getClassLoader().getResource(fileName), HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+        return optimizeProposition;
+    }
+}
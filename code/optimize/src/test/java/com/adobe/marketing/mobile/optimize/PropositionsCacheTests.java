@@ -0,0 +1,304 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings({"unchecked"})
+public class PropositionsCacheTests {
+    private PropositionsCache cache;
+    private OptimizeProposition propositionA;
+    private OptimizeProposition propositionB;
+    private DecisionScope scopeA;
+    private DecisionScope scopeB;
+
+    @Before
+    public void setup() throws Exception {
+        cache = new PropositionsCache();
+        propositionA = loadProposition("json/PROPOSITION_VALID.json");
+        propositionB = loadProposition("json/PROPOSITION_VALID_B.json");
+        scopeA = new DecisionScope(propositionA.getScope());
+        scopeB = new DecisionScope(propositionB.getScope());
+    }
+
+    @Test
+    public void testPutAndGet() {
+        // test
+        cache.put(scopeA, propositionA, 1000L);
+
+        // verify
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(propositionA, cache.get(scopeA));
+        Assert.assertEquals(Long.valueOf(1000L), cache.getFetchTime(scopeA));
+        Assert.assertNull(cache.get(scopeB));
+        Assert.assertNull(cache.getFetchTime(scopeB));
+    }
+
+    @Test
+    public void testEstimateWeight_includesOfferContent() {
+        // setup
+        final long weight = PropositionsCache.estimateWeight(propositionA);
+        final String content = propositionA.getOffers().get(0).getContent();
+
+        // verify
+        Assert.assertTrue(weight > 2L * content.length());
+    }
+
+    @Test
+    public void testWeight_tracksPutReplaceAndRemove() {
+        // setup
+        final long weightA = PropositionsCache.estimateWeight(propositionA);
+        final long weightB = PropositionsCache.estimateWeight(propositionB);
+
+        // test
+        cache.put(scopeA, propositionA, 1000L);
+        cache.put(scopeB, propositionB, 1000L);
+        Assert.assertEquals(weightA + weightB, cache.getWeight());
+
+        cache.put(scopeA, propositionA, 2000L);
+        Assert.assertEquals(weightA + weightB, cache.getWeight());
+
+        cache.remove(scopeB);
+        Assert.assertEquals(weightA, cache.getWeight());
+
+        cache.clear();
+
+        // verify
+        Assert.assertEquals(0, cache.getWeight());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPut_unboundedCacheNeverEvicts() {
+        // test
+        cache.put(scopeA, propositionA, 1000L);
+        cache.put(scopeB, propositionB, 1000L);
+
+        // verify
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testPut_evictsLeastRecentlyUsed() {
+        // setup
+        final long weightA = PropositionsCache.estimateWeight(propositionA);
+        final long weightB = PropositionsCache.estimateWeight(propositionB);
+        cache.setMaxWeight(weightA + weightB - 1);
+        cache.put(scopeA, propositionA, 1000L);
+        cache.put(scopeB, propositionB, 1000L);
+        Assert.assertNull(cache.get(scopeA));
+
+        // test
+        cache.put(scopeA, propositionA, 2000L);
+
+        // verify
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(propositionA, cache.get(scopeA));
+        Assert.assertNull(cache.get(scopeB));
+        Assert.assertEquals(2, cache.getEvictionCount());
+        Assert.assertTrue(cache.getWeight() <= cache.getMaxWeight());
+    }
+
+    @Test
+    public void testSetMaxWeight_evictsRightAway() {
+        // setup
+        cache.put(scopeA, propositionA, 1000L);
+        cache.put(scopeB, propositionB, 2000L);
+        cache.get(scopeB);
+
+        // test
+        cache.setMaxWeight(PropositionsCache.estimateWeight(propositionB));
+
+        // verify
+        Assert.assertEquals(1, cache.size());
+        Assert.assertNull(cache.get(scopeA));
+        Assert.assertEquals(propositionB, cache.get(scopeB));
+        Assert.assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testPut_accessUpdatesRecency() {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        propositions.put(scopeA, propositionA);
+        propositions.put(scopeB, propositionB);
+        cache.putAll(propositions, 1000L);
+        cache.get(scopeA);
+
+        // test
+        cache.setMaxWeight(PropositionsCache.estimateWeight(propositionA));
+        cache.put(scopeA, propositionA, 2000L);
+
+        // verify
+        Assert.assertEquals(propositionA, cache.get(scopeA));
+        Assert.assertNull(cache.get(scopeB));
+        Assert.assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testPut_pinnedScopesAreNotEvicted() {
+        // setup
+        final long weightA = PropositionsCache.estimateWeight(propositionA);
+        cache.pin(Collections.singletonList(scopeA));
+        cache.setMaxWeight(weightA);
+
+        // test
+        cache.put(scopeA, propositionA, 1000L);
+        cache.put(scopeB, propositionB, 1000L);
+
+        // verify
+        Assert.assertTrue(cache.isPinned(scopeA));
+        Assert.assertEquals(propositionA, cache.get(scopeA));
+        Assert.assertNull(cache.get(scopeB));
+        Assert.assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testUnpin_scopeCanBeEvicted() {
+        // setup
+        cache.pin(Collections.singletonList(scopeA));
+        cache.setMaxWeight(PropositionsCache.estimateWeight(propositionA));
+        cache.put(scopeA, propositionA, 1000L);
+
+        // test
+        cache.unpin(Collections.singletonList(scopeA));
+        cache.put(scopeB, propositionB, 1000L);
+
+        // verify
+        Assert.assertFalse(cache.isPinned(scopeA));
+        Assert.assertEquals(0, cache.getPinnedCount());
+        Assert.assertNull(cache.get(scopeA));
+    }
+
+    @Test
+    public void testClear_keepsPinnedScopes() {
+        // setup
+        cache.pin(Collections.singletonList(scopeA));
+        cache.put(scopeA, propositionA, 1000L);
+
+        // test
+        cache.clear();
+
+        // verify
+        Assert.assertEquals(0, cache.size());
+        Assert.assertTrue(cache.isPinned(scopeA));
+    }
+
+    @Test
+    public void testUpdate_publishesNewSnapshotWithNextGeneration() {
+        // setup
+        cache.put(scopeA, propositionA, 1000L);
+        final PropositionsCache.Snapshot previousSnapshot = cache.snapshot();
+
+        // test
+        cache.update(
+                Collections.singletonMap(scopeB, propositionB),
+                2000L,
+                Collections.singletonList(scopeA));
+
+        // verify
+        final PropositionsCache.Snapshot snapshot = cache.snapshot();
+        Assert.assertEquals(previousSnapshot.generation + 1, snapshot.generation);
+        Assert.assertEquals(1, snapshot.size());
+        Assert.assertNull(snapshot.get(scopeA));
+        Assert.assertEquals(propositionB, snapshot.get(scopeB));
+        Assert.assertEquals(PropositionsCache.estimateWeight(propositionB), snapshot.weight);
+
+        // the previous snapshot is not affected by the update
+        Assert.assertEquals(1, previousSnapshot.size());
+        Assert.assertEquals(propositionA, previousSnapshot.get(scopeA));
+        Assert.assertNull(previousSnapshot.get(scopeB));
+    }
+
+    @Test
+    public void testRemove_missingScopeDoesNotChangeGeneration() {
+        // setup
+        cache.put(scopeA, propositionA, 1000L);
+        final long generation = cache.getGeneration();
+
+        // test
+        cache.remove(scopeB);
+
+        // verify
+        Assert.assertEquals(generation, cache.getGeneration());
+    }
+
+    @Test
+    public void testClear_incrementsGeneration() {
+        // setup
+        cache.put(scopeA, propositionA, 1000L);
+        final long generation = cache.getGeneration();
+
+        // test
+        cache.clear();
+
+        // verify
+        Assert.assertEquals(generation + 1, cache.getGeneration());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testRemoveFetchedBefore() {
+        // setup
+        cache.put(scopeA, propositionA, 1000L);
+        cache.put(scopeB, propositionB, 3000L);
+        final long generation = cache.getGeneration();
+
+        // test
+        final List<DecisionScope> removedScopes =
+                cache.removeFetchedBefore(Arrays.asList(scopeA, scopeB), 2000L);
+
+        // verify
+        Assert.assertEquals(Collections.singletonList(scopeA), removedScopes);
+        Assert.assertEquals(generation + 1, cache.getGeneration());
+        Assert.assertNull(cache.get(scopeA));
+        Assert.assertEquals(propositionB, cache.get(scopeB));
+    }
+
+    @Test
+    public void testPutAll_withFetchTimes() {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        propositions.put(scopeA, propositionA);
+        propositions.put(scopeB, propositionB);
+        final Map<DecisionScope, Long> fetchTimes = new HashMap<>();
+        fetchTimes.put(scopeA, 1000L);
+        fetchTimes.put(scopeB, 2000L);
+
+        // test
+        cache.putAll(propositions, fetchTimes);
+
+        // verify
+        Assert.assertEquals(1, cache.getGeneration());
+        Assert.assertEquals(fetchTimes, cache.getFetchTimes());
+        Assert.assertEquals(propositions, cache.getPropositions());
+    }
+
+    private OptimizeProposition loadProposition(final String fileName) throws Exception {
+        final Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(getClass().getClassLoader().getResource(fileName), HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+        return optimizeProposition;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PropositionsHandoffTests {
+    private final DecisionScope testScope = new DecisionScope("myMbox");
+    private final OptimizeProposition testProposition =
+            new OptimizeProposition(
+                    "de03ac85-802a-4331-a905-a57053164d35",
+                    new ArrayList<Offer>() {
+                        {
+                            add(new Offer.Builder("offer1", OfferType.TEXT, "content").build());
+                        }
+                    },
+                    "myMbox",
+                    new HashMap<>());
+
+    @After
+    public void teardown() {
+        PropositionsHandoff.clear();
+    }
+
+    @Test
+    public void testOfferAndTake() {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        propositions.put(testScope, testProposition);
+
+        // test
+        PropositionsHandoff.offer("responseEventId", propositions);
+        final Map<DecisionScope, OptimizeProposition> handedOffPropositions =
+                PropositionsHandoff.take("responseEventId");
+
+        // verify
+        Assert.assertNotNull(handedOffPropositions);
+        Assert.assertEquals(testProposition, handedOffPropositions.get(testScope));
+        Assert.assertNull(PropositionsHandoff.take("responseEventId"));
+        Assert.assertEquals(0, PropositionsHandoff.getPendingCount());
+    }
+
+    @Test
+    public void testTake_unknownResponseEventId() {
+        // verify
+        Assert.assertNull(PropositionsHandoff.take("unknownResponseEventId"));
+    }
+
+    @Test
+    public void testTake_handsOutSharedPropositions() {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        propositions.put(testScope, testProposition);
+        PropositionsHandoff.offer("responseEventId", propositions);
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> handedOffPropositions =
+                PropositionsHandoff.take("responseEventId");
+        handedOffPropositions.clear();
+
+        // verify
+        Assert.assertEquals(1, propositions.size());
+        Assert.assertSame(testProposition, propositions.get(testScope));
+    }
+
+    @Test
+    public void testTake_doesNotCopyPropositions() {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        propositions.put(testScope, testProposition);
+        PropositionsHandoff.offer("responseEventId", propositions);
+
+        // test
+        final OptimizeProposition handedOffProposition =
+                PropositionsHandoff.take("responseEventId").get(testScope);
+
+        // verify
+        Assert.assertSame(testProposition, handedOffProposition);
+    }
+
+    @Test
+    public void testOffer_discardsOldestPendingResponses() {
+        // test
+        for (int i = 0; i <= OptimizeConstants.PropositionsHandoff.MAX_PENDING_RESPONSES; i++) {
+            PropositionsHandoff.offer("responseEventId" + i, new HashMap<>());
+        }
+
+        // verify
+        Assert.assertEquals(
+                OptimizeConstants.PropositionsHandoff.MAX_PENDING_RESPONSES,
+                PropositionsHandoff.getPendingCount());
+        Assert.assertNull(PropositionsHandoff.take("responseEventId0"));
+        Assert.assertNotNull(PropositionsHandoff.take("responseEventId1"));
+    }
+}
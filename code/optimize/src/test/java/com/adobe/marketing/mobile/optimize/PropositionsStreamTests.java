@@ -0,0 +1,81 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+public class PropositionsStreamTests {
+    private final DecisionScope testScope = new DecisionScope("myMbox");
+    private final OptimizeProposition testProposition =
+            new OptimizeProposition(
+                    "de03ac85-802a-4331-a905-a57053164d35",
+                    new ArrayList<>(),
+                    "myMbox",
+                    new HashMap<>());
+
+    @After
+    public void teardown() {
+        PropositionsStream.clear();
+    }
+
+    @Test
+    public void testPublish_openStream() {
+        // setup
+        final AdobeCallbackWithPartialPropositions<Map<DecisionScope, OptimizeProposition>>
+                mockCallback = Mockito.mock(AdobeCallbackWithPartialPropositions.class);
+        PropositionsStream.open("requestEventId", mockCallback);
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        propositions.put(testScope, testProposition);
+
+        // test
+        final boolean published = PropositionsStream.publish("requestEventId", propositions);
+
+        // verify
+        Assert.assertTrue(published);
+        Mockito.verify(mockCallback, Mockito.times(1))
+                .partial(
+                        ArgumentMatchers.<Map<DecisionScope, OptimizeProposition>>argThat(
+                                partial -> partial.get(testScope) == testProposition));
+        Assert.assertEquals(1, PropositionsStream.getOpenCount());
+    }
+
+    @Test
+    public void testPublish_closedStream() {
+        // setup
+        final AdobeCallbackWithPartialPropositions<Map<DecisionScope, OptimizeProposition>>
+                mockCallback = Mockito.mock(AdobeCallbackWithPartialPropositions.class);
+        PropositionsStream.open("requestEventId", mockCallback);
+        PropositionsStream.close("requestEventId");
+
+        // test
+        final boolean published = PropositionsStream.publish("requestEventId", new HashMap<>());
+
+        // verify
+        Assert.assertFalse(published);
+        Mockito.verify(mockCallback, Mockito.never())
+                .partial(ArgumentMatchers.<Map<DecisionScope, OptimizeProposition>>any());
+        Assert.assertEquals(0, PropositionsStream.getOpenCount());
+    }
+
+    @Test
+    public void testPublish_unknownRequestEventId() {
+        // verify
+        Assert.assertFalse(PropositionsStream.publish("unknownRequestEventId", new HashMap<>()));
+    }
+}
@@ -0,0 +1,167 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.adobe.marketing.mobile.Event;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScopeWaitersTests {
+    private ScopeWaiters scopeWaiters;
+    private final DecisionScope scopeA = new DecisionScope("scopeA");
+    private final DecisionScope scopeB = new DecisionScope("scopeB");
+
+    @Before
+    public void setup() {
+        scopeWaiters = new ScopeWaiters();
+    }
+
+    @Test
+    public void testRelease_releasesWaitersOfCompletedScope() {
+        // setup
+        final Event eventA1 = createGetPropositionsEvent();
+        final Event eventA2 = createGetPropositionsEvent();
+        final Event eventB = createGetPropositionsEvent();
+        scopeWaiters.register(
+                eventA1, Arrays.asList(scopeA, scopeB), Collections.singletonList(scopeA));
+        scopeWaiters.register(
+                eventB, Collections.singletonList(scopeB), Collections.singletonList(scopeB));
+        scopeWaiters.register(
+                eventA2, Collections.singletonList(scopeA), Collections.singletonList(scopeA));
+
+        // test
+        final List<List<Event>> releasedEvents =
+                scopeWaiters.release(
+                        Collections.singletonList(scopeA),
+                        new HashSet<>(Collections.singletonList(scopeB)));
+
+        // verify
+        Assert.assertEquals(
+                Arrays.asList(
+                        Collections.singletonList(eventA1), Collections.singletonList(eventA2)),
+                releasedEvents);
+        Assert.assertEquals(1, scopeWaiters.size());
+    }
+
+    @Test
+    public void testRemove_returnsPendingScopes() {
+        // setup
+        final Event event = createGetPropositionsEvent();
+        final Event otherEvent = createGetPropositionsEvent();
+        scopeWaiters.register(event, Arrays.asList(scopeA, scopeB), Arrays.asList(scopeA, scopeB));
+        scopeWaiters.register(
+                otherEvent, Collections.singletonList(scopeA), Collections.singletonList(scopeA));
+        scopeWaiters.release(
+                Collections.singletonList(scopeA),
+                new HashSet<>(Collections.singletonList(scopeB)));
+
+        // test
+        final List<DecisionScope> pendingScopes = scopeWaiters.remove(event);
+
+        // verify
+        Assert.assertEquals(Collections.singletonList(scopeB), pendingScopes);
+        Assert.assertNull(scopeWaiters.remove(event));
+        Assert.assertNull(scopeWaiters.remove(otherEvent));
+        Assert.assertEquals(0, scopeWaiters.size());
+        Assert.assertTrue(
+                scopeWaiters
+                        .release(Collections.singletonList(scopeB), new HashSet<DecisionScope>())
+                        .isEmpty());
+    }
+
+    @Test
+    public void testRelease_waitsForAllScopesInProgress() {
+        // setup
+        final Event event = createGetPropositionsEvent();
+        scopeWaiters.register(event, Arrays.asList(scopeA, scopeB), Arrays.asList(scopeA, scopeB));
+
+        // test
+        final List<List<Event>> releasedEventsA =
+                scopeWaiters.release(
+                        Collections.singletonList(scopeA),
+                        new HashSet<>(Collections.singletonList(scopeB)));
+        final List<List<Event>> releasedEventsB =
+                scopeWaiters.release(
+                        Collections.singletonList(scopeB), new HashSet<DecisionScope>());
+
+        // verify
+        Assert.assertTrue(releasedEventsA.isEmpty());
+        Assert.assertEquals(
+                Collections.singletonList(Collections.singletonList(event)), releasedEventsB);
+        Assert.assertEquals(0, scopeWaiters.size());
+    }
+
+    @Test
+    public void testRelease_scopeStillInProgressByAnotherUpdate() {
+        // setup
+        final Event event = createGetPropositionsEvent();
+        scopeWaiters.register(
+                event, Collections.singletonList(scopeA), Collections.singletonList(scopeA));
+
+        // test
+        final List<List<Event>> releasedEvents =
+                scopeWaiters.release(
+                        Collections.singletonList(scopeA),
+                        new HashSet<>(Collections.singletonList(scopeA)));
+
+        // verify
+        Assert.assertTrue(releasedEvents.isEmpty());
+        Assert.assertEquals(1, scopeWaiters.size());
+    }
+
+    @Test
+    public void testRegister_collapsesRequestsForSameScopes() {
+        // setup
+        final Event event1 = createGetPropositionsEvent();
+        final Event event2 = createGetPropositionsEvent();
+        final Event event3 = createGetPropositionsEvent();
+
+        // test
+        final boolean collapsed1 =
+                scopeWaiters.register(
+                        event1, Arrays.asList(scopeA, scopeB), Collections.singletonList(scopeA));
+        final boolean collapsed2 =
+                scopeWaiters.register(
+                        event2, Arrays.asList(scopeB, scopeA), Collections.singletonList(scopeA));
+        final boolean collapsed3 =
+                scopeWaiters.register(
+                        event3, Arrays.asList(scopeA, scopeB), Arrays.asList(scopeA, scopeB));
+
+        // verify the request waiting for other scopes in progress is not collapsed
+        Assert.assertFalse(collapsed1);
+        Assert.assertTrue(collapsed2);
+        Assert.assertFalse(collapsed3);
+        Assert.assertEquals(3, scopeWaiters.size());
+
+        final List<List<Event>> releasedEvents =
+                scopeWaiters.release(
+                        Collections.singletonList(scopeA),
+                        new HashSet<>(Collections.singletonList(scopeB)));
+        Assert.assertEquals(
+                Collections.singletonList(Arrays.asList(event1, event2)), releasedEvents);
+        Assert.assertEquals(1, scopeWaiters.size());
+    }
+
+    private Event createGetPropositionsEvent() {
+        return new Event.Builder(
+                        "Optimize Get Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .setEventData(Collections.singletonMap("requesttype", "getpropositions"))
+                .build();
+    }
+}
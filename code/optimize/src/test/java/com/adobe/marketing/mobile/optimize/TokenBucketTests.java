@@ -0,0 +1,77 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TokenBucketTests {
+
+    @Test
+    public void testTryAcquire_disabled() {
+        // setup
+        final TokenBucket tokenBucket = new TokenBucket(1000);
+
+        // verify
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(tokenBucket.tryAcquire(0));
+        }
+    }
+
+    @Test
+    public void testTryAcquire_allowsBurstUpToCapacity() {
+        // setup
+        final TokenBucket tokenBucket = new TokenBucket(1000);
+        tokenBucket.setCapacity(3, 0);
+
+        // verify
+        Assert.assertTrue(tokenBucket.tryAcquire(0));
+        Assert.assertTrue(tokenBucket.tryAcquire(0));
+        Assert.assertTrue(tokenBucket.tryAcquire(0));
+        Assert.assertFalse(tokenBucket.tryAcquire(0));
+    }
+
+    @Test
+    public void testTryAcquire_refillsOverTime() {
+        // setup
+        final TokenBucket tokenBucket = new TokenBucket(1000);
+        tokenBucket.setCapacity(2, 0);
+        tokenBucket.tryAcquire(0);
+        tokenBucket.tryAcquire(0);
+
+        // verify a token is refilled every 500ms, up to the capacity
+        Assert.assertFalse(tokenBucket.tryAcquire(400));
+        Assert.assertTrue(tokenBucket.tryAcquire(500));
+        Assert.assertFalse(tokenBucket.tryAcquire(500));
+        Assert.assertTrue(tokenBucket.tryAcquire(5000));
+        Assert.assertTrue(tokenBucket.tryAcquire(5000));
+        Assert.assertFalse(tokenBucket.tryAcquire(5000));
+    }
+
+    @Test
+    public void testSetCapacity_refillsOnlyWhenChanged() {
+        // setup
+        final TokenBucket tokenBucket = new TokenBucket(1000);
+        tokenBucket.setCapacity(1, 0);
+        tokenBucket.tryAcquire(0);
+
+        // test
+        tokenBucket.setCapacity(1, 0);
+        final boolean sameCapacity = tokenBucket.tryAcquire(0);
+        tokenBucket.setCapacity(2, 0);
+        final boolean newCapacity = tokenBucket.tryAcquire(0);
+
+        // verify
+        Assert.assertFalse(sameCapacity);
+        Assert.assertTrue(newCapacity);
+    }
+}